@@ -0,0 +1,111 @@
+package com.memorio.backend.exercise.scoring;
+
+import com.memorio.backend.exercise.ExerciseType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Scoring cost per submit at every skill level, using the list sizes the start endpoint hands out
+ * (6 words per level, 4 + 2 * level digits). {@code legacy} is the inline scoring that used to
+ * live in {@code ExerciseController.submit} and is kept as the baseline.
+ *
+ * <p>Run with {@code mvn -Pjmh test-compile exec:exec -Djmh.args="ExerciseScorerBenchmark -f 1"}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExerciseScorerBenchmark {
+
+    @Param({"1", "2", "3", "4", "5", "6", "7", "8", "9", "10"})
+    public int level;
+
+    @Param({"WORD_LINKING", "NUMBER_PEG"})
+    public ExerciseType type;
+
+    private final ExerciseScorer scorer = new ExerciseScorer();
+    private List<String> shown;
+    private List<String> answers;
+
+    @Setup
+    public void setUp(){
+        Random random = new Random(42L + level);
+        shown = new ArrayList<>();
+        if (type == ExerciseType.NUMBER_PEG){
+            for (int i = 0, n = 4 + level * 2; i < n; i++) shown.add(Integer.toString(random.nextInt(10)));
+        } else {
+            for (int i = 0, n = level * 6; i < n; i++) shown.add("Word" + random.nextInt(5000));
+        }
+        // Roughly what a mid-skill player sends back: most items, some swapped, some wrong
+        answers = new ArrayList<>(shown.size());
+        for (int i = 0; i < shown.size(); i++){
+            int roll = random.nextInt(10);
+            if (roll < 7) answers.add(" " + shown.get(i) + " ");
+            else if (roll < 9) answers.add(shown.get(random.nextInt(shown.size())));
+            else answers.add(type == ExerciseType.NUMBER_PEG ? "x" : "wrong" + i);
+        }
+    }
+
+    @Benchmark
+    public ScoreResult scorer(){
+        return scorer.score(type, shown, answers);
+    }
+
+    @Benchmark
+    public int legacy(){
+        Function<String, String> norm = s -> s == null ? "" : s.trim().toLowerCase();
+        Set<String> targets = new LinkedHashSet<>();
+        List<String> allTargets = new ArrayList<>();
+        for (String word : shown){
+            String n = norm.apply(word);
+            if (!n.isEmpty()){
+                targets.add(n);
+                allTargets.add(n);
+            }
+        }
+        int correct = 0;
+        Set<String> matched = new LinkedHashSet<>();
+        List<String> extra = new ArrayList<>();
+        if (type == ExerciseType.NUMBER_PEG){
+            List<String> shownCopy = new ArrayList<>(allTargets);
+            for (String answer : answers){
+                String n = norm.apply(answer);
+                if (n.isEmpty()) continue;
+                if (shownCopy.contains(n)){
+                    shownCopy.remove(n);
+                    correct++;
+                    matched.add(n);
+                } else {
+                    extra.add(n);
+                }
+            }
+        } else {
+            for (String answer : answers){
+                String n = norm.apply(answer);
+                if (n.isEmpty()) continue;
+                if (targets.contains(n) && !matched.contains(n)) matched.add(n);
+                else extra.add(n);
+            }
+            correct = matched.size();
+        }
+        int orderCorrect = 0;
+        for (int i = 0; i < Math.min(shown.size(), answers.size()); i++){
+            String s = norm.apply(shown.get(i));
+            if (!s.isEmpty() && s.equals(norm.apply(answers.get(i)))) orderCorrect++;
+        }
+        List<String> missed = new ArrayList<>();
+        for (String word : targets){
+            if (!matched.contains(word)) missed.add(word);
+        }
+        return correct + orderCorrect + missed.size() + extra.size();
+    }
+}
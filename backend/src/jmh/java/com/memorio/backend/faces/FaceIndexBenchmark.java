@@ -0,0 +1,87 @@
+package com.memorio.backend.faces;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of drawing the faces for one NAMES_FACES start. {@code index} samples from {@link FaceIndex};
+ * {@code legacy} models the replaced {@code ORDER BY RANDOM() LIMIT count * 2} query in process
+ * (a random key per active row kept in a bounded top-N heap, as Postgres does for a sort with a
+ * small limit) followed by the shuffle and sublist the picker did. The model leaves out I/O and
+ * row materialisation, so it understates the query.
+ *
+ * <p>Run with {@code mvn -Pjmh test-compile exec:exec -Djmh.args="FaceIndexBenchmark -f 1"}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FaceIndexBenchmark {
+
+    @Param({"5000", "100000"})
+    public int persons;
+
+    // Skill levels 1, 5 and 10 draw from difficulty <= 1, 2 and 3 respectively
+    @Param({"1", "2", "3"})
+    public int maxDifficulty;
+
+    @Param({"8"})
+    public int count;
+
+    private FaceIndex index;
+    private String[] names;
+    private int[] difficulties;
+    private final SplittableRandom random = new SplittableRandom(42L);
+    private final Random legacyRandom = new Random(42L);
+
+    @Setup
+    public void setUp(){
+        List<Object[]> rows = new ArrayList<>(persons);
+        names = new String[persons];
+        difficulties = new int[persons];
+        Random seed = new Random(7L);
+        for (int i = 0; i < persons; i++){
+            names[i] = "Person_" + i;
+            difficulties[i] = 1 + seed.nextInt(3);
+            rows.add(new Object[]{names[i], names[i].replace('_', ' '), difficulties[i]});
+        }
+        index = FaceIndex.of(rows);
+    }
+
+    @Benchmark
+    public List<PickedFace> index(){
+        return index.sample(maxDifficulty, count, random);
+    }
+
+    @Benchmark
+    public List<String> legacy(){
+        int limit = count * 2;
+        PriorityQueue<double[]> top = new PriorityQueue<>(limit, (a, b) -> Double.compare(b[0], a[0]));
+        for (int i = 0; i < persons; i++){
+            if (difficulties[i] > maxDifficulty) continue;
+            double key = legacyRandom.nextDouble();
+            if (top.size() < limit){
+                top.add(new double[]{key, i});
+            } else if (key < top.peek()[0]){
+                top.poll();
+                top.add(new double[]{key, i});
+            }
+        }
+        List<String> candidates = new ArrayList<>(top.size());
+        for (double[] entry : top){
+            candidates.add(names[(int) entry[1]]);
+        }
+        if (candidates.size() <= count) return candidates;
+        Collections.shuffle(candidates, legacyRandom);
+        return candidates.subList(0, count);
+    }
+}
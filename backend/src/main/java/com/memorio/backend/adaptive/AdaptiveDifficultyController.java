@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -37,9 +38,10 @@ public class AdaptiveDifficultyController {
     @GetMapping("/skills/review")
     public ResponseEntity<List<SkillMasteryDTO>> getSkillDueForReview(Authentication auth){
         UUID userId = AuthenticationUtil.extractUserId(auth);
+        OffsetDateTime now = OffsetDateTime.now();
         List<UserSkillMastery> skills =  adaptiveService.getSkillsDueForReview(userId);
         List<SkillMasteryDTO> dtos = skills.stream()
-                .map(this::toDTO)
+                .map(mastery -> toDTO(mastery, now))
                 .collect(Collectors.toList());
 
         return ResponseEntity.ok(dtos);
@@ -47,17 +49,16 @@ public class AdaptiveDifficultyController {
     @GetMapping("/review-count")
     public ResponseEntity<ReviewCountDTO> getReviewCount(Authentication auth){
         UUID userId = AuthenticationUtil.extractUserId(auth);
-        List<UserSkillMastery> skillsDue = adaptiveService.getSkillsDueForReview(userId);
-
-        return ResponseEntity.ok(new ReviewCountDTO(skillsDue.size()));
+        return ResponseEntity.ok(new ReviewCountDTO(adaptiveService.countSkillsDueForReview(userId)));
     }
     @GetMapping("/skills/practice")
     public ResponseEntity<List<SkillMasteryDTO>> getSkillsNeedingPractice(Authentication auth){
         UUID userId = AuthenticationUtil.extractUserId(auth);
+        OffsetDateTime now = OffsetDateTime.now();
         List<UserSkillMastery> skills = adaptiveService.getSkillsNeedingPractice(userId);
 
         List<SkillMasteryDTO> dtos = skills.stream()
-                .map(this::toDTO)
+                .map(mastery -> toDTO(mastery, now))
                 .collect(Collectors.toList());
 
         return ResponseEntity.ok(dtos);
@@ -65,10 +66,11 @@ public class AdaptiveDifficultyController {
     @GetMapping("/skills/mastered")
     public ResponseEntity<List<SkillMasteryDTO>> getMasteredSkills(Authentication auth){
         UUID userId = AuthenticationUtil.extractUserId(auth);
+        OffsetDateTime now = OffsetDateTime.now();
 
         List<UserSkillMastery> skills = adaptiveService.getMasteredSkills(userId);
         List<SkillMasteryDTO> dtos = skills.stream()
-                .map(this::toDTO)
+                .map(mastery -> toDTO(mastery, now))
                 .collect(Collectors.toList());
 
         return ResponseEntity.ok(dtos);
@@ -85,11 +87,13 @@ public class AdaptiveDifficultyController {
     @GetMapping("/dashboard")
     public ResponseEntity<DashboardDTO> getDashboard(Authentication auth) {
         UUID userId = AuthenticationUtil.extractUserId(auth);
+        OffsetDateTime now = OffsetDateTime.now();
 
-        AdaptiveDifficultyService.MasteryStats stats = adaptiveService.getMasteryStats(userId);
-        List<UserSkillMastery> reviewDue = adaptiveService.getSkillsDueForReview(userId);
-        List<UserSkillMastery> needsPractice = adaptiveService.getSkillsNeedingPractice(userId);
-        List<UserSkillMastery> mastered = adaptiveService.getMasteredSkills(userId);
+        MasterySnapshot snapshot = adaptiveService.getSnapshot(userId);
+        AdaptiveDifficultyService.MasteryStats stats = snapshot.stats();
+        List<UserSkillMastery> reviewDue = snapshot.skillsDueForReview();
+        List<UserSkillMastery> needsPractice = snapshot.skillsNeedingPractice();
+        List<UserSkillMastery> mastered = snapshot.masteredSkills();
 
         MasteryStatsDTO statsDTO = new MasteryStatsDTO(
                 stats.totalSkills(),
@@ -101,15 +105,16 @@ public class AdaptiveDifficultyController {
 
         DashboardDTO dashboard = new DashboardDTO(
                 statsDTO,
-                reviewDue.stream().map(this::toDTO).collect(Collectors.toList()),
-                needsPractice.stream().map(this::toDTO).collect(Collectors.toList()),
-                mastered.stream().map(this::toDTO).collect(Collectors.toList())
+                reviewDue.stream().map(mastery -> toDTO(mastery, now)).collect(Collectors.toList()),
+                needsPractice.stream().map(mastery -> toDTO(mastery, now)).collect(Collectors.toList()),
+                mastered.stream().map(mastery -> toDTO(mastery, now)).collect(Collectors.toList())
         );
 
         return ResponseEntity.ok(dashboard);
     }
 
-    private SkillMasteryDTO toDTO(UserSkillMastery mastery) {
+    // One clock read per response rather than per row
+    private SkillMasteryDTO toDTO(UserSkillMastery mastery, OffsetDateTime now) {
         return new SkillMasteryDTO(
                 mastery.getId(),
                 mastery.getSkillType(),
@@ -119,7 +124,7 @@ public class AdaptiveDifficultyController {
                 mastery.getCorrectAttempts(),
                 mastery.getAccuracyRate(),
                 mastery.isMastered(),
-                mastery.needsReview(),
+                mastery.needsReview(now),
                 mastery.getNextReviewAt(),
                 mastery.getLastAttemptAt(),
                 mastery.getReviewIntervalDays(),
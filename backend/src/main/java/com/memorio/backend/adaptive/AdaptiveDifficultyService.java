@@ -2,11 +2,15 @@ package com.memorio.backend.adaptive;
 
 import com.memorio.backend.user.User;
 import com.memorio.backend.user.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.Duration;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -16,6 +20,10 @@ public class AdaptiveDifficultyService {
     private final UserSkillMasteryRepository masteryRepo;
     private final SkillAttemptHistoryRepository historyRepo;
     private final UserRepository userRepo;
+    private final MasterySnapshotService snapshots;
+    private final BktParameterRegistry bktParameters;
+    private final ReviewScheduler reviewScheduler;
+    private final ApplicationEventPublisher events;
 
     private static final double RECALL_TASK_GUESS_RATE = 0.05;
     private static final double MULTIPLE_CHOICE_GUESS_RATE = 0.25;
@@ -23,49 +31,99 @@ public class AdaptiveDifficultyService {
 
     public AdaptiveDifficultyService(UserSkillMasteryRepository masteryRepo,
                                      SkillAttemptHistoryRepository historyRepo,
-                                     UserRepository userRepo) {
+                                     UserRepository userRepo,
+                                     MasterySnapshotService snapshots,
+                                     BktParameterRegistry bktParameters,
+                                     ReviewScheduler reviewScheduler,
+                                     ApplicationEventPublisher events) {
         this.masteryRepo = masteryRepo;
         this.historyRepo = historyRepo;
         this.userRepo = userRepo;
+        this.snapshots = snapshots;
+        this.bktParameters = bktParameters;
+        this.reviewScheduler = reviewScheduler;
+        this.events = events;
     }
 
+    /**
+     * One attempt to record. {@code conceptId} is null for exercise-level skills; {@code userSkillLevel}
+     * is the user's level when the attempt was made, kept on the history row.
+     */
+    public record Attempt(String skillType, String conceptId, boolean wasCorrect, int difficultyLevel,
+                          UUID exerciseSessionId, Integer responseTimeMs, Integer userSkillLevel) {}
+
+    private record MasteryKey(String skillType, String conceptId) {}
+
+    /**
+     * Records a single attempt for callers that do not have the user at hand; the user's current
+     * skill level is looked up for the history row.
+     */
     public UserSkillMastery recordAttempt(UUID userId, String skillType, String conceptId,
                                           boolean wasCorrect, int difficultyLevel,
                                           UUID exerciseSessionId, Integer responseTimeMs) {
-        UserSkillMastery mastery = masteryRepo
+        Integer userSkillLevel = userRepo.findById(userId).map(User::getSkillLevel).orElse(null);
+        return recordAttempts(userId, List.of(new Attempt(skillType, conceptId, wasCorrect, difficultyLevel,
+                exerciseSessionId, responseTimeMs, userSkillLevel))).get(0);
+    }
+
+    /**
+     * Records attempts of one user in order. Each mastery they touch is read once and updated in
+     * memory, so it is written once at flush however many attempts hit it, and the history rows go
+     * out in one JDBC batch. Returns the mastery after each attempt, in attempt order.
+     */
+    public List<UserSkillMastery> recordAttempts(UUID userId, List<Attempt> attempts) {
+        if (attempts.isEmpty()) return List.of();
+        Map<MasteryKey, UserSkillMastery> masteries = new HashMap<>();
+        List<UserSkillMastery> updated = new ArrayList<>(attempts.size());
+        List<SkillAttemptHistory> histories = new ArrayList<>(attempts.size());
+
+        for (Attempt attempt : attempts) {
+            UserSkillMastery mastery = masteries.computeIfAbsent(
+                    new MasteryKey(attempt.skillType(), attempt.conceptId()),
+                    key -> findOrCreateMastery(userId, key.skillType(), key.conceptId()));
+
+            Double hoursSinceLastPractice = null;
+            if (mastery.getLastAttemptAt() != null) {
+                Duration duration = Duration.between(mastery.getLastAttemptAt(), OffsetDateTime.now());
+                hoursSinceLastPractice = duration.toMinutes() / 60.0;
+            }
+
+            double probabilityBefore = mastery.getProbabilityKnown();
+            mastery.updateKnowledgeState(attempt.wasCorrect());
+
+            int quality = calculateSpacedRepetitionQuality(attempt.wasCorrect(), attempt.difficultyLevel());
+            mastery.updateSpaceRepetition(quality);
+
+            SkillAttemptHistory history = new SkillAttemptHistory(
+                    userId, mastery.getId(), attempt.exerciseSessionId(),
+                    attempt.skillType(), attempt.difficultyLevel(), attempt.wasCorrect()
+            );
+            history.setResponseTimeMs(attempt.responseTimeMs());
+            history.setTimeSinceLastPracticeHours(hoursSinceLastPractice);
+            history.setUserSkillLevelAtTime(attempt.userSkillLevel());
+            history.setProbabilityKnownBefore(probabilityBefore);
+            history.setProbabilityKnownAfter(mastery.getProbabilityKnown());
+            histories.add(history);
+            updated.add(mastery);
+        }
+
+        masteryRepo.saveAll(masteries.values());
+        historyRepo.saveAll(histories);
+        events.publishEvent(new SkillMasteryChangedEvent(userId));
+
+        return updated;
+    }
+
+    private UserSkillMastery findOrCreateMastery(UUID userId, String skillType, String conceptId) {
+        return masteryRepo
                 .findByUserIdAndSkillTypeAndConceptId(userId, skillType, conceptId)
                 .orElseGet(() -> {
                     UserSkillMastery newMastery = new UserSkillMastery(userId, skillType, conceptId);
-                    newMastery.setProbabilityGuess(getGuessRateForSkillType(skillType));
+                    bktParameters.find(skillType).ifPresentOrElse(
+                            fitted -> fitted.applyTo(newMastery),
+                            () -> newMastery.setProbabilityGuess(guessRateFor(skillType)));
                     return masteryRepo.save(newMastery);
                 });
-
-        Double hoursSinceLastPractice = null;
-        if (mastery.getLastAttemptAt() != null) {
-            Duration duration = Duration.between(mastery.getLastAttemptAt(), OffsetDateTime.now());
-            hoursSinceLastPractice = duration.toMinutes() / 60.0;
-        }
-
-        double probabilityBefore = mastery.getProbabilityKnown();
-        mastery.updateKnowledgeState(wasCorrect);
-
-        int quality = calculateSpacedRepetitionQuality(wasCorrect, difficultyLevel);
-        mastery.updateSpaceRepetition(quality);
-        mastery = masteryRepo.save(mastery);
-
-        User user = userRepo.findById(userId).orElse(null);
-        SkillAttemptHistory history = new SkillAttemptHistory(
-                userId, mastery.getId(), exerciseSessionId,
-                skillType, difficultyLevel, wasCorrect
-        );
-        history.setResponseTimeMs(responseTimeMs);
-        history.setTimeSinceLastPracticeHours(hoursSinceLastPractice);
-        history.setUserSkillLevelAtTime(user != null ? user.getSkillLevel() : null);
-        history.setProbabilityKnownBefore(probabilityBefore);
-        history.setProbabilityKnownAfter(mastery.getProbabilityKnown());
-        historyRepo.save(history);
-
-        return mastery;
     }
 
     public int getRecommendedDifficulty(UUID userId, String skillType) {
@@ -92,54 +150,28 @@ public class AdaptiveDifficultyService {
         return 10;
     }
 
+    public MasterySnapshot getSnapshot(UUID userId) {
+        return snapshots.get(userId);
+    }
+
     public List<UserSkillMastery> getSkillsDueForReview(UUID userId) {
-        return masteryRepo.findSkillDueForReview(userId);
+        return snapshots.get(userId).skillsDueForReview();
+    }
+
+    public int countSkillsDueForReview(UUID userId) {
+        return reviewScheduler.dueCount(userId);
     }
 
     public List<UserSkillMastery> getSkillsNeedingPractice(UUID userId) {
-        return masteryRepo.findSkillsNeedingPractice(userId);
+        return snapshots.get(userId).skillsNeedingPractice();
     }
 
     public List<UserSkillMastery> getMasteredSkills(UUID userId) {
-        return masteryRepo.findMasteredSkills(userId);
+        return snapshots.get(userId).masteredSkills();
     }
 
     public MasteryStats getMasteryStats(UUID userId) {
-        List<UserSkillMastery> allSkills = masteryRepo.findByUserId(userId);
-
-        // Filter out QUIZ skills - only count main exercises
-        List<UserSkillMastery> mainExerciseSkills = allSkills.stream()
-                .filter(s -> !s.getSkillType().equals("QUIZ"))
-                .toList();
-
-        if (mainExerciseSkills.isEmpty()) {
-            return new MasteryStats(0, 0, 0, 0.0, 0);
-        }
-
-        long masteredCount = mainExerciseSkills.stream()
-                .filter(UserSkillMastery::isMastered)
-                .count();
-
-        long needsReviewCount = mainExerciseSkills.stream()
-                .filter(UserSkillMastery::needsReview)
-                .count();
-
-        long needsPracticeCount = mainExerciseSkills.stream()
-                .filter(s -> s.getProbabilityKnown() < 0.7)
-                .count();
-
-        double avgMastery = mainExerciseSkills.stream()
-                .mapToDouble(UserSkillMastery::getProbabilityKnown)
-                .average()
-                .orElse(0.0);
-
-        return new MasteryStats(
-                mainExerciseSkills.size(),
-                (int) masteredCount,
-                (int) needsReviewCount,
-                avgMastery,
-                (int) needsPracticeCount
-        );
+        return snapshots.get(userId).stats();
     }
 
     public UserSkillMastery getSkillMastery(UUID userId, String skillType, String conceptId) {
@@ -147,7 +179,7 @@ public class AdaptiveDifficultyService {
                 .orElse(null);
     }
 
-    private double getGuessRateForSkillType(String skillType) {
+    static double guessRateFor(String skillType) {
         return switch (skillType) {
             case "WORD_LINKING", "NUMBER_PEG" -> RECALL_TASK_GUESS_RATE;
             case "NAMES_FACES" -> RECOGNITION_TASK_GUESS_RATE;
@@ -0,0 +1,199 @@
+package com.memorio.backend.adaptive;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.IntStream;
+
+/**
+ * Fits {@link BktParameters} to {@link BktSequences} with expectation-maximisation (Baum-Welch on
+ * the two-state BKT model, no forgetting) and replays mastery states under fitted parameters.
+ *
+ * The E-step runs scaled forward-backward per sequence over primitive arrays and is split across
+ * sequences on a fork/join pool; each leaf sums its expected counts into one small array, so an
+ * iteration allocates nothing per attempt.
+ */
+final class BktEm {
+
+    static final double MIN_PROBABILITY = 1e-4;
+    // Above 0.5 a "known" state would answer worse than an unknown one and the fit degenerates
+    static final double MAX_GUESS = 0.5;
+    static final double MAX_SLIP = 0.5;
+
+    private static final int LEAF_SEQUENCES = 512;
+
+    private static final int INIT_KNOWN = 0;
+    private static final int SEQUENCES = 1;
+    private static final int LEARNED = 2;
+    private static final int UNKNOWN_BEFORE_LAST = 3;
+    private static final int GUESSED = 4;
+    private static final int UNKNOWN = 5;
+    private static final int SLIPPED = 6;
+    private static final int KNOWN = 7;
+    private static final int LOG_LIKELIHOOD = 8;
+    private static final int COUNTS = 9;
+
+    /** Fitted parameters, the log-likelihood of the data under the last E-step and the iterations run. */
+    record Fit(BktParameters parameters, double logLikelihood, int iterations) {}
+
+    private BktEm(){}
+
+    static Fit fit(BktSequences sequences, BktParameters initial, int maxIterations, double tolerance,
+                   ForkJoinPool pool){
+        BktParameters parameters = clamp(initial);
+        double previous = Double.NEGATIVE_INFINITY;
+        double logLikelihood = previous;
+        int iterations = 0;
+        while (iterations < maxIterations){
+            double[] counts = pool.invoke(new Expectation(sequences, parameters, 0, sequences.size()));
+            logLikelihood = counts[LOG_LIKELIHOOD];
+            parameters = maximise(counts, parameters);
+            iterations++;
+            if (logLikelihood - previous <= tolerance * Math.abs(logLikelihood)) break;
+            previous = logLikelihood;
+        }
+        return new Fit(parameters, logLikelihood, iterations);
+    }
+
+    /** Final P(L) of every sequence, applying the same update as {@link UserSkillMastery#updateKnowledgeState}. */
+    static double[] replay(BktSequences sequences, BktParameters parameters, ForkJoinPool pool){
+        double[] known = new double[sequences.size()];
+        pool.submit(() -> IntStream.range(0, known.length).parallel()
+                .forEach(s -> known[s] = replay(sequences, s, parameters))).join();
+        return known;
+    }
+
+    static double replay(BktSequences sequences, int sequence, BktParameters parameters){
+        double known = parameters.init();
+        double learn = parameters.learn();
+        double guess = parameters.guess();
+        double slip = parameters.slip();
+        for (int i = sequences.start(sequence), end = sequences.end(sequence); i < end; i++){
+            double posterior;
+            if (sequences.correct(i) == 1){
+                posterior = known * (1.0 - slip) / (known * (1.0 - slip) + (1 - known) * guess);
+            } else {
+                posterior = known * slip / (known * slip + (1 - known) * (1.0 - guess));
+            }
+            known = Math.max(0.0, Math.min(1.0, posterior + (1 - posterior) * learn));
+        }
+        return known;
+    }
+
+    private static BktParameters maximise(double[] counts, BktParameters previous){
+        return clamp(new BktParameters(
+                ratio(counts[INIT_KNOWN], counts[SEQUENCES], previous.init()),
+                ratio(counts[LEARNED], counts[UNKNOWN_BEFORE_LAST], previous.learn()),
+                ratio(counts[GUESSED], counts[UNKNOWN], previous.guess()),
+                ratio(counts[SLIPPED], counts[KNOWN], previous.slip())));
+    }
+
+    private static double ratio(double numerator, double denominator, double fallback){
+        return denominator > 0 ? numerator / denominator : fallback;
+    }
+
+    static BktParameters clamp(BktParameters p){
+        return new BktParameters(
+                clamp(p.init(), 1.0 - MIN_PROBABILITY),
+                clamp(p.learn(), 1.0 - MIN_PROBABILITY),
+                clamp(p.guess(), MAX_GUESS),
+                clamp(p.slip(), MAX_SLIP));
+    }
+
+    private static double clamp(double p, double max){
+        return Math.max(MIN_PROBABILITY, Math.min(max, p));
+    }
+
+    private static final class Expectation extends RecursiveTask<double[]> {
+
+        private final BktSequences sequences;
+        private final BktParameters parameters;
+        private final int from;
+        private final int to;
+
+        Expectation(BktSequences sequences, BktParameters parameters, int from, int to){
+            this.sequences = sequences;
+            this.parameters = parameters;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected double[] compute(){
+            if (to - from <= LEAF_SEQUENCES) return leaf();
+            int mid = (from + to) >>> 1;
+            Expectation left = new Expectation(sequences, parameters, from, mid);
+            left.fork();
+            double[] counts = new Expectation(sequences, parameters, mid, to).compute();
+            double[] other = left.join();
+            for (int i = 0; i < COUNTS; i++) counts[i] += other[i];
+            return counts;
+        }
+
+        private double[] leaf(){
+            double[] counts = new double[COUNTS];
+            int longest = 0;
+            for (int s = from; s < to; s++) longest = Math.max(longest, sequences.end(s) - sequences.start(s));
+            double[] alphaKnown = new double[longest];
+            double[] alphaUnknown = new double[longest];
+            double[] scale = new double[longest];
+            for (int s = from; s < to; s++){
+                forwardBackward(s, alphaKnown, alphaUnknown, scale, counts);
+            }
+            return counts;
+        }
+
+        private void forwardBackward(int sequence, double[] alphaKnown, double[] alphaUnknown, double[] scale,
+                                     double[] counts){
+            double init = parameters.init();
+            double learn = parameters.learn();
+            double guess = parameters.guess();
+            double slip = parameters.slip();
+            int start = sequences.start(sequence);
+            int n = sequences.end(sequence) - start;
+
+            for (int t = 0; t < n; t++){
+                int o = sequences.correct(start + t);
+                double emitKnown = o == 1 ? 1.0 - slip : slip;
+                double emitUnknown = o == 1 ? guess : 1.0 - guess;
+                double k, u;
+                if (t == 0){
+                    k = init * emitKnown;
+                    u = (1.0 - init) * emitUnknown;
+                } else {
+                    k = (alphaKnown[t - 1] + alphaUnknown[t - 1] * learn) * emitKnown;
+                    u = alphaUnknown[t - 1] * (1.0 - learn) * emitUnknown;
+                }
+                double c = k + u;
+                alphaKnown[t] = k / c;
+                alphaUnknown[t] = u / c;
+                scale[t] = c;
+                counts[LOG_LIKELIHOOD] += Math.log(c);
+            }
+
+            double betaKnown = 1.0;
+            double betaUnknown = 1.0;
+            for (int t = n - 1; t >= 0; t--){
+                int o = sequences.correct(start + t);
+                double gammaKnown = alphaKnown[t] * betaKnown;
+                double gammaUnknown = alphaUnknown[t] * betaUnknown;
+                counts[KNOWN] += gammaKnown;
+                counts[UNKNOWN] += gammaUnknown;
+                counts[SLIPPED] += gammaKnown * (1 - o);
+                counts[GUESSED] += gammaUnknown * o;
+                if (t < n - 1) counts[UNKNOWN_BEFORE_LAST] += gammaUnknown;
+
+                double emitKnown = o == 1 ? 1.0 - slip : slip;
+                double emitUnknown = o == 1 ? guess : 1.0 - guess;
+                if (t > 0){
+                    counts[LEARNED] += alphaUnknown[t - 1] * learn * emitKnown * betaKnown / scale[t];
+                    double previousKnown = emitKnown * betaKnown / scale[t];
+                    betaUnknown = (learn * emitKnown * betaKnown + (1.0 - learn) * emitUnknown * betaUnknown) / scale[t];
+                    betaKnown = previousKnown;
+                } else {
+                    counts[INIT_KNOWN] += gammaKnown;
+                }
+            }
+            counts[SEQUENCES]++;
+        }
+    }
+}
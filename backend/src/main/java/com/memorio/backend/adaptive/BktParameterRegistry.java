@@ -0,0 +1,57 @@
+package com.memorio.backend.adaptive;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Fitted {@link BktParameters} per skill type, held in memory so creating a mastery never queries
+ * the parameter table. Loaded at startup, after each {@link BktRecomputeJob} run and periodically
+ * to pick up fits made on other instances.
+ */
+@Service
+public class BktParameterRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(BktParameterRegistry.class);
+
+    private final BktSkillParametersRepository repository;
+    private volatile Map<String, BktParameters> parameters;
+
+    public BktParameterRegistry(BktSkillParametersRepository repository){
+        this.repository = repository;
+    }
+
+    public Optional<BktParameters> find(String skillType){
+        Map<String, BktParameters> current = parameters;
+        if (current == null){
+            refresh();
+            current = parameters;
+        }
+        return Optional.ofNullable(current.get(skillType));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${memorio.adaptive.bkt.refresh-interval-ms:600000}",
+            initialDelayString = "${memorio.adaptive.bkt.refresh-interval-ms:600000}")
+    public void refresh(){
+        try {
+            Map<String, BktParameters> loaded = new HashMap<>();
+            for (BktSkillParameters row : repository.findAll()){
+                loaded.put(row.getSkillType(), row.toParameters());
+            }
+            parameters = Map.copyOf(loaded);
+        } catch (DataAccessException e){
+            logger.warn("Could not reload BKT parameters, keeping the current ones: {}", e.getMessage());
+            // Until a reload succeeds, new masteries use the defaults rather than retrying per attempt
+            if (parameters == null) parameters = Map.of();
+        }
+    }
+}
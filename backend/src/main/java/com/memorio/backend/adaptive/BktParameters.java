@@ -0,0 +1,31 @@
+package com.memorio.backend.adaptive;
+
+/**
+ * The four Bayesian Knowledge Tracing parameters of one skill type: initial knowledge P(L0),
+ * learn rate P(T), guess rate P(G) and slip rate P(S).
+ */
+public record BktParameters(double init, double learn, double guess, double slip) {
+
+    public BktParameters {
+        if (!isProbability(init) || !isProbability(learn) || !isProbability(guess) || !isProbability(slip)){
+            throw new IllegalArgumentException("BKT parameters must be probabilities");
+        }
+    }
+
+    /** The entity defaults new masteries started from before any fit, with the skill type's guess rate. */
+    public static BktParameters defaults(double guess){
+        return new BktParameters(0.3, 0.1, guess, 0.1);
+    }
+
+    /** Starts a new mastery from these parameters instead of the entity defaults. */
+    public void applyTo(UserSkillMastery mastery){
+        mastery.setProbabilityKnown(init);
+        mastery.setProbabilityLearned(learn);
+        mastery.setProbabilityGuess(guess);
+        mastery.setProbabilitySlip(slip);
+    }
+
+    private static boolean isProbability(double p){
+        return p >= 0.0 && p <= 1.0;
+    }
+}
@@ -0,0 +1,157 @@
+package com.memorio.backend.adaptive;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Re-tunes BKT parameters per skill type from {@code skill_attempt_history} and replays every
+ * mastery's P(L) under them.
+ *
+ * History is streamed in keyset chunks ordered by mastery and time, so no read holds a long
+ * snapshot or lock, and packed into {@link BktSequences}. {@link BktEm} fits and replays on a
+ * dedicated fork/join pool. Results are written back in JDBC batches, each committed on its own,
+ * and only to masteries with no attempt since the run started (those are left to the live
+ * per-attempt update and the next run) and whose whole history is still kept, since a replay of a
+ * partly rolled-up history would start from the wrong state. Skill types with too little history
+ * keep their parameters.
+ */
+@Component
+@Profile("!test")
+public class BktRecomputeJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(BktRecomputeJob.class);
+
+    private static final String SELECT_ATTEMPTS = """
+            SELECT skill_mastery_id, created_at, id, skill_type, was_correct
+            FROM skill_attempt_history
+            WHERE skill_mastery_id IS NOT NULL AND created_at < ?
+              AND (skill_mastery_id, created_at, id) > (?, ?, ?)
+            ORDER BY skill_mastery_id, created_at, id
+            LIMIT ?
+            """;
+
+    private static final String UPDATE_MASTERY = """
+            UPDATE user_skill_mastery
+            SET probability_known = ?, probability_learned = ?, probability_guess = ?, probability_slip = ?
+            WHERE id = ? AND last_attempt_at < ? AND total_attempts = ?
+            """;
+
+    private final JdbcTemplate jdbc;
+    private final BktSkillParametersRepository parametersRepo;
+    private final BktParameterRegistry registry;
+    private final int batchSize;
+    private final long minAttempts;
+    private final int maxIterations;
+    private final double tolerance;
+    private final int parallelism;
+
+    public BktRecomputeJob(JdbcTemplate jdbc,
+                           BktSkillParametersRepository parametersRepo,
+                           BktParameterRegistry registry,
+                           @Value("${memorio.adaptive.bkt.batch-size:5000}") int batchSize,
+                           @Value("${memorio.adaptive.bkt.min-attempts:1000}") long minAttempts,
+                           @Value("${memorio.adaptive.bkt.max-iterations:50}") int maxIterations,
+                           @Value("${memorio.adaptive.bkt.tolerance:1e-6}") double tolerance,
+                           @Value("${memorio.adaptive.bkt.parallelism:0}") int parallelism){
+        this.jdbc = jdbc;
+        this.parametersRepo = parametersRepo;
+        this.registry = registry;
+        this.batchSize = batchSize;
+        this.minAttempts = minAttempts;
+        this.maxIterations = maxIterations;
+        this.tolerance = tolerance;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    @Scheduled(cron = "${memorio.adaptive.bkt.cron:0 30 3 * * SUN}")
+    public void recompute(){
+        try {
+            int updated = run();
+            logger.info("BKT recomputation updated {} masteries", updated);
+        } catch (Exception e){
+            logger.warn("BKT recomputation failed (non-critical): {}", e.getMessage());
+        }
+    }
+
+    int run(){
+        OffsetDateTime cutoff = OffsetDateTime.now();
+        Map<String, BktSequences> bySkill = readHistory(cutoff);
+        int updated = 0;
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (Map.Entry<String, BktSequences> e : bySkill.entrySet()){
+                String skillType = e.getKey();
+                BktSequences sequences = e.getValue();
+                if (sequences.observations() < minAttempts){
+                    logger.debug("Skipping {}: {} attempts", skillType, sequences.observations());
+                    continue;
+                }
+                BktParameters initial = registry.find(skillType)
+                        .orElseGet(() -> BktParameters.defaults(AdaptiveDifficultyService.guessRateFor(skillType)));
+                BktEm.Fit fit = BktEm.fit(sequences, initial, maxIterations, tolerance, pool);
+                logger.info("Fitted BKT for {} over {} masteries / {} attempts in {} iterations: {}",
+                        skillType, sequences.size(), sequences.observations(), fit.iterations(), fit.parameters());
+
+                BktSkillParameters row = parametersRepo.findById(skillType)
+                        .orElseGet(() -> new BktSkillParameters(skillType));
+                row.update(fit.parameters(), sequences.size(), sequences.observations(), fit.logLikelihood());
+                parametersRepo.save(row);
+
+                updated += writeBack(sequences, fit.parameters(), BktEm.replay(sequences, fit.parameters(), pool), cutoff);
+            }
+        } finally {
+            pool.shutdown();
+        }
+        registry.refresh();
+        return updated;
+    }
+
+    Map<String, BktSequences> readHistory(OffsetDateTime cutoff){
+        Map<String, BktSequences> bySkill = new LinkedHashMap<>();
+        Object[] after = {new UUID(0L, 0L), OffsetDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC), new UUID(0L, 0L)};
+        while (true){
+            int[] rows = new int[1];
+            jdbc.query(SELECT_ATTEMPTS, rs -> {
+                UUID masteryId = rs.getObject("skill_mastery_id", UUID.class);
+                bySkill.computeIfAbsent(rs.getString("skill_type"), k -> new BktSequences())
+                        .add(masteryId, rs.getBoolean("was_correct"));
+                after[0] = masteryId;
+                after[1] = rs.getObject("created_at", OffsetDateTime.class);
+                after[2] = rs.getObject("id", UUID.class);
+                rows[0]++;
+            }, cutoff, after[0], after[1], after[2], batchSize);
+            if (rows[0] < batchSize) break;
+        }
+        return bySkill;
+    }
+
+    private int writeBack(BktSequences sequences, BktParameters parameters, double[] known, OffsetDateTime cutoff){
+        int updated = 0;
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (int s = 0; s < sequences.size(); s++){
+            batch.add(new Object[]{known[s], parameters.learn(), parameters.guess(), parameters.slip(),
+                    sequences.masteryId(s), cutoff, sequences.end(s) - sequences.start(s)});
+            if (batch.size() == batchSize || s == sequences.size() - 1){
+                for (int count : jdbc.batchUpdate(UPDATE_MASTERY, batch)){
+                    if (count > 0) updated += count;
+                }
+                batch.clear();
+            }
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,56 @@
+package com.memorio.backend.adaptive;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Attempt outcomes of many masteries of one skill type, in chronological order per mastery, packed
+ * into primitive arrays: sequence {@code s} covers observations {@code start(s)} to {@code end(s)}.
+ * Attempts must be added grouped by mastery; a new mastery id starts a new sequence.
+ */
+final class BktSequences {
+
+    private final List<UUID> masteryIds = new ArrayList<>();
+    private int[] starts = new int[64];
+    private byte[] correct = new byte[1024];
+    private int observations;
+
+    void add(UUID masteryId, boolean wasCorrect){
+        int count = masteryIds.size();
+        if (count == 0 || !masteryIds.get(count - 1).equals(masteryId)){
+            if (count + 1 >= starts.length) starts = Arrays.copyOf(starts, starts.length * 2);
+            starts[count] = observations;
+            masteryIds.add(masteryId);
+        }
+        if (observations == correct.length) correct = Arrays.copyOf(correct, correct.length * 2);
+        correct[observations++] = (byte) (wasCorrect ? 1 : 0);
+        starts[masteryIds.size()] = observations;
+    }
+
+    int size(){
+        return masteryIds.size();
+    }
+
+    int observations(){
+        return observations;
+    }
+
+    UUID masteryId(int sequence){
+        return masteryIds.get(sequence);
+    }
+
+    int start(int sequence){
+        return starts[sequence];
+    }
+
+    int end(int sequence){
+        return starts[sequence + 1];
+    }
+
+    /** 1 for a correct attempt, 0 otherwise. */
+    int correct(int observation){
+        return correct[observation];
+    }
+}
@@ -0,0 +1,64 @@
+package com.memorio.backend.adaptive;
+
+import jakarta.persistence.*;
+import java.time.OffsetDateTime;
+
+@Entity
+@Table(name = "bkt_skill_parameters")
+public class BktSkillParameters {
+
+    @Id
+    @Column(name = "skill_type", length = 50)
+    private String skillType;
+
+    @Column(name = "probability_init", nullable = false)
+    private double probabilityInit;
+
+    @Column(name = "probability_learned", nullable = false)
+    private double probabilityLearned;
+
+    @Column(name = "probability_guess", nullable = false)
+    private double probabilityGuess;
+
+    @Column(name = "probability_slip", nullable = false)
+    private double probabilitySlip;
+
+    @Column(name = "sequences", nullable = false)
+    private int sequences;
+
+    @Column(name = "attempts", nullable = false)
+    private long attempts;
+
+    @Column(name = "log_likelihood", nullable = false)
+    private double logLikelihood;
+
+    @Column(name = "fitted_at", nullable = false)
+    private OffsetDateTime fittedAt;
+
+    protected BktSkillParameters(){}
+
+    public BktSkillParameters(String skillType){
+        this.skillType = skillType;
+    }
+
+    public void update(BktParameters parameters, int sequences, long attempts, double logLikelihood){
+        this.probabilityInit = parameters.init();
+        this.probabilityLearned = parameters.learn();
+        this.probabilityGuess = parameters.guess();
+        this.probabilitySlip = parameters.slip();
+        this.sequences = sequences;
+        this.attempts = attempts;
+        this.logLikelihood = logLikelihood;
+        this.fittedAt = OffsetDateTime.now();
+    }
+
+    public BktParameters toParameters(){
+        return new BktParameters(probabilityInit, probabilityLearned, probabilityGuess, probabilitySlip);
+    }
+
+    public String getSkillType() { return skillType; }
+    public int getSequences() { return sequences; }
+    public long getAttempts() { return attempts; }
+    public double getLogLikelihood() { return logLikelihood; }
+    public OffsetDateTime getFittedAt() { return fittedAt; }
+}
@@ -0,0 +1,6 @@
+package com.memorio.backend.adaptive;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface BktSkillParametersRepository extends JpaRepository<BktSkillParameters, String> {
+}
@@ -0,0 +1,57 @@
+package com.memorio.backend.adaptive;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Everything the adaptive dashboard shows for one user, partitioned from a single read of their
+ * {@code user_skill_mastery} rows. The lists keep the filters and order of the per-list queries in
+ * {@link UserSkillMasteryRepository}; the stats exclude QUIZ masteries as before.
+ */
+public record MasterySnapshot(
+        AdaptiveDifficultyService.MasteryStats stats,
+        List<UserSkillMastery> skillsDueForReview,
+        List<UserSkillMastery> skillsNeedingPractice,
+        List<UserSkillMastery> masteredSkills
+) {
+
+    static final String QUIZ = "QUIZ";
+    static final double MASTERED_THRESHOLD = 0.95;
+    static final double PRACTICE_THRESHOLD = 0.7;
+
+    public static MasterySnapshot of(List<UserSkillMastery> masteries, OffsetDateTime now){
+        List<UserSkillMastery> due = new ArrayList<>();
+        List<UserSkillMastery> practice = new ArrayList<>();
+        List<UserSkillMastery> mastered = new ArrayList<>();
+
+        int total = 0, masteredCount = 0, reviewCount = 0, practiceCount = 0;
+        double knownSum = 0.0;
+
+        for (UserSkillMastery mastery : masteries){
+            double known = mastery.getProbabilityKnown();
+            boolean quiz = QUIZ.equals(mastery.getSkillType());
+            OffsetDateTime nextReviewAt = mastery.getNextReviewAt();
+
+            if (known >= MASTERED_THRESHOLD) mastered.add(mastery);
+            if (known < PRACTICE_THRESHOLD) practice.add(mastery);
+            if (quiz) continue;
+
+            if (nextReviewAt != null && !nextReviewAt.isAfter(now)) due.add(mastery);
+
+            total++;
+            knownSum += known;
+            if (known >= MASTERED_THRESHOLD) masteredCount++;
+            if (known < PRACTICE_THRESHOLD) practiceCount++;
+            if (nextReviewAt == null || now.isAfter(nextReviewAt)) reviewCount++;
+        }
+
+        due.sort(Comparator.comparing(UserSkillMastery::getNextReviewAt));
+        practice.sort(Comparator.comparingDouble(UserSkillMastery::getProbabilityKnown));
+
+        AdaptiveDifficultyService.MasteryStats stats = new AdaptiveDifficultyService.MasteryStats(
+                total, masteredCount, reviewCount, total == 0 ? 0.0 : knownSum / total, practiceCount);
+        return new MasterySnapshot(stats, List.copyOf(due), List.copyOf(practice), List.copyOf(mastered));
+    }
+}
@@ -0,0 +1,53 @@
+package com.memorio.backend.adaptive;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Per-user {@link MasterySnapshot}s for the adaptive endpoints, loaded with one query and kept for
+ * {@code memorio.adaptive.snapshot.ttl-seconds}. A user's entry is dropped once an attempt that
+ * changed their mastery commits ({@link SkillMasteryChangedEvent}), so the TTL only bounds
+ * staleness of review due dates passing and of changes made on other instances.
+ */
+@Service
+public class MasterySnapshotService {
+
+    private final UserSkillMasteryRepository masteryRepo;
+    private final Cache<UUID, MasterySnapshot> cache;
+
+    public MasterySnapshotService(UserSkillMasteryRepository masteryRepo,
+                                  @Value("${memorio.adaptive.snapshot.ttl-seconds:30}") long ttlSeconds,
+                                  @Value("${memorio.adaptive.snapshot.max-size:50000}") long maxSize){
+        this.masteryRepo = masteryRepo;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(Math.max(0, ttlSeconds)))
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    public MasterySnapshot get(UUID userId){
+        return cache.get(userId, id -> MasterySnapshot.of(masteryRepo.findByUserId(id), OffsetDateTime.now()));
+    }
+
+    public Optional<MasterySnapshot> getIfPresent(UUID userId){
+        return Optional.ofNullable(cache.getIfPresent(userId));
+    }
+
+    public void evict(UUID userId){
+        cache.invalidate(userId);
+    }
+
+    /** Runs after commit, so a dashboard read racing the attempt cannot re-cache the old rows. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMasteryChanged(SkillMasteryChangedEvent event){
+        evict(event.userId());
+    }
+}
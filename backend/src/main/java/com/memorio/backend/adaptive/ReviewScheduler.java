@@ -0,0 +1,142 @@
+package com.memorio.backend.adaptive;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-user counts of skills due for review (non-QUIZ masteries whose {@code next_review_at} has
+ * passed), kept current in memory for active users so {@code /review-count} is a counter read.
+ *
+ * A user's review times are loaded from the partial index on (user_id, next_review_at). Times
+ * already passed are counted; those within the horizon go on one global min-heap, which a ticker
+ * drains as they come due, bumping the owner's counter and publishing {@link ReviewsDueEvent}.
+ * State is reloaded once its horizon has passed, so nothing further out is ever queued and
+ * changes made on other instances are picked up. Mastery changes on this instance
+ * ({@link SkillMasteryChangedEvent}) retire the state; queued entries of retired state are skipped.
+ */
+@Service
+public class ReviewScheduler {
+
+    static final class UserReviews {
+        private final AtomicInteger due;
+        private final long expiresAtMillis;
+        private volatile boolean retired;
+
+        UserReviews(int due, long expiresAtMillis){
+            this.due = new AtomicInteger(due);
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        int due(){
+            return due.get();
+        }
+    }
+
+    private record Pending(long dueAtMillis, UUID userId, UserReviews owner) {}
+
+    private final UserSkillMasteryRepository masteryRepo;
+    private final ApplicationEventPublisher events;
+    private final long horizonMillis;
+    private final Cache<UUID, UserReviews> users;
+    private final PriorityQueue<Pending> heap = new PriorityQueue<>(
+            (a, b) -> Long.compare(a.dueAtMillis(), b.dueAtMillis()));
+
+    public ReviewScheduler(UserSkillMasteryRepository masteryRepo,
+                           ApplicationEventPublisher events,
+                           @Value("${memorio.adaptive.reviews.horizon-minutes:10}") long horizonMinutes,
+                           @Value("${memorio.adaptive.reviews.max-users:100000}") long maxUsers){
+        this.masteryRepo = masteryRepo;
+        this.events = events;
+        this.horizonMillis = Duration.ofMinutes(Math.max(1, horizonMinutes)).toMillis();
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .evictionListener((UUID userId, UserReviews reviews, RemovalCause cause) -> {
+                    if (reviews != null) reviews.retired = true;
+                })
+                .build();
+    }
+
+    public int dueCount(UUID userId){
+        return dueCount(userId, System.currentTimeMillis());
+    }
+
+    int dueCount(UUID userId, long nowMillis){
+        UserReviews reviews = users.get(userId, id -> load(id, nowMillis));
+        if (nowMillis >= reviews.expiresAtMillis){
+            retire(userId);
+            reviews = users.get(userId, id -> load(id, nowMillis));
+        }
+        return reviews.due();
+    }
+
+    /** Runs after commit, so the reload sees the attempt's new review time. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMasteryChanged(SkillMasteryChangedEvent event){
+        retire(event.userId());
+    }
+
+    @Scheduled(fixedDelayString = "${memorio.adaptive.reviews.tick-ms:1000}")
+    public void tick(){
+        tick(System.currentTimeMillis());
+    }
+
+    void tick(long nowMillis){
+        Map<UUID, UserReviews> bumped = new HashMap<>();
+        synchronized (heap){
+            Pending next;
+            while ((next = heap.peek()) != null && next.dueAtMillis() <= nowMillis){
+                heap.poll();
+                if (next.owner().retired) continue;
+                next.owner().due.incrementAndGet();
+                bumped.put(next.userId(), next.owner());
+            }
+        }
+        bumped.forEach((userId, reviews) -> events.publishEvent(new ReviewsDueEvent(userId, reviews.due())));
+    }
+
+    int queued(){
+        synchronized (heap){
+            return heap.size();
+        }
+    }
+
+    // Waits for an in-flight load of the same user, so a load that read the old rows is retired too
+    private void retire(UUID userId){
+        users.asMap().computeIfPresent(userId, (id, reviews) -> {
+            reviews.retired = true;
+            return null;
+        });
+    }
+
+    private UserReviews load(UUID userId, long nowMillis){
+        UserReviews reviews = new UserReviews(0, nowMillis + horizonMillis);
+        List<Pending> upcoming = new ArrayList<>();
+        for (OffsetDateTime reviewAt : masteryRepo.findReviewTimes(userId)){
+            long at = reviewAt.toInstant().toEpochMilli();
+            if (at <= nowMillis) reviews.due.incrementAndGet();
+            else if (at <= reviews.expiresAtMillis) upcoming.add(new Pending(at, userId, reviews));
+        }
+        if (!upcoming.isEmpty()){
+            synchronized (heap){
+                heap.addAll(upcoming);
+            }
+        }
+        return reviews;
+    }
+}
@@ -0,0 +1,10 @@
+package com.memorio.backend.adaptive;
+
+import java.util.UUID;
+
+/**
+ * Published by {@link ReviewScheduler} when more of a user's skills come due for review, with the
+ * user's new due count. Hook for review reminders.
+ */
+public record ReviewsDueEvent(UUID userId, int dueCount) {
+}
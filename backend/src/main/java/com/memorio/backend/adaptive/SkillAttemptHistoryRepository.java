@@ -1,29 +1,50 @@
 package com.memorio.backend.adaptive;
 
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import java.time.OffsetDateTime;
-import java.util.List;
 import java.util.UUID;
 
 
 public interface SkillAttemptHistoryRepository extends JpaRepository<SkillAttemptHistory, UUID>{
 
-    List<SkillAttemptHistory> findByUserIdOrderByCreatedAtDesc(UUID userId);
-    List<SkillAttemptHistory> findBySkillMasteryIdOrderByCreatedAtDesc(UUID skillMasteryId);
-
-    @Query("SELECT h FROM SkillAttemptHistory h WHERE h.userId = :userId " +
-            "AND h.createdAt BETWEEN :startDate AND :endDate " +
-            "ORDER BY h.createdAt DESC")
-    List<SkillAttemptHistory> findAttemptsByDateRange(
-            @Param("userId") UUID userId,
-            @Param("startDate") OffsetDateTime startDate,
-            @Param("endDate") OffsetDateTime endDate
-    );
+    // Keyset pages on (createdAt, id) descending, served by idx_attempt_history_user_time and
+    // idx_attempt_history_mastery_time; a Slice skips the count query
+    Slice<SkillAttemptHistory> findByUserIdOrderByCreatedAtDescIdDesc(UUID userId, Pageable pageable);
+
+    @Query("""
+           SELECT h FROM SkillAttemptHistory h
+           WHERE h.userId = :userId
+             AND (h.createdAt < :createdAt OR (h.createdAt = :createdAt AND h.id < :id))
+           ORDER BY h.createdAt DESC, h.id DESC
+           """)
+    Slice<SkillAttemptHistory> findByUserIdAfter(@Param("userId") UUID userId,
+                                                 @Param("createdAt") OffsetDateTime createdAt,
+                                                 @Param("id") UUID id,
+                                                 Pageable pageable);
+
+    Slice<SkillAttemptHistory> findBySkillMasteryIdOrderByCreatedAtDescIdDesc(UUID skillMasteryId, Pageable pageable);
+
+    @Query("""
+           SELECT h FROM SkillAttemptHistory h
+           WHERE h.skillMasteryId = :skillMasteryId
+             AND (h.createdAt < :createdAt OR (h.createdAt = :createdAt AND h.id < :id))
+           ORDER BY h.createdAt DESC, h.id DESC
+           """)
+    Slice<SkillAttemptHistory> findBySkillMasteryIdAfter(@Param("skillMasteryId") UUID skillMasteryId,
+                                                         @Param("createdAt") OffsetDateTime createdAt,
+                                                         @Param("id") UUID id,
+                                                         Pageable pageable);
+
+    // The date range also prunes the scan to the matching monthly partitions
     @Query("SELECT AVG(CASE WHEN h.wasCorrect = true THEN 1.0 ELSE 0.0 END) " +
-            "FROM SkillAttemptHistory h WHERE h.userId = :userId AND h.skillType = :skillType")
+            "FROM SkillAttemptHistory h WHERE h.userId = :userId AND h.skillType = :skillType " +
+            "AND h.createdAt >= :since")
     Double calculateAverageAccuracy(@Param("userId") UUID userId,
-                                    @Param("skillType") String skillType);
+                                    @Param("skillType") String skillType,
+                                    @Param("since") OffsetDateTime since);
 }
@@ -0,0 +1,148 @@
+package com.memorio.backend.adaptive;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the monthly partitions of {@code skill_attempt_history}: creates the next months
+ * ahead so inserts never land in the default partition, and folds months older than
+ * {@code memorio.adaptive.history.retention-months} into {@code skill_attempt_daily} before
+ * dropping them.
+ *
+ * Each old partition is rolled up and dropped in one transaction, so a failure leaves it to the
+ * next run without double counting. Dropping a partition briefly locks the parent table, so the
+ * wait is capped by a lock timeout rather than queueing attempt inserts behind it.
+ */
+@Component
+@Profile("!test")
+public class SkillAttemptHistoryRollupJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(SkillAttemptHistoryRollupJob.class);
+
+    static final String DEFAULT_PARTITION = "skill_attempt_history_default";
+    private static final Pattern MONTHLY_PARTITION = Pattern.compile("skill_attempt_history_(\\d{4})_(\\d{2})");
+
+    private static final String ROLLUP = """
+            INSERT INTO skill_attempt_daily (user_id, skill_type, day, attempts, correct_attempts,
+                                             difficulty_sum, response_time_sum_ms, response_time_count)
+            SELECT user_id, skill_type, (created_at AT TIME ZONE 'UTC')::date,
+                   COUNT(*), COUNT(*) FILTER (WHERE was_correct), SUM(difficulty_level),
+                   COALESCE(SUM(response_time_ms), 0), COUNT(response_time_ms)
+            FROM %s
+            WHERE created_at < ?
+            GROUP BY 1, 2, 3
+            ON CONFLICT (user_id, skill_type, day) DO UPDATE SET
+                attempts = skill_attempt_daily.attempts + EXCLUDED.attempts,
+                correct_attempts = skill_attempt_daily.correct_attempts + EXCLUDED.correct_attempts,
+                difficulty_sum = skill_attempt_daily.difficulty_sum + EXCLUDED.difficulty_sum,
+                response_time_sum_ms = skill_attempt_daily.response_time_sum_ms + EXCLUDED.response_time_sum_ms,
+                response_time_count = skill_attempt_daily.response_time_count + EXCLUDED.response_time_count
+            """;
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final int retentionMonths;
+    private final int monthsAhead;
+    private final long lockTimeoutMs;
+
+    public SkillAttemptHistoryRollupJob(JdbcTemplate jdbc,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${memorio.adaptive.history.retention-months:12}") int retentionMonths,
+                                        @Value("${memorio.adaptive.history.months-ahead:3}") int monthsAhead,
+                                        @Value("${memorio.adaptive.history.lock-timeout-ms:5000}") long lockTimeoutMs){
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.retentionMonths = Math.max(1, retentionMonths);
+        this.monthsAhead = Math.max(1, monthsAhead);
+        this.lockTimeoutMs = lockTimeoutMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup(){
+        try {
+            ensurePartitions(YearMonth.now(ZoneOffset.UTC));
+        } catch (Exception e){
+            logger.warn("Could not create skill attempt history partitions: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${memorio.adaptive.history.rollup-cron:0 45 2 * * *}")
+    public void rollUp(){
+        try {
+            int dropped = run(YearMonth.now(ZoneOffset.UTC));
+            logger.info("Skill attempt history rollup dropped {} partitions", dropped);
+        } catch (Exception e){
+            logger.warn("Skill attempt history rollup failed (non-critical): {}", e.getMessage());
+        }
+    }
+
+    int run(YearMonth current){
+        ensurePartitions(current);
+
+        YearMonth oldestKept = current.minusMonths(retentionMonths);
+        OffsetDateTime cutoff = oldestKept.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+        int dropped = 0;
+        for (String partition : expiredPartitions(oldestKept)){
+            try {
+                tx.executeWithoutResult(status -> {
+                    setLockTimeout();
+                    jdbc.update(ROLLUP.formatted(partition), cutoff);
+                    jdbc.execute("DROP TABLE " + partition);
+                });
+                dropped++;
+            } catch (RuntimeException e){
+                logger.warn("Could not roll up {}, retrying next run: {}", partition, e.getMessage());
+            }
+        }
+
+        // Rows that fell outside every monthly range
+        tx.executeWithoutResult(status -> {
+            jdbc.update(ROLLUP.formatted(DEFAULT_PARTITION), cutoff);
+            jdbc.update("DELETE FROM " + DEFAULT_PARTITION + " WHERE created_at < ?", cutoff);
+        });
+        return dropped;
+    }
+
+    private void ensurePartitions(YearMonth current){
+        for (int i = 0; i <= monthsAhead; i++){
+            YearMonth month = current.plusMonths(i);
+            jdbc.queryForList("SELECT create_skill_attempt_history_partition(?)", month.atDay(1));
+        }
+    }
+
+    private List<String> expiredPartitions(YearMonth oldestKept){
+        List<String> expired = new ArrayList<>();
+        for (String name : jdbc.queryForList("""
+                SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = 'skill_attempt_history'::regclass
+                ORDER BY c.relname
+                """, String.class)){
+            Matcher m = MONTHLY_PARTITION.matcher(name);
+            if (m.matches() && YearMonth.of(Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2))).isBefore(oldestKept)){
+                expired.add(name);
+            }
+        }
+        return expired;
+    }
+
+    private void setLockTimeout(){
+        jdbc.execute("SET LOCAL lock_timeout = " + Math.max(0, lockTimeoutMs));
+    }
+}
@@ -0,0 +1,9 @@
+package com.memorio.backend.adaptive;
+
+import java.util.UUID;
+
+/**
+ * Published when an attempt updates one of the user's skill masteries.
+ */
+public record SkillMasteryChangedEvent(UUID userId) {
+}
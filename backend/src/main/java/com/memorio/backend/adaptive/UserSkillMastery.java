@@ -128,10 +128,14 @@ public class UserSkillMastery {
     }
 
     public boolean needsReview(){
+        return needsReview(OffsetDateTime.now());
+    }
+
+    public boolean needsReview(OffsetDateTime now){
         if(this.nextReviewAt == null){
             return true;
         }
-        return OffsetDateTime.now().isAfter(this.nextReviewAt);
+        return now.isAfter(this.nextReviewAt);
     }
 
     public double getAccuracyRate(){
@@ -3,6 +3,7 @@ package com.memorio.backend.adaptive;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -20,6 +21,11 @@ public interface UserSkillMasteryRepository extends JpaRepository<UserSkillMaste
             "ORDER BY s.nextReviewAt ASC")
     List<UserSkillMastery> findSkillDueForReview(@Param("userId")UUID userId);
 
+    // Served by the partial index on (user_id, next_review_at)
+    @Query("SELECT s.nextReviewAt FROM UserSkillMastery s WHERE s.userId = :userId " +
+            "AND s.skillType <> 'QUIZ' AND s.nextReviewAt IS NOT NULL")
+    List<OffsetDateTime> findReviewTimes(@Param("userId") UUID userId);
+
     @Query("SELECT s FROM UserSkillMastery s WHERE s.userId = :userId " +
             "AND s.probabilityKnown >= 0.95")
     List<UserSkillMastery> findMasteredSkills(@Param("userId") UUID userId);
@@ -0,0 +1,42 @@
+package com.memorio.backend.common.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records how many SQL statements each request ran, as the {@code memorio.http.db.statements}
+ * summary tagged with the matched URI pattern.
+ */
+public class DbCallsInterceptor implements HandlerInterceptor {
+
+    static final String METRIC = "memorio.http.db.statements";
+
+    private final MeterRegistry registry;
+
+    public DbCallsInterceptor(MeterRegistry registry){
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler){
+        SqlStatementCounter.begin();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex){
+        int statements = SqlStatementCounter.end();
+        if (statements < 0) return;
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder(METRIC)
+                .description("SQL statements prepared per request")
+                .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                .register(registry)
+                .record(statements);
+    }
+}
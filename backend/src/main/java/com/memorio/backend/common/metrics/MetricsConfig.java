@@ -0,0 +1,35 @@
+package com.memorio.backend.common.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Wires per-request DB call counting: Hibernate reports every prepared statement to
+ * {@link SqlStatementCounter} and {@link DbCallsInterceptor} publishes the count for the
+ * exercise endpoints.
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry registry;
+
+    public MetricsConfig(MeterRegistry registry){
+        this.registry = registry;
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer sqlStatementCounterCustomizer(){
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry interceptors){
+        interceptors.addInterceptor(new DbCallsInterceptor(registry))
+                .addPathPatterns("/exercises/**");
+    }
+}
@@ -0,0 +1,32 @@
+package com.memorio.backend.common.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts SQL statements Hibernate prepares on the current thread while a count is open.
+ * Registered as the session factory's statement inspector by {@link MetricsConfig}; the SQL
+ * itself is passed through unchanged.
+ */
+public final class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql){
+        int[] count = CURRENT.get();
+        if (count != null) count[0]++;
+        return sql;
+    }
+
+    /** Starts counting statements on this thread. */
+    public static void begin(){
+        CURRENT.set(new int[1]);
+    }
+
+    /** Stops counting and returns the number of statements since {@link #begin()}, or -1 if none was open. */
+    public static int end(){
+        int[] count = CURRENT.get();
+        CURRENT.remove();
+        return count == null ? -1 : count[0];
+    }
+}
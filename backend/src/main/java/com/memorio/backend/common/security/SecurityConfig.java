@@ -39,8 +39,12 @@ public class SecurityConfig {
     SecurityFilterChain securityFilterChain(
             HttpSecurity http,
             AuthenticationEntryPoint authEntryPoint,
-            AccessDeniedHandler accessDeniedHandler
+            AccessDeniedHandler accessDeniedHandler,
+            @Value("${server.port:8080}") int serverPort,
+            @Value("${management.server.port:-1}") int managementPort
     ) throws Exception {
+        // Actuator on its own port is only reachable from inside the deployment
+        boolean internalManagementPort = managementPort > 0 && managementPort != serverPort;
 
         http
                 .cors(cors -> {})
@@ -57,6 +61,8 @@ public class SecurityConfig {
                         .requestMatchers("/oauth2/**").permitAll()
                         .requestMatchers("/login/oauth2/**").permitAll()
                         .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers(request -> internalManagementPort && request.getLocalPort() == managementPort).permitAll()
+                        .requestMatchers("/actuator/prometheus").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.POST, "/users").permitAll()
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/lexicon/languages").permitAll()
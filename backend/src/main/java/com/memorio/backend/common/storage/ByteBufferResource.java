@@ -0,0 +1,77 @@
+package com.memorio.backend.common.storage;
+
+import org.springframework.core.io.AbstractResource;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Read-only {@link org.springframework.core.io.Resource} over a (typically direct) buffer.
+ * Each stream reads from its own duplicate, so one buffer can back concurrent responses,
+ * and {@code skip} just moves the position, which keeps range requests cheap.
+ */
+public class ByteBufferResource extends AbstractResource {
+
+    private final ByteBuffer buffer;
+    private final String description;
+
+    public ByteBufferResource(ByteBuffer buffer, String description){
+        this.buffer = buffer.asReadOnlyBuffer();
+        this.description = description;
+    }
+
+    @Override
+    public InputStream getInputStream(){
+        return new BufferInputStream(buffer.duplicate());
+    }
+
+    @Override
+    public long contentLength(){
+        return buffer.remaining();
+    }
+
+    @Override
+    public boolean exists(){
+        return true;
+    }
+
+    @Override
+    public String getDescription(){
+        return "ByteBuffer resource [" + description + "]";
+    }
+
+    private static final class BufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private BufferInputStream(ByteBuffer buffer){
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read(){
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length){
+            if (length == 0) return 0;
+            if (!buffer.hasRemaining()) return -1;
+            int n = Math.min(length, buffer.remaining());
+            buffer.get(target, offset, n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n){
+            int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available(){
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.memorio.backend.common.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * {@link ImageStorage} on the local filesystem. Content is written once to
+ * {@code <root>/ab/cd/<sha256>} through a temp file and an atomic rename, so readers never
+ * see a partial file and concurrent writers of the same bytes are harmless. The temp file is
+ * forced to disk before the rename, since callers may drop their own copy once store returns.
+ * Files are served as {@link FileSystemResource}s and streamed from disk without being
+ * buffered whole on the heap.
+ */
+@Component
+public class FileSystemImageStorage implements ImageStorage {
+
+    private static final Pattern KEY = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+
+    public FileSystemImageStorage(@Value("${memorio.images.storage.root:data/images}") String root){
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public String store(byte[] data) throws IOException {
+        String key = sha256(data);
+        Path target = pathFor(key);
+        if (Files.exists(target)) return key;
+
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), key, ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)){
+                ByteBuffer buffer = ByteBuffer.wrap(data);
+                while (buffer.hasRemaining()) channel.write(buffer);
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            syncDirectory(target.getParent());
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return key;
+    }
+
+    // Persists the rename itself; not every platform can open a directory, which is fine to skip
+    private static void syncDirectory(Path dir){
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)){
+            channel.force(true);
+        } catch (IOException e){
+            // best effort
+        }
+    }
+
+    @Override
+    public Optional<Resource> load(String key){
+        Path path = pathFor(key);
+        return Files.isRegularFile(path) ? Optional.of(new FileSystemResource(path)) : Optional.empty();
+    }
+
+    Path pathFor(String key){
+        if (key == null || !KEY.matcher(key).matches()){
+            throw new IllegalArgumentException("Invalid image key");
+        }
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+
+    static String sha256(byte[] data){
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e){
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.memorio.backend.common.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Moves image bytes still held in {@code bytea} columns into the {@link ImageStorage} and
+ * leaves only the content key on the row. Runs once after startup in id order; a row is
+ * cleared only after its bytes are stored, so an interrupted run just resumes next time.
+ * Off by default: the database copy is gone afterwards, so the storage root must be on
+ * persistent storage before it is enabled.
+ */
+@Component
+@Profile("!test")
+public class ImageBlobMigrationJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageBlobMigrationJob.class);
+
+    private static final List<String> TABLES = List.of("face_images", "article_images");
+
+    private final JdbcTemplate jdbc;
+    private final ImageStorage storage;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public ImageBlobMigrationJob(JdbcTemplate jdbc,
+                                 ImageStorage storage,
+                                 @Value("${memorio.images.storage.migrate-on-startup:false}") boolean enabled,
+                                 @Value("${memorio.images.storage.migration-batch-size:50}") int batchSize){
+        this.jdbc = jdbc;
+        this.storage = storage;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Async
+    public void migrate(){
+        if (!enabled) return;
+        for (String table : TABLES){
+            try {
+                int moved = migrate(table);
+                if (moved > 0) logger.info("Moved {} image blobs from {} to storage", moved, table);
+            } catch (Exception e){
+                logger.warn("Image blob migration of {} stopped (non-critical): {}", table, e.getMessage());
+            }
+        }
+    }
+
+    int migrate(String table) throws IOException {
+        String select = "SELECT id, image_data FROM " + table
+                + " WHERE image_data IS NOT NULL AND id > ? ORDER BY id LIMIT ?";
+        String update = "UPDATE " + table
+                + " SET content_hash = ?, file_size = ?, image_data = NULL WHERE id = ?";
+        UUID after = new UUID(0L, 0L);
+        int moved = 0;
+        while (true){
+            List<Blob> batch = jdbc.query(select,
+                    (rs, i) -> new Blob(rs.getObject("id", UUID.class), rs.getBytes("image_data")),
+                    after, batchSize);
+            if (batch.isEmpty()) return moved;
+            for (Blob blob : batch){
+                String key = storage.store(blob.data());
+                moved += jdbc.update(update, key, (long) blob.data().length, blob.id());
+            }
+            after = batch.get(batch.size() - 1).id();
+        }
+    }
+
+    private record Blob(UUID id, byte[] data) {}
+}
@@ -0,0 +1,31 @@
+package com.memorio.backend.common.storage;
+
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Content-addressed store for image bytes. Entities keep only the returned key
+ * (the SHA-256 of the content) and metadata; the bytes live in the backend.
+ */
+public interface ImageStorage {
+
+    /** Stores the bytes and returns their content key. Storing the same bytes twice is a no-op. */
+    String store(byte[] data) throws IOException;
+
+    /** Opens the stored content for streaming, or empty if the key is unknown. */
+    Optional<Resource> load(String key);
+
+    /**
+     * Opens an image that is either in the store ({@code key} set) or still held inline
+     * in its DB row by rows written before the store existed.
+     */
+    default Optional<Resource> open(String key, Supplier<byte[]> inlineData){
+        if (key != null) return load(key);
+        byte[] data = inlineData.get();
+        return data != null ? Optional.of(new ByteArrayResource(data)) : Optional.empty();
+    }
+}
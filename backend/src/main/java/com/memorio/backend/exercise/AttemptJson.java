@@ -0,0 +1,53 @@
+package com.memorio.backend.exercise;
+
+import java.util.List;
+
+/**
+ * Writes the string arrays stored on {@link ExerciseAttempt} without going through Jackson.
+ * Output is the same JSON the ObjectMapper produced for a {@code List<String>}.
+ */
+final class AttemptJson {
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private AttemptJson(){}
+
+    static String stringArray(List<String> values){
+        if (values == null || values.isEmpty()) return "[]";
+        StringBuilder sb = new StringBuilder(values.size() * 10 + 2).append('[');
+        for (int i = 0, n = values.size(); i < n; i++){
+            if (i > 0) sb.append(',');
+            String v = values.get(i);
+            if (v == null){
+                sb.append("null");
+            } else {
+                appendQuoted(sb, v);
+            }
+        }
+        return sb.append(']').toString();
+    }
+
+    private static void appendQuoted(StringBuilder sb, String v){
+        sb.append('"');
+        for (int i = 0, n = v.length(); i < n; i++){
+            char c = v.charAt(i);
+            switch (c){
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                case '\b' -> sb.append("\\b");
+                case '\f' -> sb.append("\\f");
+                default -> {
+                    if (c < 0x20){
+                        sb.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        sb.append('"');
+    }
+}
@@ -0,0 +1,37 @@
+package com.memorio.backend.exercise;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+@Component
+@ConditionalOnProperty(name = "memorio.exercise.session-store", havingValue = "caffeine", matchIfMissing = true)
+public class CaffeineExerciseSessionStore implements ExerciseSessionStore {
+
+    private final Cache<UUID, ExerciseSessionState> cache;
+
+    public CaffeineExerciseSessionStore(
+            @Value("${memorio.exercise.session-store.ttl-minutes:60}") long ttlMinutes,
+            @Value("${memorio.exercise.session-store.max-size:100000}") long maxSize){
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    @Override
+    public void put(UUID sessionId, ExerciseSessionState state){
+        cache.put(sessionId, state);
+    }
+
+    @Override
+    public Optional<ExerciseSessionState> find(UUID sessionId){
+        return Optional.ofNullable(cache.getIfPresent(sessionId));
+    }
+}
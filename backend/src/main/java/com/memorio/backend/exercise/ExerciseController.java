@@ -2,15 +2,12 @@ package com.memorio.backend.exercise;
 import com.memorio.backend.common.error.NotFoundException;
 import com.memorio.backend.exercise.dto.*;
 import com.memorio.backend.exercise.dto.HistoryItem;
-import com.memorio.backend.gamification.UserStatsRepository;
-import com.memorio.backend.gamification.BadgeService;
+import com.memorio.backend.exercise.ExerciseMetrics.Stage;
+import com.memorio.backend.exercise.scoring.ExerciseScorer;
+import com.memorio.backend.exercise.scoring.ScoreResult;
+import com.memorio.backend.faces.FaceBundleWriter;
 import com.memorio.backend.user.UserRepository;
-import com.memorio.backend.gamification.UserStats;
-import com.memorio.backend.lexicon.WordPicker;
-import com.memorio.backend.faces.FacePickerService;
-import com.memorio.backend.faces.Person;
 import com.memorio.backend.common.security.AuthenticationUtil;
-import com.memorio.backend.adaptive.AdaptiveDifficultyService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -21,21 +18,18 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.*;
-import java.util.function.Function;
 import java.time.OffsetDateTime;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.PageRequest;
-import java.time.LocalDate;
+import org.springframework.data.domain.Slice;
 import java.time.ZoneId;
-import java.util.LinkedHashSet;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/exercises")
@@ -45,15 +39,15 @@ public class ExerciseController {
 
     private final ExerciseSessionRepository sessions;
     private final ExerciseAttemptRepository attempts;
-    private final ObjectMapper mapper;
-    private final UserStatsRepository userStatsRepo;
-    private final BadgeService badgeService;
     private final StreakService streakService;
     private final UserRepository users;
-    private final WordPicker wordPicker;
-    private final FacePickerService facePicker;
-    private final NumberPegService numberPegService;
-    private final AdaptiveDifficultyService adaptiveService;
+    private final ExercisePreparer preparer;
+    private final ExercisePrefetchService prefetch;
+    private final SubmitSideEffectService submitSideEffects;
+    private final ExerciseScorer scorer;
+    private final ExerciseSessionStore sessionStore;
+    private final ExerciseMetrics metrics;
+    private final FaceBundleWriter faceBundles;
 
 
     private static final double LEVEL_UP_THRESHOLD = 0.85;
@@ -63,21 +57,22 @@ public class ExerciseController {
 
     public ExerciseController(ExerciseSessionRepository sessions,
                               ExerciseAttemptRepository attempts,
-                              ObjectMapper mapper, UserStatsRepository userStatsRepo,
-                              BadgeService badgeService, StreakService streakService,
-                              UserRepository users, WordPicker wordPicker, FacePickerService facePicker,
-                              NumberPegService numberPegService, AdaptiveDifficultyService adaptiveService) {
+                              StreakService streakService,
+                              UserRepository users, ExercisePreparer preparer, ExercisePrefetchService prefetch,
+                              SubmitSideEffectService submitSideEffects,
+                              ExerciseScorer scorer, ExerciseSessionStore sessionStore,
+                              ExerciseMetrics metrics, FaceBundleWriter faceBundles) {
         this.sessions = sessions;
         this.attempts = attempts;
-        this.mapper = mapper;
-        this.userStatsRepo = userStatsRepo;
-        this.badgeService = badgeService;
         this.streakService = streakService;
         this.users = users;
-        this.wordPicker = wordPicker;
-        this.facePicker = facePicker;
-        this.numberPegService = numberPegService;
-        this.adaptiveService = adaptiveService;
+        this.preparer = preparer;
+        this.prefetch = prefetch;
+        this.submitSideEffects = submitSideEffects;
+        this.scorer = scorer;
+        this.sessionStore = sessionStore;
+        this.metrics = metrics;
+        this.faceBundles = faceBundles;
     }
     @Operation(
         summary = "Start a new exercise session",
@@ -98,69 +93,23 @@ public class ExerciseController {
         sessions.save(session);
 
         switch (req.getType()){
-            case WORD_LINKING -> {
-                var user = users.findById(userId).orElseThrow(()->new IllegalStateException("User no found"));
-                String language = (user.getPreferredLanguage() != null && !user.getPreferredLanguage().isBlank())
-                        ? user.getPreferredLanguage() : "en";
-                int listSize = getWordCountForLevel(user.getSkillLevel());
-
-                int skillLevel = user.getSkillLevel();
-                //var words = wordPicker.pickRandom(language, listSize);
-                var words = wordPicker.pickWords(language, skillLevel, listSize);
-                TimingConfig timing = calculateTimingForWords(words.size(), skillLevel);
-                var payload = Map.of("words", words);
-                var res = new StartExerciseResponse(sessionId, ExerciseType.WORD_LINKING, payload, skillLevel, timing);
-                return ResponseEntity.ok(res);
-            }
             case DAILY_CHALLENGE -> {
                 var words = List.of("leaf", "mirror", "piano", "bridge", "star", "wheel");
+                sessionStore.put(sessionId, ExerciseSessionState.ofItems(ExerciseType.DAILY_CHALLENGE, 1, words));
                 var payload = new WordLinkingPayload(words);
                 var res = new StartExerciseResponse(sessionId, ExerciseType.WORD_LINKING, payload);
                 return ResponseEntity.ok(res);
             }
-            case NAMES_FACES -> {
-                var user = users.findById(userId).orElseThrow(()-> new IllegalStateException("User not found"));
-
-                int skillLevel = user.getSkillLevel();
-                int faceCount = getFaceCountForLevel(skillLevel);
-
-                List<Person> persons = facePicker.pickFaces(skillLevel, faceCount);
-
-                if(persons.isEmpty()){
-                    throw new IllegalStateException("No faces available for exercise");
-                }
-
-                List<FaceData> faces = persons.stream()
-                        .map(p-> new FaceData(
-                                p.getPersonName(),
-                                p.getDisplayName(),
-                                "/api/faces/primary/" + p.getPersonName()
-                        )).toList();
-
-                TimingConfig timing = calculateTimingForFaces(faceCount, skillLevel);
-                var payload = new FaceNamePayload(faces);
-                var res = new StartExerciseResponse(sessionId, ExerciseType.NAMES_FACES, payload, skillLevel, timing);
-                return ResponseEntity.ok(res);
-            }
-            case NUMBER_PEG ->{
-                var user = users.findById(userId)
-                        .orElseThrow(()-> new IllegalStateException("User not found"));
-                String language = (user.getPreferredLanguage() != null && !user.getPreferredLanguage().isBlank()) ? user.getPreferredLanguage() :  "en";
-
-                int skillLevel = user.getSkillLevel();
-
-                List<Integer> digits = numberPegService.generateDigitSequence(skillLevel);
-                List<String> hints = digits.stream()
-                        .map(digit -> numberPegService.getHintWord(digit, language))
-                        .toList();
-
-                var payload = Map.of(
-                        "digits", digits,
-                        "hints", hints
-                );
-                TimingConfig timing = calculateTimingForDigits(digits.size(), skillLevel);
-
-                var res = new StartExerciseResponse(sessionId, ExerciseType.NUMBER_PEG, payload, skillLevel, timing);
+            case WORD_LINKING, NAMES_FACES, NUMBER_PEG -> {
+                // A prefetched payload skips the user lookup and picker queries entirely
+                PreparedExercise prepared = prefetch.take(userId, req.getType()).orElseGet(() -> {
+                    var user = users.findById(userId).orElseThrow(()-> new IllegalStateException("User not found"));
+                    return metrics.time(Stage.PICKER, req.getType(), user.getSkillLevel(),
+                            () -> preparer.prepare(req.getType(), user));
+                });
+                sessionStore.put(sessionId, prepared.state());
+                var res = new StartExerciseResponse(sessionId, prepared.type(), prepared.payload(),
+                        prepared.skillLevel(), prepared.timing());
                 return ResponseEntity.ok(res);
             }
             default -> throw new IllegalArgumentException("Unknown exercise type: " + req.getType());
@@ -168,12 +117,13 @@ public class ExerciseController {
     }
     @Operation(
         summary = "Submit exercise answers",
-        description = "Submit answers for an exercise session. Calculates score, updates user stats, awards badges, and adjusts skill level."
+        description = "Submit answers for an exercise session. Scores against the items handed out by start and adjusts skill level; stats, badges and mastery are updated asynchronously unless inline side effects are configured."
     )
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Exercise submitted successfully",
             content = @Content(schema = @Schema(implementation = SubmitExerciseResponse.class))),
         @ApiResponse(responseCode = "404", description = "Session not found"),
+        @ApiResponse(responseCode = "409", description = "Session state expired; start a new session"),
         @ApiResponse(responseCode = "400", description = "Invalid request data")
     })
     @Transactional
@@ -183,90 +133,32 @@ public class ExerciseController {
         UUID userId = AuthenticationUtil.extractUserId(auth);
         var session = sessions.findByIdAndUserId(req.getSessionId(), userId).
                 orElseThrow(() -> new NotFoundException("Session not found"));
-        if (req.getType() != ExerciseType.WORD_LINKING
-                && req.getType() != ExerciseType.DAILY_CHALLENGE
-                && req.getType() != ExerciseType.NAMES_FACES
-                && req.getType() != ExerciseType.NUMBER_PEG
-        ){
+        if (!scorer.supports(req.getType())){
             throw new IllegalArgumentException("Scoring not implemented for type: " + req.getType());
         }
-        var shown = req.getShownWords();
-        if (shown == null || shown.isEmpty()){
-            throw new IllegalArgumentException("shownWords must not be empty");
+        // Score only against what start actually handed out. A session whose state expired
+        // (or was started before a restart) has to be started again; the client's list is
+        // never trusted.
+        var state = sessionStore.find(session.getId())
+                .orElseThrow(() -> new IllegalStateException("Exercise session expired, please start a new one"));
+        if (!startedAs(state.getType(), req.getType())){
+            throw new IllegalArgumentException("Exercise type does not match the started session");
         }
-        Function<String, String> norm = s-> s == null ? "" : s.trim().toLowerCase();
-        // For NUMBER_PEG, we need to count all digits including duplicates
-        // For other exercises, we count unique words only
-        boolean isNumberPeg = (req.getType() == ExerciseType.NUMBER_PEG);
-        
-        Set<String> targets = new LinkedHashSet<>();
-        List<String> allTargets = new ArrayList<>();
-        for (String word : shown){
-            String n = norm.apply(word);
-            if(!n.isEmpty()){
-                targets.add(n);
-                allTargets.add(n);
-            }
-        }
-        
-        int total;
-        int correct;
-        Set<String> matched = new LinkedHashSet<>();
-        List<String> extraAnswers = new ArrayList<>();
-        
-        if (isNumberPeg) {
-            // For NUMBER_PEG: count position-by-position matches for "correct"
-            // This handles duplicates properly
-            total = allTargets.size();
-            correct = 0;
-            List<String> shownCopy = new ArrayList<>(allTargets);
-            if (req.getAnswers() != null) {
-                for (String answer : req.getAnswers()) {
-                    String n = norm.apply(answer);
-                    if (n.isEmpty()) continue;
-                    // Check if this answer matches any remaining shown digit
-                    if (shownCopy.contains(n)) {
-                        shownCopy.remove(n); // Remove first occurrence to handle duplicates
-                        correct++;
-                        matched.add(n);
-                    } else {
-                        extraAnswers.add(n);
-                    }
-                }
-            }
-        } else {
-            // For other exercises: use unique word matching
-            total = targets.size();
-            if (req.getAnswers() != null){
-                for (String answer: req.getAnswers()){
-                    String n = norm.apply(answer);
-                    if(n.isEmpty()) continue;
-                    if (targets.contains(n) && !matched.contains(n)){
-                        matched.add(n);
-                    }else{
-                        extraAnswers.add(n);
-                    }
-                }
-            }
-            correct = matched.size();
-        }
-        int orderCorrect = 0;
-        for (int i = 0; i < Math.min(shown.size(), (req.getAnswers() == null ? 0 : req.getAnswers().size())); i++){
-            String shownNorm = norm.apply(shown.get(i));
-            String ansNorm = norm.apply(req.getAnswers().get(i));
-            if(!shownNorm.isEmpty() && shownNorm.equals(ansNorm)){
-                orderCorrect++;
-            }
-        }
-        double accuracy = total == 0 ? 0.0 : (double) correct / (double) total;
-        double orderAccuracy = total == 0 ? 0.0 : (double) orderCorrect / (double) total;
-
-        List<String> missed = new ArrayList<>();
-        for (String word : targets){
-            if (!matched.contains(word)) missed.add(word);
+        var shown = state.shownItems();
+        if (shown.isEmpty()){
+            throw new IllegalStateException("Exercise session has no items to score");
         }
-        String shownJson = toJson(shown);
-        String answersJson = toJson(req.getAnswers() == null ? List.of() : req.getAnswers());
+        int playedLevel = state.getSkillLevel();
+        ScoreResult score = metrics.time(Stage.SCORING, req.getType(), playedLevel,
+                () -> scorer.score(req.getType(), shown, req.getAnswers()));
+        int total = score.total();
+        int correct = score.correct();
+        int orderCorrect = score.orderCorrect();
+        double accuracy = score.accuracy();
+        double orderAccuracy = score.orderAccuracy();
+
+        String shownJson = AttemptJson.stringArray(shown);
+        String answersJson = AttemptJson.stringArray(req.getAnswers());
         var attempt = new ExerciseAttempt(
                 UUID.randomUUID(),
                 session.getId(),
@@ -277,27 +169,19 @@ public class ExerciseController {
                 correct,
                 accuracy
         );
-        attempts.save(attempt);
-        if (session.getFinishedAt() == null){
+        session.recordAttempt(correct, total, accuracy);
+        boolean sessionCompleted = session.getFinishedAt() == null;
+        if (sessionCompleted){
             session.markFinished(OffsetDateTime.now());
-            sessions.save(session);
         }
+        metrics.time(Stage.ATTEMPT_PERSISTENCE, req.getType(), playedLevel, () -> {
+            attempts.save(attempt);
+            sessions.save(session);
+        });
         var user = users.findById(userId).orElseThrow(()->new IllegalStateException("User not found"));
-        
-        // ========== ADAPTIVE DIFFICULTY: Record attempt in BKT system ==========
-        String skillType = req.getType().name();
-        boolean wasCorrect = orderAccuracy >= 0.7;  // Consider 70%+ as "correct" for BKT
-        adaptiveService.recordAttempt(
-            userId,
-            skillType,
-            null,  // No specific concept for exercises
-            wasCorrect,
-            user.getSkillLevel(),
-            session.getId(),
-            req.getResponseTimeMs()
-        );
+        int levelBefore = user.getSkillLevel();
 
-        int level = user.getSkillLevel();
+        int level = levelBefore;
         if (orderAccuracy >= LEVEL_UP_THRESHOLD){
             level = Math.min(level+1, MAX_SKILL_LEVEL);
         } else if (orderAccuracy < LEVEL_DOWN_THRESHOLD) {
@@ -305,27 +189,35 @@ public class ExerciseController {
         }
         user.setSkillLevel(level);
         users.save(user);
+        if (level != levelBefore){
+            prefetch.invalidate(userId);
+        }
 
         int basePoints = correct * 10;
         int bonusOrderPoints = orderCorrect * 5;
-        var stats = userStatsRepo.findById(userId).orElseGet(() -> new UserStats(userId));
-
-        // Calculate base points first (before badge bonuses)
         int baseEarned = basePoints + bonusOrderPoints;
-        long pointsAfterBase = stats.getTotalPoints() + baseEarned;
 
-        // Evaluate and award badges based on current achievement
-        boolean wasPerfect = (accuracy == 1.0);
-        var badgeResult = badgeService.evaluateAndAwardBadges(
-                userId, req.getType(), wasPerfect, pointsAfterBase);
+        // BKT, badges and stats don't affect the score shown to the client; they are
+        // queued in the outbox (same transaction) and applied by the submit worker.
+        var sideEffects = new SubmitOutboxEntry(
+                UUID.randomUUID(),
+                userId,
+                session.getId(),
+                req.getType(),
+                levelBefore,
+                correct,
+                baseEarned,
+                orderAccuracy >= 0.7,  // Consider 70%+ as "correct" for BKT
+                accuracy == 1.0,
+                sessionCompleted,
+                req.getResponseTimeMs(),
+                OffsetDateTime.now()
+        );
+        var badgeResult = submitSideEffects.submit(sideEffects);
 
         List<String> newlyAwarded = badgeResult.newBadges();
-        int bonusPoints = badgeResult.bonusPoints();
-
-        // Total points = base + order bonus + badge bonuses
-        int pointsEarned = baseEarned + bonusPoints;
-        stats.addAttempt(correct, pointsEarned);
-        userStatsRepo.save(stats);
+        // Total points = base + order bonus + badge bonuses (only known when applied inline)
+        int pointsEarned = baseEarned + badgeResult.bonusPoints();
 
         var res = new SubmitExerciseResponse(
                 req.getSessionId(),
@@ -333,9 +225,9 @@ public class ExerciseController {
                 total,
                 correct,
                 accuracy,
-                new ArrayList<>(matched),
-                missed,
-                extraAnswers,
+                score.correctItems(),
+                score.missedItems(),
+                score.extraItems(),
                 pointsEarned,
                 newlyAwarded,
                 orderCorrect,
@@ -344,31 +236,70 @@ public class ExerciseController {
         );
         return ResponseEntity.ok(res);
     }
-    private String toJson(List<String> list) {
-        try {
-            return mapper.writeValueAsString(list);
-        } catch (JsonProcessingException e) {
-            throw new IllegalStateException("Failed to serialize list", e);
-        }
+    @Operation(
+        summary = "Get all faces of a names & faces session",
+        description = "Streams the primary image of every face handed out by start as one length-prefixed "
+                + "binary bundle (application/vnd.memorio.face-bundle), replacing one image request per face. "
+                + "Faces without an image are sent with length 0."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Face bundle streamed"),
+        @ApiResponse(responseCode = "404", description = "Session not found, not a names & faces session, or expired")
+    })
+    @GetMapping("/{sessionId}/faces")
+    public ResponseEntity<StreamingResponseBody> faceBundle(
+            @PathVariable UUID sessionId,
+            @Parameter(description = "Requested image size in pixels; served from the smallest covering rendition") @RequestParam(required = false) Integer size,
+            Authentication auth){
+        UUID userId = AuthenticationUtil.extractUserId(auth);
+        var session = sessions.findByIdAndUserId(sessionId, userId)
+                .orElseThrow(() -> new NotFoundException("Session not found"));
+        List<String> personNames = sessionStore.find(session.getId())
+                .filter(state -> state.getType() == ExerciseType.NAMES_FACES)
+                .map(ExerciseSessionState::itemRefs)
+                .filter(refs -> !refs.isEmpty())
+                .orElseThrow(() -> new NotFoundException("No faces for this session"));
+
+        StreamingResponseBody body = out -> faceBundles.write(personNames, size, out);
+        return ResponseEntity.ok()
+                .contentType(FaceBundleWriter.MEDIA_TYPE)
+                .cacheControl(CacheControl.noStore())
+                .body(body);
     }
     @Operation(
         summary = "Get exercise history",
-        description = "Retrieve paginated history of user's exercise sessions with attempt statistics."
+        description = "Retrieve the user's exercise sessions, newest first, with attempt statistics. "
+                + "Pass cursor (empty for the first page, then nextCursor) for keyset paging without a total count; "
+                + "otherwise limit/offset paging with a total is used."
     )
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "History retrieved",
-            content = @Content(schema = @Schema(implementation = HistoryResponse.class)))
+            content = @Content(schema = @Schema(implementation = HistoryResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor")
     })
     @Transactional (readOnly = true)
     @GetMapping("/history")
     public ResponseEntity<HistoryResponse> history(
             @Parameter(description = "Maximum number of items to return (1-100)") @RequestParam(defaultValue = "20") int limit,
             @Parameter(description = "Number of items to skip") @RequestParam(defaultValue = "0") int offset,
+            @Parameter(description = "Keyset cursor from a previous nextCursor; empty for the first page") @RequestParam(required = false) String cursor,
             Authentication auth){
         limit = Math.max(1, Math.min(limit,100));
         offset = Math.max(0, offset);
 
         var userId = AuthenticationUtil.extractUserId(auth);
+        if (cursor != null){
+            Pageable firstPage = PageRequest.of(0, limit);
+            var slice = cursor.isBlank()
+                    ? sessions.findByUserIdOrderByStartedAtDescIdDesc(userId, firstPage)
+                    : findHistoryAfter(userId, HistoryCursor.decode(cursor), firstPage);
+            var sessionsList = slice.getContent();
+            String nextCursor = slice.hasNext()
+                    ? HistoryCursor.after(sessionsList.get(sessionsList.size() - 1)).encode()
+                    : null;
+            return ResponseEntity.ok(HistoryResponse.cursorPage(toHistoryItems(sessionsList), limit, nextCursor));
+        }
+
         int page = offset / limit;
         Pageable pageable = PageRequest.of(page, limit);
         var pageResult = sessions.findByUserIdOrderByStartedAtDesc(userId, pageable);
@@ -376,90 +307,53 @@ public class ExerciseController {
         if(sessionsList.isEmpty()){
             return ResponseEntity.ok(new HistoryResponse(List.of(), limit, offset, 0L));
         }
+        var resp = new HistoryResponse(
+                toHistoryItems(sessionsList), limit, offset, pageResult.getTotalElements()
+        );
+        return ResponseEntity.ok(resp);
+    }
 
-        List<UUID> sessionIds= sessionsList.stream()
-                .map(ExerciseSession::getId)
-                .toList();
-        var countResults = attempts.countBySessionIds(sessionIds);
-        var countsMap = countResults.stream()
-                .collect(Collectors.toMap(
-                        ExerciseAttemptRepository.SessionAttemptCount::getSessionId,
-                        ExerciseAttemptRepository.SessionAttemptCount::getAttemptCount
-                ));
-
-        var lastAttemptResults = attempts.findLastAttemptsBySessionIds(sessionIds);
-        var lastAttemptsMap = lastAttemptResults.stream()
-                .collect(Collectors.toMap(
-                        ExerciseAttemptRepository.SessionLastAttempt::getSessionId,
-                        Function.identity()
-                ));
+    // A daily challenge is handed out as word linking, so clients may echo either type back
+    private static boolean startedAs(ExerciseType started, ExerciseType submitted){
+        return started == submitted
+                || (started == ExerciseType.DAILY_CHALLENGE && submitted == ExerciseType.WORD_LINKING);
+    }
 
+    private Slice<ExerciseSession> findHistoryAfter(UUID userId, HistoryCursor cursor, Pageable pageable){
+        return sessions.findHistoryAfter(userId, cursor.startedAt(), cursor.id(), pageable);
+    }
 
-        var items = new ArrayList<HistoryItem>(pageResult.getNumberOfElements());
+    private static List<HistoryItem> toHistoryItems(List<ExerciseSession> sessionsList){
+        // Attempt count and last-attempt summary are kept on the session row by submit
+        var items = new ArrayList<HistoryItem>(sessionsList.size());
         for (var s : sessionsList){
-            long attemptCount = countsMap.getOrDefault(s.getId(), 0L);
-            var last = lastAttemptsMap.get(s.getId()); // projection
-
-            Integer lastCorrect = last == null ? null : last.getCorrect();
-            Integer lastTotal   = last == null ? null : last.getTotal();
-            Double  lastAcc     = last == null ? null : last.getAccuracy();
             items.add (new HistoryItem(
                     s.getId(),
                     s.getType(),
                     s.getStartedAt(),
                     s.getFinishedAt(),
-                    attemptCount,
-                    lastCorrect,
-                    lastTotal,
-                    lastAcc
+                    s.getAttemptCount(),
+                    s.getLastCorrect(),
+                    s.getLastTotal(),
+                    s.getLastAccuracy()
             ));
-
         }
-        var resp = new HistoryResponse(
-                items, limit, offset, pageResult.getTotalElements()
-        );
-        return ResponseEntity.ok(resp);
+        return items;
     }
 
-    @Transactional(readOnly = true)
     @GetMapping("/streak")
     public ResponseEntity<StreakResponse> streak(@RequestParam(name = "tz", defaultValue=  "UTC") String tz,
                                                  Authentication auth){
 
         var zone = safeZoneId(tz);
         var userId = AuthenticationUtil.extractUserId(auth);
-        var page = sessions.findByUserIdOrderByStartedAtDesc(userId, PageRequest.of(0, 400));
-        var days = new LinkedHashSet<LocalDate>();
-        for (var s : page.getContent()){
-            var dt = (s.getFinishedAt() != null ? s.getFinishedAt() : s.getStartedAt());
-            if (dt == null) continue;
-            days.add(dt.atZoneSameInstant(zone).toLocalDate());
-        }
-        if (days.isEmpty()){
-            return ResponseEntity.ok(new StreakResponse(0,0, null, zone.getId()));
-        }
-
-        var sorted = new ArrayList<>(days);
-        sorted.sort((a, b) -> b.compareTo(a)); //newest first
-        int longest = 1;
-        int current = 1;
-        LocalDate last = sorted.get(0);
-        LocalDate lastActive = last;
-
-        for (int i = 1; i < sorted.size(); i++){
-            LocalDate d = sorted.get(i);//беремо дату (починаючи з другої)
-            if (d.plusDays(1).equals(last)){ //якщо взята дата була перед "останньою" - збільшуємо streak
-                current++;
-            }else if (d.equals(last)){//якщо дата та сама, що й остання - нічого не робимо
-
-            }else {// у всіх інших випадках (якщо є проміжок між датами)
-                longest = Math.max(longest, current); //призначити вартість найдовшого streak
-                current = 1; //повернути "теперішній" streak до 1 (означає активний сьогодні)
-            }
-            last = d;
-        }
-        longest = Math.max(longest, current); //Updates the longest streak one more time (in case the current streak is the longest)
-        return ResponseEntity.ok(new StreakResponse(current, longest, lastActive, zone.getId()));
+        var streak = streakService.getStreak(userId, zone);
+        return ResponseEntity.ok(new StreakResponse(
+                streak.getCurrentStreak(),
+                streak.getLongestStreak(),
+                streak.getLastActiveDate(),
+                zone.getId()
+        ));
     }
 
     private ZoneId safeZoneId(String tz){
@@ -469,88 +363,4 @@ public class ExerciseController {
             return ZoneId.of("UTC");
         }
     }
-
-    private int getWordCountForLevel(int skillLevel){
-        int level = Math.max(1, Math.min(skillLevel, 10));
-        return level * 6;
-    }
-
-    private int getFaceCountForLevel(int skillLevel){
-        int level = Math.max(1, Math.min(skillLevel,10));
-        int count = 4 + (level-1); //4 at level1
-        return Math.min(count, 9); //9 faces max (Even experts struggle beyond 7±2 items (Miller's Law))
-    }
-
-    private TimingConfig calculateTimingForWords(int wordCount, int skillLevel){
-        double timePerWord;
-        if (skillLevel <= 2){
-            timePerWord = 3;
-        } else if (skillLevel <= 4) {
-            timePerWord = 2.5;
-        } else if  (skillLevel <=6){
-            timePerWord = 2.0;
-        }else {
-            timePerWord = 1.5;
-        }
-
-        double calculatedTime = wordCount * timePerWord;
-        int studySeconds = (int) Math.max(20, Math.min(90, calculatedTime));
-        int totalStudyTimeMs = studySeconds * 1000;
-        int totalCycleTime = totalStudyTimeMs / wordCount;
-
-        double gapRatio = 0.2;
-        int showTime = (int) (totalCycleTime * (1-gapRatio));
-
-        if(showTime < 800){
-            showTime = 800;
-        }else if (showTime > 3000){
-            showTime = 3000;
-        }
-
-        int gapTime = (int) (showTime * gapRatio);
-        return new TimingConfig(studySeconds, showTime, gapTime);
-    }
-
-    private TimingConfig calculateTimingForFaces(int faceCount, int skillLevel){
-        double timePerFace;
-        if(skillLevel <=2){
-            timePerFace = 10.0;
-        } else if (skillLevel <= 4) {
-            timePerFace = 8.0;
-        }else if (skillLevel <=6){
-            timePerFace = 6.5;
-        }else {
-            timePerFace = 5.0;
-        }
-        double calculatedTime = faceCount * timePerFace;
-        int studySeconds =(int) Math.max(30, Math.min(120, calculatedTime));
-        int faceShowMs = 5000;
-        int gapMs = 500;
-
-        return new TimingConfig(studySeconds, faceShowMs, gapMs);
-    }
-
-    private TimingConfig calculateTimingForDigits(int digitCount, int skillLevel){
-        double timePerDigit;
-
-        if(skillLevel <= 2){
-            timePerDigit = 3.0;
-        } else if (skillLevel <= 4) {
-            timePerDigit = 2.5;
-        } else if (skillLevel <= 6) {
-            timePerDigit = 2.0;
-        }else{
-            timePerDigit = 1.5;
-        }
-
-        double calculatedTime = digitCount * timePerDigit;
-
-        int studySeconds = (int)Math.max(15, Math.min(60, calculatedTime));
-
-        int digitShowMs = skillLevel <= 3 ? 3000 : skillLevel <=6 ? 2000:1500;
-
-        int gapMs = 300;
-
-        return new TimingConfig(studySeconds, digitShowMs, gapMs);
-    }
 }
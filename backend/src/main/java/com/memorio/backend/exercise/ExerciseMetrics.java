@@ -0,0 +1,107 @@
+package com.memorio.backend.exercise;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer timers for the stages of exercise start and submit, tagged by stage,
+ * exercise type and skill level, plus gauges for the submit outbox backlog and parked entries.
+ * BKT updates are applied per user batch, which can mix types and levels, so they get an
+ * untagged timer and a batch-size distribution instead.
+ *
+ * Timers are registered on first use and cached by (stage, type, level), so timing a
+ * stage does no meter lookup on the hot path. The outbox gauges read values published by
+ * {@link SubmitOutboxWorker}, so a scrape never touches the database.
+ */
+@Component
+public class ExerciseMetrics {
+
+    static final String STAGE_TIMER = "memorio.exercise.stage";
+    static final String OUTBOX_PENDING = "memorio.exercise.outbox.pending";
+    static final String OUTBOX_FAILED = "memorio.exercise.outbox.failed";
+    static final String BKT_BATCH_TIMER = "memorio.exercise.bkt.batch";
+    static final String BKT_BATCH_SIZE = "memorio.exercise.bkt.batch.size";
+
+    private static final int LEVELS = 11; // 0 = unknown, 1..10
+    private static final ExerciseType[] TYPES = ExerciseType.values();
+
+    public enum Stage {
+        PICKER("picker"),
+        SCORING("scoring"),
+        ATTEMPT_PERSISTENCE("attempt_persistence"),
+        STREAK_UPDATE("streak_update"),
+        BADGE_EVALUATION("badge_evaluation"),
+        STATS_SAVE("stats_save");
+
+        private final String tag;
+
+        Stage(String tag){
+            this.tag = tag;
+        }
+    }
+
+    private final MeterRegistry registry;
+    private final AtomicReferenceArray<Timer> timers;
+    private final AtomicLong outboxPending = new AtomicLong();
+    private final AtomicLong outboxFailed = new AtomicLong();
+    private final Timer bktBatch;
+    private final DistributionSummary bktBatchSize;
+
+    public ExerciseMetrics(MeterRegistry registry){
+        this.registry = registry;
+        this.timers = new AtomicReferenceArray<>(Stage.values().length * TYPES.length * LEVELS);
+        Gauge.builder(OUTBOX_PENDING, outboxPending, AtomicLong::get)
+                .description("Submit side effects waiting in the outbox")
+                .register(registry);
+        Gauge.builder(OUTBOX_FAILED, outboxFailed, AtomicLong::get)
+                .description("Submit side effects parked after running out of attempts")
+                .register(registry);
+        this.bktBatch = Timer.builder(BKT_BATCH_TIMER)
+                .description("Time spent applying one user's batch of BKT updates")
+                .register(registry);
+        this.bktBatchSize = DistributionSummary.builder(BKT_BATCH_SIZE)
+                .description("Attempts per BKT update batch")
+                .register(registry);
+    }
+
+    public void timeBktBatch(int attempts, Runnable work){
+        bktBatchSize.record(attempts);
+        bktBatch.record(work);
+    }
+
+    public void recordOutbox(long pending, long failed){
+        outboxPending.set(pending);
+        outboxFailed.set(failed);
+    }
+
+    public <T> T time(Stage stage, ExerciseType type, int skillLevel, Supplier<T> work){
+        return timer(stage, type, skillLevel).record(work);
+    }
+
+    public void time(Stage stage, ExerciseType type, int skillLevel, Runnable work){
+        timer(stage, type, skillLevel).record(work);
+    }
+
+    Timer timer(Stage stage, ExerciseType type, int skillLevel){
+        int level = skillLevel >= 1 && skillLevel <= 10 ? skillLevel : 0;
+        int index = (stage.ordinal() * TYPES.length + type.ordinal()) * LEVELS + level;
+        Timer timer = timers.get(index);
+        if (timer == null){
+            timer = Timer.builder(STAGE_TIMER)
+                    .description("Time spent in one stage of exercise start/submit")
+                    .tag("stage", stage.tag)
+                    .tag("type", type.name())
+                    .tag("level", level == 0 ? "unknown" : Integer.toString(level))
+                    .register(registry);
+            timers.compareAndSet(index, null, timer);
+        }
+        return timer;
+    }
+}
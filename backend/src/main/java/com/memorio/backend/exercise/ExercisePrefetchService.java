@@ -0,0 +1,139 @@
+package com.memorio.backend.exercise;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.memorio.backend.faces.FaceCatalogChangedEvent;
+import com.memorio.backend.user.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Optional pre-generation of exercise payloads.
+ *
+ * With {@code memorio.exercise.prefetch.enabled=true}, every start for a user and type
+ * (re)fills a small {@link PrefetchBuffer} in the background from the user's current skill
+ * level, so the next start only pops a payload and persists the session. Buffers of idle
+ * users expire. A user's buffers are invalidated when their skill level or language changes,
+ * and every buffered names and faces payload is dropped when the face catalog changes.
+ * Disabled (the default), {@link #take} always misses and nothing is generated.
+ */
+@Service
+public class ExercisePrefetchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExercisePrefetchService.class);
+
+    private final UserRepository users;
+    private final ExercisePreparer preparer;
+    private final boolean enabled;
+    private final int bufferSize;
+    private final Cache<BufferKey, PrefetchBuffer> buffers;
+    private final ExecutorService workers;
+
+    private record BufferKey(UUID userId, ExerciseType type) {}
+
+    public ExercisePrefetchService(UserRepository users,
+                                   ExercisePreparer preparer,
+                                   @Value("${memorio.exercise.prefetch.enabled:false}") boolean enabled,
+                                   @Value("${memorio.exercise.prefetch.buffer-size:3}") int bufferSize,
+                                   @Value("${memorio.exercise.prefetch.workers:2}") int workerCount,
+                                   @Value("${memorio.exercise.prefetch.idle-minutes:30}") long idleMinutes,
+                                   @Value("${memorio.exercise.prefetch.max-buffers:50000}") long maxBuffers){
+        this.users = users;
+        this.preparer = preparer;
+        this.enabled = enabled;
+        this.bufferSize = Math.max(1, bufferSize);
+        this.buffers = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(Math.max(1, idleMinutes)))
+                .maximumSize(maxBuffers)
+                .build();
+        this.workers = enabled
+                ? Executors.newFixedThreadPool(Math.max(1, workerCount), threadFactory())
+                : null;
+    }
+
+    /**
+     * Pops a ready payload for the user, if one is buffered, and schedules a refill.
+     * The returned payload was generated for the user's skill level and language at the time.
+     */
+    public Optional<PreparedExercise> take(UUID userId, ExerciseType type){
+        if (!enabled || !preparer.supports(type)) return Optional.empty();
+
+        PrefetchBuffer buffer = buffers.get(new BufferKey(userId, type), key -> new PrefetchBuffer(bufferSize));
+        PreparedExercise ready = buffer.poll();
+        scheduleRefill(userId, type, buffer);
+        return Optional.ofNullable(ready);
+    }
+
+    /**
+     * Drops everything buffered for the user; call when their skill level or language changes.
+     */
+    public void invalidate(UUID userId){
+        if (!enabled) return;
+        for (ExerciseType type : ExerciseType.values()){
+            PrefetchBuffer buffer = buffers.getIfPresent(new BufferKey(userId, type));
+            if (buffer != null) buffer.invalidate();
+        }
+    }
+
+    /** Buffered faces may belong to people who were since deactivated or deleted. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFaceCatalogChanged(FaceCatalogChangedEvent event){
+        if (!enabled) return;
+        buffers.asMap().forEach((key, buffer) -> {
+            if (key.type() == ExerciseType.NAMES_FACES) buffer.invalidate();
+        });
+    }
+
+    public boolean isEnabled(){return enabled;}
+
+    void scheduleRefill(UUID userId, ExerciseType type, PrefetchBuffer buffer){
+        long generation = buffer.beginRefill();
+        if (generation < 0) return;
+        try {
+            workers.execute(() -> refill(userId, type, buffer, generation));
+        } catch (RejectedExecutionException e){
+            buffer.endRefill();
+        }
+    }
+
+    void refill(UUID userId, ExerciseType type, PrefetchBuffer buffer, long generation){
+        try {
+            var user = users.findById(userId).orElse(null);
+            if (user == null) return;
+            for (int i = buffer.missing(); i > 0; i--){
+                if (!buffer.offer(generation, preparer.prepare(type, user))) break;
+            }
+        } catch (RuntimeException e){
+            logger.warn("Prefetching {} exercises for user {} failed: {}", type, userId, e.getMessage());
+        } finally {
+            buffer.endRefill();
+        }
+    }
+
+    @PreDestroy
+    void shutdown(){
+        if (workers != null) workers.shutdown();
+    }
+
+    private static ThreadFactory threadFactory(){
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "exercise-prefetch-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,176 @@
+package com.memorio.backend.exercise;
+
+import com.memorio.backend.exercise.dto.FaceData;
+import com.memorio.backend.exercise.dto.FaceNamePayload;
+import com.memorio.backend.exercise.dto.TimingConfig;
+import com.memorio.backend.faces.FacePickerService;
+import com.memorio.backend.faces.FaceRenditionService;
+import com.memorio.backend.faces.PickedFace;
+import com.memorio.backend.lexicon.WordPicker;
+import com.memorio.backend.user.User;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds exercise content (words, faces or digits with hints) for a user's current skill
+ * level and language, together with its timing and the state submit scores against.
+ */
+@Component
+public class ExercisePreparer {
+
+    private final WordPicker wordPicker;
+    private final FacePickerService facePicker;
+    private final NumberPegService numberPegService;
+
+    public ExercisePreparer(WordPicker wordPicker, FacePickerService facePicker,
+                            NumberPegService numberPegService){
+        this.wordPicker = wordPicker;
+        this.facePicker = facePicker;
+        this.numberPegService = numberPegService;
+    }
+
+    public boolean supports(ExerciseType type){
+        return type == ExerciseType.WORD_LINKING
+                || type == ExerciseType.NAMES_FACES
+                || type == ExerciseType.NUMBER_PEG;
+    }
+
+    public PreparedExercise prepare(ExerciseType type, User user){
+        int skillLevel = user.getSkillLevel();
+        String language = (user.getPreferredLanguage() != null && !user.getPreferredLanguage().isBlank())
+                ? user.getPreferredLanguage() : "en";
+
+        switch (type){
+            case WORD_LINKING -> {
+                int listSize = getWordCountForLevel(skillLevel);
+                var words = wordPicker.pickWords(language, skillLevel, listSize);
+                TimingConfig timing = calculateTimingForWords(words.size(), skillLevel);
+                return new PreparedExercise(ExerciseType.WORD_LINKING, skillLevel, language,
+                        Map.of("words", words), timing,
+                        ExerciseSessionState.ofItems(ExerciseType.WORD_LINKING, skillLevel, words));
+            }
+            case NAMES_FACES -> {
+                int faceCount = getFaceCountForLevel(skillLevel);
+
+                List<PickedFace> persons = facePicker.pickFaces(skillLevel, faceCount);
+
+                if(persons.isEmpty()){
+                    throw new IllegalStateException("No faces available for exercise");
+                }
+
+                List<FaceData> faces = persons.stream()
+                        .map(p-> new FaceData(
+                                p.personName(),
+                                p.displayName(),
+                                "/api/faces/primary/" + p.personName() + "?size=" + FaceRenditionService.EXERCISE_SIZE
+                        )).toList();
+
+                TimingConfig timing = calculateTimingForFaces(faceCount, skillLevel);
+                return new PreparedExercise(ExerciseType.NAMES_FACES, skillLevel, language,
+                        new FaceNamePayload(faces), timing,
+                        ExerciseSessionState.ofItems(ExerciseType.NAMES_FACES, skillLevel,
+                                faces.stream().map(FaceData::getDisplayName).toList(),
+                                persons.stream().map(PickedFace::personName).toList()));
+            }
+            case NUMBER_PEG -> {
+                int[] digits = numberPegService.generateDigits(skillLevel);
+                List<String> hints = numberPegService.getHintWords(digits, language);
+
+                var payload = Map.of(
+                        "digits", digits,
+                        "hints", hints
+                );
+                TimingConfig timing = calculateTimingForDigits(digits.length, skillLevel);
+                return new PreparedExercise(ExerciseType.NUMBER_PEG, skillLevel, language, payload, timing,
+                        ExerciseSessionState.ofDigits(skillLevel, digits));
+            }
+            default -> throw new IllegalArgumentException("Unknown exercise type: " + type);
+        }
+    }
+
+    private int getWordCountForLevel(int skillLevel){
+        int level = Math.max(1, Math.min(skillLevel, 10));
+        return level * 6;
+    }
+
+    private int getFaceCountForLevel(int skillLevel){
+        int level = Math.max(1, Math.min(skillLevel,10));
+        int count = 4 + (level-1); //4 at level1
+        return Math.min(count, 9); //9 faces max (Even experts struggle beyond 7±2 items (Miller's Law))
+    }
+
+    private TimingConfig calculateTimingForWords(int wordCount, int skillLevel){
+        double timePerWord;
+        if (skillLevel <= 2){
+            timePerWord = 3;
+        } else if (skillLevel <= 4) {
+            timePerWord = 2.5;
+        } else if  (skillLevel <=6){
+            timePerWord = 2.0;
+        }else {
+            timePerWord = 1.5;
+        }
+
+        double calculatedTime = wordCount * timePerWord;
+        int studySeconds = (int) Math.max(20, Math.min(90, calculatedTime));
+        int totalStudyTimeMs = studySeconds * 1000;
+        int totalCycleTime = totalStudyTimeMs / wordCount;
+
+        double gapRatio = 0.2;
+        int showTime = (int) (totalCycleTime * (1-gapRatio));
+
+        if(showTime < 800){
+            showTime = 800;
+        }else if (showTime > 3000){
+            showTime = 3000;
+        }
+
+        int gapTime = (int) (showTime * gapRatio);
+        return new TimingConfig(studySeconds, showTime, gapTime);
+    }
+
+    private TimingConfig calculateTimingForFaces(int faceCount, int skillLevel){
+        double timePerFace;
+        if(skillLevel <=2){
+            timePerFace = 10.0;
+        } else if (skillLevel <= 4) {
+            timePerFace = 8.0;
+        }else if (skillLevel <=6){
+            timePerFace = 6.5;
+        }else {
+            timePerFace = 5.0;
+        }
+        double calculatedTime = faceCount * timePerFace;
+        int studySeconds =(int) Math.max(30, Math.min(120, calculatedTime));
+        int faceShowMs = 5000;
+        int gapMs = 500;
+
+        return new TimingConfig(studySeconds, faceShowMs, gapMs);
+    }
+
+    private TimingConfig calculateTimingForDigits(int digitCount, int skillLevel){
+        double timePerDigit;
+
+        if(skillLevel <= 2){
+            timePerDigit = 3.0;
+        } else if (skillLevel <= 4) {
+            timePerDigit = 2.5;
+        } else if (skillLevel <= 6) {
+            timePerDigit = 2.0;
+        }else{
+            timePerDigit = 1.5;
+        }
+
+        double calculatedTime = digitCount * timePerDigit;
+
+        int studySeconds = (int)Math.max(15, Math.min(60, calculatedTime));
+
+        int digitShowMs = skillLevel <= 3 ? 3000 : skillLevel <=6 ? 2000:1500;
+
+        int gapMs = 300;
+
+        return new TimingConfig(studySeconds, digitShowMs, gapMs);
+    }
+}
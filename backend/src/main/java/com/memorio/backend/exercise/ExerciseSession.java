@@ -23,6 +23,19 @@ public class ExerciseSession {
     @Column(name = "finished_at", nullable = true)
     private OffsetDateTime finishedAt;
 
+    // Denormalised from exercise_attempts so history pages need no per-session lookups
+    @Column(name = "attempt_count", nullable = false)
+    private int attemptCount;
+
+    @Column(name = "last_correct")
+    private Integer lastCorrect;
+
+    @Column(name = "last_total")
+    private Integer lastTotal;
+
+    @Column(name = "last_accuracy")
+    private Double lastAccuracy;
+
     protected ExerciseSession(){}
     public ExerciseSession (UUID id, UUID userId, ExerciseType type,
                             OffsetDateTime startedAt){
@@ -38,9 +51,20 @@ public class ExerciseSession {
     public ExerciseType getType(){return type;}
     public OffsetDateTime getStartedAt(){return startedAt;}
     public OffsetDateTime getFinishedAt(){return finishedAt;}
+    public int getAttemptCount(){return attemptCount;}
+    public Integer getLastCorrect(){return lastCorrect;}
+    public Integer getLastTotal(){return lastTotal;}
+    public Double getLastAccuracy(){return lastAccuracy;}
 
     public void markFinished(OffsetDateTime when){
         this.finishedAt = Objects.requireNonNull(when, "Finish time cannot be null");
     }
 
+    public void recordAttempt(int correct, int total, double accuracy){
+        this.attemptCount += 1;
+        this.lastCorrect = correct;
+        this.lastTotal = total;
+        this.lastAccuracy = accuracy;
+    }
+
 }
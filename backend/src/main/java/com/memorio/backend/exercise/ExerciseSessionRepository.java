@@ -2,20 +2,44 @@ package com.memorio.backend.exercise;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 public interface ExerciseSessionRepository extends JpaRepository<ExerciseSession, UUID>{
     Optional<ExerciseSession> findByIdAndUserId(UUID id, UUID userId);
     Page<ExerciseSession> findByUserIdOrderByStartedAtDesc(UUID userId, Pageable pageable);
 
-    // Count completed sessions (finished_at is not null) for a user
-    @Query("SELECT COUNT(s) FROM ExerciseSession s WHERE s.userId = :userId AND s.finishedAt IS NOT NULL")
-    long countCompletedByUserId(@Param("userId") UUID userId);
+    // Keyset history pages on (startedAt, id) descending; a Slice skips the count query
+    Slice<ExerciseSession> findByUserIdOrderByStartedAtDescIdDesc(UUID userId, Pageable pageable);
 
-    // Count completed sessions by type for a user
-    @Query("SELECT COUNT(s) FROM ExerciseSession s WHERE s.userId = :userId AND s.type = :type AND s.finishedAt IS NOT NULL")
-    long countCompletedByUserIdAndType(@Param("userId") UUID userId, @Param("type") ExerciseType type);
+    @Query("""
+           SELECT s FROM ExerciseSession s
+           WHERE s.userId = :userId
+             AND (s.startedAt < :startedAt OR (s.startedAt = :startedAt AND s.id < :id))
+           ORDER BY s.startedAt DESC, s.id DESC
+           """)
+    Slice<ExerciseSession> findHistoryAfter(@Param("userId") UUID userId,
+                                            @Param("startedAt") OffsetDateTime startedAt,
+                                            @Param("id") UUID id,
+                                            Pageable pageable);
+
+    // Activity timestamps used to rebuild streak state (finish time, or start time if unfinished)
+    @Query("SELECT COALESCE(s.finishedAt, s.startedAt) FROM ExerciseSession s WHERE s.userId = :userId")
+    List<OffsetDateTime> findActivityTimesByUserId(@Param("userId") UUID userId);
+
+    // Users with sessions but no streak row for the zone, keyset-paged by user id
+    @Query("""
+           SELECT DISTINCT s.userId FROM ExerciseSession s
+           WHERE s.userId > :after
+             AND NOT EXISTS (SELECT 1 FROM UserStreak us WHERE us.id.userId = s.userId AND us.id.zoneId = :zoneId)
+           ORDER BY s.userId
+           """)
+    List<UUID> findUserIdsWithoutStreak(@Param("zoneId") String zoneId,
+                                        @Param("after") UUID after,
+                                        Pageable pageable);
 }
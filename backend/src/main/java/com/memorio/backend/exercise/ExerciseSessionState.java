@@ -0,0 +1,150 @@
+package com.memorio.backend.exercise;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * What {@code start} handed out for a session, kept server-side so {@code submit} can score
+ * against it. Digits are held as one byte each, everything else as the shown strings.
+ * Names and faces rounds also keep the person name behind each shown face, for the face bundle.
+ */
+public final class ExerciseSessionState {
+
+    private static final String[] DIGITS = {"0", "1", "2", "3", "4", "5", "6", "7", "8", "9"};
+    // Unit separator: cannot appear in words or display names
+    private static final char SEPARATOR = '\u001F';
+    // Record separator between the items and their references
+    private static final char REFS_SEPARATOR = '\u001E';
+
+    private final ExerciseType type;
+    private final int skillLevel;
+    private final String[] items;
+    private final byte[] digits;
+    private final String[] refs;
+
+    private ExerciseSessionState(ExerciseType type, int skillLevel, String[] items, byte[] digits, String[] refs){
+        this.type = Objects.requireNonNull(type, "type cannot be null");
+        this.skillLevel = skillLevel;
+        this.items = items;
+        this.digits = digits;
+        this.refs = refs;
+    }
+
+    public static ExerciseSessionState ofItems(ExerciseType type, int skillLevel, List<String> items){
+        return new ExerciseSessionState(type, skillLevel, items.toArray(String[]::new), null, null);
+    }
+
+    /** Items with one reference each, such as the person name behind each shown face. */
+    public static ExerciseSessionState ofItems(ExerciseType type, int skillLevel, List<String> items,
+                                               List<String> refs){
+        if (refs.size() != items.size()){
+            throw new IllegalArgumentException("Expected one reference per item");
+        }
+        return new ExerciseSessionState(type, skillLevel, items.toArray(String[]::new), null,
+                refs.toArray(String[]::new));
+    }
+
+    public static ExerciseSessionState ofDigits(int skillLevel, List<Integer> digits){
+        byte[] encoded = new byte[digits.size()];
+        for (int i = 0; i < encoded.length; i++){
+            encoded[i] = digit(digits.get(i));
+        }
+        return new ExerciseSessionState(ExerciseType.NUMBER_PEG, skillLevel, null, encoded, null);
+    }
+
+    public static ExerciseSessionState ofDigits(int skillLevel, int[] digits){
+        byte[] encoded = new byte[digits.length];
+        for (int i = 0; i < encoded.length; i++){
+            encoded[i] = digit(digits[i]);
+        }
+        return new ExerciseSessionState(ExerciseType.NUMBER_PEG, skillLevel, null, encoded, null);
+    }
+
+    private static byte digit(int d){
+        if (d < 0 || d > 9) throw new IllegalArgumentException("Not a digit: " + d);
+        return (byte) d;
+    }
+
+    public ExerciseType getType(){return type;}
+    public int getSkillLevel(){return skillLevel;}
+
+    /** The shown items in the order they were handed out; digits as single-character strings. */
+    public List<String> shownItems(){
+        return new ShownView();
+    }
+
+    /** References of the shown items in the same order; empty if none were kept. */
+    public List<String> itemRefs(){
+        return refs != null ? List.of(refs) : List.of();
+    }
+
+    /**
+     * Single-line encoding for external stores: {@code TYPE|level|payload}, where the payload
+     * is the digit characters for number peg or the items joined by U+001F, followed by U+001E
+     * and the references joined the same way when there are any.
+     */
+    public String encode(){
+        StringBuilder sb = new StringBuilder(64).append(type.name()).append('|').append(skillLevel).append('|');
+        if (digits != null){
+            for (byte d : digits) sb.append((char) ('0' + d));
+        } else {
+            for (int i = 0; i < items.length; i++){
+                if (i > 0) sb.append(SEPARATOR);
+                sb.append(items[i]);
+            }
+            if (refs != null){
+                sb.append(REFS_SEPARATOR);
+                for (int i = 0; i < refs.length; i++){
+                    if (i > 0) sb.append(SEPARATOR);
+                    sb.append(refs[i]);
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    public static ExerciseSessionState decode(String encoded){
+        int first = encoded.indexOf('|');
+        int second = encoded.indexOf('|', first + 1);
+        if (first < 0 || second < 0){
+            throw new IllegalArgumentException("Malformed session state");
+        }
+        ExerciseType type = ExerciseType.valueOf(encoded.substring(0, first));
+        int level = Integer.parseInt(encoded.substring(first + 1, second));
+        String payload = encoded.substring(second + 1);
+        if (type == ExerciseType.NUMBER_PEG){
+            byte[] digits = new byte[payload.length()];
+            for (int i = 0; i < digits.length; i++){
+                int d = payload.charAt(i) - '0';
+                if (d < 0 || d > 9) throw new IllegalArgumentException("Malformed session state");
+                digits[i] = (byte) d;
+            }
+            return new ExerciseSessionState(type, level, null, digits, null);
+        }
+        int refsAt = payload.indexOf(REFS_SEPARATOR);
+        String[] items = split(refsAt < 0 ? payload : payload.substring(0, refsAt));
+        String[] refs = refsAt < 0 ? null : split(payload.substring(refsAt + 1));
+        if (refs != null && refs.length != items.length){
+            throw new IllegalArgumentException("Malformed session state");
+        }
+        return new ExerciseSessionState(type, level, items, null, refs);
+    }
+
+    private static String[] split(String joined){
+        return joined.isEmpty() ? new String[0] : joined.split(String.valueOf(SEPARATOR), -1);
+    }
+
+    private final class ShownView extends AbstractList<String> implements RandomAccess {
+        @Override
+        public String get(int index){
+            return digits != null ? DIGITS[digits[index]] : items[index];
+        }
+
+        @Override
+        public int size(){
+            return digits != null ? digits.length : items.length;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.memorio.backend.exercise;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * TTL-bounded storage of {@link ExerciseSessionState} between {@code start} and {@code submit}.
+ * Local Caffeine by default; {@code memorio.exercise.session-store=redis} shares it across instances.
+ */
+public interface ExerciseSessionStore {
+
+    void put(UUID sessionId, ExerciseSessionState state);
+
+    /** Empty when the session expired, was never stored, or the store is unavailable. */
+    Optional<ExerciseSessionState> find(UUID sessionId);
+}
@@ -0,0 +1,45 @@
+package com.memorio.backend.exercise;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Position of the last session on a history page: {@code (startedAt, id)} in the same
+ * descending order the keyset query uses. Sent to clients as an opaque URL-safe token.
+ */
+record HistoryCursor(OffsetDateTime startedAt, UUID id) {
+
+    private static final char SEPARATOR = '|';
+
+    HistoryCursor {
+        Objects.requireNonNull(startedAt, "startedAt cannot be null");
+        Objects.requireNonNull(id, "id cannot be null");
+    }
+
+    static HistoryCursor after(ExerciseSession session){
+        return new HistoryCursor(session.getStartedAt(), session.getId());
+    }
+
+    String encode(){
+        String raw = startedAt.toInstant().toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static HistoryCursor decode(String token){
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(SEPARATOR);
+            if (sep < 0) throw new IllegalArgumentException("Invalid history cursor");
+            Instant startedAt = Instant.parse(raw.substring(0, sep));
+            UUID id = UUID.fromString(raw.substring(sep + 1));
+            return new HistoryCursor(startedAt.atOffset(ZoneOffset.UTC), id);
+        } catch (RuntimeException e){
+            throw new IllegalArgumentException("Invalid history cursor", e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.memorio.backend.exercise;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable digit-to-hint table for every language, indexed {@code [language][digit]}.
+ *
+ * Fallbacks are resolved when the table is built: a digit missing in a language takes
+ * the English hint, and one missing in English too becomes {@value #UNKNOWN}. Languages
+ * without any hints share the English row.
+ */
+final class NumberPegHintMatrix {
+
+    static final String FALLBACK_LANGUAGE = "en";
+    static final String UNKNOWN = "unknown";
+    static final int DIGITS = 10;
+
+    private final Map<String, String[]> rows;
+    private final String[] fallbackRow;
+
+    private NumberPegHintMatrix(Map<String, String[]> rows, String[] fallbackRow){
+        this.rows = rows;
+        this.fallbackRow = fallbackRow;
+    }
+
+    static NumberPegHintMatrix of(List<NumberPegHint> hints){
+        Map<String, String[]> raw = new HashMap<>();
+        for (NumberPegHint hint : hints){
+            Integer digit = hint.getDigit();
+            if (digit == null || digit < 0 || digit >= DIGITS || hint.getLanguage() == null) continue;
+            raw.computeIfAbsent(hint.getLanguage(), l -> new String[DIGITS])[digit] = hint.getHintWord();
+        }
+
+        String[] fallbackRow = new String[DIGITS];
+        Arrays.fill(fallbackRow, UNKNOWN);
+        String[] english = raw.get(FALLBACK_LANGUAGE);
+        if (english != null){
+            for (int d = 0; d < DIGITS; d++){
+                if (english[d] != null) fallbackRow[d] = english[d];
+            }
+        }
+
+        Map<String, String[]> rows = new HashMap<>(raw.size() * 2);
+        for (var entry : raw.entrySet()){
+            String[] row = entry.getValue();
+            for (int d = 0; d < DIGITS; d++){
+                if (row[d] == null) row[d] = fallbackRow[d];
+            }
+            rows.put(entry.getKey(), row);
+        }
+        return new NumberPegHintMatrix(Map.copyOf(rows), fallbackRow);
+    }
+
+    String hint(int digit, String language){
+        if (digit < 0 || digit >= DIGITS) return UNKNOWN;
+        return row(language)[digit];
+    }
+
+    List<String> hints(int[] digits, String language){
+        String[] row = row(language);
+        String[] out = new String[digits.length];
+        for (int i = 0; i < digits.length; i++){
+            int d = digits[i];
+            out[i] = d < 0 || d >= DIGITS ? UNKNOWN : row[d];
+        }
+        return Arrays.asList(out);
+    }
+
+    int languageCount(){return rows.size();}
+
+    private String[] row(String language){
+        String[] row = language == null ? null : rows.get(language);
+        return row != null ? row : fallbackRow;
+    }
+}
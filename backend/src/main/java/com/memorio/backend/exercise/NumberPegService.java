@@ -1,40 +1,75 @@
 package com.memorio.backend.exercise;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Number peg digits and hints. Hints are served from an in-memory {@link NumberPegHintMatrix}
+ * loaded at startup and reloaded periodically, so starting an exercise never queries the database.
+ */
 @Service
 public class NumberPegService {
 
+    private static final Logger logger = LoggerFactory.getLogger(NumberPegService.class);
+
     private final NumberPegHintRepository repository;
+    private volatile NumberPegHintMatrix matrix;
 
     public NumberPegService(NumberPegHintRepository repository){
         this.repository = repository;
     }
-    public String getHintWord(int digit, String language){
-        Optional<NumberPegHint> hint = repository
-                .findByIdDigitAndIdLanguage(digit, language);
 
-        if(hint.isPresent()){
-            return hint.get().getHintWord();
-        }
+    public String getHintWord(int digit, String language){
+        return matrix().hint(digit, language);
+    }
 
-        return repository
-                .findByIdDigitAndIdLanguage(digit, "en")
-                .map(NumberPegHint::getHintWord)
-                .orElse("unknown");
+    public List<String> getHintWords(int[] digits, String language){
+        return matrix().hints(digits, language);
     }
 
-    public List<Integer> generateDigitSequence(int skillLevel){
-        int length = calculateSequenceLength(skillLevel);
-        List<Integer> digits = new ArrayList<>();
-        Random random = new Random();
+    /**
+     * Reloads the hint table; hints are only edited through migrations or directly in the
+     * database, so a periodic reload is enough to pick changes up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${memorio.number-peg.hints.refresh-interval-ms:600000}",
+            initialDelayString = "${memorio.number-peg.hints.refresh-interval-ms:600000}")
+    public void refresh(){
+        try {
+            load();
+        } catch (DataAccessException e){
+            logger.warn("Could not reload number peg hints, keeping the current table: {}", e.getMessage());
+        }
+    }
 
-        for (int i = 0; i < length; i ++){
-            digits.add(random.nextInt(10));
+    public int[] generateDigits(int skillLevel){
+        int[] digits = new int[calculateSequenceLength(skillLevel)];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < digits.length; i++){
+            digits[i] = random.nextInt(10);
         }
         return digits;
     }
 
+    private NumberPegHintMatrix matrix(){
+        NumberPegHintMatrix current = matrix;
+        return current != null ? current : load();
+    }
+
+    private NumberPegHintMatrix load(){
+        NumberPegHintMatrix loaded = NumberPegHintMatrix.of(repository.findAll());
+        matrix = loaded;
+        logger.debug("Loaded number peg hints for {} languages", loaded.languageCount());
+        return loaded;
+    }
+
     private int calculateSequenceLength(int skillLevel){
         int level = Math.max(1, Math.min(skillLevel, 10));
 
@@ -0,0 +1,68 @@
+package com.memorio.backend.exercise;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size ring of ready-to-serve exercises for one user and type.
+ *
+ * {@link #invalidate()} empties the ring and bumps a generation counter, so payloads a
+ * refill built for the old skill level are dropped instead of being offered afterwards.
+ */
+final class PrefetchBuffer {
+
+    private final PreparedExercise[] ring;
+    private int head;
+    private int size;
+    private long generation;
+    private boolean refilling;
+
+    PrefetchBuffer(int capacity){
+        this.ring = new PreparedExercise[Math.max(1, capacity)];
+    }
+
+    synchronized PreparedExercise poll(){
+        if (size == 0) return null;
+        PreparedExercise item = ring[head];
+        ring[head] = null;
+        head = (head + 1) % ring.length;
+        size--;
+        return item;
+    }
+
+    /**
+     * Claims the buffer for a refill. Returns the generation to pass to {@link #offer},
+     * or {@code -1} when it is already full or another refill is running.
+     */
+    synchronized long beginRefill(){
+        if (refilling || size == ring.length) return -1;
+        refilling = true;
+        return generation;
+    }
+
+    synchronized void endRefill(){
+        refilling = false;
+    }
+
+    synchronized int missing(){
+        return ring.length - size;
+    }
+
+    /** Adds an item built for {@code expectedGeneration}; false once invalidated or full. */
+    synchronized boolean offer(long expectedGeneration, PreparedExercise item){
+        if (expectedGeneration != generation || size == ring.length) return false;
+        ring[(head + size) % ring.length] = item;
+        size++;
+        return true;
+    }
+
+    synchronized void invalidate(){
+        Arrays.fill(ring, null);
+        head = 0;
+        size = 0;
+        generation++;
+    }
+
+    synchronized int size(){
+        return size;
+    }
+}
@@ -0,0 +1,15 @@
+package com.memorio.backend.exercise;
+
+import com.memorio.backend.exercise.dto.TimingConfig;
+
+/**
+ * Everything {@code /exercises/start} hands out for one session, minus the session id.
+ * Built by {@link ExercisePreparer}, either inline or ahead of time by {@link ExercisePrefetchService}.
+ */
+public record PreparedExercise(ExerciseType type,
+                               int skillLevel,
+                               String language,
+                               Object payload,
+                               TimingConfig timing,
+                               ExerciseSessionState state) {
+}
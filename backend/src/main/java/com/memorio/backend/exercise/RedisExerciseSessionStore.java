@@ -0,0 +1,58 @@
+package com.memorio.backend.exercise;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Shared session state for multi-instance deployments. Stored as the compact
+ * {@link ExerciseSessionState#encode()} string. A failed Redis read looks like an expired
+ * session, so submit answers 409 and the client starts a new one.
+ */
+@Component
+@ConditionalOnProperty(name = "memorio.exercise.session-store", havingValue = "redis")
+public class RedisExerciseSessionStore implements ExerciseSessionStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisExerciseSessionStore.class);
+    private static final String KEY_PREFIX = "exercise-session:";
+
+    private final StringRedisTemplate redis;
+    private final Duration ttl;
+
+    public RedisExerciseSessionStore(StringRedisTemplate redis,
+                                     @Value("${memorio.exercise.session-store.ttl-minutes:60}") long ttlMinutes){
+        this.redis = redis;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+    }
+
+    @Override
+    public void put(UUID sessionId, ExerciseSessionState state){
+        try {
+            redis.opsForValue().set(KEY_PREFIX + sessionId, state.encode(), ttl);
+        } catch (DataAccessException e){
+            logger.warn("Could not store exercise session {} in Redis: {}", sessionId, e.getMessage());
+        }
+    }
+
+    @Override
+    public Optional<ExerciseSessionState> find(UUID sessionId){
+        try {
+            String encoded = redis.opsForValue().get(KEY_PREFIX + sessionId);
+            return encoded == null ? Optional.empty() : Optional.of(ExerciseSessionState.decode(encoded));
+        } catch (DataAccessException e){
+            logger.warn("Could not read exercise session {} from Redis: {}", sessionId, e.getMessage());
+            return Optional.empty();
+        } catch (IllegalArgumentException e){
+            logger.warn("Discarding unreadable state for exercise session {}: {}", sessionId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
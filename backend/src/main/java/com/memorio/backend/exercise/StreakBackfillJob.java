@@ -0,0 +1,74 @@
+package com.memorio.backend.exercise;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Builds the default-zone {@link UserStreak} for users who have sessions but no streak row yet.
+ * Runs once after startup; users submitting in the meantime get their row built on submit.
+ */
+@Component
+@Profile("!test")
+public class StreakBackfillJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(StreakBackfillJob.class);
+
+    private final ExerciseSessionRepository sessions;
+    private final UserStreakRepository streaks;
+    private final StreakService streakService;
+    private final TransactionTemplate tx;
+    private final int batchSize;
+
+    public StreakBackfillJob(ExerciseSessionRepository sessions,
+                             UserStreakRepository streaks,
+                             StreakService streakService,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${memorio.streak.backfill.batch-size:500}") int batchSize){
+        this.sessions = sessions;
+        this.streaks = streaks;
+        this.streakService = streakService;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Async
+    public void backfill(){
+        String zoneId = StreakService.DEFAULT_ZONE.getId();
+        UUID after = new UUID(0L, 0L);
+        int built = 0;
+        try {
+            while (true){
+                List<UUID> userIds = sessions.findUserIdsWithoutStreak(zoneId, after, PageRequest.of(0, batchSize));
+                if (userIds.isEmpty()) break;
+                for (UUID userId : userIds){
+                    if (buildOne(userId, zoneId)) built++;
+                }
+                after = userIds.get(userIds.size() - 1);
+            }
+            if (built > 0) logger.info("Streak backfill built state for {} users", built);
+        } catch (Exception e){
+            logger.warn("Streak backfill stopped after {} users (non-critical): {}", built, e.getMessage());
+        }
+    }
+
+    private boolean buildOne(UUID userId, String zoneId){
+        // A row built concurrently by a submit makes the insert a no-op
+        return Boolean.TRUE.equals(tx.execute(status -> {
+            if (streaks.existsById(new UserStreakId(userId, zoneId))) return false;
+            return streaks.insertIfAbsent(streakService.rebuild(userId, StreakService.DEFAULT_ZONE)) > 0;
+        }));
+    }
+}
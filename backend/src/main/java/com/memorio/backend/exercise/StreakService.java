@@ -1,55 +1,87 @@
 package com.memorio.backend.exercise;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import java.time.LocalDate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
 import java.time.ZoneId;
-import java.util.ArrayList;
-import java.util.LinkedHashSet;
 import java.util.UUID;
 
+/**
+ * Reads and maintains {@link UserStreak} rows. Submits advance every zone a user has a row for;
+ * a zone without a row is built from the session history. It is stored and kept up to date
+ * afterwards only if it is a region id (e.g. {@code Europe/Warsaw}, not an offset) and the user
+ * has fewer than {@code memorio.streak.max-zones-per-user} rows; otherwise it is computed per read,
+ * so a read endpoint cannot add rows that every submit then has to write.
+ */
 @Service
 public class StreakService {
+
+    /** Zone used for badges and always maintained on submit. */
+    public static final ZoneId DEFAULT_ZONE = ZoneId.of("UTC");
+
     private final ExerciseSessionRepository sessions;
+    private final UserStreakRepository streaks;
+    private final int maxZonesPerUser;
 
-    public StreakService(ExerciseSessionRepository sessions){
+    public StreakService(ExerciseSessionRepository sessions, UserStreakRepository streaks,
+                         @Value("${memorio.streak.max-zones-per-user:3}") int maxZonesPerUser){
         this.sessions = sessions;
+        this.streaks = streaks;
+        this.maxZonesPerUser = maxZonesPerUser;
     }
 
-
+    @Transactional
     public int computeCurrentStreak (UUID userId, ZoneId zone) {
+        return getStreak(userId, zone).getCurrentStreak();
+    }
+
+    @Transactional
+    public UserStreak getStreak(UUID userId, ZoneId zone){
         if(userId == null){
             throw new IllegalArgumentException("userId cannot be null");
         }
         if(zone == null){
             throw new IllegalArgumentException("zone cannot be null");
         }
+        var stored = streaks.findById(new UserStreakId(userId, zone.getId()));
+        if (stored.isPresent()) return stored.get();
+        UserStreak built = rebuild(userId, zone);
+        if (isStorable(userId, zone)){
+            streaks.insertIfAbsent(built);
+        }
+        return built;
+    }
 
-        var page = sessions.findByUserIdOrderByStartedAtDesc(userId, PageRequest.of(0, 400));
-        if (page.isEmpty()) return 0;
-
-        //from last 400 exercise sessions extracct unique dates
-        var days = new LinkedHashSet<LocalDate>();
-        for (var s : page.getContent()) { // dt - date time, s- session
-            var dt = (s.getFinishedAt() != null ? s.getFinishedAt() : s.getStartedAt());
-            if (dt == null) continue;
-            days.add(dt.atZoneSameInstant(zone).toLocalDate());
+    /**
+     * Records exercise activity at {@code at} for every zone the user has streak state in.
+     */
+    @Transactional
+    public void recordActivity(UUID userId, OffsetDateTime at){
+        if(userId == null){
+            throw new IllegalArgumentException("userId cannot be null");
+        }
+        boolean hasDefault = false;
+        for (UserStreak streak : streaks.findByUserId(userId)){
+            streak.recordActiveDay(at.atZoneSameInstant(streak.zone()).toLocalDate());
+            hasDefault |= DEFAULT_ZONE.getId().equals(streak.getZoneId());
         }
-        if (days.isEmpty()) return 0;
-        var sorted = new ArrayList<>(days);
-        sorted.sort((a,b) -> b.compareTo(a));
-
-        int current = 1;
-        LocalDate last = sorted.get(0); //last processedd date
-        for (int i = 1; i<sorted.size(); i++){
-            LocalDate d = sorted.get(i);
-            if(d.plusDays(1).equals(last)){
-                current++;
-            }else if (!d.equals(last)){
-                break;
-            }
-            last = d;
+        if (!hasDefault){
+            // History already contains the session behind this activity; recording it again is a no-op
+            UserStreak streak = rebuild(userId, DEFAULT_ZONE);
+            streak.recordActiveDay(at.atZoneSameInstant(DEFAULT_ZONE).toLocalDate());
+            streaks.insertIfAbsent(streak);
         }
-        return current;
+    }
+
+    private boolean isStorable(UUID userId, ZoneId zone){
+        if (DEFAULT_ZONE.equals(zone)) return true;
+        return ZoneId.getAvailableZoneIds().contains(zone.getId())
+                && streaks.countByUserId(userId) < maxZonesPerUser;
+    }
 
+    /** Builds streak state from the user's full session history. Not persisted. */
+    public UserStreak rebuild(UUID userId, ZoneId zone){
+        return UserStreak.fromActivity(userId, zone, sessions.findActivityTimesByUserId(userId));
     }
 }
@@ -0,0 +1,9 @@
+package com.memorio.backend.exercise;
+
+import java.util.UUID;
+
+/**
+ * Published when a submit queued its side effects, so the worker can pick them up after commit.
+ */
+public record SubmitEnqueuedEvent(UUID entryId, UUID userId) {
+}
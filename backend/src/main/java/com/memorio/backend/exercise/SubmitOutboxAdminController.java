@@ -0,0 +1,48 @@
+package com.memorio.backend.exercise;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Admin view of submit outbox entries that were parked after running out of attempts.
+ * All endpoints require ADMIN role.
+ */
+@RestController
+@RequestMapping("/api/admin/exercise/outbox")
+@PreAuthorize("hasRole('ADMIN')")
+public class SubmitOutboxAdminController {
+
+    private final SubmitOutboxRepository outbox;
+
+    public SubmitOutboxAdminController(SubmitOutboxRepository outbox) {
+        this.outbox = outbox;
+    }
+
+    /**
+     * Counts parked entries.
+     *
+     * @return Number of entries waiting for a replay
+     */
+    @GetMapping("/failed")
+    public ResponseEntity<Map<String, Long>> countFailed() {
+        return ResponseEntity.ok(Map.of("failed", outbox.countFailed()));
+    }
+
+    /**
+     * Puts every parked entry back into the queue with a fresh attempt budget.
+     *
+     * @return Number of entries requeued
+     */
+    @Transactional
+    @PostMapping("/failed/replay")
+    public ResponseEntity<Map<String, Integer>> replayFailed() {
+        return ResponseEntity.ok(Map.of("requeued", outbox.requeueFailed()));
+    }
+}
@@ -0,0 +1,99 @@
+package com.memorio.backend.exercise;
+import jakarta.persistence.*;
+
+import java.time.OffsetDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * One submit whose side effects (BKT, badges, streak, stats) still have to be applied.
+ * Written in the submit transaction and consumed by {@link SubmitOutboxWorker}.
+ */
+@Entity
+@Table(name = "exercise_submit_outbox")
+public class SubmitOutboxEntry {
+    @Id
+    private UUID id;
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+    @Column(name = "session_id", nullable = false)
+    private UUID sessionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "exercise_type", nullable = false)
+    private ExerciseType exerciseType;
+
+    @Column(name = "skill_level", nullable = false)
+    private int skillLevel;
+    @Column(nullable = false)
+    private int correct;
+    @Column(name = "base_points", nullable = false)
+    private int basePoints;
+    @Column(name = "was_correct", nullable = false)
+    private boolean wasCorrect;
+    @Column(name = "was_perfect", nullable = false)
+    private boolean wasPerfect;
+    // Null for entries queued before stats counters existed (already backfilled)
+    @Column(name = "session_completed")
+    private Boolean sessionCompleted;
+    @Column(name = "response_time_ms")
+    private Integer responseTimeMs;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+    @Column(name = "processed_at")
+    private OffsetDateTime processedAt;
+    @Column(nullable = false)
+    private int attempts;
+    @Column(name = "locked_until")
+    private OffsetDateTime lockedUntil;
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+    // Set once the entry ran out of attempts; parked entries are only replayed by an admin
+    @Column(name = "failed_at")
+    private OffsetDateTime failedAt;
+
+    protected SubmitOutboxEntry(){}
+
+    public SubmitOutboxEntry(UUID id, UUID userId, UUID sessionId, ExerciseType exerciseType,
+                             int skillLevel, int correct, int basePoints, boolean wasCorrect,
+                             boolean wasPerfect, boolean sessionCompleted, Integer responseTimeMs,
+                             OffsetDateTime createdAt){
+        this.id = Objects.requireNonNull(id, "id cannot be null");
+        this.userId = Objects.requireNonNull(userId, "userId cannot be null");
+        this.sessionId = Objects.requireNonNull(sessionId, "sessionId cannot be null");
+        this.exerciseType = Objects.requireNonNull(exerciseType, "exerciseType cannot be null");
+        this.skillLevel = skillLevel;
+        this.correct = correct;
+        this.basePoints = basePoints;
+        this.wasCorrect = wasCorrect;
+        this.wasPerfect = wasPerfect;
+        this.sessionCompleted = sessionCompleted;
+        this.responseTimeMs = responseTimeMs;
+        this.createdAt = Objects.requireNonNull(createdAt, "createdAt cannot be null");
+    }
+
+    public UUID getId(){return id;}
+    public UUID getUserId(){return userId;}
+    public UUID getSessionId(){return sessionId;}
+    public ExerciseType getExerciseType(){return exerciseType;}
+    public int getSkillLevel(){return skillLevel;}
+    public int getCorrect(){return correct;}
+    public int getBasePoints(){return basePoints;}
+    public boolean isWasCorrect(){return wasCorrect;}
+    public boolean isWasPerfect(){return wasPerfect;}
+    public Boolean getSessionCompleted(){return sessionCompleted;}
+    public Integer getResponseTimeMs(){return responseTimeMs;}
+    public OffsetDateTime getCreatedAt(){return createdAt;}
+    public OffsetDateTime getProcessedAt(){return processedAt;}
+    public int getAttempts(){return attempts;}
+    public OffsetDateTime getLockedUntil(){return lockedUntil;}
+    public String getLastError(){return lastError;}
+    public OffsetDateTime getFailedAt(){return failedAt;}
+
+    /** Claims the entry for one worker until {@code until}. */
+    public void lease(OffsetDateTime until){
+        this.lockedUntil = until;
+        this.attempts++;
+    }
+}
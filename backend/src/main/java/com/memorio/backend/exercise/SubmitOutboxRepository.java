@@ -0,0 +1,69 @@
+package com.memorio.backend.exercise;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface SubmitOutboxRepository extends JpaRepository<SubmitOutboxEntry, UUID> {
+
+    // Row locks are held only for the claiming transaction; the lease keeps other workers away afterwards
+    @Query(value = """
+           SELECT * FROM exercise_submit_outbox
+           WHERE processed_at IS NULL
+             AND failed_at IS NULL
+             AND attempts < :maxAttempts
+             AND (locked_until IS NULL OR locked_until < :now)
+           ORDER BY created_at
+           LIMIT :limit
+           FOR UPDATE SKIP LOCKED
+           """, nativeQuery = true)
+    List<SubmitOutboxEntry> lockPending(@Param("now") OffsetDateTime now,
+                                        @Param("maxAttempts") int maxAttempts,
+                                        @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE SubmitOutboxEntry e SET e.processedAt = :now, e.lockedUntil = NULL, e.lastError = NULL WHERE e.id IN :ids")
+    int markProcessed(@Param("ids") List<UUID> ids, @Param("now") OffsetDateTime now);
+
+    @Modifying
+    @Query("UPDATE SubmitOutboxEntry e SET e.lastError = :error WHERE e.id IN :ids")
+    int recordFailure(@Param("ids") List<UUID> ids, @Param("error") String error);
+
+    // Covers entries whose worker died after the last attempt, not only those that threw
+    @Modifying
+    @Query("""
+           UPDATE SubmitOutboxEntry e SET e.failedAt = :now, e.lockedUntil = NULL
+           WHERE e.processedAt IS NULL AND e.failedAt IS NULL AND e.attempts >= :maxAttempts
+             AND (e.lockedUntil IS NULL OR e.lockedUntil < :now)
+           """)
+    int parkExhausted(@Param("now") OffsetDateTime now, @Param("maxAttempts") int maxAttempts);
+
+    @Modifying
+    @Query("UPDATE SubmitOutboxEntry e SET e.failedAt = :now, e.lockedUntil = NULL WHERE e.id IN :ids")
+    int park(@Param("ids") List<UUID> ids, @Param("now") OffsetDateTime now);
+
+    @Modifying
+    @Query("""
+           UPDATE SubmitOutboxEntry e SET e.failedAt = NULL, e.attempts = 0, e.lockedUntil = NULL
+           WHERE e.failedAt IS NOT NULL AND e.processedAt IS NULL
+           """)
+    int requeueFailed();
+
+    @Query("SELECT COUNT(e) FROM SubmitOutboxEntry e WHERE e.processedAt IS NULL AND e.failedAt IS NULL")
+    long countPending();
+
+    @Query("SELECT COUNT(e) FROM SubmitOutboxEntry e WHERE e.failedAt IS NOT NULL AND e.processedAt IS NULL")
+    long countFailed();
+
+    @Modifying
+    @Query("DELETE FROM SubmitOutboxEntry e WHERE e.processedAt IS NOT NULL AND e.processedAt < :before")
+    int deleteProcessedBefore(@Param("before") OffsetDateTime before);
+
+    @Modifying
+    @Query("DELETE FROM SubmitOutboxEntry e WHERE e.failedAt IS NOT NULL AND e.failedAt < :before")
+    int deleteFailedBefore(@Param("before") OffsetDateTime before);
+}
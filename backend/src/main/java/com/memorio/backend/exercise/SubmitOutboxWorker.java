@@ -0,0 +1,210 @@
+package com.memorio.backend.exercise;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the submit outbox.
+ *
+ * A batch is claimed with {@code FOR UPDATE SKIP LOCKED} and a short lease, grouped by user
+ * and fanned out over a fixed worker pool; each user's entries are applied in one transaction.
+ * Failed entries keep their lease and are retried once it expires, up to {@code max-attempts};
+ * after that they are parked ({@code failed_at}) until an admin replays them or they age out.
+ */
+@Component
+@ConditionalOnProperty(name = "memorio.exercise.submit.async-side-effects", havingValue = "true", matchIfMissing = true)
+public class SubmitOutboxWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubmitOutboxWorker.class);
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final SubmitOutboxRepository outbox;
+    private final SubmitSideEffectProcessor processor;
+    private final ExerciseMetrics metrics;
+    private final TransactionTemplate tx;
+    private final ExecutorService workers;
+    private final ExecutorService dispatcher;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration retention;
+    private final Duration failedRetention;
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean requested = new AtomicBoolean();
+
+    public SubmitOutboxWorker(SubmitOutboxRepository outbox,
+                              SubmitSideEffectProcessor processor,
+                              ExerciseMetrics metrics,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${memorio.exercise.outbox.workers:4}") int workerCount,
+                              @Value("${memorio.exercise.outbox.batch-size:200}") int batchSize,
+                              @Value("${memorio.exercise.outbox.max-attempts:5}") int maxAttempts,
+                              @Value("${memorio.exercise.outbox.lease-seconds:60}") long leaseSeconds,
+                              @Value("${memorio.exercise.outbox.retention-days:7}") long retentionDays,
+                              @Value("${memorio.exercise.outbox.failed-retention-days:30}") long failedRetentionDays){
+        this.outbox = outbox;
+        this.processor = processor;
+        this.metrics = metrics;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.workers = Executors.newFixedThreadPool(Math.max(1, workerCount), threadFactory("submit-outbox-"));
+        this.dispatcher = Executors.newSingleThreadExecutor(threadFactory("submit-outbox-dispatch-"));
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.lease = Duration.ofSeconds(Math.max(1, leaseSeconds));
+        this.retention = Duration.ofDays(Math.max(1, retentionDays));
+        this.failedRetention = Duration.ofDays(Math.max(1, failedRetentionDays));
+    }
+
+    @Scheduled(fixedDelayString = "${memorio.exercise.outbox.poll-interval-ms:1000}")
+    public void poll(){
+        parkExhausted();
+        drain();
+    }
+
+    /**
+     * Kicks a drain as soon as the submit transaction commits, so most entries are applied
+     * within milliseconds instead of waiting for the next poll.
+     */
+    @TransactionalEventListener
+    public void onSubmitEnqueued(SubmitEnqueuedEvent event){
+        dispatcher.execute(this::drain);
+    }
+
+    @Scheduled(cron = "${memorio.exercise.outbox.purge-cron:0 30 3 * * *}")
+    public void purgeProcessed(){
+        Integer deleted = tx.execute(status ->
+                outbox.deleteProcessedBefore(OffsetDateTime.now().minus(retention)));
+        logger.info("Purged {} processed submit outbox entries", deleted);
+        Integer expired = tx.execute(status ->
+                outbox.deleteFailedBefore(OffsetDateTime.now().minus(failedRetention)));
+        logger.info("Purged {} failed submit outbox entries", expired);
+    }
+
+    private void parkExhausted(){
+        try {
+            Integer parked = tx.execute(status -> outbox.parkExhausted(OffsetDateTime.now(), maxAttempts));
+            if (parked != null && parked > 0){
+                logger.error("Parked {} submit outbox entries after {} attempts", parked, maxAttempts);
+            }
+        } catch (Exception e){
+            logger.error("Parking exhausted submit outbox entries failed", e);
+        }
+    }
+
+    void drain(){
+        requested.set(true);
+        if (!draining.compareAndSet(false, true)) return;
+        try {
+            while (requested.getAndSet(false)){
+                int claimed;
+                do {
+                    claimed = drainBatch();
+                } while (claimed == batchSize);
+            }
+        } catch (Exception e){
+            logger.error("Submit outbox drain failed", e);
+        } finally {
+            draining.set(false);
+        }
+    }
+
+    private int drainBatch(){
+        List<SubmitOutboxEntry> batch = tx.execute(status -> {
+            OffsetDateTime now = OffsetDateTime.now();
+            List<SubmitOutboxEntry> locked = outbox.lockPending(now, maxAttempts, batchSize);
+            for (SubmitOutboxEntry entry : locked){
+                entry.lease(now.plus(lease));
+            }
+            return locked;
+        });
+        if (batch == null || batch.isEmpty()) return 0;
+
+        Map<UUID, List<SubmitOutboxEntry>> byUser = batch.stream()
+                .collect(Collectors.groupingBy(SubmitOutboxEntry::getUserId, LinkedHashMap::new, Collectors.toList()));
+        List<CompletableFuture<Void>> tasks = new ArrayList<>(byUser.size());
+        byUser.forEach((userId, entries) ->
+                tasks.add(CompletableFuture.runAsync(() -> applyForUser(userId, entries), workers)));
+        CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).join();
+
+        logger.debug("Applied submit side effects for {} entries across {} users", batch.size(), byUser.size());
+        return batch.size();
+    }
+
+    private void applyForUser(UUID userId, List<SubmitOutboxEntry> entries){
+        try {
+            processor.applyBatch(userId, entries);
+        } catch (Exception e){
+            List<UUID> ids = entries.stream().map(SubmitOutboxEntry::getId).toList();
+            String error = truncate(e.getClass().getSimpleName() + ": " + e.getMessage());
+            tx.executeWithoutResult(status -> outbox.recordFailure(ids, error));
+
+            List<UUID> exhausted = entries.stream()
+                    .filter(entry -> entry.getAttempts() >= maxAttempts)
+                    .map(SubmitOutboxEntry::getId)
+                    .toList();
+            if (!exhausted.isEmpty()){
+                tx.executeWithoutResult(status -> outbox.park(exhausted, OffsetDateTime.now()));
+                logger.error("Parked submit side effects for user {} after {} attempts: {}", userId, maxAttempts, exhausted, e);
+            }
+            if (exhausted.size() < entries.size()){
+                logger.warn("Submit side effects failed for user {}, will retry after lease expiry", userId, e);
+            }
+        }
+    }
+
+    /**
+     * Publishes the backlog and parked counts for the outbox gauges, so scrapes read a
+     * cached value instead of counting rows.
+     */
+    @Scheduled(fixedDelayString = "${memorio.exercise.outbox.gauge-refresh-ms:15000}")
+    public void refreshGauges(){
+        try {
+            metrics.recordOutbox(outbox.countPending(), outbox.countFailed());
+        } catch (Exception e){
+            logger.warn("Refreshing submit outbox gauges failed", e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown(){
+        dispatcher.shutdown();
+        workers.shutdown();
+    }
+
+    private static String truncate(String message){
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private static ThreadFactory threadFactory(String prefix){
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,113 @@
+package com.memorio.backend.exercise;
+
+import com.memorio.backend.adaptive.AdaptiveDifficultyService;
+import com.memorio.backend.exercise.ExerciseMetrics.Stage;
+import com.memorio.backend.gamification.BadgeService;
+import com.memorio.backend.gamification.UserStats;
+import com.memorio.backend.gamification.UserStatsRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Applies the slow part of an exercise submit: BKT update, streak, badge evaluation and stats.
+ * Used inline by the submit request or by {@link SubmitOutboxWorker} for queued entries.
+ */
+@Service
+public class SubmitSideEffectProcessor {
+
+    private final AdaptiveDifficultyService adaptiveService;
+    private final BadgeService badgeService;
+    private final UserStatsRepository userStatsRepo;
+    private final SubmitOutboxRepository outbox;
+    private final StreakService streakService;
+    private final ExerciseMetrics metrics;
+
+    public SubmitSideEffectProcessor(AdaptiveDifficultyService adaptiveService,
+                                     BadgeService badgeService,
+                                     UserStatsRepository userStatsRepo,
+                                     SubmitOutboxRepository outbox,
+                                     StreakService streakService,
+                                     ExerciseMetrics metrics){
+        this.adaptiveService = adaptiveService;
+        this.badgeService = badgeService;
+        this.userStatsRepo = userStatsRepo;
+        this.outbox = outbox;
+        this.streakService = streakService;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Applies a single submit right away. The entry is not persisted.
+     */
+    @Transactional
+    public BadgeService.BadgeResult applyNow(SubmitOutboxEntry entry){
+        var stats = userStatsRepo.findById(entry.getUserId()).orElseGet(() -> new UserStats(entry.getUserId()));
+        recordBkt(entry.getUserId(), List.of(entry));
+        var result = apply(entry, stats);
+        saveStats(stats, entry);
+        return result;
+    }
+
+    /**
+     * Applies queued submits of one user in arrival order and marks them processed.
+     * The stats row is loaded and saved once for the whole batch, and so is each BKT mastery.
+     */
+    @Transactional
+    public void applyBatch(UUID userId, List<SubmitOutboxEntry> entries){
+        if (entries.isEmpty()) return;
+        var stats = userStatsRepo.findById(userId).orElseGet(() -> new UserStats(userId));
+        recordBkt(userId, entries);
+        for (SubmitOutboxEntry entry : entries){
+            apply(entry, stats);
+        }
+        saveStats(stats, entries.get(entries.size() - 1));
+        outbox.markProcessed(entries.stream().map(SubmitOutboxEntry::getId).toList(), OffsetDateTime.now());
+    }
+
+    // The entry's level is the user's skill level when the exercise was played, so the user row
+    // is not read again for the attempt history
+    private void recordBkt(UUID userId, List<SubmitOutboxEntry> entries){
+        List<AdaptiveDifficultyService.Attempt> attempts = entries.stream()
+                .map(entry -> new AdaptiveDifficultyService.Attempt(
+                        entry.getExerciseType().name(),
+                        null,  // No specific concept for exercises
+                        entry.isWasCorrect(),
+                        entry.getSkillLevel(),
+                        entry.getSessionId(),
+                        entry.getResponseTimeMs(),
+                        entry.getSkillLevel()))
+                .toList();
+        metrics.timeBktBatch(attempts.size(), () -> adaptiveService.recordAttempts(userId, attempts));
+    }
+
+    private BadgeService.BadgeResult apply(SubmitOutboxEntry entry, UserStats stats){
+        UUID userId = entry.getUserId();
+        ExerciseType type = entry.getExerciseType();
+        int level = entry.getSkillLevel();
+        if (entry.getSessionCompleted() != null){
+            if (entry.getSessionCompleted()) stats.recordCompletedSession(entry.getExerciseType());
+            if (entry.isWasPerfect()) stats.recordPerfectAttempt();
+        }
+
+        // Streak badges read the streak state, so advance it first
+        metrics.time(Stage.STREAK_UPDATE, type, level,
+                () -> streakService.recordActivity(userId, entry.getCreatedAt()));
+
+        // Badge thresholds look at points after the base award but before badge bonuses
+        long pointsAfterBase = stats.getTotalPoints() + entry.getBasePoints();
+        var badgeResult = metrics.time(Stage.BADGE_EVALUATION, type, level, () ->
+                badgeService.evaluateAndAwardBadges(stats, type, entry.isWasPerfect(), pointsAfterBase));
+
+        stats.addAttempt(entry.getCorrect(), entry.getBasePoints() + badgeResult.bonusPoints());
+        return badgeResult;
+    }
+
+    private void saveStats(UserStats stats, SubmitOutboxEntry last){
+        metrics.time(Stage.STATS_SAVE, last.getExerciseType(), last.getSkillLevel(),
+                () -> userStatsRepo.save(stats));
+    }
+}
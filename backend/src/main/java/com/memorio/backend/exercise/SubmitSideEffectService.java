@@ -0,0 +1,48 @@
+package com.memorio.backend.exercise;
+
+import com.memorio.backend.gamification.BadgeService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Entry point for submit side effects.
+ *
+ * In async mode (the default) the entry is written to the outbox inside the submit
+ * transaction and applied later by {@link SubmitOutboxWorker}; the caller gets no badge
+ * result. With {@code memorio.exercise.submit.async-side-effects=false} the effects are
+ * applied inline and newly awarded badges are returned as before.
+ */
+@Service
+public class SubmitSideEffectService {
+
+    private static final BadgeService.BadgeResult DEFERRED = new BadgeService.BadgeResult(List.of(), 0);
+
+    private final SubmitOutboxRepository outbox;
+    private final SubmitSideEffectProcessor processor;
+    private final ApplicationEventPublisher events;
+    private final boolean async;
+
+    public SubmitSideEffectService(SubmitOutboxRepository outbox,
+                                   SubmitSideEffectProcessor processor,
+                                   ApplicationEventPublisher events,
+                                   @Value("${memorio.exercise.submit.async-side-effects:true}") boolean async){
+        this.outbox = outbox;
+        this.processor = processor;
+        this.events = events;
+        this.async = async;
+    }
+
+    public BadgeService.BadgeResult submit(SubmitOutboxEntry entry){
+        if (!async){
+            return processor.applyNow(entry);
+        }
+        outbox.save(entry);
+        events.publishEvent(new SubmitEnqueuedEvent(entry.getId(), entry.getUserId()));
+        return DEFERRED;
+    }
+
+    public boolean isAsync(){return async;}
+}
@@ -0,0 +1,76 @@
+package com.memorio.backend.exercise;
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Streak of consecutive active days for one user, as seen from one timezone.
+ * {@code currentStreak} is the run of consecutive days ending at {@code lastActiveDate}.
+ */
+@Entity
+@Table(name = "user_streaks")
+public class UserStreak {
+    @EmbeddedId
+    private UserStreakId id;
+
+    @Column(name = "current_streak", nullable = false)
+    private int currentStreak;
+    @Column(name = "longest_streak", nullable = false)
+    private int longestStreak;
+    @Column(name = "last_active_date")
+    private LocalDate lastActiveDate;
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+
+    protected UserStreak(){}
+
+    public UserStreak(UUID userId, ZoneId zone){
+        this.id = new UserStreakId(userId, zone.getId());
+        this.updatedAt = OffsetDateTime.now();
+    }
+
+    /**
+     * Builds the state from a user's full activity history (session finish or start times).
+     */
+    public static UserStreak fromActivity(UUID userId, ZoneId zone, Collection<OffsetDateTime> activity){
+        var days = new TreeSet<LocalDate>();
+        for (OffsetDateTime at : activity){
+            if (at != null) days.add(at.atZoneSameInstant(zone).toLocalDate());
+        }
+        var streak = new UserStreak(userId, zone);
+        for (LocalDate day : days){
+            streak.recordActiveDay(day);
+        }
+        return streak;
+    }
+
+    public UUID getUserId(){return id != null ? id.getUserId() : null;}
+    public String getZoneId(){return id != null ? id.getZoneId() : null;}
+    public ZoneId zone(){return ZoneId.of(id.getZoneId());}
+    public int getCurrentStreak(){return currentStreak;}
+    public int getLongestStreak(){return longestStreak;}
+    public LocalDate getLastActiveDate(){return lastActiveDate;}
+    public OffsetDateTime getUpdatedAt(){return updatedAt;}
+
+    /**
+     * Advances the streak for activity on {@code day}. Days at or before the last active
+     * day are already counted and leave the state unchanged.
+     */
+    public void recordActiveDay(LocalDate day){
+        if (lastActiveDate != null && !day.isAfter(lastActiveDate)) return;
+
+        if (lastActiveDate != null && day.equals(lastActiveDate.plusDays(1))){
+            currentStreak++;
+        } else {
+            currentStreak = 1;
+        }
+        longestStreak = Math.max(longestStreak, currentStreak);
+        lastActiveDate = day;
+        updatedAt = OffsetDateTime.now();
+    }
+}
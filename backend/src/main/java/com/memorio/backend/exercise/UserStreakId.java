@@ -0,0 +1,42 @@
+package com.memorio.backend.exercise;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.UUID;
+
+@Embeddable
+public class UserStreakId implements Serializable {
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "zone_id", nullable = false, length = 64)
+    private String zoneId;
+
+    protected UserStreakId(){}
+
+    public UserStreakId(UUID userId, String zoneId){
+        this.userId = userId;
+        this.zoneId = zoneId;
+    }
+
+    public UUID getUserId(){return userId;}
+    public String getZoneId(){return zoneId;}
+
+    @Override
+    public boolean equals(Object o){
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        UserStreakId that = (UserStreakId) o;
+        return Objects.equals(userId, that.userId) &&
+                Objects.equals(zoneId, that.zoneId);
+    }
+
+    @Override
+    public int hashCode(){
+        return Objects.hash(userId, zoneId);
+    }
+}
@@ -0,0 +1,38 @@
+package com.memorio.backend.exercise;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface UserStreakRepository extends JpaRepository<UserStreak, UserStreakId> {
+
+    @Query("SELECT s FROM UserStreak s WHERE s.id.userId = :userId")
+    List<UserStreak> findByUserId(@Param("userId") UUID userId);
+
+    @Query("SELECT COUNT(s) FROM UserStreak s WHERE s.id.userId = :userId")
+    long countByUserId(@Param("userId") UUID userId);
+
+    // Two requests building the same (user, zone) row at once both succeed; the second insert is a no-op
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_streaks (user_id, zone_id, current_streak, longest_streak, last_active_date, updated_at)
+            VALUES (:userId, :zoneId, :currentStreak, :longestStreak, :lastActiveDate, :updatedAt)
+            ON CONFLICT (user_id, zone_id) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("userId") UUID userId,
+                       @Param("zoneId") String zoneId,
+                       @Param("currentStreak") int currentStreak,
+                       @Param("longestStreak") int longestStreak,
+                       @Param("lastActiveDate") LocalDate lastActiveDate,
+                       @Param("updatedAt") OffsetDateTime updatedAt);
+
+    default int insertIfAbsent(UserStreak streak){
+        return insertIfAbsent(streak.getUserId(), streak.getZoneId(), streak.getCurrentStreak(),
+                streak.getLongestStreak(), streak.getLastActiveDate(), streak.getUpdatedAt());
+    }
+}
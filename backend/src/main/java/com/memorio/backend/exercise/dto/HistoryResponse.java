@@ -8,18 +8,29 @@ public class HistoryResponse {
     private final List<HistoryItem> items;
     private final int limit;
     private final int offset;
-    private final long total;
+    private final Long total;  // null for cursor pages, which skip the count
+    private final String nextCursor;
 
     public HistoryResponse(List<HistoryItem> items, int limit, int offset, long total){
+        this(items, limit, offset, Long.valueOf(total), null);
+    }
+
+    private HistoryResponse(List<HistoryItem> items, int limit, int offset, Long total, String nextCursor){
         this.items = Objects.requireNonNull(items, "items cannot be null");
         this.limit = limit;
         this.offset = offset;
         this.total = total;
+        this.nextCursor = nextCursor;
+    }
+
+    public static HistoryResponse cursorPage(List<HistoryItem> items, int limit, String nextCursor){
+        return new HistoryResponse(items, limit, 0, null, nextCursor);
     }
 
     public List<HistoryItem> getItems(){return items;}
     public int getLimit(){return limit;}
     public int getOffset(){return offset;}
-    public long getTotal(){return total;}
+    public Long getTotal(){return total;}
+    public String getNextCursor(){return nextCursor;}
 
 }
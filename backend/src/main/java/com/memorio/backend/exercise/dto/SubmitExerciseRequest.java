@@ -3,7 +3,6 @@ package com.memorio.backend.exercise.dto;
 
 import com.memorio.backend.exercise.ExerciseType;
 import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.NotEmpty;
 import java.util.UUID;
 import java.util.List;
 
@@ -12,7 +11,7 @@ public class SubmitExerciseRequest {
     private UUID sessionId;
     @NotNull(message = "type is required")
     private ExerciseType type;
-    @NotEmpty(message = "shownWords must not be empty")
+    /** Items the client showed; ignored for scoring, which always uses the server-side session state. */
     private List<String> shownWords;
     @NotNull(message = "answers are required")
     private List<String> answers;
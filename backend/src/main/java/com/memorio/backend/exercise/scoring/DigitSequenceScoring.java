@@ -0,0 +1,131 @@
+package com.memorio.backend.exercise.scoring;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Number peg: every shown digit counts, duplicates included, and each answer consumes one
+ * remaining occurrence. Single-digit targets are counted in an {@code int[10]} histogram;
+ * anything else falls back to a hash-count table over the distinct targets.
+ */
+final class DigitSequenceScoring implements ScoringStrategy {
+
+    private static final String[] DIGITS = {"0", "1", "2", "3", "4", "5", "6", "7", "8", "9"};
+
+    @Override
+    public ScoreResult score(List<String> shown, List<String> answers, ScoringBuffers buffers){
+        int shownCount = shown.size();
+        String[] shownNorm = buffers.shown(shownCount);
+        boolean digitsOnly = true;
+        for (int i = 0; i < shownCount; i++){
+            String n = ScoringBuffers.normalize(shown.get(i));
+            shownNorm[i] = n;
+            if (!n.isEmpty() && digit(n) < 0) digitsOnly = false;
+        }
+        return digitsOnly
+                ? scoreDigits(shownNorm, shownCount, answers, buffers)
+                : scoreItems(shownNorm, shownCount, answers, buffers);
+    }
+
+    private ScoreResult scoreDigits(String[] shownNorm, int shownCount, List<String> answers,
+                                    ScoringBuffers buffers){
+        int[] remaining = buffers.digitCounts();
+        // Distinct digits in first-shown order, for the missed list
+        int[] order = new int[10];
+        int distinct = 0;
+        int total = 0;
+        for (int i = 0; i < shownCount; i++){
+            String n = shownNorm[i];
+            if (n.isEmpty()) continue;
+            int d = digit(n);
+            if (remaining[d]++ == 0) order[distinct++] = d;
+            total++;
+        }
+
+        int answerCount = answers == null ? 0 : answers.size();
+        boolean[] matched = new boolean[10];
+        List<String> correctItems = new ArrayList<>(distinct);
+        List<String> extra = new ArrayList<>();
+        int correct = 0;
+        int orderCorrect = 0;
+        for (int i = 0; i < answerCount; i++){
+            String n = ScoringBuffers.normalize(answers.get(i));
+            if (n.isEmpty()) continue;
+            if (i < shownCount && n.equals(shownNorm[i])) orderCorrect++;
+            int d = digit(n);
+            if (d >= 0 && remaining[d] > 0){
+                remaining[d]--;
+                correct++;
+                if (!matched[d]){
+                    matched[d] = true;
+                    correctItems.add(DIGITS[d]);
+                }
+            } else {
+                extra.add(n);
+            }
+        }
+
+        List<String> missed = new ArrayList<>(distinct - correctItems.size());
+        for (int i = 0; i < distinct; i++){
+            if (!matched[order[i]]) missed.add(DIGITS[order[i]]);
+        }
+        buffers.release(shownCount, 0);
+        return new ScoreResult(total, correct, orderCorrect, correctItems, missed, extra);
+    }
+
+    private ScoreResult scoreItems(String[] shownNorm, int shownCount, List<String> answers,
+                                   ScoringBuffers buffers){
+        String[] targets = buffers.targets(shownCount);
+        int[] remaining = buffers.counts(shownCount);
+        StringIndexTable index = buffers.index(shownCount);
+        int distinct = 0;
+        int total = 0;
+        for (int i = 0; i < shownCount; i++){
+            String n = shownNorm[i];
+            if (n.isEmpty()) continue;
+            int idx = index.putIfAbsent(n, distinct);
+            if (idx < 0){
+                targets[distinct] = n;
+                idx = distinct++;
+            }
+            remaining[idx]++;
+            total++;
+        }
+
+        boolean[] matched = buffers.matched(distinct);
+        int answerCount = answers == null ? 0 : answers.size();
+        List<String> correctItems = new ArrayList<>(Math.min(distinct, answerCount));
+        List<String> extra = new ArrayList<>();
+        int correct = 0;
+        int orderCorrect = 0;
+        for (int i = 0; i < answerCount; i++){
+            String n = ScoringBuffers.normalize(answers.get(i));
+            if (n.isEmpty()) continue;
+            if (i < shownCount && n.equals(shownNorm[i])) orderCorrect++;
+            int idx = index.get(n);
+            if (idx >= 0 && remaining[idx] > 0){
+                remaining[idx]--;
+                correct++;
+                if (!matched[idx]){
+                    matched[idx] = true;
+                    correctItems.add(n);
+                }
+            } else {
+                extra.add(n);
+            }
+        }
+
+        List<String> missed = new ArrayList<>(distinct - correctItems.size());
+        for (int i = 0; i < distinct; i++){
+            if (!matched[i]) missed.add(targets[i]);
+        }
+        buffers.release(shownCount, distinct);
+        return new ScoreResult(total, correct, orderCorrect, correctItems, missed, extra);
+    }
+
+    private static int digit(String s){
+        if (s.length() != 1) return -1;
+        char c = s.charAt(0);
+        return c >= '0' && c <= '9' ? c - '0' : -1;
+    }
+}
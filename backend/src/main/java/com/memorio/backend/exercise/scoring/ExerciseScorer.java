@@ -0,0 +1,38 @@
+package com.memorio.backend.exercise.scoring;
+
+import com.memorio.backend.exercise.ExerciseType;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Scores submitted answers against the items shown in a session.
+ * Answers and shown items are compared trimmed and lower-cased; blank entries are ignored.
+ */
+@Component
+public class ExerciseScorer {
+
+    private final Map<ExerciseType, ScoringStrategy> strategies = new EnumMap<>(ExerciseType.class);
+
+    public ExerciseScorer(){
+        ScoringStrategy uniqueItems = new UniqueItemScoring();
+        strategies.put(ExerciseType.WORD_LINKING, uniqueItems);
+        strategies.put(ExerciseType.DAILY_CHALLENGE, uniqueItems);
+        strategies.put(ExerciseType.NAMES_FACES, uniqueItems);
+        strategies.put(ExerciseType.NUMBER_PEG, new DigitSequenceScoring());
+    }
+
+    public boolean supports(ExerciseType type){
+        return type != null && strategies.containsKey(type);
+    }
+
+    public ScoreResult score(ExerciseType type, List<String> shown, List<String> answers){
+        ScoringStrategy strategy = type == null ? null : strategies.get(type);
+        if (strategy == null){
+            throw new IllegalArgumentException("Scoring not implemented for type: " + type);
+        }
+        return strategy.score(shown, answers, ScoringBuffers.get());
+    }
+}
@@ -0,0 +1,29 @@
+package com.memorio.backend.exercise.scoring;
+
+import java.util.List;
+
+/**
+ * Outcome of scoring one submit.
+ *
+ * @param total         number of targets that count towards accuracy
+ * @param correct       answers that matched a target
+ * @param orderCorrect  answers that matched the target shown at the same position
+ * @param correctItems  matched targets, in answer order, without duplicates
+ * @param missedItems   targets that were never matched, in shown order
+ * @param extraItems    answers that matched nothing (or a target already used up)
+ */
+public record ScoreResult(int total,
+                          int correct,
+                          int orderCorrect,
+                          List<String> correctItems,
+                          List<String> missedItems,
+                          List<String> extraItems) {
+
+    public double accuracy(){
+        return total == 0 ? 0.0 : (double) correct / (double) total;
+    }
+
+    public double orderAccuracy(){
+        return total == 0 ? 0.0 : (double) orderCorrect / (double) total;
+    }
+}
@@ -0,0 +1,72 @@
+package com.memorio.backend.exercise.scoring;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Per-thread scratch arrays reused across submits so scoring only allocates its result lists.
+ */
+final class ScoringBuffers {
+
+    private static final ThreadLocal<ScoringBuffers> LOCAL = ThreadLocal.withInitial(ScoringBuffers::new);
+
+    private String[] shown = new String[64];
+    private String[] targets = new String[64];
+    private boolean[] matched = new boolean[64];
+    private int[] counts = new int[64];
+    private final int[] digitCounts = new int[10];
+    private final StringIndexTable index = new StringIndexTable();
+
+    static ScoringBuffers get(){
+        return LOCAL.get();
+    }
+
+    static String normalize(String s){
+        return s == null ? "" : s.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /** Position-aligned normalised shown items (empty strings kept). */
+    String[] shown(int size){
+        if (shown.length < size) shown = new String[grow(shown.length, size)];
+        return shown;
+    }
+
+    /** Unique normalised targets in first-seen order. */
+    String[] targets(int size){
+        if (targets.length < size) targets = new String[grow(targets.length, size)];
+        return targets;
+    }
+
+    boolean[] matched(int size){
+        if (matched.length < size) matched = new boolean[grow(matched.length, size)];
+        Arrays.fill(matched, 0, size, false);
+        return matched;
+    }
+
+    int[] counts(int size){
+        if (counts.length < size) counts = new int[grow(counts.length, size)];
+        Arrays.fill(counts, 0, size, 0);
+        return counts;
+    }
+
+    int[] digitCounts(){
+        Arrays.fill(digitCounts, 0);
+        return digitCounts;
+    }
+
+    StringIndexTable index(int expectedKeys){
+        index.reset(expectedKeys);
+        return index;
+    }
+
+    /** Drops references to request strings once a call is done. */
+    void release(int shownSize, int targetSize){
+        Arrays.fill(shown, 0, Math.min(shownSize, shown.length), null);
+        Arrays.fill(targets, 0, Math.min(targetSize, targets.length), null);
+        index.reset(0);
+    }
+
+    private static int grow(int current, int required){
+        return Math.max(required, current * 2);
+    }
+}
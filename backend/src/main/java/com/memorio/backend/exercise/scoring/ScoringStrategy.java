@@ -0,0 +1,12 @@
+package com.memorio.backend.exercise.scoring;
+
+import java.util.List;
+
+/**
+ * Scores the answers of one exercise type against the items that were shown.
+ * Implementations must be stateless; per-call scratch space comes from {@link ScoringBuffers}.
+ */
+interface ScoringStrategy {
+
+    ScoreResult score(List<String> shown, List<String> answers, ScoringBuffers buffers);
+}
@@ -0,0 +1,62 @@
+package com.memorio.backend.exercise.scoring;
+
+import java.util.Arrays;
+
+/**
+ * Reusable open-addressing map from a normalised item to its index in the target buffer.
+ * Cleared by resetting only the slots used by the previous call.
+ */
+final class StringIndexTable {
+
+    private String[] keys = new String[128];
+    private int[] values = new int[128];
+    private int[] usedSlots = new int[64];
+    private int used;
+
+    void reset(int expectedKeys){
+        for (int i = 0; i < used; i++){
+            keys[usedSlots[i]] = null;
+        }
+        used = 0;
+        int required = Integer.highestOneBit(Math.max(16, expectedKeys * 2 - 1)) << 1;
+        if (keys.length < required){
+            keys = new String[required];
+            values = new int[required];
+        }
+        if (usedSlots.length < expectedKeys){
+            usedSlots = new int[expectedKeys];
+        }
+    }
+
+    /** Returns the index stored for {@code key}, or -1. */
+    int get(String key){
+        int mask = keys.length - 1;
+        for (int slot = mix(key.hashCode()) & mask; ; slot = (slot + 1) & mask){
+            String k = keys[slot];
+            if (k == null) return -1;
+            if (k.equals(key)) return values[slot];
+        }
+    }
+
+    /** Stores {@code value} unless the key is present; returns the existing index or -1 if inserted. */
+    int putIfAbsent(String key, int value){
+        int mask = keys.length - 1;
+        for (int slot = mix(key.hashCode()) & mask; ; slot = (slot + 1) & mask){
+            String k = keys[slot];
+            if (k == null){
+                keys[slot] = key;
+                values[slot] = value;
+                if (used == usedSlots.length){
+                    usedSlots = Arrays.copyOf(usedSlots, used * 2);
+                }
+                usedSlots[used++] = slot;
+                return -1;
+            }
+            if (k.equals(key)) return values[slot];
+        }
+    }
+
+    private static int mix(int h){
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,53 @@
+package com.memorio.backend.exercise.scoring;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Word linking, daily challenge and names &amp; faces: every distinct shown item counts once,
+ * repeated answers for an item already matched are extras.
+ */
+final class UniqueItemScoring implements ScoringStrategy {
+
+    @Override
+    public ScoreResult score(List<String> shown, List<String> answers, ScoringBuffers buffers){
+        int shownCount = shown.size();
+        String[] shownNorm = buffers.shown(shownCount);
+        String[] targets = buffers.targets(shownCount);
+        StringIndexTable index = buffers.index(shownCount);
+
+        int total = 0;
+        for (int i = 0; i < shownCount; i++){
+            String n = ScoringBuffers.normalize(shown.get(i));
+            shownNorm[i] = n;
+            if (!n.isEmpty() && index.putIfAbsent(n, total) < 0){
+                targets[total++] = n;
+            }
+        }
+
+        boolean[] matched = buffers.matched(total);
+        int answerCount = answers == null ? 0 : answers.size();
+        List<String> correctItems = new ArrayList<>(Math.min(total, answerCount));
+        List<String> extra = new ArrayList<>();
+        int orderCorrect = 0;
+        for (int i = 0; i < answerCount; i++){
+            String n = ScoringBuffers.normalize(answers.get(i));
+            if (n.isEmpty()) continue;
+            if (i < shownCount && n.equals(shownNorm[i])) orderCorrect++;
+            int idx = index.get(n);
+            if (idx >= 0 && !matched[idx]){
+                matched[idx] = true;
+                correctItems.add(n);
+            } else {
+                extra.add(n);
+            }
+        }
+
+        List<String> missed = new ArrayList<>(total - correctItems.size());
+        for (int i = 0; i < total; i++){
+            if (!matched[i]) missed.add(targets[i]);
+        }
+        buffers.release(shownCount, total);
+        return new ScoreResult(total, correctItems.size(), orderCorrect, correctItems, missed, extra);
+    }
+}
@@ -1,8 +1,11 @@
 package com.memorio.backend.faces;
 
+import com.memorio.backend.common.storage.ImageStorage;
 import com.memorio.backend.faces.FaceDataImportService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -10,6 +13,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -22,13 +26,31 @@ public class AdminFaceController {
     private final FaceDataImportService faceDataImportService;
     private final PersonRepository personRepository;
     private final FaceImageRepository faceImageRepository;
+    private final ImageStorage imageStorage;
+    private final FaceRenditionService renditionService;
+    private final FaceImageRenditionRepository renditionRepository;
+    private final FaceDuplicateIndex duplicates;
+    private final FaceStatisticsService statistics;
+    private final ApplicationEventPublisher events;
 
     public AdminFaceController(FaceDataImportService faceDataImportService,
                                PersonRepository personRepository,
-                               FaceImageRepository faceImageRepository){
+                               FaceImageRepository faceImageRepository,
+                               ImageStorage imageStorage,
+                               FaceRenditionService renditionService,
+                               FaceImageRenditionRepository renditionRepository,
+                               FaceDuplicateIndex duplicates,
+                               FaceStatisticsService statistics,
+                               ApplicationEventPublisher events){
         this.faceDataImportService = faceDataImportService;
         this.personRepository = personRepository;
         this.faceImageRepository = faceImageRepository;
+        this.imageStorage = imageStorage;
+        this.renditionService = renditionService;
+        this.renditionRepository = renditionRepository;
+        this.duplicates = duplicates;
+        this.statistics = statistics;
+        this.events = events;
     }
     @PostMapping("/import")
     public ResponseEntity<FaceDataImportService.ImportResult> importFaces(
@@ -39,22 +61,24 @@ public class AdminFaceController {
         return ResponseEntity.ok(result);
     }
 
+    @GetMapping("/import/progress")
+    public ResponseEntity<FaceDataImportService.ImportProgress> getImportProgress(){
+        return ResponseEntity.ok(faceDataImportService.getImportProgress());
+    }
+
     @GetMapping("/status")
     public ResponseEntity<Map<String, Object>> getImportStatus(){
-        boolean hasData = faceDataImportService.isDataImported();
-        long totalPersons = personRepository.count();
-        long totalImages = faceImageRepository.count();
-        long activePersons = personRepository.countByIsActiveTrue();
+        FaceCatalogStats stats = statistics.getStats();
 
         Map<String, Object> status = Map.of(
-                "hasData", hasData,
-                "totalPersons", totalPersons,
-                "totalImages", totalImages,
-                "activePersons", activePersons,
+                "hasData", stats.hasData(),
+                "totalPersons", stats.totalPersons(),
+                "totalImages", stats.totalImages(),
+                "activePersons", stats.activePersons(),
                 "difficultyBreakdown", Map.of(
-                        "easy", personRepository.countByIsActiveTrueAndDifficultyLevel(1),
-                        "medium", personRepository.countByIsActiveTrueAndDifficultyLevel(2),
-                        "hard", personRepository.countByIsActiveTrueAndDifficultyLevel(3)
+                        "easy", stats.easyPersons(),
+                        "medium", stats.mediumPersons(),
+                        "hard", stats.hardPersons()
                 )
         );
 
@@ -63,9 +87,8 @@ public class AdminFaceController {
     }
 
     @GetMapping("/statistics")
-    public ResponseEntity<FaceDataImportService.ImportStatistics> getStatistics(){
-        FaceDataImportService.ImportStatistics stats = faceDataImportService.getImportStatistics();
-        return ResponseEntity.ok(stats);
+    public ResponseEntity<FaceCatalogStats> getStatistics(){
+        return ResponseEntity.ok(statistics.getStats());
     }
 
     @PutMapping("/person/{personName}/activate")
@@ -74,6 +97,7 @@ public class AdminFaceController {
                 .map(person -> {
                     person.setActive(true);
                     personRepository.save(person);
+                    events.publishEvent(new FaceCatalogChangedEvent(personName));
                     return ResponseEntity.ok(Map.of("status", "activated", "person", personName));
                 })
                 .orElse(ResponseEntity.notFound().build());
@@ -85,6 +109,7 @@ public class AdminFaceController {
                 .map(person -> {
                     person.setActive(false);
                     personRepository.save(person);
+                    events.publishEvent(new FaceCatalogChangedEvent(personName));
                     return ResponseEntity.ok(Map.of("status", "deactivated", "person", personName));
                 })
                 .orElse(ResponseEntity.notFound().build());
@@ -134,6 +159,9 @@ public class AdminFaceController {
             person = personRepository.save(person);
 
             int imageCount = 0;
+            List<Map<String, Object>> skippedDuplicates = new ArrayList<>();
+            // Enter the duplicate index only once the whole upload went through
+            List<FaceImageHash> accepted = new ArrayList<>();
             for (int i = 0; i < images.size(); i++) {
                 MultipartFile image = images.get(i);
                 try {
@@ -141,17 +169,45 @@ public class AdminFaceController {
                     String filename = personName + "_" + (i + 1) + getFileExtension(image.getOriginalFilename());
                     String contentType = image.getContentType();
                     
-                    BufferedImage bufferedImage = ImageIO.read(image.getInputStream());
+                    BufferedImage bufferedImage = ImageIO.read(new ByteArrayInputStream(imageData));
                     Integer width = bufferedImage != null ? bufferedImage.getWidth() : null;
                     Integer height = bufferedImage != null ? bufferedImage.getHeight() : null;
+                    Long perceptualHash = bufferedImage != null ? PerceptualHash.dHash(bufferedImage) : null;
 
-                    FaceImage faceImage = new FaceImage(person, filename, imageData, contentType);
+                    if (perceptualHash != null) {
+                        Optional<FaceDuplicateIndex.Match> duplicate = findDuplicate(perceptualHash, accepted);
+                        if (duplicate.isPresent()) {
+                            FaceDuplicateIndex.Match match = duplicate.get();
+                            skippedDuplicates.add(Map.of(
+                                    "image", image.getOriginalFilename() != null ? image.getOriginalFilename() : filename,
+                                    "duplicateOf", match.personName() + "/" + match.filename(),
+                                    "distance", match.distance()));
+                            continue;
+                        }
+                    }
+
+                    FaceImage faceImage = new FaceImage(person, filename, null, contentType);
+                    faceImage.setStoredContent(imageStorage.store(imageData), imageData.length);
                     faceImage.setWidth(width);
                     faceImage.setHeight(height);
-                    faceImage.setPrimary(i == 0);
+                    faceImage.setPerceptualHash(perceptualHash);
+                    faceImage.setPrimary(imageCount == 0);
                     
-                    faceImageRepository.save(faceImage);
+                    faceImage = faceImageRepository.save(faceImage);
+                    if (perceptualHash != null) {
+                        accepted.add(new FaceImageHash(personName, filename, perceptualHash));
+                    }
                     imageCount++;
+                    if (bufferedImage != null) {
+                        // The image is already saved; without renditions it is served as the original
+                        try {
+                            for (FaceRenditionService.StoredRendition rendition : renditionService.renderAndStore(bufferedImage)) {
+                                renditionRepository.save(new FaceImageRendition(faceImage, rendition));
+                            }
+                        } catch (IOException e) {
+                            logger.warn("Could not render {}, serving the original only: {}", filename, e.getMessage());
+                        }
+                    }
                 } catch (IOException e) {
                     logger.error("Failed to process image: {}", image.getOriginalFilename(), e);
                 }
@@ -159,26 +215,58 @@ public class AdminFaceController {
 
             if (imageCount == 0) {
                 personRepository.delete(person);
+                if (!skippedDuplicates.isEmpty()) {
+                    return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                            "error", "All images duplicate existing faces",
+                            "duplicates", skippedDuplicates));
+                }
                 return ResponseEntity.badRequest().body(Map.of("error", "Failed to process any images"));
             }
 
+            for (FaceImageHash image : accepted) {
+                duplicates.add(image.personName(), image.filename(), image.perceptualHash());
+            }
+            events.publishEvent(new FaceCatalogChangedEvent(personName));
+
             Map<String, Object> response = Map.of(
                 "status", "success",
                 "message", "Person uploaded successfully",
                 "personName", personName,
                 "displayName", displayName,
                 "imageCount", imageCount,
-                "difficultyLevel", difficultyLevel
+                "difficultyLevel", difficultyLevel,
+                "skippedDuplicates", skippedDuplicates
             );
 
             return ResponseEntity.ok(response);
 
         } catch (Exception e) {
+            // Some images may have been saved before the failure; reload the index from the database
+            duplicates.invalidate();
             logger.error("Error uploading person", e);
             return ResponseEntity.internalServerError().body(Map.of("error", "Failed to upload person: " + e.getMessage()));
         }
     }
 
+    /**
+     * Pairs of stored images whose perceptual hashes are within {@code maxDistance} bits,
+     * found with one index lookup per image rather than comparing every pair.
+     */
+    @GetMapping("/duplicates")
+    public ResponseEntity<List<FaceDuplicateIndex.DuplicatePair>> getDuplicates(
+            @RequestParam(required = false) Integer maxDistance,
+            @RequestParam(defaultValue = "500") int limit
+    ) {
+        int distance = maxDistance != null ? maxDistance : duplicates.maxDistance();
+        if (distance < 0 || distance > 16) {
+            throw new IllegalArgumentException("maxDistance must be between 0 and 16");
+        }
+        if (limit < 1 || limit > 10_000) {
+            throw new IllegalArgumentException("limit must be between 1 and 10000");
+        }
+        return ResponseEntity.ok(duplicates.report(distance, limit));
+    }
+
     @GetMapping("/people")
     public ResponseEntity<List<Map<String, Object>>> getAllPeople() {
         List<Person> people = personRepository.findAll();
@@ -205,11 +293,28 @@ public class AdminFaceController {
             .map(person -> {
                 faceImageRepository.deleteByPersonId(person.getId());
                 personRepository.delete(person);
+                duplicates.invalidate();
+                events.publishEvent(new FaceCatalogChangedEvent(personName));
                 return ResponseEntity.ok(Map.of("status", "deleted", "person", personName));
             })
             .orElse(ResponseEntity.notFound().build());
     }
 
+    // Stored images first, then images accepted earlier in this upload that are not indexed yet
+    private Optional<FaceDuplicateIndex.Match> findDuplicate(long hash, List<FaceImageHash> accepted) {
+        List<FaceDuplicateIndex.Match> matches = duplicates.findNear(hash);
+        if (!matches.isEmpty()) {
+            return Optional.of(matches.get(0));
+        }
+        for (FaceImageHash image : accepted) {
+            int distance = PerceptualHash.distance(hash, image.perceptualHash());
+            if (distance <= duplicates.maxDistance()) {
+                return Optional.of(new FaceDuplicateIndex.Match(image.personName(), image.filename(), distance));
+            }
+        }
+        return Optional.empty();
+    }
+
     private String getFileExtension(String filename) {
         if (filename == null || filename.isEmpty()) {
             return ".jpg";
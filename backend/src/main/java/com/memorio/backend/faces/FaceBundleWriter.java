@@ -0,0 +1,83 @@
+package com.memorio.backend.faces;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Streams the primary images of several people as one length-prefixed binary bundle, so a
+ * names and faces round loads all its faces in a single request. Images are resolved and
+ * copied one at a time; the bundle is never held in memory as a whole.
+ *
+ * Layout, big-endian:
+ * <pre>
+ * "MFB1"  u16 count
+ * count x { u16 name length, name (UTF-8), u8 type length, content type (ASCII), u32 length, image bytes }
+ * </pre>
+ * A face whose image is unavailable is written with an empty content type and length 0, so
+ * entries stay aligned with the requested order and the client can fall back to its URL.
+ */
+@Component
+public class FaceBundleWriter {
+
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType("application/vnd.memorio.face-bundle");
+
+    private static final byte[] MAGIC = {'M', 'F', 'B', '1'};
+    private static final int MAX_FACES = 0xFFFF;
+
+    private final FacePrimaryImageResolver resolver;
+
+    public FaceBundleWriter(FacePrimaryImageResolver resolver){
+        this.resolver = resolver;
+    }
+
+    public void write(List<String> personNames, Integer size, OutputStream out) throws IOException{
+        if (personNames.size() > MAX_FACES){
+            throw new IllegalArgumentException("Too many faces for one bundle: " + personNames.size());
+        }
+        DataOutputStream data = new DataOutputStream(out);
+        data.write(MAGIC);
+        data.writeShort(personNames.size());
+        for (String personName : personNames){
+            writeEntry(data, personName, resolver.resolve(personName, size));
+        }
+        data.flush();
+    }
+
+    private static void writeEntry(DataOutputStream data, String personName,
+                                   Optional<FacePrimaryImageResolver.ResolvedFaceImage> image) throws IOException{
+        byte[] name = personName.getBytes(StandardCharsets.UTF_8);
+        data.writeShort(name.length);
+        data.write(name);
+        Optional<Resource> content = image.flatMap(FacePrimaryImageResolver.ResolvedFaceImage::open);
+        if (content.isEmpty()){
+            data.writeByte(0);
+            data.writeInt(0);
+            return;
+        }
+
+        byte[] type = image.get().contentType().getBytes(StandardCharsets.US_ASCII);
+        Resource resource = content.get();
+        long length = resource.contentLength();
+        if (length > Integer.MAX_VALUE){
+            throw new IOException("Face image too large for a bundle: " + personName);
+        }
+        data.writeByte(type.length);
+        data.write(type);
+        data.writeInt((int) length);
+        try (InputStream in = resource.getInputStream()){
+            long copied = in.transferTo(data);
+            if (copied != length){
+                throw new IOException("Face image of " + personName + " changed while streaming");
+            }
+        }
+    }
+}
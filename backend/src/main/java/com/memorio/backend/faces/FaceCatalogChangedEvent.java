@@ -0,0 +1,7 @@
+package com.memorio.backend.faces;
+
+/**
+ * Published when a person is imported, uploaded, activated, deactivated or deleted.
+ */
+public record FaceCatalogChangedEvent(String personName) {
+}
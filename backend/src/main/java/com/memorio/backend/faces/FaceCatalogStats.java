@@ -0,0 +1,37 @@
+package com.memorio.backend.faces;
+
+import java.util.List;
+
+/**
+ * Counts shown on the admin face dashboard, built from the grouped rows of
+ * {@link PersonRepository#findCatalogCounts()}.
+ */
+public record FaceCatalogStats(long totalPersons,
+                               long activePersons,
+                               long totalImages,
+                               long easyPersons,
+                               long mediumPersons,
+                               long hardPersons) {
+
+    static FaceCatalogStats of(List<Object[]> rows){
+        long totalPersons = 0, activePersons = 0, totalImages = 0;
+        long[] activeByDifficulty = new long[4];
+        for (Object[] row : rows){
+            boolean active = (Boolean) row[0];
+            int difficulty = ((Number) row[1]).intValue();
+            long people = ((Number) row[2]).longValue();
+            totalPersons += people;
+            totalImages += ((Number) row[3]).longValue();
+            if (active){
+                activePersons += people;
+                if (difficulty >= 1 && difficulty <= 3) activeByDifficulty[difficulty] += people;
+            }
+        }
+        return new FaceCatalogStats(totalPersons, activePersons, totalImages,
+                activeByDifficulty[1], activeByDifficulty[2], activeByDifficulty[3]);
+    }
+
+    public boolean hasData(){
+        return totalPersons > 0;
+    }
+}
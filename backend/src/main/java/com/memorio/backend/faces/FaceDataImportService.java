@@ -1,38 +1,93 @@
 package com.memorio.backend.faces;
 
 
-import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.time.Instant;
 import java.util.*;
 import java.nio.file.Path;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 //import java.util.logging.Logger;
+import com.memorio.backend.common.storage.ImageStorage;
+import jakarta.persistence.EntityManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
 
+/**
+ * Imports people and their images from an LFW-style dataset (one directory per person).
+ *
+ * An import runs as a pipeline: the calling thread scans for people not yet in the database, a
+ * bounded pool of workers reads and decodes each image once, hashes it and puts the bytes
+ * and its downscaled renditions into {@link ImageStorage}, and the calling thread drops
+ * near-duplicates of images already held ({@link FaceDuplicateIndex}) and writes the resulting rows in transactions of
+ * about {@code memorio.faces.import.batch-size} images (Hibernate batches the inserts). The
+ * persistence context is flushed and cleared after every batch, so the import endpoint's
+ * open-in-view session does not keep every person and image managed until the end. Progress
+ * of the running or last import is available from {@link #getImportProgress()}.
+ */
 @Service
 public class FaceDataImportService {
 
     private static final Logger logger = LoggerFactory.getLogger(FaceDataImportService.class);
     private final FaceImageRepository faceImageRepository;
     private final PersonRepository personRepository;
+    private final FaceImageRenditionRepository renditionRepository;
+    private final ImageStorage imageStorage;
+    private final FaceRenditionService renditionService;
+    private final FaceDuplicateIndex duplicates;
+    private final ApplicationEventPublisher events;
+    private final EntityManager entityManager;
+    private final TransactionTemplate tx;
+    private final int workerCount;
+    private final int batchSize;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile ImportProgress progress = ImportProgress.idle();
 
     @Value("${memorio.faces.dataset.path:/Users/antonkolenchuk/Downloads/backup_v2_before_oauth/lfw_funneled}")
     private String datasetPath;
 
     public FaceDataImportService(FaceImageRepository faceImageRepository,
-                                 PersonRepository personRepository){
+                                 PersonRepository personRepository,
+                                 FaceImageRenditionRepository renditionRepository,
+                                 ImageStorage imageStorage,
+                                 FaceRenditionService renditionService,
+                                 FaceDuplicateIndex duplicates,
+                                 ApplicationEventPublisher events,
+                                 EntityManager entityManager,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${memorio.faces.import.workers:4}") int workerCount,
+                                 @Value("${memorio.faces.import.batch-size:200}") int batchSize){
         this.faceImageRepository = faceImageRepository;
         this.personRepository = personRepository;
+        this.renditionRepository = renditionRepository;
+        this.imageStorage = imageStorage;
+        this.renditionService = renditionService;
+        this.duplicates = duplicates;
+        this.events = events;
+        this.entityManager = entityManager;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.workerCount = Math.max(1, workerCount);
+        this.batchSize = Math.max(1, batchSize);
     }
 
     public ImportResult importFaceData(int maxPeople){
@@ -40,46 +95,92 @@ public class FaceDataImportService {
     }
 
     public ImportResult importFaceData(int maxPeople, boolean shuffle){
-        Objects.checkIndex(Math.max(1, maxPeople) - 1, Integer.MAX_VALUE);
+        if (maxPeople < 1){
+            throw new IllegalArgumentException("maxPeople must be at least 1");
+        }
         logger.info("Starting face data import from: {} (maxPeople={}, shuffle={}", datasetPath, maxPeople, shuffle);
         final Path datasetDir = Paths.get(datasetPath);
         if (!Files.exists(datasetDir) || !Files.isDirectory(datasetDir)){
             throw new IllegalStateException("Dataset directory not found: " + datasetPath);
         }
+        if (!running.compareAndSet(false, true)){
+            throw new IllegalStateException("A face import is already running");
+        }
+        try {
+            return runImport(datasetDir, maxPeople, shuffle);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public ImportProgress getImportProgress(){
+        return progress;
+    }
 
+    private ImportResult runImport(Path datasetDir, int maxPeople, boolean shuffle){
         final ImportResult batchResult = new ImportResult();
+        final List<Path> batch;
         try {
             final List<Path> remaining = new ArrayList<>(unimportedPersonDirs(datasetDir));
             if(remaining.isEmpty()){
                 logger.info("Nothing to import: all people appear to be in the database");
+                progress = ImportProgress.start(0).finish(ImportProgress.COMPLETED);
                 return batchResult;
             }
 
             if (shuffle) Collections.shuffle(remaining);
-            final List<Path> batch = remaining.subList(0,Math.min(maxPeople, remaining.size()));
+            batch = remaining.subList(0,Math.min(maxPeople, remaining.size()));
             logger.info("Found {} unimported people. Importing this batch of {}", remaining.size(), batch.size());
+        }catch (IOException e){
+            throw new RuntimeException("Failed to read dataset directory", e);
+        }
 
-            int processed = 0;
+        final ImportProgress current = ImportProgress.start(batch.size());
+        progress = current;
+        final ExecutorService workers = Executors.newFixedThreadPool(Math.min(workerCount, batch.size()),
+                threadFactory("face-import-"));
+        try {
+            final CompletionService<PreparedPerson> prepared = new ExecutorCompletionService<>(workers);
             for (Path personDir : batch){
-                processed++;
-                try{
-                    ImportPersonResult personResult = importPerson(personDir);
-                    batchResult.addPersonResult(personResult);
-                    if (batchResult.getSuccessfulPeople() % 10 == 0){
-                        logger.info("Imported {} people so far ({} processed in this batch)..", batchResult.getSuccessfulPeople(), processed);
+                prepared.submit(() -> preparePerson(personDir));
+            }
+
+            final List<PreparedPerson> pending = new ArrayList<>();
+            int pendingImages = 0;
+            for (int i = 0; i < batch.size(); i++){
+                try {
+                    PreparedPerson person = withoutDuplicates(prepared.take().get(), batchResult, current);
+                    if (person != null){
+                        pending.add(person);
+                        pendingImages += person.images().size();
                     }
-                }catch (Exception e){
-                    logger.error("Failed to import person from directory: {}", personDir, e);
+                } catch (ExecutionException e){
+                    logger.error("Failed to import person: {}", e.getCause().getMessage(), e.getCause());
                     batchResult.incrementFailedPeople();
+                    current.failedPeople.incrementAndGet();
+                }
+                if (pendingImages >= batchSize){
+                    write(pending, batchResult, current);
+                    pending.clear();
+                    pendingImages = 0;
                 }
-
             }
-        }catch (IOException e){
-            throw new RuntimeException("Failed to read dataset directory", e);
+            write(pending, batchResult, current);
+        } catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            progress = current.finish(ImportProgress.FAILED);
+            throw new IllegalStateException("Face import was interrupted", e);
+        } catch (RuntimeException e){
+            progress = current.finish(ImportProgress.FAILED);
+            throw e;
+        } finally {
+            workers.shutdownNow();
         }
-        logger.info("Face data import completed. Success: {}, Failed: {}, Total Images: {}",
+
+        progress = current.finish(ImportProgress.COMPLETED);
+        logger.info("Face data import completed. Success: {}, Failed: {}, Total Images: {}, Duplicates skipped: {}",
                 batchResult.getSuccessfulPeople(), batchResult.getFailedPeople(),
-                batchResult.getTotalImages());
+                batchResult.getTotalImages(), batchResult.getDuplicateImages());
 
         return batchResult;
     }
@@ -97,56 +198,199 @@ public class FaceDataImportService {
         }
     }
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    protected ImportPersonResult importPerson(Path personDir) throws IOException{
+    /**
+     * Worker stage: reads, measures, hashes and stores every image of one person. Touches no database state.
+     */
+    private PreparedPerson preparePerson(Path personDir) throws IOException{
         final String personName = personDir.getFileName().toString();
         final String displayName = formatDisplayName(personName);
-        logger.debug("Importing person: {} ({})", personName, displayName);
+        logger.debug("Preparing person: {} ({})", personName, displayName);
 
-        if (personRepository.findByPersonName(personName).isPresent()){
-            logger.debug("Person {} already exists, skipping", personName);
-            return new ImportPersonResult(personName, 0, "Already exists");
+        final List<Path> imageFiles = getImageFiles(personDir);
+        if (imageFiles.isEmpty()){
+            throw new IOException("No image files found for person: " + personName);
         }
 
-        final  List<Path> imageFiles = getImageFiles(personDir);
-        if (imageFiles.isEmpty()){
-            throw new RuntimeException("No image files found for person: " + personName);
+        final List<PreparedImage> images = new ArrayList<>(imageFiles.size());
+        for (Path imageFile : imageFiles){
+            try{
+                images.add(prepareImage(imageFile));
+            }catch (Exception e){
+                logger.warn("Failed to import image: {} - {}: {}",
+                        imageFile, e.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+        if (images.isEmpty()){
+            throw new IOException("No images could be imported for person: " + personName);
         }
 
         final int difficultyLevel = calculateDifficultyLevel(personName, imageFiles.size());
+        return new PreparedPerson(personName, displayName, difficultyLevel, images);
+    }
 
-        Person person = new Person(personName, displayName, difficultyLevel);
-        person = personRepository.save(person);
+    private PreparedImage prepareImage(Path imageFile) throws IOException{
+        final String filename = imageFile.getFileName().toString();
+        final byte[] imageData = Files.readAllBytes(imageFile);
+        if(imageData.length == 0){
+            throw new IOException("image file is empty: " + imageFile);
+        }
 
-        int importedImages = 0;
-        boolean hasPrimary = false;
+        // Decoded once for the hash and the renditions; the header alone still gives dimensions
+        // for formats the decoder cannot handle
+        BufferedImage decoded;
+        try {
+            decoded = ImageIO.read(new ByteArrayInputStream(imageData));
+        } catch (IOException e){
+            decoded = null;
+        }
+        final int[] dimensions = decoded != null
+                ? new int[]{decoded.getWidth(), decoded.getHeight()}
+                : readDimensions(imageData);
+        if (dimensions == null){
+            logger.warn("Could not read image header for file: {} - file may be corrupted or unsupported format", imageFile);
+        }
+        final String contentHash = imageStorage.store(imageData);
+        List<FaceRenditionService.StoredRendition> renditions = List.of();
+        if (decoded != null){
+            try {
+                renditions = renditionService.renderAndStore(decoded);
+            } catch (IOException e){
+                logger.warn("Could not render {}, serving the original only: {}", imageFile, e.getMessage());
+            }
+        }
+        return new PreparedImage(filename, detectContentType(imageFile, filename), contentHash, imageData.length,
+                dimensions != null ? dimensions[0] : null,
+                dimensions != null ? dimensions[1] : null,
+                decoded != null ? PerceptualHash.dHash(decoded) : null,
+                renditions);
+    }
 
-        for (Path imageFile : imageFiles){
-            try{
-                logger.debug("Starting import for image file: {}", imageFile);
-                FaceImage faceImage = createFaceImage(person, imageFile, !hasPrimary);
-                logger.debug("Created image entity, attempting to save to databasse");
-                faceImageRepository.save(faceImage);
-                logger.debug("Successfully saved FaceImage to db for file: {}", imageFile.getFileName());
-                importedImages++;
-                if (!hasPrimary) hasPrimary = true; // First successfully-saved image becomes primary.
-            }catch (Exception e){
-                logger.error("Failed to import image: {} - Exception: {}, message: {}",
-                        imageFile, e.getClass().getSimpleName(), e.getMessage(), e);
-                logger.warn("Failed to import image: {}", imageFile, e);
+    /**
+     * Width and height from the image header, without decoding the pixels; null if no reader
+     * recognises the format.
+     */
+    static int[] readDimensions(byte[] imageData) throws IOException{
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(imageData))){
+            if (input == null) return null;
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) return null;
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                return new int[]{reader.getWidth(0), reader.getHeight(0)};
+            } finally {
+                reader.dispose();
             }
         }
-        if (importedImages == 0){
-            personRepository.delete(person);
-            throw new RuntimeException("No images could be inported for person: " + personName);
+    }
+
+    /**
+     * Drops images within {@link FaceDuplicateIndex#maxDistance()} of an image already held or
+     * accepted earlier in this import, and registers the kept ones. Returns null if nothing is left.
+     */
+    private PreparedPerson withoutDuplicates(PreparedPerson person, ImportResult result, ImportProgress current){
+        List<PreparedImage> kept = new ArrayList<>(person.images().size());
+        for (PreparedImage image : person.images()){
+            if (image.perceptualHash() != null){
+                List<FaceDuplicateIndex.Match> matches = duplicates.findNear(image.perceptualHash());
+                if (!matches.isEmpty()){
+                    FaceDuplicateIndex.Match match = matches.get(0);
+                    logger.info("Skipping {}/{}: duplicate of {}/{} (distance {})", person.personName(),
+                            image.filename(), match.personName(), match.filename(), match.distance());
+                    result.incrementDuplicateImages();
+                    current.duplicateImages.incrementAndGet();
+                    continue;
+                }
+                duplicates.add(person.personName(), image.filename(), image.perceptualHash());
+            }
+            kept.add(image);
+        }
+        if (kept.isEmpty()){
+            result.addPersonResult(new ImportPersonResult(person.personName(), 0, "Duplicate"));
+            current.failedPeople.incrementAndGet();
+            return null;
         }
+        return kept.size() == person.images().size() ? person
+                : new PreparedPerson(person.personName(), person.displayName(), person.difficultyLevel(), kept);
+    }
 
-        logger.debug("Successfully imported person {} with {} images (difficulty: {})",
-                personName, importedImages, difficultyLevel);
-        return new ImportPersonResult(personName, importedImages, "Success");
+    /**
+     * Writer stage: inserts the people and their images in one transaction. If the batch fails
+     * (e.g. someone added one of the people meanwhile), each person is retried on its own.
+     */
+    private void write(List<PreparedPerson> people, ImportResult result, ImportProgress current){
+        if (people.isEmpty()) return;
+        try {
+            tx.executeWithoutResult(status -> {
+                try {
+                    people.forEach(this::insert);
+                    entityManager.flush();
+                } finally {
+                    // Also drops the entities of a failed batch before it is retried person by person
+                    entityManager.clear();
+                }
+            });
+        } catch (RuntimeException e){
+            // The index already holds these images; reload it from what was committed
+            duplicates.invalidate();
+            if (people.size() == 1){
+                logger.error("Failed to save person {}: {}", people.get(0).personName(), e.getMessage());
+                result.incrementFailedPeople();
+                current.failedPeople.incrementAndGet();
+                return;
+            }
+            logger.warn("Saving a batch of {} people failed, retrying one by one: {}", people.size(), e.getMessage());
+            for (PreparedPerson person : people){
+                write(List.of(person), result, current);
+            }
+            return;
+        }
+
+        for (PreparedPerson person : people){
+            result.addPersonResult(new ImportPersonResult(person.personName(), person.images().size(), "Success"));
+            current.importedPeople.incrementAndGet();
+            current.importedImages.addAndGet(person.images().size());
+            events.publishEvent(new FaceCatalogChangedEvent(person.personName()));
+        }
+        logger.info("Imported {} people so far", result.getSuccessfulPeople());
+    }
 
+    private void insert(PreparedPerson prepared){
+        Person person = personRepository.save(
+                new Person(prepared.personName(), prepared.displayName(), prepared.difficultyLevel()));
+        List<FaceImage> images = new ArrayList<>(prepared.images().size());
+        List<FaceImageRendition> renditions = new ArrayList<>();
+        for (PreparedImage image : prepared.images()){
+            FaceImage faceImage = new FaceImage(person, image.filename(), null, image.contentType());
+            faceImage.setStoredContent(image.contentHash(), image.fileSize());
+            faceImage.setWidth(image.width());
+            faceImage.setHeight(image.height());
+            faceImage.setPerceptualHash(image.perceptualHash());
+            faceImage.setPrimary(images.isEmpty()); // First image becomes primary.
+            images.add(faceImage);
+            for (FaceRenditionService.StoredRendition rendition : image.renditions()){
+                renditions.add(new FaceImageRendition(faceImage, rendition));
+            }
+        }
+        faceImageRepository.saveAll(images);
+        renditionRepository.saveAll(renditions);
     }
 
+    private record PreparedImage(String filename, String contentType, String contentHash, long fileSize,
+                                 Integer width, Integer height, Long perceptualHash,
+                                 List<FaceRenditionService.StoredRendition> renditions) {}
+
+    private record PreparedPerson(String personName, String displayName, int difficultyLevel,
+                                  List<PreparedImage> images) {}
+
+    private static ThreadFactory threadFactory(String prefix){
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
 
     private String formatDisplayName(String personName){
         return personName.replace("_", " ");
@@ -182,6 +426,7 @@ public class FaceDataImportService {
         }
     }
 
+    // Starting guess only; FaceDifficultyJob replaces it once the face has enough recall data
     private int calculateDifficultyLevel(String personName, int imageCount){
         int difficulty = 1; // базовий рівень
 
@@ -192,50 +437,10 @@ public class FaceDataImportService {
         if (imageCount > 5)difficulty++;
         if( imageCount >10) difficulty++;
 
-        if (ThreadLocalRandom.current().nextDouble() < 0.20) difficulty++;
-
         return Math.max(1, Math.min(3, difficulty));
 
     }
 
-    private FaceImage createFaceImage(Person person, Path imageFile, boolean isPrimary) throws IOException{
-        logger.debug("Creating FaceImage for file: {}", imageFile);
-
-        final String filename = imageFile.getFileName().toString();
-        logger.debug("Peocessing filename: {}", filename);
-        if(!Files.exists(imageFile)){
-            throw new IOException("image file does not exist: " + imageFile);
-        }
-
-        if(!Files.isReadable(imageFile)){
-            throw new IOException("Image file is not readable: "+ imageFile);
-        }
-
-        final byte[] imageData = Files.readAllBytes(imageFile);
-        logger.debug("Read {} bytes from image file: {}", imageData.length, filename);
-
-        if(imageData.length == 0){
-            throw new IOException("image file is empty: " + imageFile);
-        }
-
-
-        final BufferedImage bufferedImage = ImageIO.read(imageFile.toFile());
-        if(bufferedImage == null){
-            logger.warn("ImageIO.read returned null for file: {} - file may be corrupted or unsupported format", imageData);
-        }
-        final Integer width = (bufferedImage != null) ? bufferedImage.getWidth() : null;
-        final Integer height = (bufferedImage != null) ? bufferedImage.getHeight() : null;
-        logger.debug("Image dimensions: {}x{} for file {}", width, height, filename);
-        final String contentType = detectContentType(imageFile, filename);
-        logger.debug("Detected content type : {} for file: {}", contentType, filename);
-        FaceImage faceImage = new FaceImage(person, filename, imageData, contentType);
-        faceImage.setWidth(width);
-        faceImage.setHeight(height);
-        faceImage.setPrimary(isPrimary);
-        logger.debug("Successfully created FAceImage entity for file: {}", filename);
-        return faceImage;
-    }
-
     private String detectContentType(Path imageFile, String filename){
         try{
             String probed = Files.probeContentType(imageFile);
@@ -253,22 +458,11 @@ public class FaceDataImportService {
 
     }
 
-    public boolean isDataImported(){
-        return personRepository.count() > 0;
-    }
-
-    public ImportStatistics getImportStatistics(){
-        long totalPersons = personRepository.count();
-        long totalImages = faceImageRepository.count();
-        long easyPersons = personRepository.countByIsActiveTrueAndDifficultyLevel(1);
-        long mediumPersons = personRepository.countByIsActiveTrueAndDifficultyLevel(2);
-        long hardPersons = personRepository.countByIsActiveTrueAndDifficultyLevel(3);
-        return new ImportStatistics(totalPersons, totalImages, easyPersons, mediumPersons, hardPersons);
-    }
     public static class ImportResult{
         private int successfulPeople = 0;
         private int failedPeople = 0;
         private int totalImages = 0;
+        private int duplicateImages = 0;
 
         private final List<ImportPersonResult> personResults = new ArrayList<>();
 
@@ -283,38 +477,70 @@ public class FaceDataImportService {
         }
 
         public void incrementFailedPeople(){failedPeople++;}
+        public void incrementDuplicateImages(){duplicateImages++;}
 
         public int getSuccessfulPeople(){return successfulPeople;}
         public int getFailedPeople(){return failedPeople;}
         public int getTotalImages(){return totalImages;}
+        public int getDuplicateImages(){return duplicateImages;}
         public List<ImportPersonResult> getPersonResults(){return personResults;}
     }
 
-    public static class ImportStatistics{
-        private final long totalPersons;
-        private final long totalImages;
-        private final long easyPersons;
-        private final long mediumPersons;
-        private final long hardPersons;
-
-        public ImportStatistics(long totalPersons, long totalImages, long easyPersons,
-                                long mediumPersons, long hardPersons){
-            this.totalPersons = totalPersons;
-            this.totalImages = totalImages;
-            this.easyPersons = easyPersons;
-            this.mediumPersons = mediumPersons;
-            this.hardPersons = hardPersons;
+    /**
+     * Progress of the running or most recent import, as reported by the admin endpoint.
+     */
+    public static class ImportProgress{
+        public static final String IDLE = "IDLE";
+        public static final String RUNNING = "RUNNING";
+        public static final String COMPLETED = "COMPLETED";
+        public static final String FAILED = "FAILED";
+
+        private final String state;
+        private final int totalPeople;
+        private final AtomicInteger importedPeople;
+        private final AtomicInteger failedPeople;
+        private final AtomicInteger importedImages;
+        private final AtomicInteger duplicateImages;
+        private final Instant startedAt;
+        private final Instant finishedAt;
+
+        private ImportProgress(String state, int totalPeople, AtomicInteger importedPeople,
+                               AtomicInteger failedPeople, AtomicInteger importedImages,
+                               AtomicInteger duplicateImages, Instant startedAt, Instant finishedAt){
+            this.state = state;
+            this.totalPeople = totalPeople;
+            this.importedPeople = importedPeople;
+            this.failedPeople = failedPeople;
+            this.importedImages = importedImages;
+            this.duplicateImages = duplicateImages;
+            this.startedAt = startedAt;
+            this.finishedAt = finishedAt;
         }
 
-        public long getTotalPersons(){return totalPersons;}
-        public long getTotalImages(){return totalImages;}
-
-        public long getEasyPersons(){return easyPersons;}
-        public long getMediumPersons(){return mediumPersons;}
-        public long getHardPersons(){return  hardPersons;}
+        static ImportProgress idle(){
+            return new ImportProgress(IDLE, 0, new AtomicInteger(), new AtomicInteger(), new AtomicInteger(),
+                    new AtomicInteger(), null, null);
+        }
 
-    }
+        static ImportProgress start(int totalPeople){
+            return new ImportProgress(RUNNING, totalPeople, new AtomicInteger(), new AtomicInteger(),
+                    new AtomicInteger(), new AtomicInteger(), Instant.now(), null);
+        }
 
+        ImportProgress finish(String finalState){
+            return new ImportProgress(finalState, totalPeople, importedPeople, failedPeople, importedImages,
+                    duplicateImages, startedAt, Instant.now());
+        }
 
+        public String getState(){return state;}
+        public int getTotalPeople(){return totalPeople;}
+        public int getImportedPeople(){return importedPeople.get();}
+        public int getFailedPeople(){return failedPeople.get();}
+        public int getProcessedPeople(){return importedPeople.get() + failedPeople.get();}
+        public int getImportedImages(){return importedImages.get();}
+        public int getDuplicateImages(){return duplicateImages.get();}
+        public Instant getStartedAt(){return startedAt;}
+        public Instant getFinishedAt(){return finishedAt;}
+    }
 
 }
@@ -0,0 +1,76 @@
+package com.memorio.backend.faces;
+
+import com.memorio.backend.exercise.scoring.ScoreResult;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Accumulates how often each face was recalled across scored names and faces attempts and
+ * turns the recall rates into difficulty levels. Faces are keyed by the normalised display
+ * name, the same form the scorer reports matched and missed items in.
+ *
+ * Rates are smoothed towards the overall recall rate, so a face seen a handful of times is not
+ * ranked on noise, and faces with enough samples are split into equal thirds by rate: the most
+ * recalled third is level 1, the least recalled level 3.
+ */
+final class FaceDifficultyCalibrator {
+
+    static final int LEVELS = 3;
+
+    // normalised display name -> {shown, recalled}
+    private final Map<String, int[]> counts = new HashMap<>();
+    private long shown;
+    private long recalled;
+
+    static String key(String displayName){
+        return displayName.trim().toLowerCase(Locale.ROOT);
+    }
+
+    void record(ScoreResult result){
+        for (String item : result.correctItems()) add(item, true);
+        for (String item : result.missedItems()) add(item, false);
+    }
+
+    private void add(String item, boolean wasRecalled){
+        int[] c = counts.computeIfAbsent(item, k -> new int[2]);
+        c[0]++;
+        shown++;
+        if (wasRecalled){
+            c[1]++;
+            recalled++;
+        }
+    }
+
+    int faces(){
+        return counts.size();
+    }
+
+    /**
+     * Difficulty per normalised display name for faces shown at least {@code minSamples} times;
+     * faces with fewer samples are left out and keep their current level.
+     */
+    Map<String, Integer> levels(int minSamples, double priorWeight){
+        if (shown == 0) return Map.of();
+        double prior = (double) recalled / shown;
+
+        record Rate(String key, double recall) {}
+        List<Rate> rates = new ArrayList<>();
+        for (Map.Entry<String, int[]> e : counts.entrySet()){
+            int[] c = e.getValue();
+            if (c[0] < minSamples) continue;
+            rates.add(new Rate(e.getKey(), (c[1] + priorWeight * prior) / (c[0] + priorWeight)));
+        }
+        rates.sort(Comparator.comparingDouble(Rate::recall).reversed().thenComparing(Rate::key));
+
+        Map<String, Integer> levels = new HashMap<>(rates.size() * 2);
+        for (int rank = 0; rank < rates.size(); rank++){
+            levels.put(rates.get(rank).key(), 1 + (int) ((long) rank * LEVELS / rates.size()));
+        }
+        return levels;
+    }
+}
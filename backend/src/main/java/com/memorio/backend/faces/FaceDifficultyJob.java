@@ -0,0 +1,151 @@
+package com.memorio.backend.faces;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.memorio.backend.exercise.ExerciseType;
+import com.memorio.backend.exercise.scoring.ExerciseScorer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Recomputes {@link Person#getDifficultyLevel()} from how often each face was actually recalled
+ * in names and faces attempts, replacing the name-length and image-count guess made at import.
+ *
+ * Attempts are scanned in id-ordered chunks reading only the shown and answer JSON, so memory
+ * stays bounded by the number of people rather than attempts. Changed levels are written back
+ * in JDBC batches, then the face index and dashboard statistics are refreshed once.
+ */
+@Component
+@Profile("!test")
+public class FaceDifficultyJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(FaceDifficultyJob.class);
+
+    private static final String SELECT_ATTEMPTS = """
+            SELECT a.id, a.shown_words_json, a.answers_json
+            FROM exercise_attempts a
+            JOIN exercise_sessions s ON s.id = a.session_id
+            WHERE s.type = ? AND a.created_at >= ? AND a.id > ?
+            ORDER BY a.id
+            LIMIT ?
+            """;
+
+    private final JdbcTemplate jdbc;
+    private final ExerciseScorer scorer;
+    private final ObjectMapper objectMapper;
+    private final FacePickerService facePicker;
+    private final FaceStatisticsService statistics;
+    private final int batchSize;
+    private final int minSamples;
+    private final double priorWeight;
+    private final int windowDays;
+
+    public FaceDifficultyJob(JdbcTemplate jdbc,
+                             ExerciseScorer scorer,
+                             ObjectMapper objectMapper,
+                             FacePickerService facePicker,
+                             FaceStatisticsService statistics,
+                             @Value("${memorio.faces.difficulty.batch-size:1000}") int batchSize,
+                             @Value("${memorio.faces.difficulty.min-samples:20}") int minSamples,
+                             @Value("${memorio.faces.difficulty.prior-weight:10}") double priorWeight,
+                             @Value("${memorio.faces.difficulty.window-days:180}") int windowDays){
+        this.jdbc = jdbc;
+        this.scorer = scorer;
+        this.objectMapper = objectMapper;
+        this.facePicker = facePicker;
+        this.statistics = statistics;
+        this.batchSize = batchSize;
+        this.minSamples = minSamples;
+        this.priorWeight = priorWeight;
+        this.windowDays = windowDays;
+    }
+
+    @Scheduled(cron = "${memorio.faces.difficulty.cron:0 15 4 * * *}")
+    public void recalibrate(){
+        try {
+            int changed = run();
+            logger.info("Face difficulty recalibration changed {} people", changed);
+        } catch (Exception e){
+            logger.warn("Face difficulty recalibration failed (non-critical): {}", e.getMessage());
+        }
+    }
+
+    int run(){
+        FaceDifficultyCalibrator calibrator = new FaceDifficultyCalibrator();
+        OffsetDateTime since = OffsetDateTime.now().minusDays(windowDays);
+        UUID after = new UUID(0L, 0L);
+        int attempts = 0;
+        while (true){
+            List<Attempt> chunk = jdbc.query(SELECT_ATTEMPTS,
+                    (rs, i) -> new Attempt(rs.getObject("id", UUID.class),
+                            rs.getString("shown_words_json"), rs.getString("answers_json")),
+                    ExerciseType.NAMES_FACES.name(), since, after, batchSize);
+            if (chunk.isEmpty()) break;
+            for (Attempt attempt : chunk){
+                try {
+                    calibrator.record(scorer.score(ExerciseType.NAMES_FACES,
+                            readItems(attempt.shownJson()), readItems(attempt.answersJson())));
+                    attempts++;
+                } catch (JsonProcessingException e){
+                    logger.debug("Skipping attempt {} with unreadable JSON", attempt.id());
+                }
+            }
+            after = chunk.get(chunk.size() - 1).id();
+        }
+
+        Map<String, Integer> levels = calibrator.levels(minSamples, priorWeight);
+        logger.debug("Scanned {} attempts covering {} faces, {} with enough samples",
+                attempts, calibrator.faces(), levels.size());
+        if (levels.isEmpty()) return 0;
+
+        List<Object[]> updates = changedLevels(levels);
+        jdbc.batchUpdate("UPDATE persons SET difficulty_level = ? WHERE id = ?", updates);
+        if (!updates.isEmpty()){
+            facePicker.refresh();
+            statistics.invalidate();
+        }
+        return updates.size();
+    }
+
+    // Display names shared by several people cannot be told apart in attempts and are skipped
+    private List<Object[]> changedLevels(Map<String, Integer> levels){
+        Map<String, Object[]> byKey = new HashMap<>();
+        Set<String> ambiguous = new HashSet<>();
+        jdbc.query("SELECT id, display_name, difficulty_level FROM persons", rs -> {
+            String key = FaceDifficultyCalibrator.key(rs.getString("display_name"));
+            Object[] previous = byKey.put(key, new Object[]{rs.getObject("id", UUID.class), rs.getInt("difficulty_level")});
+            if (previous != null) ambiguous.add(key);
+        });
+
+        List<Object[]> updates = new ArrayList<>();
+        for (Map.Entry<String, Integer> e : levels.entrySet()){
+            Object[] person = byKey.get(e.getKey());
+            if (person == null || ambiguous.contains(e.getKey())) continue;
+            if ((int) person[1] != e.getValue()){
+                updates.add(new Object[]{e.getValue(), person[0]});
+            }
+        }
+        return updates;
+    }
+
+    private List<String> readItems(String json) throws JsonProcessingException{
+        return Arrays.asList(objectMapper.readValue(json, String[].class));
+    }
+
+    private record Attempt(UUID id, String shownJson, String answersJson) {}
+}
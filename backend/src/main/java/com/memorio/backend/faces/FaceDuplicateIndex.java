@@ -0,0 +1,102 @@
+package com.memorio.backend.faces;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Perceptual hashes of every stored face image in a {@link MultiIndexHash}, so ingest can reject
+ * near-duplicates of existing images without scanning {@code face_images}.
+ *
+ * Loaded on first use. Ingest adds images as it accepts them, including images of a batch not
+ * committed yet, so duplicates within one import are caught as well; deletions and failed writes
+ * {@link #invalidate()} the index and it is reloaded on the next lookup.
+ */
+@Component
+public class FaceDuplicateIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(FaceDuplicateIndex.class);
+
+    public record Match(String personName, String filename, int distance) {}
+
+    public record DuplicatePair(String personName, String filename,
+                                String otherPersonName, String otherFilename, int distance) {}
+
+    private final FaceImageRepository faceImageRepository;
+    private final int maxDistance;
+
+    // Guarded by this; null until loaded
+    private MultiIndexHash hashes;
+    private List<FaceImageHash> entries;
+
+    public FaceDuplicateIndex(FaceImageRepository faceImageRepository,
+                              @Value("${memorio.faces.dedup.max-distance:8}") int maxDistance){
+        this.faceImageRepository = faceImageRepository;
+        this.maxDistance = Math.max(0, maxDistance);
+    }
+
+    /** Hamming distance up to which ingest treats two images as duplicates. */
+    public int maxDistance(){
+        return maxDistance;
+    }
+
+    /** Stored images within {@link #maxDistance()} of the hash, nearest first. */
+    public synchronized List<Match> findNear(long hash){
+        ensureLoaded();
+        List<Match> matches = new ArrayList<>();
+        hashes.search(hash, maxDistance, (value, distance) -> {
+            FaceImageHash entry = entries.get(value);
+            matches.add(new Match(entry.personName(), entry.filename(), distance));
+        });
+        matches.sort((a, b) -> Integer.compare(a.distance(), b.distance()));
+        return matches;
+    }
+
+    public synchronized void add(String personName, String filename, long hash){
+        ensureLoaded();
+        hashes.add(hash);
+        entries.add(new FaceImageHash(personName, filename, hash));
+    }
+
+    public synchronized void invalidate(){
+        hashes = null;
+        entries = null;
+    }
+
+    /**
+     * Every pair of stored images within {@code distance} of each other, up to {@code limit} pairs.
+     * One index search per image, so the cost grows with the pool size times the (small) number
+     * of candidates a search checks, not with the number of pairs of images.
+     */
+    public synchronized List<DuplicatePair> report(int distance, int limit){
+        ensureLoaded();
+        List<DuplicatePair> pairs = new ArrayList<>();
+        for (int i = 0; i < entries.size() && pairs.size() < limit; i++){
+            FaceImageHash image = entries.get(i);
+            int index = i;
+            hashes.search(image.perceptualHash(), distance, (value, d) -> {
+                if (value <= index || pairs.size() >= limit) return;
+                FaceImageHash other = entries.get(value);
+                pairs.add(new DuplicatePair(image.personName(), image.filename(),
+                        other.personName(), other.filename(), d));
+            });
+        }
+        return pairs;
+    }
+
+    private void ensureLoaded(){
+        if (hashes != null) return;
+        List<FaceImageHash> loaded = new ArrayList<>(faceImageRepository.findPerceptualHashes());
+        MultiIndexHash built = new MultiIndexHash();
+        for (FaceImageHash image : loaded){
+            built.add(image.perceptualHash());
+        }
+        entries = loaded;
+        hashes = built;
+        logger.debug("Built face duplicate index with {} hashes", loaded.size());
+    }
+}
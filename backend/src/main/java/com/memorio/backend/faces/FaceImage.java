@@ -25,9 +25,12 @@ public class FaceImage {
 
     //@Lob
     @JdbcTypeCode(Types.VARBINARY)
-    @Column(name = "image_data", nullable = false, columnDefinition = "bytea")
+    @Column(name = "image_data", columnDefinition = "bytea")
     private byte[] imageData;
 
+    // SHA-256 key in ImageStorage; null for rows whose bytes are still in image_data
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
 
     @Column(name = "content_type", nullable = false, length = 50)
     private String contentType;
@@ -41,6 +44,17 @@ public class FaceImage {
     @Column(name = "height")
     private Integer height;
 
+    // 64-bit dHash for near-duplicate detection; null until computed
+    @Column(name = "perceptual_hash")
+    private Long perceptualHash;
+
+    // Set by the backfill once it tried the image, whether or not anything came of it
+    @Column(name = "renditions_attempted_at")
+    private OffsetDateTime renditionsAttemptedAt;
+
+    @Column(name = "hash_attempted_at")
+    private OffsetDateTime hashAttemptedAt;
+
     @Column(name = "is_primary", nullable = false)
     private boolean isPrimary = false;
 
@@ -85,6 +99,12 @@ public class FaceImage {
         this.fileSize = this.imageData != null ? this.imageData.length : 0;
 
     }
+    public String getContentHash(){return contentHash;}
+    public void setStoredContent(String contentHash, long fileSize){
+        this.contentHash = contentHash;
+        this.fileSize = fileSize;
+        this.imageData = null;
+    }
     public String getContentType(){return contentType;}
     public void setContentType(String contentType){
         this.contentType = contentType;
@@ -106,6 +126,11 @@ public class FaceImage {
         this.height = height;
     }
 
+    public Long getPerceptualHash(){return perceptualHash;}
+    public void setPerceptualHash(Long perceptualHash){
+        this.perceptualHash = perceptualHash;
+    }
+
     public boolean isPrimary(){return isPrimary;}
     public void setPrimary(boolean primary){
         isPrimary = primary;
@@ -1,5 +1,7 @@
 package com.memorio.backend.faces;
 
+import com.memorio.backend.common.storage.ImageStorage;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -8,7 +10,9 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.Optional;
 
@@ -18,17 +22,28 @@ import java.util.Optional;
 public class FaceImageController {
 
     private final FaceImageRepository faceImageRepository;
-    private final PersonRepository personRepository;
+    private final ImageStorage imageStorage;
+    private final FaceImageRenditionRepository renditionRepository;
+    private final FaceRenditionService renditionService;
+    private final FacePrimaryImageResolver primaryImages;
 
     public FaceImageController(FaceImageRepository faceImageRepository,
-                               PersonRepository personRepository){
+                               ImageStorage imageStorage,
+                               FaceImageRenditionRepository renditionRepository,
+                               FaceRenditionService renditionService,
+                               FacePrimaryImageResolver primaryImages){
         this.faceImageRepository = faceImageRepository;
-        this.personRepository = personRepository;
+        this.imageStorage = imageStorage;
+        this.renditionRepository = renditionRepository;
+        this.renditionService = renditionService;
+        this.primaryImages = primaryImages;
     }
 
     @GetMapping("/image/{personName}/{filename}")
-    public ResponseEntity<byte[]> getFaceImage(@PathVariable String personName,
-                                               @PathVariable String filename){
+    public ResponseEntity<Resource> getFaceImage(@PathVariable String personName,
+                                                 @PathVariable String filename,
+                                                 @RequestParam(required = false) Integer size,
+                                                 WebRequest request){
         if(personName.contains("..") || personName.contains("/") || personName.contains("\\")){
             return ResponseEntity.badRequest().build();
         }
@@ -37,48 +52,67 @@ public class FaceImageController {
             return ResponseEntity.badRequest().build();
         }
 
-        Optional<FaceImage> faceImageOpt = faceImageRepository.findByPersonNameAndFilename(personName,filename);
-
+        int rendition = renditionService.bucket(size);
+        Optional<FaceImageMeta> faceImageOpt = rendition > 0
+                ? renditionRepository.findActiveMeta(personName, filename, rendition)
+                : Optional.empty();
         if(faceImageOpt.isEmpty()){
-            return ResponseEntity.notFound().build();
+            faceImageOpt = faceImageRepository.findActiveMeta(personName, filename);
         }
-
-        FaceImage faceImage = faceImageOpt.get();
-
-        if (faceImage.getPerson() == null || !faceImage.getPerson().isActive()){
+        if(faceImageOpt.isEmpty()){
             return ResponseEntity.notFound().build();
         }
 
-        HttpHeaders headers = new HttpHeaders ();
-        headers.setContentType(MediaType.parseMediaType(faceImage.getContentType()));
-        headers.setContentLength(faceImage.getFileSize());
-        headers.setCacheControl("public, max-age=86400");
-
-        return new ResponseEntity<>(faceImage.getImageData(), headers, HttpStatus.OK);
+        return imageResponse(faceImageOpt.get(), request);
     }
     @GetMapping("/primary/{personName}")
-    public ResponseEntity<byte[]> getPrimaryFaceImage(@PathVariable String personName){
+    public ResponseEntity<Resource> getPrimaryFaceImage(@PathVariable String personName,
+                                                        @RequestParam(required = false) Integer size,
+                                                        WebRequest request){
         if(personName.contains("..") || personName.contains("/") || personName.contains("\\")){
             return ResponseEntity.badRequest().build();
         }
 
-        Optional<Person> personOpt = personRepository.findByPersonName(personName);
-        if(personOpt.isEmpty() || !personOpt.get().isActive()){
+        Optional<FacePrimaryImageResolver.ResolvedFaceImage> image = primaryImages.resolve(personName, size);
+        if (image.isEmpty()){
             return ResponseEntity.notFound().build();
         }
 
-        Optional<FaceImage> primaryImageOpt = faceImageRepository.findByPersonIdAndIsPrimaryTrue(personOpt.get().getId());
-        if (primaryImageOpt.isEmpty()){
+        // As for single images, revalidation never reads the bytes
+        FacePrimaryImageResolver.ResolvedFaceImage primary = image.get();
+        if (primary.contentHash() != null && request.checkNotModified(primary.contentHash())){
+            return null; // 304 written by checkNotModified
+        }
+        Optional<Resource> content = primary.open();
+        if (content.isEmpty()){
             return ResponseEntity.notFound().build();
         }
+        return new ResponseEntity<>(content.get(), imageHeaders(primary.contentType(), primary.contentHash()), HttpStatus.OK);
+    }
 
-        FaceImage faceImage = primaryImageOpt.get();
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType(faceImage.getContentType()));
-        headers.setContentLength(faceImage.getFileSize());
-        headers.setCacheControl("public, max-age=86400");
+    // Revalidation (If-None-Match) is answered from metadata alone; the content is opened
+    // only for a full or ranged (206) response.
+    private ResponseEntity<Resource> imageResponse(FaceImageMeta faceImage, WebRequest request){
+        if (faceImage.contentHash() != null && request.checkNotModified(faceImage.contentHash())){
+            return null; // 304 written by checkNotModified
+        }
 
-        return new ResponseEntity<>(faceImage.getImageData(), headers, HttpStatus.OK);
+        Optional<Resource> content = imageStorage.open(faceImage.contentHash(),
+                () -> faceImageRepository.findById(faceImage.id()).map(FaceImage::getImageData).orElse(null));
+        if (content.isEmpty()){
+            return ResponseEntity.notFound().build();
+        }
 
+        return new ResponseEntity<>(content.get(), imageHeaders(faceImage.contentType(), faceImage.contentHash()), HttpStatus.OK);
+    }
+
+    private HttpHeaders imageHeaders(String contentType, String contentHash){
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(contentType));
+        headers.setCacheControl("public, max-age=86400");
+        if (contentHash != null){
+            headers.setETag("\"" + contentHash + "\"");
+        }
+        return headers;
     }
 }
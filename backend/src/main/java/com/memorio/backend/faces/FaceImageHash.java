@@ -0,0 +1,6 @@
+package com.memorio.backend.faces;
+
+/**
+ * Perceptual hash of one stored face image, as loaded into {@link FaceDuplicateIndex}.
+ */
+public record FaceImageHash(String personName, String filename, Long perceptualHash) {}
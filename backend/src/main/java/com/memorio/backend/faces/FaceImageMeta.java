@@ -0,0 +1,9 @@
+package com.memorio.backend.faces;
+
+import java.util.UUID;
+
+/**
+ * What the image endpoints need to answer a request without reading the image bytes.
+ * {@code contentHash} is null for rows whose bytes are still inline in the database.
+ */
+public record FaceImageMeta(UUID id, String contentHash, String contentType) {}
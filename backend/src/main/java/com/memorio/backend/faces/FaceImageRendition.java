@@ -0,0 +1,67 @@
+package com.memorio.backend.faces;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.util.UUID;
+
+/**
+ * A downscaled JPEG copy of a {@link FaceImage}, fitting in a {@code maxDimension} square.
+ * The bytes are in {@code ImageStorage} under {@code contentHash}.
+ */
+@Entity
+@Table(name = "face_image_renditions",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"face_image_id", "max_dimension"}))
+public class FaceImageRendition {
+
+    @Id
+    @UuidGenerator
+    @Column(name = "id", columnDefinition = "uuid")
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "face_image_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private FaceImage faceImage;
+
+    @Column(name = "max_dimension", nullable = false)
+    private int maxDimension;
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(name = "content_type", nullable = false, length = 50)
+    private String contentType;
+
+    @Column(name = "file_size", nullable = false)
+    private long fileSize;
+
+    @Column(name = "width", nullable = false)
+    private int width;
+
+    @Column(name = "height", nullable = false)
+    private int height;
+
+    protected FaceImageRendition(){}
+
+    public FaceImageRendition(FaceImage faceImage, FaceRenditionService.StoredRendition rendition){
+        this.faceImage = faceImage;
+        this.maxDimension = rendition.maxDimension();
+        this.contentHash = rendition.contentHash();
+        this.contentType = FaceRenditionService.CONTENT_TYPE;
+        this.fileSize = rendition.fileSize();
+        this.width = rendition.width();
+        this.height = rendition.height();
+    }
+
+    public UUID getId(){return id;}
+    public FaceImage getFaceImage(){return faceImage;}
+    public int getMaxDimension(){return maxDimension;}
+    public String getContentHash(){return contentHash;}
+    public String getContentType(){return contentType;}
+    public long getFileSize(){return fileSize;}
+    public int getWidth(){return width;}
+    public int getHeight(){return height;}
+}
@@ -0,0 +1,37 @@
+package com.memorio.backend.faces;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface FaceImageRenditionRepository extends JpaRepository<FaceImageRendition, UUID> {
+
+    @Query("SELECT new com.memorio.backend.faces.FaceImageMeta(fi.id, r.contentHash, r.contentType) " +
+           "FROM FaceImageRendition r JOIN r.faceImage fi " +
+           "WHERE fi.person.personName = :personName AND fi.filename = :filename " +
+           "AND fi.person.isActive = true AND r.maxDimension = :maxDimension")
+    Optional<FaceImageMeta> findActiveMeta(@Param("personName") String personName,
+                                           @Param("filename") String filename,
+                                           @Param("maxDimension") int maxDimension);
+
+    @Query("SELECT new com.memorio.backend.faces.FaceImageMeta(fi.id, r.contentHash, r.contentType) " +
+           "FROM FaceImageRendition r JOIN r.faceImage fi " +
+           "WHERE fi.person.personName = :personName AND fi.isPrimary = true " +
+           "AND fi.person.isActive = true AND r.maxDimension = :maxDimension")
+    Optional<FaceImageMeta> findActivePrimaryMeta(@Param("personName") String personName,
+                                                  @Param("maxDimension") int maxDimension);
+
+    boolean existsByFaceImageId(UUID faceImageId);
+
+    // Face images with no renditions that the backfill has not tried yet, in id order after the given id
+    @Query("SELECT fi.id FROM FaceImage fi WHERE fi.id > :after AND fi.renditionsAttemptedAt IS NULL " +
+           "AND NOT EXISTS (SELECT 1 FROM FaceImageRendition r WHERE r.faceImage = fi) ORDER BY fi.id")
+    List<UUID> findFaceImageIdsWithoutRenditions(@Param("after") UUID after, Pageable pageable);
+}
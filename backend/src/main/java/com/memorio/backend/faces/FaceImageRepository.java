@@ -1,10 +1,13 @@
 package com.memorio.backend.faces;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -19,11 +22,46 @@ public interface FaceImageRepository extends JpaRepository<FaceImage, UUID> {
     @Query("SELECT fi FROM FaceImage fi WHERE fi.person.personName = :personName AND fi.filename = :filename")
     Optional<FaceImage> findByPersonNameAndFilename(@Param("personName") String personName,
                                                     @Param("filename") String filename);
+    @Query("SELECT new com.memorio.backend.faces.FaceImageMeta(fi.id, fi.contentHash, fi.contentType) " +
+           "FROM FaceImage fi WHERE fi.person.personName = :personName AND fi.filename = :filename " +
+           "AND fi.person.isActive = true")
+    Optional<FaceImageMeta> findActiveMeta(@Param("personName") String personName,
+                                           @Param("filename") String filename);
+    @Query("SELECT new com.memorio.backend.faces.FaceImageMeta(fi.id, fi.contentHash, fi.contentType) " +
+           "FROM FaceImage fi WHERE fi.person.personName = :personName AND fi.isPrimary = true " +
+           "AND fi.person.isActive = true")
+    Optional<FaceImageMeta> findActivePrimaryMeta(@Param("personName") String personName);
     @Query(value = "SELECT * FROM face_images WHERE person_id = :personId ORDER BY RANDOM() LIMIT 1",
         nativeQuery = true)
     Optional<FaceImage> findRandomImageByPersonId(@Param("personId") UUID personId);
 
     long countByPersonId(UUID personId);
 
+    // Perceptual hashes of all images that have one, for FaceDuplicateIndex
+    @Query("SELECT new com.memorio.backend.faces.FaceImageHash(fi.person.personName, fi.filename, fi.perceptualHash) " +
+           "FROM FaceImage fi WHERE fi.perceptualHash IS NOT NULL")
+    List<FaceImageHash> findPerceptualHashes();
+
+    @Query("SELECT fi.id FROM FaceImage fi WHERE fi.perceptualHash IS NULL AND fi.hashAttemptedAt IS NULL " +
+           "AND fi.id > :after ORDER BY fi.id")
+    List<UUID> findIdsWithoutPerceptualHash(@Param("after") UUID after, Pageable pageable);
+
+    // Locks the row for the calling transaction; 0 if another instance's backfill holds it
+    @Query(value = "SELECT COUNT(*) FROM (SELECT id FROM face_images WHERE id = :id FOR UPDATE SKIP LOCKED) claimed",
+           nativeQuery = true)
+    long claimForBackfill(@Param("id") UUID id);
+
+    @Modifying
+    @Query("UPDATE FaceImage fi SET fi.perceptualHash = :hash WHERE fi.id = :id")
+    int updatePerceptualHash(@Param("id") UUID id, @Param("hash") long hash);
+
+    @Modifying
+    @Query("UPDATE FaceImage fi SET fi.renditionsAttemptedAt = :now WHERE fi.id = :id")
+    int markRenditionsAttempted(@Param("id") UUID id, @Param("now") OffsetDateTime now);
+
+    @Modifying
+    @Query("UPDATE FaceImage fi SET fi.hashAttemptedAt = :now WHERE fi.id = :id")
+    int markHashAttempted(@Param("id") UUID id, @Param("now") OffsetDateTime now);
+
     void deleteByPersonId(UUID personId);
 }
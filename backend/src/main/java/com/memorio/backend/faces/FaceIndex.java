@@ -0,0 +1,99 @@
+package com.memorio.backend.faces;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.random.RandomGenerator;
+
+/**
+ * Immutable snapshot of active people for face picking: person and display names in parallel
+ * arrays, ordered by difficulty, with the end offset of each difficulty level. The people up
+ * to a maximum difficulty are therefore a prefix of the arrays, and drawing {@code k} of them
+ * without replacement costs O(k) regardless of the pool size.
+ */
+final class FaceIndex {
+
+    static final int MAX_DIFFICULTY = 3;
+
+    private final String[] personNames;
+    private final String[] displayNames;
+    private final int[] ends; // ends[d] = number of people with difficulty <= d
+
+    private FaceIndex(String[] personNames, String[] displayNames, int[] ends){
+        this.personNames = personNames;
+        this.displayNames = displayNames;
+        this.ends = ends;
+    }
+
+    /**
+     * Builds the index from {@code (personName, displayName, difficultyLevel)} rows in any order.
+     * Difficulties outside 1..3 are clamped.
+     */
+    static FaceIndex of(List<Object[]> rows){
+        int[] ends = new int[MAX_DIFFICULTY + 1];
+        for (Object[] row : rows){
+            ends[difficulty(row)]++;
+        }
+        // Counting sort: turn per-level counts into start offsets, then place each row
+        int[] next = new int[MAX_DIFFICULTY + 1];
+        for (int d = 1; d <= MAX_DIFFICULTY; d++){
+            next[d] = next[d - 1] + ends[d - 1];
+        }
+        String[] personNames = new String[rows.size()];
+        String[] displayNames = new String[rows.size()];
+        for (Object[] row : rows){
+            int slot = next[difficulty(row)]++;
+            personNames[slot] = (String) row[0];
+            displayNames[slot] = (String) row[1];
+        }
+        for (int d = 1; d <= MAX_DIFFICULTY; d++){
+            ends[d] = next[d];
+        }
+        return new FaceIndex(personNames, displayNames, ends);
+    }
+
+    int size(){
+        return personNames.length;
+    }
+
+    /** Number of people at or below the given difficulty. */
+    int size(int maxDifficulty){
+        return ends[Math.max(1, Math.min(maxDifficulty, MAX_DIFFICULTY))];
+    }
+
+    /**
+     * Draws up to {@code count} distinct people at or below {@code maxDifficulty}, in random order.
+     * Uses Floyd's sampling, so the work is proportional to {@code count}, not to the pool.
+     */
+    List<PickedFace> sample(int maxDifficulty, int count, RandomGenerator random){
+        int n = size(maxDifficulty);
+        int k = Math.max(0, Math.min(count, n));
+        Set<Integer> chosen = new HashSet<>(k * 2);
+        int[] picked = new int[k];
+        int filled = 0;
+        for (int j = n - k; j < n; j++){
+            int t = random.nextInt(j + 1);
+            int slot = chosen.contains(t) ? j : t;
+            chosen.add(slot);
+            picked[filled++] = slot;
+        }
+        // Floyd's picks are a uniform set but not in uniform order; shuffle the k picks
+        for (int i = k - 1; i > 0; i--){
+            int swap = random.nextInt(i + 1);
+            int tmp = picked[i];
+            picked[i] = picked[swap];
+            picked[swap] = tmp;
+        }
+        List<PickedFace> faces = new ArrayList<>(k);
+        for (int slot : picked){
+            faces.add(new PickedFace(personNames[slot], displayNames[slot]));
+        }
+        return faces;
+    }
+
+    private static int difficulty(Object[] row){
+        int level = ((Number) row[2]).intValue();
+        return Math.max(1, Math.min(level, MAX_DIFFICULTY));
+    }
+}
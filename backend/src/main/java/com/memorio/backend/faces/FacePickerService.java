@@ -1,36 +1,86 @@
 package com.memorio.backend.faces;
 
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
-import java.util.Collections;
 import java.util.List;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Picks people for names-and-faces exercises from an in-memory {@link FaceIndex}, so starting
+ * an exercise does not query the database. The index is rebuilt after admin and import changes
+ * ({@link FaceCatalogChangedEvent}) and periodically, to pick up changes made on other instances.
+ * Only one rebuild runs at a time; concurrent picks on an empty index wait for it and share it.
+ */
 @Service
 public class FacePickerService {
 
+    private static final Logger logger = LoggerFactory.getLogger(FacePickerService.class);
+
     // amazonq-ignore-next-line
     private final PersonRepository personRepository;
-    private final Random random = new Random();
+    private final AtomicLong version = new AtomicLong();
+    private volatile FaceIndex index;
 
     public FacePickerService(PersonRepository personRepository){
         this.personRepository = personRepository;
     }
 
-    public List<Person> pickFaces(int skillLevel, int count){
+    public List<PickedFace> pickFaces(int skillLevel, int count){
         int level = Math.max(1, Math.min(skillLevel, 10));
         int maxDifficulty = calculateMaxDifficulty(level);
 
-        List<Person> candidates = personRepository.findRandomActivePersonsByMaxDifficultyLevel(maxDifficulty, count *2);
-        if(candidates.size() <= count){
-            return candidates;
+        return index().sample(maxDifficulty, count, ThreadLocalRandom.current());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${memorio.faces.index.refresh-interval-ms:600000}",
+            initialDelayString = "${memorio.faces.index.refresh-interval-ms:600000}")
+    public void refresh(){
+        try {
+            load(true);
+        } catch (DataAccessException e){
+            logger.warn("Could not rebuild the face index, keeping the current one: {}", e.getMessage());
         }
+    }
 
-        Collections.shuffle(candidates, random);
-        return candidates.subList(0, count);
+    /**
+     * Drops the index so the next pick rebuilds it; imports publish one event per person,
+     * so rebuilding lazily keeps a batch import to a single reload.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(FaceCatalogChangedEvent event){
+        version.incrementAndGet();
+        index = null;
     }
 
+    private FaceIndex index(){
+        FaceIndex current = index;
+        return current != null ? current : load(false);
+    }
+
+    private synchronized FaceIndex load(boolean force){
+        FaceIndex current = index;
+        if (!force && current != null){
+            return current; // rebuilt while this caller waited
+        }
+        long builtFor = version.get();
+        FaceIndex loaded = FaceIndex.of(personRepository.findActiveFaceIndexRows());
+        // A change during the query leaves the index empty rather than stale
+        if (version.get() == builtFor){
+            index = loaded;
+        }
+        logger.debug("Built face index with {} active people", loaded.size());
+        return loaded;
+    }
 
     private int calculateMaxDifficulty(int skillLevel){
         if(skillLevel <= 3){
@@ -0,0 +1,109 @@
+package com.memorio.backend.faces;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.memorio.backend.common.storage.ByteBufferResource;
+import com.memorio.backend.common.storage.ImageStorage;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Optional;
+
+/**
+ * Primary face images of active people, held off-heap in direct buffers and keyed by person name
+ * and rendition size (0 for the original).
+ *
+ * Bounded by total image bytes with Caffeine's W-TinyLFU policy, so the skewed head of the
+ * pool (mostly difficulty 1) stays resident while one-off lookups are not admitted over it.
+ * A hit answers the primary endpoint, including revalidation, without touching the database.
+ * Entries are dropped on {@link FaceCatalogChangedEvent}. Only images in {@link ImageStorage}
+ * are cached; rows not yet migrated are served from the database as before.
+ */
+@Component
+public class FacePrimaryImageCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(FacePrimaryImageCache.class);
+
+    static final String CACHE_NAME = "faces.primary";
+    static final String CACHE_BYTES = "memorio.faces.image.cache.bytes";
+
+    public record CachedFaceImage(String contentHash, String contentType, ByteBuffer data) {
+
+        public Resource resource(){
+            return new ByteBufferResource(data, contentHash);
+        }
+    }
+
+    private record Key(String personName, int size) {}
+
+    private final ImageStorage imageStorage;
+    private final Cache<Key, CachedFaceImage> cache;
+
+    public FacePrimaryImageCache(ImageStorage imageStorage,
+                                 MeterRegistry registry,
+                                 @Value("${memorio.faces.image-cache.max-bytes:67108864}") long maxBytes){
+        this.imageStorage = imageStorage;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(Math.max(0, maxBytes))
+                .weigher((Key key, CachedFaceImage image) -> image.data().capacity())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+        Gauge.builder(CACHE_BYTES, cache, c -> c.policy().eviction()
+                        .map(eviction -> eviction.weightedSize().orElse(0L))
+                        .orElse(0L))
+                .description("Bytes of primary face images held off-heap")
+                .register(registry);
+    }
+
+    public Optional<CachedFaceImage> getIfPresent(String personName, int size){
+        return Optional.ofNullable(cache.getIfPresent(new Key(personName, size)));
+    }
+
+    /**
+     * Returns the cached image for the person and size, reading it from storage into a direct buffer
+     * on a miss. Empty if the image is not in storage (inline row or missing file).
+     */
+    public Optional<CachedFaceImage> load(String personName, int size, FaceImageMeta meta){
+        if (meta.contentHash() == null) return Optional.empty();
+        return Optional.ofNullable(cache.get(new Key(personName, size), key -> read(meta)));
+    }
+
+    /** Drops every cached size of the person's image. */
+    public void evict(String personName){
+        cache.asMap().keySet().removeIf(key -> key.personName().equals(personName));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(FaceCatalogChangedEvent event){
+        evict(event.personName());
+    }
+
+    private CachedFaceImage read(FaceImageMeta meta){
+        Optional<Resource> resource = imageStorage.load(meta.contentHash());
+        if (resource.isEmpty()) return null;
+        try (ReadableByteChannel channel = resource.get().readableChannel()){
+            long length = resource.get().contentLength();
+            if (length > Integer.MAX_VALUE) return null;
+            ByteBuffer data = ByteBuffer.allocateDirect((int) length);
+            while (data.hasRemaining() && channel.read(data) >= 0){
+                // keep reading until the buffer is full
+            }
+            data.flip();
+            return new CachedFaceImage(meta.contentHash(), meta.contentType(), data);
+        } catch (IOException e){
+            logger.warn("Could not read face image {} into cache: {}", meta.contentHash(), e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.memorio.backend.faces;
+
+import com.memorio.backend.common.storage.ImageStorage;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Finds a person's primary face image at a requested size: the smallest covering rendition if it
+ * exists, otherwise the original. Resolving only settles the ETag and content type, so callers can
+ * answer revalidation before any bytes are read; {@link ResolvedFaceImage#open()} then loads the
+ * content through {@link FacePrimaryImageCache}, or inline for rows not in storage. Cached images
+ * are resolved without a query.
+ */
+@Component
+public class FacePrimaryImageResolver {
+
+    public record ResolvedFaceImage(String contentHash, String contentType, Supplier<Optional<Resource>> content) {
+
+        /** Reads or opens the image bytes; empty if they disappeared since resolving. */
+        public Optional<Resource> open(){
+            return content.get();
+        }
+    }
+
+    private final FaceImageRepository faceImageRepository;
+    private final FaceImageRenditionRepository renditionRepository;
+    private final FaceRenditionService renditionService;
+    private final FacePrimaryImageCache primaryImages;
+    private final ImageStorage imageStorage;
+
+    public FacePrimaryImageResolver(FaceImageRepository faceImageRepository,
+                                    FaceImageRenditionRepository renditionRepository,
+                                    FaceRenditionService renditionService,
+                                    FacePrimaryImageCache primaryImages,
+                                    ImageStorage imageStorage){
+        this.faceImageRepository = faceImageRepository;
+        this.renditionRepository = renditionRepository;
+        this.renditionService = renditionService;
+        this.primaryImages = primaryImages;
+        this.imageStorage = imageStorage;
+    }
+
+    public Optional<ResolvedFaceImage> resolve(String personName, Integer size){
+        // Requested rendition first; images without one yet fall back to the original
+        int rendition = renditionService.bucket(size);
+        if (rendition > 0){
+            Optional<ResolvedFaceImage> image = resolve(personName, rendition,
+                    () -> renditionRepository.findActivePrimaryMeta(personName, rendition));
+            if (image.isPresent()) return image;
+        }
+        return resolve(personName, 0, () -> faceImageRepository.findActivePrimaryMeta(personName));
+    }
+
+    private Optional<ResolvedFaceImage> resolve(String personName, int rendition,
+                                                Supplier<Optional<FaceImageMeta>> lookup){
+        Optional<FacePrimaryImageCache.CachedFaceImage> cached = primaryImages.getIfPresent(personName, rendition);
+        if (cached.isPresent()){
+            FacePrimaryImageCache.CachedFaceImage image = cached.get();
+            return Optional.of(new ResolvedFaceImage(image.contentHash(), image.contentType(),
+                    () -> Optional.of(image.resource())));
+        }
+
+        return lookup.get().map(image -> new ResolvedFaceImage(image.contentHash(), image.contentType(),
+                () -> load(personName, rendition, image)));
+    }
+
+    private Optional<Resource> load(String personName, int rendition, FaceImageMeta image){
+        Optional<FacePrimaryImageCache.CachedFaceImage> loaded = primaryImages.load(personName, rendition, image);
+        if (loaded.isPresent()){
+            return loaded.map(FacePrimaryImageCache.CachedFaceImage::resource);
+        }
+        return imageStorage.open(image.contentHash(),
+                () -> faceImageRepository.findById(image.id()).map(FaceImage::getImageData).orElse(null));
+    }
+}
@@ -0,0 +1,186 @@
+package com.memorio.backend.faces;
+
+import com.memorio.backend.common.storage.ImageStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.IIOException;
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Generates renditions and perceptual hashes for face images imported before either existed.
+ * Runs once after startup in id order. Each image is tried once: the attempt is recorded on the row,
+ * so images smaller than every rendition or that cannot be decoded are not reread on each startup.
+ * A failed read or write rolls the attempt back and the image is retried next time.
+ *
+ * Every instance runs it, so each image is claimed with {@code FOR UPDATE SKIP LOCKED} for the
+ * transaction that renders or hashes it and re-checked once claimed: instances starting together
+ * split the images between them instead of rendering each one several times.
+ */
+@Component
+@Profile("!test")
+public class FaceRenditionBackfillJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(FaceRenditionBackfillJob.class);
+
+    private final FaceImageRepository faceImages;
+    private final FaceImageRenditionRepository renditions;
+    private final FaceRenditionService renditionService;
+    private final ImageStorage imageStorage;
+    private final FaceDuplicateIndex duplicates;
+    private final TransactionTemplate tx;
+    private final int batchSize;
+
+    public FaceRenditionBackfillJob(FaceImageRepository faceImages,
+                                    FaceImageRenditionRepository renditions,
+                                    FaceRenditionService renditionService,
+                                    ImageStorage imageStorage,
+                                    FaceDuplicateIndex duplicates,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${memorio.faces.renditions.backfill-batch-size:100}") int batchSize){
+        this.faceImages = faceImages;
+        this.renditions = renditions;
+        this.renditionService = renditionService;
+        this.imageStorage = imageStorage;
+        this.duplicates = duplicates;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Async
+    public void backfill(){
+        backfillRenditions();
+        backfillHashes();
+    }
+
+    private void backfillRenditions(){
+        UUID after = new UUID(0L, 0L);
+        int rendered = 0;
+        try {
+            while (true){
+                List<UUID> ids = renditions.findFaceImageIdsWithoutRenditions(after, PageRequest.of(0, batchSize));
+                if (ids.isEmpty()) break;
+                for (UUID id : ids){
+                    if (renderOne(id)) rendered++;
+                }
+                after = ids.get(ids.size() - 1);
+            }
+            if (rendered > 0) logger.info("Rendition backfill rendered {} face images", rendered);
+        } catch (Exception e){
+            logger.warn("Rendition backfill stopped after {} images (non-critical): {}", rendered, e.getMessage());
+        }
+    }
+
+    private void backfillHashes(){
+        UUID after = new UUID(0L, 0L);
+        int hashed = 0;
+        try {
+            while (true){
+                List<UUID> ids = faceImages.findIdsWithoutPerceptualHash(after, PageRequest.of(0, batchSize));
+                if (ids.isEmpty()) break;
+                for (UUID id : ids){
+                    if (hashOne(id)) hashed++;
+                }
+                after = ids.get(ids.size() - 1);
+            }
+            if (hashed > 0) logger.info("Perceptual hash backfill hashed {} face images", hashed);
+        } catch (Exception e){
+            logger.warn("Perceptual hash backfill stopped after {} images (non-critical): {}", hashed, e.getMessage());
+        } finally {
+            // Reload with the new hashes on next use
+            if (hashed > 0) duplicates.invalidate();
+        }
+    }
+
+    private boolean hashOne(UUID faceImageId){
+        try {
+            return Boolean.TRUE.equals(tx.execute(status -> {
+                if (faceImages.claimForBackfill(faceImageId) == 0) return false;
+                boolean hashed = hash(faceImageId);
+                faceImages.markHashAttempted(faceImageId, OffsetDateTime.now());
+                return hashed;
+            }));
+        } catch (RuntimeException e){
+            logger.debug("Could not hash face image {}: {}", faceImageId, e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean renderOne(UUID faceImageId){
+        try {
+            return Boolean.TRUE.equals(tx.execute(status -> {
+                if (faceImages.claimForBackfill(faceImageId) == 0 || renditions.existsByFaceImageId(faceImageId)){
+                    return false;
+                }
+                boolean rendered = render(faceImageId);
+                faceImages.markRenditionsAttempted(faceImageId, OffsetDateTime.now());
+                return rendered;
+            }));
+        } catch (RuntimeException e){
+            logger.debug("Could not render face image {}: {}", faceImageId, e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean hash(UUID faceImageId){
+        Optional<FaceImage> image = faceImages.findById(faceImageId);
+        if (image.isEmpty() || image.get().getPerceptualHash() != null) return false;
+        try {
+            Optional<Resource> content = imageStorage.open(image.get().getContentHash(), image.get()::getImageData);
+            if (content.isEmpty()) return false;
+
+            BufferedImage decoded = decode(content.get());
+            if (decoded == null) return false;
+            return faceImages.updatePerceptualHash(faceImageId, PerceptualHash.dHash(decoded)) > 0;
+        } catch (IOException e){
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private boolean render(UUID faceImageId){
+        Optional<FaceImage> image = faceImages.findById(faceImageId);
+        if (image.isEmpty()) return false;
+        try {
+            Optional<Resource> content = imageStorage.open(image.get().getContentHash(), image.get()::getImageData);
+            if (content.isEmpty()) return false;
+
+            BufferedImage decoded = decode(content.get());
+            if (decoded == null) return false;
+            List<FaceRenditionService.StoredRendition> stored = renditionService.renderAndStore(decoded);
+            if (stored.isEmpty()) return false;
+            renditions.saveAll(stored.stream().map(r -> new FaceImageRendition(image.get(), r)).toList());
+            return true;
+        } catch (IOException e){
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Null for bytes ImageIO cannot make sense of; a failed read of the content itself still throws
+    private static BufferedImage decode(Resource content) throws IOException {
+        byte[] bytes = content.getContentAsByteArray();
+        try {
+            return ImageIO.read(new ByteArrayInputStream(bytes));
+        } catch (IIOException e){
+            return null;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.memorio.backend.faces;
+
+import com.memorio.backend.common.storage.ImageStorage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Downscaled JPEG renditions of face images for the exercise UI, which shows faces far smaller
+ * than the 250px LFW originals. Renditions are generated when images are imported or uploaded
+ * (and by {@link FaceRenditionBackfillJob} for older images) and stored in {@link ImageStorage}.
+ */
+@Service
+public class FaceRenditionService {
+
+    static final String CONTENT_TYPE = "image/jpeg";
+
+    /** Size requested for face cards in exercise payloads. */
+    public static final int EXERCISE_SIZE = 160;
+
+    public record StoredRendition(int maxDimension, String contentHash, long fileSize, int width, int height) {}
+
+    private final ImageStorage imageStorage;
+    private final int[] sizes;
+    private final float quality;
+
+    public FaceRenditionService(ImageStorage imageStorage,
+                                @Value("${memorio.faces.renditions.sizes:96,160}") int[] sizes,
+                                @Value("${memorio.faces.renditions.jpeg-quality:0.82}") float quality){
+        this.imageStorage = imageStorage;
+        this.sizes = Arrays.stream(sizes).filter(size -> size > 0).sorted().distinct().toArray();
+        this.quality = Math.max(0.1f, Math.min(quality, 1.0f));
+    }
+
+    /**
+     * The rendition size serving a request for {@code requested} pixels: the smallest configured
+     * size at least that large, or 0 (the original) if none is or nothing was requested.
+     */
+    public int bucket(Integer requested){
+        if (requested == null || requested <= 0) return 0;
+        for (int size : sizes){
+            if (size >= requested) return size;
+        }
+        return 0;
+    }
+
+    /**
+     * Renders every configured size smaller than the original and stores the results.
+     * Returns nothing if the image cannot be decoded.
+     */
+    public List<StoredRendition> renderAndStore(byte[] original) throws IOException{
+        BufferedImage source = ImageIO.read(new ByteArrayInputStream(original));
+        if (source == null) return List.of();
+        return renderAndStore(source);
+    }
+
+    /** Same as {@link #renderAndStore(byte[])} for an image the caller already decoded. */
+    public List<StoredRendition> renderAndStore(BufferedImage source) throws IOException{
+        List<StoredRendition> stored = new ArrayList<>(sizes.length);
+        for (int size : sizes){
+            if (Math.max(source.getWidth(), source.getHeight()) <= size) continue;
+            BufferedImage scaled = scale(source, size);
+            byte[] jpeg = encode(scaled);
+            stored.add(new StoredRendition(size, imageStorage.store(jpeg), jpeg.length,
+                    scaled.getWidth(), scaled.getHeight()));
+        }
+        return stored;
+    }
+
+    // Halves with bilinear filtering until within 2x of the target, then one bicubic step;
+    // a single large bicubic step skips source pixels and aliases.
+    static BufferedImage scale(BufferedImage source, int maxDimension){
+        double ratio = (double) maxDimension / Math.max(source.getWidth(), source.getHeight());
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        BufferedImage current = source;
+        while (current.getWidth() / 2 >= targetWidth && current.getHeight() / 2 >= targetHeight){
+            current = draw(current, current.getWidth() / 2, current.getHeight() / 2,
+                    RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        }
+        return draw(current, targetWidth, targetHeight, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height, Object interpolation){
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            // JPEG has no alpha: transparent areas (PNG uploads) go onto white instead of black
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private byte[] encode(BufferedImage image) throws IOException{
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)){
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            param.setProgressiveMode(ImageWriteParam.MODE_DISABLED);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,63 @@
+package com.memorio.backend.faces;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snapshot of {@link FaceCatalogStats} for the admin dashboard, which polls it. Computed with one
+ * aggregate query and kept until the catalog changes ({@link FaceCatalogChangedEvent} from
+ * imports, uploads, activation and deletion) or it is older than
+ * {@code memorio.faces.stats.max-age-ms}, which bounds staleness from changes on other instances.
+ */
+@Service
+public class FaceStatisticsService {
+
+    private record Snapshot(FaceCatalogStats stats, long computedAt) {}
+
+    private final PersonRepository personRepository;
+    private final long maxAgeNanos;
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    public FaceStatisticsService(PersonRepository personRepository,
+                                 @Value("${memorio.faces.stats.max-age-ms:60000}") long maxAgeMs){
+        this.personRepository = personRepository;
+        this.maxAgeNanos = Math.max(0, maxAgeMs) * 1_000_000L;
+    }
+
+    public FaceCatalogStats getStats(){
+        Snapshot current = snapshot;
+        if (current != null && System.nanoTime() - current.computedAt() < maxAgeNanos){
+            return current.stats();
+        }
+        return refresh();
+    }
+
+    public void invalidate(){
+        version.incrementAndGet();
+        snapshot = null;
+    }
+
+    /** Imports publish one event per person; dropping the snapshot lets the next read compute it once. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(FaceCatalogChangedEvent event){
+        invalidate();
+    }
+
+    private synchronized FaceCatalogStats refresh(){
+        Snapshot current = snapshot;
+        if (current != null && System.nanoTime() - current.computedAt() < maxAgeNanos){
+            return current.stats();
+        }
+        long computedFor = version.get();
+        FaceCatalogStats stats = FaceCatalogStats.of(personRepository.findCatalogCounts());
+        // A change during the query leaves the snapshot empty rather than stale
+        if (version.get() == computedFor){
+            snapshot = new Snapshot(stats, System.nanoTime());
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,100 @@
+package com.memorio.backend.faces;
+
+import java.util.Arrays;
+
+/**
+ * Multi-index hashing over 64-bit hashes: each hash is filed under its four 16-bit chunks. If two
+ * hashes are within {@code r} bits, at least one chunk differs by at most {@code r / 4} bits
+ * (pigeonhole), so a search only probes the buckets within that radius of each query chunk and
+ * checks the full distance of what it finds there, instead of scanning every hash.
+ *
+ * Values are the insertion order (0, 1, ...), for the caller to use as an index into its own
+ * arrays. Not thread-safe.
+ */
+final class MultiIndexHash {
+
+    @FunctionalInterface
+    interface Visitor {
+        void visit(int value, int distance);
+    }
+
+    private static final int CHUNKS = 4;
+    private static final int CHUNK_BITS = 16;
+    private static final int BUCKETS = 1 << CHUNK_BITS;
+
+    private final int[][][] buckets = new int[CHUNKS][BUCKETS][];
+    private final int[][] bucketSizes = new int[CHUNKS][BUCKETS];
+    private long[] hashes = new long[64];
+    private int size;
+
+    /** Adds the hash and returns its value. */
+    int add(long hash){
+        if (size == hashes.length) hashes = Arrays.copyOf(hashes, size * 2);
+        int value = size++;
+        hashes[value] = hash;
+        for (int chunk = 0; chunk < CHUNKS; chunk++){
+            int key = chunk(hash, chunk);
+            int[] bucket = buckets[chunk][key];
+            int n = bucketSizes[chunk][key];
+            if (bucket == null){
+                bucket = buckets[chunk][key] = new int[2];
+            } else if (n == bucket.length){
+                bucket = buckets[chunk][key] = Arrays.copyOf(bucket, n * 2);
+            }
+            bucket[n] = value;
+            bucketSizes[chunk][key] = n + 1;
+        }
+        return value;
+    }
+
+    int size(){
+        return size;
+    }
+
+    /** Calls the visitor once for every value whose hash is within {@code maxDistance} of {@code hash}. */
+    void search(long hash, int maxDistance, Visitor visitor){
+        if (maxDistance < 0 || size == 0) return;
+        int radius = Math.min(maxDistance / CHUNKS, CHUNK_BITS);
+        for (int chunk = 0; chunk < CHUNKS; chunk++){
+            probe(new Probe(hash, maxDistance, radius, chunk, visitor), chunk(hash, chunk), radius, 0);
+        }
+    }
+
+    private record Probe(long hash, int maxDistance, int radius, int chunk, Visitor visitor) {}
+
+    // Visits the bucket of key and, while flips remain, of every key reached by flipping one
+    // more bit at or above fromBit, so each key within the radius is visited once
+    private void probe(Probe probe, int key, int flips, int fromBit){
+        visitBucket(probe, key);
+        if (flips == 0) return;
+        for (int bit = fromBit; bit < CHUNK_BITS; bit++){
+            probe(probe, key ^ (1 << bit), flips - 1, bit + 1);
+        }
+    }
+
+    private void visitBucket(Probe probe, int key){
+        int[] bucket = buckets[probe.chunk()][key];
+        if (bucket == null) return;
+        int n = bucketSizes[probe.chunk()][key];
+        for (int i = 0; i < n; i++){
+            int value = bucket[i];
+            long candidate = hashes[value];
+            int distance = PerceptualHash.distance(probe.hash(), candidate);
+            if (distance > probe.maxDistance()
+                    || foundInEarlierChunk(probe.hash(), candidate, probe.chunk(), probe.radius())) continue;
+            probe.visitor().visit(value, distance);
+        }
+    }
+
+    // A candidate is reported from the first chunk within the probe radius only
+    private static boolean foundInEarlierChunk(long hash, long candidate, int chunk, int radius){
+        for (int earlier = 0; earlier < chunk; earlier++){
+            if (Integer.bitCount(chunk(hash, earlier) ^ chunk(candidate, earlier)) <= radius) return true;
+        }
+        return false;
+    }
+
+    private static int chunk(long hash, int chunk){
+        return (int) (hash >>> (chunk * CHUNK_BITS)) & (BUCKETS - 1);
+    }
+}
@@ -0,0 +1,55 @@
+package com.memorio.backend.faces;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * 64-bit difference hash (dHash): the image is reduced to a 9x8 grid of mean luminance and
+ * each bit records whether a cell is brighter than its right neighbour. Re-encoding, resizing
+ * and small crops or colour shifts change only a few bits, so near-duplicates are images whose
+ * hashes are a small Hamming distance apart.
+ */
+public final class PerceptualHash {
+
+    private static final int COLUMNS = 9;
+    private static final int ROWS = 8;
+
+    private PerceptualHash(){
+    }
+
+    public static long dHash(BufferedImage image){
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = image.getRGB(0, 0, width, height, null, 0, width);
+
+        // Box-average luminance per cell; every pixel lands in exactly one cell
+        long[] sums = new long[COLUMNS * ROWS];
+        int[] counts = new int[COLUMNS * ROWS];
+        for (int y = 0; y < height; y++){
+            int row = (int) ((long) y * ROWS / height) * COLUMNS;
+            for (int x = 0; x < width; x++){
+                int cell = row + (int) ((long) x * COLUMNS / width);
+                int rgb = pixels[y * width + x];
+                sums[cell] += 299 * ((rgb >> 16) & 0xFF) + 587 * ((rgb >> 8) & 0xFF) + 114 * (rgb & 0xFF);
+                counts[cell]++;
+            }
+        }
+
+        long hash = 0;
+        for (int row = 0; row < ROWS; row++){
+            for (int column = 0; column < COLUMNS - 1; column++){
+                int cell = row * COLUMNS + column;
+                hash <<= 1;
+                if (mean(sums, counts, cell) > mean(sums, counts, cell + 1)) hash |= 1;
+            }
+        }
+        return hash;
+    }
+
+    public static int distance(long a, long b){
+        return Long.bitCount(a ^ b);
+    }
+
+    private static long mean(long[] sums, int[] counts, int cell){
+        return counts[cell] == 0 ? 0 : sums[cell] / counts[cell];
+    }
+}
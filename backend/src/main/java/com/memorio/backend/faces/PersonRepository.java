@@ -1,7 +1,6 @@
 package com.memorio.backend.faces;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,20 +14,20 @@ public interface PersonRepository extends JpaRepository<Person, UUID> {
     List<Person> findByIsActiveTrueAndDifficultyLevel(int difficultyLevel);
     List<Person> findByIsActiveTrueAndDifficultyLevelLessThanEqual(int maxDifficultyLevel);
     long countByIsActiveTrueAndDifficultyLevel(int difficultyLevel);
-    @Query(value = "SELECT * FROM persons WHERE is_active = true ORDER BY RANDOM() LIMIT :limit",
-        nativeQuery = true)
-    List<Person> findRandomActivePersons(@Param("limit") int limit);
-
-    @Query(value = "SELECT * FROM persons WHERE is_active = true AND difficulty_level = :difficultyLevel ORDER BY RANDOM() LIMIT :limit",
-            nativeQuery = true)
-    List<Person> findRandomActivePersonsByDifficultyLevel(@Param("difficultyLevel") int difficultyLevel,
-            @Param("limit") int limit);
-
-    @Query(value = "SELECT * FROM persons WHERE is_active = true AND difficulty_level <= :maxDifficultyLevel ORDER BY RANDOM() LIMIT :limit",
-            nativeQuery = true)
-    List<Person> findRandomActivePersonsByMaxDifficultyLevel(@Param("maxDifficultyLevel") int maxDifficultyLevel,
-                                                          @Param("limit") int limit);
+    // (personName, displayName, difficultyLevel) of every active person, for FaceIndex
+    @Query("SELECT p.personName, p.displayName, p.difficultyLevel FROM Person p WHERE p.isActive = true")
+    List<Object[]> findActiveFaceIndexRows();
 
     @Query("SELECT p.personName from Person p")
     List<String> findAllPersonNames();
+
+    // (is_active, difficulty_level, people, images) for FaceCatalogStats, in one pass over each table
+    @Query(value = """
+            SELECT p.is_active, p.difficulty_level, COUNT(*) AS people, COALESCE(SUM(fi.images), 0) AS images
+            FROM persons p
+            LEFT JOIN (SELECT person_id, COUNT(*) AS images FROM face_images GROUP BY person_id) fi
+                   ON fi.person_id = p.id
+            GROUP BY p.is_active, p.difficulty_level
+            """, nativeQuery = true)
+    List<Object[]> findCatalogCounts();
 }
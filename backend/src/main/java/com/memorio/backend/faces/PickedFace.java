@@ -0,0 +1,7 @@
+package com.memorio.backend.faces;
+
+/**
+ * A person drawn for a names-and-faces exercise, as served from {@link FaceIndex}.
+ */
+public record PickedFace(String personName, String displayName) {
+}
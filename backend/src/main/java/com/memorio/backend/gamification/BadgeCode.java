@@ -0,0 +1,54 @@
+package com.memorio.backend.gamification;
+
+import java.util.Collection;
+
+/**
+ * All badges that can be awarded, with their bonus points. The ordinal is the badge's bit in
+ * a user's badge mask, so new codes must be appended (at most 64).
+ */
+public enum BadgeCode {
+    FIRST_ATTEMPT(0),
+    STREAK_7(100),
+    STREAK_30(250),
+    STREAK_100(500),
+    EXERCISES_10(50),
+    EXERCISES_50(150),
+    EXERCISES_100(300),
+    EXERCISES_500(750),
+    FIRST_PERFECT(50),
+    PERFECT_10(200),
+    WORD_MASTER(300),
+    FACE_MASTER(300),
+    NUMBER_MASTER(300),
+    POINTS_1000(100),
+    POINTS_10000(250),
+    POINTS_50000(500);
+
+    private static final BadgeCode[] VALUES = values();
+
+    private final int bonusPoints;
+
+    BadgeCode(int bonusPoints){
+        this.bonusPoints = bonusPoints;
+    }
+
+    public int bonusPoints(){return bonusPoints;}
+
+    public long bit(){
+        return 1L << ordinal();
+    }
+
+    /** Mask of the given stored codes; codes no longer defined here are ignored. */
+    public static long maskOf(Collection<String> codes){
+        long mask = 0L;
+        for (String code : codes){
+            for (BadgeCode c : VALUES){
+                if (c.name().equals(code)){
+                    mask |= c.bit();
+                    break;
+                }
+            }
+        }
+        return mask;
+    }
+}
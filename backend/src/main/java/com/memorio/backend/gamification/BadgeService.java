@@ -1,14 +1,11 @@
 package com.memorio.backend.gamification;
 
-import com.memorio.backend.exercise.ExerciseAttemptRepository;
-import com.memorio.backend.exercise.ExerciseSessionRepository;
 import com.memorio.backend.exercise.ExerciseType;
 import com.memorio.backend.exercise.StreakService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
-import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -22,43 +19,23 @@ import java.util.UUID;
  * - Accuracy badges: FIRST_PERFECT, PERFECT_10
  * - Exercise mastery: WORD_MASTER, FACE_MASTER, NUMBER_MASTER
  * - Points badges: POINTS_1000, POINTS_10000, POINTS_50000
+ *
+ * A user's awarded badges are loaded once as a {@link BadgeCode} bitmask and every rule is
+ * evaluated in memory against the counters in {@link UserStats}; new badges are inserted in one batch.
  */
 @Service
 public class BadgeService {
 
     private final UserBadgeRepository badgeRepo;
-    private final UserStatsRepository statsRepo;
-    private final ExerciseSessionRepository sessionRepo;
-    private final ExerciseAttemptRepository attemptRepo;
     private final StreakService streakService;
 
-    // Bonus points for earning badges
-    private static final int BONUS_STREAK_7 = 100;
-    private static final int BONUS_STREAK_30 = 250;
-    private static final int BONUS_STREAK_100 = 500;
-    private static final int BONUS_EXERCISES_10 = 50;
-    private static final int BONUS_EXERCISES_50 = 150;
-    private static final int BONUS_EXERCISES_100 = 300;
-    private static final int BONUS_EXERCISES_500 = 750;
-    private static final int BONUS_FIRST_PERFECT = 50;
-    private static final int BONUS_PERFECT_10 = 200;
-    private static final int BONUS_MASTERY = 300;
-    private static final int BONUS_POINTS_1000 = 100;
-    private static final int BONUS_POINTS_10000 = 250;
-    private static final int BONUS_POINTS_50000 = 500;
-
     // Thresholds
     private static final int MASTERY_EXERCISE_COUNT = 25;
+    private static final long STREAK_BADGES = BadgeCode.STREAK_7.bit() | BadgeCode.STREAK_30.bit() | BadgeCode.STREAK_100.bit();
 
     public BadgeService(UserBadgeRepository badgeRepo,
-                        UserStatsRepository statsRepo,
-                        ExerciseSessionRepository sessionRepo,
-                        ExerciseAttemptRepository attemptRepo,
                         StreakService streakService) {
         this.badgeRepo = badgeRepo;
-        this.statsRepo = statsRepo;
-        this.sessionRepo = sessionRepo;
-        this.attemptRepo = attemptRepo;
         this.streakService = streakService;
     }
 
@@ -69,132 +46,96 @@ public class BadgeService {
 
     /**
      * Evaluates all badge conditions after an exercise completion.
-     * Call this after updating user stats with the current exercise result.
+     * Call this after recording the current exercise in the stats counters
+     * ({@link UserStats#recordCompletedSession}, {@link UserStats#recordPerfectAttempt}).
      *
-     * @param userId The user's ID
+     * @param stats The user's stats, counters already including the current exercise
      * @param exerciseType The type of exercise just completed
      * @param wasPerfect Whether the current exercise had 100% accuracy
      * @param currentPoints The user's total points AFTER adding points from current exercise
      * @return BadgeResult containing newly awarded badges and total bonus points
      */
     @Transactional
-    public BadgeResult evaluateAndAwardBadges(UUID userId, ExerciseType exerciseType,
+    public BadgeResult evaluateAndAwardBadges(UserStats stats, ExerciseType exerciseType,
                                                boolean wasPerfect, long currentPoints) {
-        List<String> newBadges = new ArrayList<>();
-        int bonusPoints = 0;
+        UUID userId = stats.getUserId();
+        var awards = new Awards(BadgeCode.maskOf(badgeRepo.findCodesByUserId(userId)));
 
         // === FIRST ATTEMPT ===
-        if (awardIfNew(userId, "FIRST_ATTEMPT")) {
-            newBadges.add("FIRST_ATTEMPT");
-        }
+        awards.awardIf(true, BadgeCode.FIRST_ATTEMPT);
 
         // === STREAK BADGES ===
-        int currentStreak = streakService.computeCurrentStreak(userId, ZoneId.of("UTC"));
-
-        if (currentStreak >= 7 && awardIfNew(userId, "STREAK_7")) {
-            newBadges.add("STREAK_7");
-            bonusPoints += BONUS_STREAK_7;
-        }
-        if (currentStreak >= 30 && awardIfNew(userId, "STREAK_30")) {
-            newBadges.add("STREAK_30");
-            bonusPoints += BONUS_STREAK_30;
-        }
-        if (currentStreak >= 100 && awardIfNew(userId, "STREAK_100")) {
-            newBadges.add("STREAK_100");
-            bonusPoints += BONUS_STREAK_100;
+        if (!awards.ownsAll(STREAK_BADGES)) {
+            int currentStreak = streakService.computeCurrentStreak(userId, StreakService.DEFAULT_ZONE);
+            awards.awardIf(currentStreak >= 7, BadgeCode.STREAK_7);
+            awards.awardIf(currentStreak >= 30, BadgeCode.STREAK_30);
+            awards.awardIf(currentStreak >= 100, BadgeCode.STREAK_100);
         }
 
         // === EXERCISE MILESTONE BADGES ===
-        long completedExercises = sessionRepo.countCompletedByUserId(userId);
-
-        if (completedExercises >= 10 && awardIfNew(userId, "EXERCISES_10")) {
-            newBadges.add("EXERCISES_10");
-            bonusPoints += BONUS_EXERCISES_10;
-        }
-        if (completedExercises >= 50 && awardIfNew(userId, "EXERCISES_50")) {
-            newBadges.add("EXERCISES_50");
-            bonusPoints += BONUS_EXERCISES_50;
-        }
-        if (completedExercises >= 100 && awardIfNew(userId, "EXERCISES_100")) {
-            newBadges.add("EXERCISES_100");
-            bonusPoints += BONUS_EXERCISES_100;
-        }
-        if (completedExercises >= 500 && awardIfNew(userId, "EXERCISES_500")) {
-            newBadges.add("EXERCISES_500");
-            bonusPoints += BONUS_EXERCISES_500;
-        }
+        long completedExercises = stats.getCompletedSessions();
+        awards.awardIf(completedExercises >= 10, BadgeCode.EXERCISES_10);
+        awards.awardIf(completedExercises >= 50, BadgeCode.EXERCISES_50);
+        awards.awardIf(completedExercises >= 100, BadgeCode.EXERCISES_100);
+        awards.awardIf(completedExercises >= 500, BadgeCode.EXERCISES_500);
 
         // === PERFECT SCORE BADGES ===
         if (wasPerfect) {
             // First perfect is awarded immediately when first 100% is achieved
-            if (awardIfNew(userId, "FIRST_PERFECT")) {
-                newBadges.add("FIRST_PERFECT");
-                bonusPoints += BONUS_FIRST_PERFECT;
-            }
-
-            // Check total perfect scores for PERFECT_10
-            long perfectCount = attemptRepo.countPerfectScoresByUserId(userId);
-            if (perfectCount >= 10 && awardIfNew(userId, "PERFECT_10")) {
-                newBadges.add("PERFECT_10");
-                bonusPoints += BONUS_PERFECT_10;
-            }
+            awards.awardIf(true, BadgeCode.FIRST_PERFECT);
+            awards.awardIf(stats.getPerfectAttempts() >= 10, BadgeCode.PERFECT_10);
         }
 
         // === EXERCISE MASTERY BADGES ===
         // Award mastery badges when user completes 25+ exercises of a specific type
-        if (exerciseType == ExerciseType.WORD_LINKING) {
-            long wordCount = sessionRepo.countCompletedByUserIdAndType(userId, ExerciseType.WORD_LINKING);
-            if (wordCount >= MASTERY_EXERCISE_COUNT && awardIfNew(userId, "WORD_MASTER")) {
-                newBadges.add("WORD_MASTER");
-                bonusPoints += BONUS_MASTERY;
-            }
-        }
-        if (exerciseType == ExerciseType.NAMES_FACES) {
-            long faceCount = sessionRepo.countCompletedByUserIdAndType(userId, ExerciseType.NAMES_FACES);
-            if (faceCount >= MASTERY_EXERCISE_COUNT && awardIfNew(userId, "FACE_MASTER")) {
-                newBadges.add("FACE_MASTER");
-                bonusPoints += BONUS_MASTERY;
-            }
-        }
-        if (exerciseType == ExerciseType.NUMBER_PEG) {
-            long numberCount = sessionRepo.countCompletedByUserIdAndType(userId, ExerciseType.NUMBER_PEG);
-            if (numberCount >= MASTERY_EXERCISE_COUNT && awardIfNew(userId, "NUMBER_MASTER")) {
-                newBadges.add("NUMBER_MASTER");
-                bonusPoints += BONUS_MASTERY;
-            }
+        BadgeCode mastery = switch (exerciseType) {
+            case WORD_LINKING -> BadgeCode.WORD_MASTER;
+            case NAMES_FACES -> BadgeCode.FACE_MASTER;
+            case NUMBER_PEG -> BadgeCode.NUMBER_MASTER;
+            default -> null;
+        };
+        if (mastery != null) {
+            awards.awardIf(stats.getCompletedSessions(exerciseType) >= MASTERY_EXERCISE_COUNT, mastery);
         }
 
         // === POINTS BADGES ===
         // Note: currentPoints should already include base points from current exercise
         // Bonus points from badges will be added after this evaluation
-        long pointsWithBonus = currentPoints + bonusPoints;
-
-        if (pointsWithBonus >= 1000 && awardIfNew(userId, "POINTS_1000")) {
-            newBadges.add("POINTS_1000");
-            bonusPoints += BONUS_POINTS_1000;
-        }
-        if (pointsWithBonus >= 10000 && awardIfNew(userId, "POINTS_10000")) {
-            newBadges.add("POINTS_10000");
-            bonusPoints += BONUS_POINTS_10000;
+        long pointsWithBonus = currentPoints + awards.bonusPoints;
+        awards.awardIf(pointsWithBonus >= 1000, BadgeCode.POINTS_1000);
+        awards.awardIf(pointsWithBonus >= 10000, BadgeCode.POINTS_10000);
+        awards.awardIf(pointsWithBonus >= 50000, BadgeCode.POINTS_50000);
+
+        if (!awards.newBadges.isEmpty()) {
+            OffsetDateTime now = OffsetDateTime.now();
+            List<UserBadge> rows = new ArrayList<>(awards.newBadges.size());
+            for (String code : awards.newBadges) {
+                rows.add(new UserBadge(UUID.randomUUID(), userId, code, now));
+            }
+            badgeRepo.saveAll(rows);
         }
-        if (pointsWithBonus >= 50000 && awardIfNew(userId, "POINTS_50000")) {
-            newBadges.add("POINTS_50000");
-            bonusPoints += BONUS_POINTS_50000;
+        return new BadgeResult(awards.newBadges, awards.bonusPoints);
+    }
+
+    /** Badges owned so far plus what this evaluation awarded. */
+    private static final class Awards {
+        private long owned;
+        private final List<String> newBadges = new ArrayList<>();
+        private int bonusPoints;
+
+        private Awards(long owned) {
+            this.owned = owned;
         }
 
-        return new BadgeResult(newBadges, bonusPoints);
-    }
+        boolean ownsAll(long mask) {
+            return (owned & mask) == mask;
+        }
 
-    /**
-     * Awards a badge if the user doesn't already have it.
-     * @return true if badge was newly awarded, false if user already had it
-     */
-    private boolean awardIfNew(UUID userId, String badgeCode) {
-        if (badgeRepo.existsByUserIdAndCode(userId, badgeCode)) {
-            return false;
+        void awardIf(boolean condition, BadgeCode code) {
+            if (!condition || (owned & code.bit()) != 0) return;
+            owned |= code.bit();
+            newBadges.add(code.name());
+            bonusPoints += code.bonusPoints();
         }
-        var badge = new UserBadge(UUID.randomUUID(), userId, badgeCode, OffsetDateTime.now());
-        badgeRepo.save(badge);
-        return true;
     }
 }
@@ -1,12 +1,14 @@
 package com.memorio.backend.gamification;
 import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
 import java.time.OffsetDateTime;
 import java.util.UUID;
 
 @Entity
 @Table(name = "user_badges",
         uniqueConstraints = {@UniqueConstraint(columnNames = {"user_id", "code"})})
-public class UserBadge {
+public class UserBadge implements Persistable<UUID> {
     @Id
     private UUID id;
     @Column(name = "user_id", nullable = false)
@@ -16,6 +18,10 @@ public class UserBadge {
     @Column(name = "awarded_at", nullable = false)
     private OffsetDateTime awardedAt;
 
+    // Ids are assigned up front; lets saveAll insert new badges without a SELECT per row
+    @Transient
+    private boolean isNew = true;
+
     protected UserBadge(){}
     public UserBadge(UUID id, UUID userId, String code, OffsetDateTime awardedAt){
         this.id = id;
@@ -28,4 +34,13 @@ public class UserBadge {
     public UUID getUserId(){return userId;}
     public String getCode(){return code;}
     public OffsetDateTime getAwardedAt(){ return awardedAt;}
+
+    @Override
+    public boolean isNew(){return isNew;}
+
+    @PostLoad
+    @PostPersist
+    void markNotNew(){
+        this.isNew = false;
+    }
 }
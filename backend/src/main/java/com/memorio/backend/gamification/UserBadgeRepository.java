@@ -1,12 +1,14 @@
 package com.memorio.backend.gamification;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 import java.util.UUID;
 
 public interface UserBadgeRepository extends JpaRepository<UserBadge, UUID>{
     List<UserBadge> findByUserId(UUID userId);
-    boolean existsByUserIdAndCode(UUID userId, String code);
 
+    @Query("SELECT b.code FROM UserBadge b WHERE b.userId = :userId")
+    List<String> findCodesByUserId(@Param("userId") UUID userId);
 }
-
@@ -1,4 +1,5 @@
 package com.memorio.backend.gamification;
+import com.memorio.backend.exercise.ExerciseType;
 import jakarta.persistence.*;
 import java.util.UUID;
 
@@ -15,6 +16,23 @@ public class UserStats {
     @Column(name = "total_correct", nullable = false)
     private long totalCorrect;
 
+    // Running counters for badge rules, kept in step with exercise_sessions / exercise_attempts
+    @Column(name = "completed_sessions", nullable = false)
+    private long completedSessions;
+    @Column(name = "word_linking_completed", nullable = false)
+    private long wordLinkingCompleted;
+    @Column(name = "names_faces_completed", nullable = false)
+    private long namesFacesCompleted;
+    @Column(name = "number_peg_completed", nullable = false)
+    private long numberPegCompleted;
+    @Column(name = "perfect_attempts", nullable = false)
+    private long perfectAttempts;
+
+    // Outbox workers on different instances may apply the same user's submits; the loser retries
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     protected UserStats(){}
 
     public UserStats(UUID userId){
@@ -24,10 +42,35 @@ public class UserStats {
     public long getTotalPoints(){return totalPoints;}
     public long getTotalAttempts(){return totalAttempts;}
     public long getTotalCorrect(){return totalCorrect;}
+    public long getCompletedSessions(){return completedSessions;}
+    public long getPerfectAttempts(){return perfectAttempts;}
+
+    public long getCompletedSessions(ExerciseType type){
+        return switch (type){
+            case WORD_LINKING -> wordLinkingCompleted;
+            case NAMES_FACES -> namesFacesCompleted;
+            case NUMBER_PEG -> numberPegCompleted;
+            default -> 0;
+        };
+    }
 
     public void addAttempt(int correct, int points){
         this.totalAttempts+=1;
         this.totalCorrect += correct;
         this.totalPoints += points;
     }
+
+    public void recordCompletedSession(ExerciseType type){
+        this.completedSessions += 1;
+        switch (type){
+            case WORD_LINKING -> this.wordLinkingCompleted += 1;
+            case NAMES_FACES -> this.namesFacesCompleted += 1;
+            case NUMBER_PEG -> this.numberPegCompleted += 1;
+            default -> { }
+        }
+    }
+
+    public void recordPerfectAttempt(){
+        this.perfectAttempts += 1;
+    }
 }
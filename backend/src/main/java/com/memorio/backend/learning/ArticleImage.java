@@ -25,9 +25,13 @@ public class ArticleImage {
     private String filename;
 
     @JdbcTypeCode(Types.VARBINARY)
-    @Column(name = "image_data", nullable = false, columnDefinition = "bytea")
+    @Column(name = "image_data", columnDefinition = "bytea")
     private byte[] imageData;
 
+    // SHA-256 key in ImageStorage; null for rows whose bytes are still in image_data
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     @Column(name = "content_type", nullable = false, length = 50)
     private String contentType;
 
@@ -76,6 +80,13 @@ public class ArticleImage {
         this.fileSize = imageData != null ? imageData.length : 0;
     }
 
+    public String getContentHash() { return contentHash; }
+    public void setStoredContent(String contentHash, long fileSize) {
+        this.contentHash = contentHash;
+        this.fileSize = fileSize;
+        this.imageData = null;
+    }
+
     public String getContentType() { return contentType; }
     public void setContentType(String contentType) { this.contentType = contentType; }
 
@@ -0,0 +1,9 @@
+package com.memorio.backend.learning;
+
+import java.util.UUID;
+
+/**
+ * Article image metadata for serving the image without reading its bytes.
+ * {@code contentHash} is null for rows whose bytes are still inline in the database.
+ */
+public record ArticleImageMeta(UUID id, String contentHash, String contentType) {}
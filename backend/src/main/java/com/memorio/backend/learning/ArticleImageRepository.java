@@ -1,6 +1,8 @@
 package com.memorio.backend.learning;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -9,4 +11,8 @@ import java.util.UUID;
 @Repository
 public interface ArticleImageRepository extends JpaRepository<ArticleImage, UUID> {
     Optional<ArticleImage> findByArticleId(UUID articleId);
+
+    @Query("SELECT new com.memorio.backend.learning.ArticleImageMeta(ai.id, ai.contentHash, ai.contentType) " +
+           "FROM ArticleImage ai WHERE ai.id = :id")
+    Optional<ArticleImageMeta> findMetaById(@Param("id") UUID id);
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.memorio.backend.learning;
 
+import com.memorio.backend.common.storage.ImageStorage;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -9,19 +11,22 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
 public class ArticleImageService {
 
     private final ArticleImageRepository imageRepository;
+    private final ImageStorage imageStorage;
     private static final long MAX_FILE_SIZE = 5 * 1024 * 1024; // 5MB
     private static final List<String> ALLOWED_TYPES = Arrays.asList(
             "image/jpeg", "image/png", "image/gif", "image/webp"
     );
 
-    public ArticleImageService(ArticleImageRepository imageRepository) {
+    public ArticleImageService(ArticleImageRepository imageRepository, ImageStorage imageStorage) {
         this.imageRepository = imageRepository;
+        this.imageStorage = imageStorage;
     }
 
     /**
@@ -43,11 +48,12 @@ public class ArticleImageService {
         ArticleImage articleImage = new ArticleImage(
                 article,
                 file.getOriginalFilename(),
-                imageData,
+                null,
                 file.getContentType(),
                 width,
                 height
         );
+        articleImage.setStoredContent(imageStorage.store(imageData), imageData.length);
 
         return imageRepository.save(articleImage);
     }
@@ -60,6 +66,24 @@ public class ArticleImageService {
                 .orElseThrow(() -> new RuntimeException("Image not found"));
     }
 
+    /**
+     * Get image metadata by ID without loading the image bytes.
+     */
+    public ArticleImageMeta getImageMeta(UUID imageId) {
+        return imageRepository.findMetaById(imageId)
+                .orElseThrow(() -> new RuntimeException("Image not found"));
+    }
+
+    /**
+     * Open image content for streaming, from the image store or, for rows not yet
+     * migrated, from the row itself.
+     */
+    public Optional<Resource> openImage(ArticleImageMeta image) {
+        return imageStorage.open(image.contentHash(), () -> imageRepository.findById(image.id())
+                .map(ArticleImage::getImageData)
+                .orElse(null));
+    }
+
     /**
      * Delete image.
      */
@@ -11,12 +11,15 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
+import org.springframework.core.io.Resource;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -224,15 +227,26 @@ public class LearningController {
 
     /**
      * Get article image by ID.
+     * Answers If-None-Match with 304 from metadata alone; Range requests get 206.
      */
     @GetMapping("/images/{imageId}")
-    public ResponseEntity<byte[]> getImage(@PathVariable UUID imageId) {
-        ArticleImage image = articleImageService.getImage(imageId);
-
-        return ResponseEntity.ok()
-                .header("Content-Type", image.getContentType())
-                .header("Content-Length", String.valueOf(image.getFileSize()))
-                .header("Cache-Control", "public, max-age=31536000") // Cache for 1 year
-                .body(image.getImageData());
+    public ResponseEntity<Resource> getImage(@PathVariable UUID imageId, WebRequest request) {
+        ArticleImageMeta image = articleImageService.getImageMeta(imageId);
+        if (image.contentHash() != null && request.checkNotModified(image.contentHash())) {
+            return null; // 304 written by checkNotModified
+        }
+
+        Optional<Resource> content = articleImageService.openImage(image);
+        if (content.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header("Content-Type", image.contentType())
+                .header("Cache-Control", "public, max-age=31536000"); // Cache for 1 year
+        if (image.contentHash() != null) {
+            response.eTag(image.contentHash());
+        }
+        return response.body(content.get());
     }
 }
\ No newline at end of file
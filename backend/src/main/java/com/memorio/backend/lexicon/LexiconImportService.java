@@ -1,4 +1,5 @@
 package com.memorio.backend.lexicon;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -14,12 +15,14 @@ import java.util.*;
 public class LexiconImportService {
 
     private final WordRepository wordRepo;
+    private final ApplicationEventPublisher events;
     private static final int MAX_FILE_SIZE = 10 * 1024 * 1024;
     private static final int MAX_LINES = 100000;
     private static final int BATCH_SIZE = 500;
 
-    public LexiconImportService(WordRepository wordRepo){
+    public LexiconImportService(WordRepository wordRepo, ApplicationEventPublisher events){
         this.wordRepo = wordRepo;
+        this.events = events;
     }
 
     @Transactional
@@ -83,6 +86,10 @@ public class LexiconImportService {
             if (!batch.isEmpty()){
                 wordRepo.saveAll(batch);
             }
+            if (inserted > 0){
+                // Delivered after commit so pickers never reload a half-written lexicon
+                events.publishEvent(new LexiconImportedEvent(language, inserted));
+            }
             return new ImportResult(totalLines, inserted, skipped);
 
 
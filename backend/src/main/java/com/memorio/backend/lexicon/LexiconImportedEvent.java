@@ -0,0 +1,7 @@
+package com.memorio.backend.lexicon;
+
+/**
+ * Published by {@link LexiconImportService} when an import added words to a language.
+ */
+public record LexiconImportedEvent(String language, int inserted) {
+}
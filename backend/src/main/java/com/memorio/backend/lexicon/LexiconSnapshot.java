@@ -0,0 +1,75 @@
+package com.memorio.backend.lexicon;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Immutable in-memory view of one language's lexicon, ordered by frequency rank.
+ *
+ * Word texts live in a plain array so a level window is just an index range, and
+ * sampling is a partial Fisher-Yates shuffle over a per-thread scratch buffer.
+ */
+final class LexiconSnapshot {
+
+    static final int LEVELS = 10;
+    static final int MAX_WINDOW = 1000;
+
+    private static final ThreadLocal<int[]> SCRATCH = ThreadLocal.withInitial(() -> new int[MAX_WINDOW]);
+
+    private final String language;
+    private final String[] texts;
+    private final int baseWindow;
+    private final int[] levelStart; // index 0 = level 1
+
+    LexiconSnapshot(String language, String[] texts){
+        this.language = language;
+        this.texts = texts;
+        this.baseWindow = Math.min(MAX_WINDOW, (int) Math.ceil(texts.length * 0.2));
+        this.levelStart = new int[LEVELS];
+        for (int pos = 0; pos < LEVELS; pos++){
+            levelStart[pos] = windowStart(pos, baseWindow);
+        }
+    }
+
+    String getLanguage(){return language;}
+    int size(){return texts.length;}
+
+    /**
+     * Picks up to {@code count} distinct words from the frequency window for {@code level}.
+     * Level 1 draws from the most frequent words, level 10 from the rarest.
+     */
+    List<String> sample(int level, int count, Random rng){
+        if (texts.length == 0 || count <= 0) return List.of();
+
+        int pos = Math.max(1, Math.min(level, LEVELS)) - 1;
+        int windowSize = baseWindow;
+        int start = levelStart[pos];
+        if (count * 2 > baseWindow){
+            // Large requests widen the window the same way the paged query used to
+            windowSize = Math.min(MAX_WINDOW, count * 2);
+            start = windowStart(pos, windowSize);
+        }
+        int end = Math.min(texts.length, start + windowSize);
+        int available = end - start;
+        int picks = Math.min(count, available);
+
+        int[] idx = SCRATCH.get();
+        for (int i = 0; i < available; i++){
+            idx[i] = start + i;
+        }
+        String[] out = new String[picks];
+        for (int i = 0; i < picks; i++){
+            int j = i + rng.nextInt(available - i);
+            int tmp = idx[i];
+            idx[i] = idx[j];
+            idx[j] = tmp;
+            out[i] = texts[idx[i]];
+        }
+        return Arrays.asList(out);
+    }
+
+    private int windowStart(int pos, int windowSize){
+        return (int) Math.round((pos / (double) (LEVELS - 1)) * Math.max(0, texts.length - windowSize));
+    }
+}
@@ -1,41 +1,36 @@
 package com.memorio.backend.lexicon;
-import org.springframework.data.domain.PageRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import java.util.ArrayList;
-import java.util.Collections;
+import org.springframework.transaction.event.TransactionalEventListener;
+
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Picks exercise words from an in-memory, per-language lexicon snapshot.
+ * Snapshots are loaded on first use and dropped when an import commits; a load that overlaps
+ * an import is served once but not cached, so it cannot outlive the import.
+ */
 @Service
 public class WordPicker {
 
+    private static final Logger logger = LoggerFactory.getLogger(WordPicker.class);
+
     private final WordRepository repo;
-    private final Random rng = new Random();
+    private final Map<String, LexiconSnapshot> snapshots = new ConcurrentHashMap<>();
+    // Bumped before every drop; a load only stays cached if no drop happened since it started
+    private final AtomicLong version = new AtomicLong();
+
     public WordPicker(WordRepository repo){
         this.repo = repo;
     }
 
     public List<String>pickWords(String language, int level, int count){
-        int totalWords = repo.countByLanguage(language);
-        if(totalWords == 0) return List.of();
-
-        int windowSize = Math.min(1000, Math.max(count*2, (int)Math.ceil(totalWords*0.2)));
-        int totalLevels = Math.max(1,10);
-        int pos = Math.max(1, Math.min(level, 10))-1;
-        int start = (int)Math.round((pos/(double)(totalLevels-1)) * Math.max(0, totalWords-windowSize));
-        List<Word> windowWords = repo.findByLanguageWithPagination(language,
-                PageRequest.of(start/Math.max(1, windowSize), windowSize));
-
-        if (windowWords.isEmpty()) return List.of();
-        List<Integer> indices = new ArrayList<>();
-        for (int i = 0; i<windowWords.size(); i++){
-            indices.add(i);
-        }
-        Collections.shuffle(indices, rng);
-        List<String>out = new ArrayList<>();
-        for (int i = 0; i < indices.size() && out.size() < count; i++){
-            out.add(windowWords.get(indices.get(i)).getText());
-        }
-        return out;
+        return snapshot(language).sample(level, count, ThreadLocalRandom.current());
     }
 
     public List<String> pickRandom(String language, int count){
@@ -44,4 +39,37 @@ public class WordPicker {
                 .toList();
     }
 
+    /**
+     * Drops the cached snapshot so the next pick reloads it from the database.
+     */
+    public void refresh(String language){
+        version.incrementAndGet();
+        snapshots.remove(language);
+    }
+
+    @TransactionalEventListener
+    public void onLexiconImported(LexiconImportedEvent event){
+        logger.info("Lexicon import committed for '{}' ({} new words), refreshing snapshot",
+                event.language(), event.inserted());
+        refresh(event.language());
+    }
+
+    private LexiconSnapshot snapshot(String language){
+        LexiconSnapshot snapshot = snapshots.get(language);
+        if (snapshot != null) return snapshot;
+
+        long loadedFor = version.get();
+        String[] texts = repo.findTextsByLanguageOrderByRank(language).toArray(String[]::new);
+        LexiconSnapshot loaded = new LexiconSnapshot(language, texts);
+        LexiconSnapshot existing = snapshots.putIfAbsent(language, loaded);
+        if (existing != null) return existing;
+        if (version.get() != loadedFor){
+            // An import committed while loading; the words may predate it
+            snapshots.remove(language, loaded);
+            return loaded;
+        }
+
+        logger.debug("Loaded lexicon snapshot for '{}' with {} words", language, loaded.size());
+        return loaded;
+    }
 }
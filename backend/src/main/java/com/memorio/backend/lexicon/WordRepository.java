@@ -1,5 +1,4 @@
 package com.memorio.backend.lexicon;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,17 +14,11 @@ public interface WordRepository extends JpaRepository<Word, UUID> {
     List<Word> findAllByLanguageOrderByRank(String language);
 
     @Query("""
-            SELECT w FROM Word w 
+            SELECT w.text FROM Word w 
             WHERE w.language = :language
             ORDER BY CASE WHEN w.freqRank IS NULL THEN 1 ELSE 0 END, w.freqRank ASC
             """)
-    List<Word> findByLanguageWithPagination(@Param("language") String language, Pageable pageable);
-
-    @Query("""
-            SELECT COUNT(w) FROM Word w 
-            WHERE w.language = :language
-            """)
-    int countByLanguage(@Param("language") String language);
+    List<String> findTextsByLanguageOrderByRank(@Param("language") String language);
 
     @Query("SELECT COALESCE (MAX(w.freqRank), 0) FROM Word w WHERE w.language = :language")
     Integer findMaxRankByLanguage(String language);
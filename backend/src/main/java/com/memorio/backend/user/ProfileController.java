@@ -2,6 +2,7 @@ package com.memorio.backend.user;
 import com.memorio.backend.auth.VerificationService;
 import com.memorio.backend.common.error.NotFoundException;
 import com.memorio.backend.common.security.ClientIpResolver;
+import com.memorio.backend.exercise.ExercisePrefetchService;
 import com.memorio.backend.user.dto.LanguageDto;
 import com.memorio.backend.common.security.AuthenticationUtil;
 import com.memorio.backend.user.dto.LinkedProviderDto;
@@ -25,15 +26,18 @@ public class ProfileController {
     private final UserIdentityRepository userIdentityRepository;
     private final VerificationService verificationService;
     private final ClientIpResolver clientIpResolver;
+    private final ExercisePrefetchService exercisePrefetch;
 
     public ProfileController(UserRepository users,
                             UserIdentityRepository userIdentityRepository,
                             VerificationService verificationService,
-                            ClientIpResolver clientIpResolver) {
+                            ClientIpResolver clientIpResolver,
+                            ExercisePrefetchService exercisePrefetch) {
         this.users = users;
         this.userIdentityRepository = userIdentityRepository;
         this.verificationService = verificationService;
         this.clientIpResolver = clientIpResolver;
+        this.exercisePrefetch = exercisePrefetch;
     }
     @GetMapping("/profile")
     @Transactional(readOnly = true)
@@ -96,6 +100,7 @@ public class ProfileController {
             }
             if (request.getPreferredLanguage() != null) {
                 user.setPreferredLanguage(request.getPreferredLanguage());
+                exercisePrefetch.invalidate(userId);
             }
             user = users.save(user);
 
@@ -154,6 +159,7 @@ public class ProfileController {
         }
         u.setPreferredLanguage(language.toLowerCase());
         users.save(u);
+        exercisePrefetch.invalidate(userId);
         return ResponseEntity.ok(Map.of("language", u.getPreferredLanguage()));
     }
 
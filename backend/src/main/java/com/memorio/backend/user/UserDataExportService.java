@@ -130,6 +130,7 @@ public class UserDataExportService {
         // - user_article_progress
         // - user_skill_mastery
         // - skill_attempt_history
+        // - skill_attempt_daily
 
         userRepository.delete(user);
         userRepository.flush();
@@ -0,0 +1,32 @@
+-- Write-behind event log for exercise submits
+-- The submit request persists the attempt plus one outbox row; a background worker
+-- applies BKT, badge, streak and stats side effects from these rows in batches.
+
+CREATE TABLE IF NOT EXISTS exercise_submit_outbox (
+    id                UUID PRIMARY KEY,
+    user_id           UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    session_id        UUID NOT NULL REFERENCES exercise_sessions(id) ON DELETE CASCADE,
+    exercise_type     VARCHAR(64) NOT NULL,
+    skill_level       INTEGER NOT NULL,      -- user's level when the exercise was played
+    correct           INTEGER NOT NULL,
+    base_points       INTEGER NOT NULL,      -- points before badge bonuses
+    was_correct       BOOLEAN NOT NULL,      -- BKT outcome (order accuracy >= 70%)
+    was_perfect       BOOLEAN NOT NULL,
+    response_time_ms  INTEGER,
+    created_at        TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    processed_at      TIMESTAMPTZ,
+    attempts          INTEGER NOT NULL DEFAULT 0,
+    locked_until      TIMESTAMPTZ,           -- worker lease, expired leases are re-claimed
+    last_error        VARCHAR(500)
+);
+
+-- Workers only ever scan unprocessed rows in arrival order
+CREATE INDEX IF NOT EXISTS idx_submit_outbox_pending
+    ON exercise_submit_outbox(created_at)
+    WHERE processed_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_submit_outbox_processed
+    ON exercise_submit_outbox(processed_at)
+    WHERE processed_at IS NOT NULL;
+
+COMMENT ON TABLE exercise_submit_outbox IS 'Pending and processed submit side effects (BKT, badges, streak, stats)';
@@ -0,0 +1,15 @@
+-- Per-user streak state, one row per timezone the streak is viewed in.
+-- Updated in O(1) when an exercise is submitted; rows for existing users are
+-- built by StreakBackfillJob (UTC) or lazily on first read of another zone.
+
+CREATE TABLE IF NOT EXISTS user_streaks (
+    user_id           UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    zone_id           VARCHAR(64) NOT NULL,   -- java.time.ZoneId#getId, e.g. 'UTC', 'Europe/Warsaw'
+    current_streak    INTEGER NOT NULL DEFAULT 0,
+    longest_streak    INTEGER NOT NULL DEFAULT 0,
+    last_active_date  DATE,                   -- local date in zone_id
+    updated_at        TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (user_id, zone_id)
+);
+
+COMMENT ON TABLE user_streaks IS 'Incrementally maintained exercise streaks per user and timezone';
@@ -0,0 +1,42 @@
+-- Running counters for badge evaluation so a submit no longer counts sessions/attempts.
+-- Maintained by the submit side-effect processor from here on.
+
+ALTER TABLE user_stats
+    ADD COLUMN IF NOT EXISTS completed_sessions      BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS word_linking_completed  BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS names_faces_completed   BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS number_peg_completed    BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS perfect_attempts        BIGINT NOT NULL DEFAULT 0;
+
+UPDATE user_stats us
+SET completed_sessions     = c.total,
+    word_linking_completed = c.word_linking,
+    names_faces_completed  = c.names_faces,
+    number_peg_completed   = c.number_peg
+FROM (
+    SELECT user_id,
+           COUNT(*)                                          AS total,
+           COUNT(*) FILTER (WHERE type = 'WORD_LINKING')     AS word_linking,
+           COUNT(*) FILTER (WHERE type = 'NAMES_FACES')      AS names_faces,
+           COUNT(*) FILTER (WHERE type = 'NUMBER_PEG')       AS number_peg
+    FROM exercise_sessions
+    WHERE finished_at IS NOT NULL
+    GROUP BY user_id
+) c
+WHERE us.user_id = c.user_id;
+
+UPDATE user_stats us
+SET perfect_attempts = p.perfect
+FROM (
+    SELECT s.user_id, COUNT(*) AS perfect
+    FROM exercise_attempts a
+    JOIN exercise_sessions s ON a.session_id = s.id
+    WHERE a.accuracy = 1.0
+    GROUP BY s.user_id
+) p
+WHERE us.user_id = p.user_id;
+
+-- Whether the submit finished its session. NULL marks rows queued before this migration;
+-- their sessions and attempts are already included in the counters above.
+ALTER TABLE exercise_submit_outbox
+    ADD COLUMN IF NOT EXISTS session_completed BOOLEAN;
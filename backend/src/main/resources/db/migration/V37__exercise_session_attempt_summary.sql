@@ -0,0 +1,32 @@
+-- Last-attempt summary kept on the session row so the history endpoint reads one table.
+-- Maintained by ExerciseController.submit from here on.
+
+ALTER TABLE exercise_sessions
+    ADD COLUMN IF NOT EXISTS attempt_count INT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS last_correct  INT,
+    ADD COLUMN IF NOT EXISTS last_total    INT,
+    ADD COLUMN IF NOT EXISTS last_accuracy DOUBLE PRECISION;
+
+UPDATE exercise_sessions s
+SET attempt_count = c.attempt_count
+FROM (
+    SELECT session_id, COUNT(*) AS attempt_count
+    FROM exercise_attempts
+    GROUP BY session_id
+) c
+WHERE s.id = c.session_id;
+
+UPDATE exercise_sessions s
+SET last_correct  = l.correct,
+    last_total    = l.total,
+    last_accuracy = l.accuracy
+FROM (
+    SELECT DISTINCT ON (session_id) session_id, correct, total, accuracy
+    FROM exercise_attempts
+    ORDER BY session_id, created_at DESC
+) l
+WHERE s.id = l.session_id;
+
+-- Keyset order for history pages: (started_at, id) descending per user
+CREATE INDEX IF NOT EXISTS idx_exercise_sessions_user_started
+ON exercise_sessions(user_id, started_at DESC, id DESC);
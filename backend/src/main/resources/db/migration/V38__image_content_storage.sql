@@ -0,0 +1,19 @@
+-- Image bytes move out of the database into the content-addressed ImageStorage.
+-- Rows keep metadata plus the SHA-256 content key; image_data stays only for rows
+-- not yet moved by ImageBlobMigrationJob.
+
+ALTER TABLE face_images
+    ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64),
+    ALTER COLUMN image_data DROP NOT NULL;
+
+ALTER TABLE face_images
+    ADD CONSTRAINT face_images_content_present
+    CHECK (image_data IS NOT NULL OR content_hash IS NOT NULL);
+
+ALTER TABLE article_images
+    ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64),
+    ALTER COLUMN image_data DROP NOT NULL;
+
+ALTER TABLE article_images
+    ADD CONSTRAINT article_images_content_present
+    CHECK (image_data IS NOT NULL OR content_hash IS NOT NULL);
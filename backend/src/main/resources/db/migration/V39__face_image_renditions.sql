@@ -0,0 +1,14 @@
+-- Downscaled JPEG renditions of face images, served via ?size= on the face image endpoints.
+-- Bytes live in ImageStorage under content_hash, like the originals.
+
+CREATE TABLE IF NOT EXISTS face_image_renditions (
+    id            UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    face_image_id UUID NOT NULL REFERENCES face_images(id) ON DELETE CASCADE,
+    max_dimension INT NOT NULL,               -- Longest side fits in this many pixels
+    content_hash  VARCHAR(64) NOT NULL,
+    content_type  VARCHAR(50) NOT NULL,
+    file_size     BIGINT NOT NULL,
+    width         INT NOT NULL,
+    height        INT NOT NULL,
+    CONSTRAINT uq_face_image_renditions_size UNIQUE (face_image_id, max_dimension)
+);
@@ -0,0 +1,4 @@
+-- 64-bit difference hash (dHash) of each face image, for near-duplicate detection at ingest.
+-- NULL until computed; older images are filled in by the startup backfill.
+
+ALTER TABLE face_images ADD COLUMN IF NOT EXISTS perceptual_hash BIGINT;
@@ -0,0 +1,21 @@
+-- BKT parameters fitted per skill type by the offline EM recomputation over skill_attempt_history.
+-- New masteries start from these; skill types without a row keep the built-in defaults.
+
+CREATE TABLE IF NOT EXISTS bkt_skill_parameters (
+    skill_type          VARCHAR(50) PRIMARY KEY,
+    probability_init    DOUBLE PRECISION NOT NULL,
+    probability_learned DOUBLE PRECISION NOT NULL,
+    probability_guess   DOUBLE PRECISION NOT NULL,
+    probability_slip    DOUBLE PRECISION NOT NULL,
+    sequences           INTEGER NOT NULL,
+    attempts            BIGINT NOT NULL,
+    log_likelihood      DOUBLE PRECISION NOT NULL,
+    fitted_at           TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+COMMENT ON TABLE bkt_skill_parameters IS 'Per skill type BKT parameters fitted with EM over skill_attempt_history';
+
+-- The recomputation job reads history in keyset order on (skill_mastery_id, created_at, id);
+-- this supersedes the single-column mastery index
+CREATE INDEX IF NOT EXISTS idx_attempt_history_mastery_time ON skill_attempt_history(skill_mastery_id, created_at, id);
+DROP INDEX IF EXISTS idx_attempt_history_skill;
@@ -0,0 +1,93 @@
+-- Monthly range partitions on created_at for skill_attempt_history, plus daily per-user/per-skill
+-- rollups that replace raw rows once their partition passes the retention window.
+-- Partitions are named skill_attempt_history_YYYY_MM (UTC months). The rollup job keeps a few
+-- months created ahead; the default partition only catches rows outside every monthly range.
+
+ALTER TABLE skill_attempt_history RENAME TO skill_attempt_history_legacy;
+DROP INDEX IF EXISTS idx_attempt_history_user;
+DROP INDEX IF EXISTS idx_attempt_history_skill;
+DROP INDEX IF EXISTS idx_attempt_history_mastery_time; -- from V41, recreated on the partitioned table below
+DROP INDEX IF EXISTS idx_attempt_history_session;
+DROP INDEX IF EXISTS idx_attempt_history_created;
+
+CREATE TABLE skill_attempt_history (
+    id                             UUID NOT NULL DEFAULT gen_random_uuid(),
+    user_id                        UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    skill_mastery_id               UUID REFERENCES user_skill_mastery(id) ON DELETE CASCADE,
+    exercise_session_id            UUID REFERENCES exercise_sessions(id) ON DELETE CASCADE,
+    skill_type                     VARCHAR(50) NOT NULL,
+    difficulty_level               INTEGER NOT NULL,
+    was_correct                    BOOLEAN NOT NULL,
+    response_time_ms               INTEGER,
+    time_since_last_practice_hours DOUBLE PRECISION,
+    user_skill_level_at_time       INTEGER,
+    probability_known_before       DOUBLE PRECISION,
+    probability_known_after        DOUBLE PRECISION,
+    created_at                     TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    -- The partition key has to be part of the primary key
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE skill_attempt_history_default PARTITION OF skill_attempt_history DEFAULT;
+
+CREATE OR REPLACE FUNCTION create_skill_attempt_history_partition(month_start DATE) RETURNS VOID AS $$
+DECLARE
+    month_first DATE := date_trunc('month', month_start)::date;
+BEGIN
+    EXECUTE format(
+        'CREATE TABLE IF NOT EXISTS %I PARTITION OF skill_attempt_history FOR VALUES FROM (%L) TO (%L)',
+        'skill_attempt_history_' || to_char(month_first, 'YYYY_MM'),
+        month_first::timestamp AT TIME ZONE 'UTC',
+        (month_first + INTERVAL '1 month')::timestamp AT TIME ZONE 'UTC');
+END;
+$$ LANGUAGE plpgsql;
+
+DO $$
+DECLARE
+    first_month DATE;
+    last_month  DATE := date_trunc('month', NOW() AT TIME ZONE 'UTC')::date + INTERVAL '2 months';
+    m           DATE;
+BEGIN
+    SELECT COALESCE(date_trunc('month', MIN(created_at) AT TIME ZONE 'UTC')::date,
+                    date_trunc('month', NOW() AT TIME ZONE 'UTC')::date)
+    INTO first_month
+    FROM skill_attempt_history_legacy;
+
+    m := first_month;
+    WHILE m <= last_month LOOP
+        PERFORM create_skill_attempt_history_partition(m);
+        m := m + INTERVAL '1 month';
+    END LOOP;
+END $$;
+
+INSERT INTO skill_attempt_history (
+    id, user_id, skill_mastery_id, exercise_session_id, skill_type, difficulty_level, was_correct,
+    response_time_ms, time_since_last_practice_hours, user_skill_level_at_time,
+    probability_known_before, probability_known_after, created_at)
+SELECT id, user_id, skill_mastery_id, exercise_session_id, skill_type, difficulty_level, was_correct,
+       response_time_ms, time_since_last_practice_hours, user_skill_level_at_time,
+       probability_known_before, probability_known_after, created_at
+FROM skill_attempt_history_legacy;
+
+DROP TABLE skill_attempt_history_legacy;
+
+-- Keyset reads per user and per mastery (the latter also drives BKT recomputation)
+CREATE INDEX IF NOT EXISTS idx_attempt_history_user_time ON skill_attempt_history(user_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_attempt_history_mastery_time ON skill_attempt_history(skill_mastery_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_attempt_history_session ON skill_attempt_history(exercise_session_id);
+
+COMMENT ON TABLE skill_attempt_history IS 'Detailed history of all skill attempts for ML analysis and BKT debugging, partitioned by month';
+
+CREATE TABLE IF NOT EXISTS skill_attempt_daily (
+    user_id             UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    skill_type          VARCHAR(50) NOT NULL,
+    day                 DATE NOT NULL,
+    attempts            INTEGER NOT NULL,
+    correct_attempts    INTEGER NOT NULL,
+    difficulty_sum      BIGINT NOT NULL,
+    response_time_sum_ms BIGINT NOT NULL,
+    response_time_count INTEGER NOT NULL,
+    PRIMARY KEY (user_id, skill_type, day)
+);
+
+COMMENT ON TABLE skill_attempt_daily IS 'Daily per-user/per-skill totals of skill_attempt_history rows past retention (UTC days)';
@@ -0,0 +1,7 @@
+-- Review times per user for the in-memory review scheduler's cold loads and the due-for-review list.
+-- Replaces the global next_review_at index, which no query uses.
+
+CREATE INDEX IF NOT EXISTS idx_skill_mastery_user_review ON user_skill_mastery(user_id, next_review_at)
+    WHERE next_review_at IS NOT NULL AND skill_type <> 'QUIZ';
+
+DROP INDEX IF EXISTS idx_skill_mastery_review;
@@ -0,0 +1,23 @@
+-- Park submit outbox entries that ran out of attempts instead of leaving them unprocessed forever.
+-- Parked rows are excluded from the pending backlog and are either replayed by an admin or purged.
+
+ALTER TABLE exercise_submit_outbox
+    ADD COLUMN IF NOT EXISTS failed_at TIMESTAMPTZ;
+
+-- Entries that already exhausted the default of 5 attempts
+UPDATE exercise_submit_outbox
+SET failed_at = NOW()
+WHERE processed_at IS NULL AND attempts >= 5;
+
+DROP INDEX IF EXISTS idx_submit_outbox_pending;
+CREATE INDEX IF NOT EXISTS idx_submit_outbox_pending
+    ON exercise_submit_outbox(created_at)
+    WHERE processed_at IS NULL AND failed_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_submit_outbox_failed
+    ON exercise_submit_outbox(failed_at)
+    WHERE failed_at IS NOT NULL;
+
+-- Optimistic lock for stats rows written by concurrent outbox workers
+ALTER TABLE user_stats
+    ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
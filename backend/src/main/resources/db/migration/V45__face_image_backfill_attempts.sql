@@ -0,0 +1,6 @@
+-- Record that the rendition and perceptual hash backfills already tried an image, so images that
+-- yield nothing (smaller than every rendition, or undecodable) are not reread on every startup.
+
+ALTER TABLE face_images
+    ADD COLUMN IF NOT EXISTS renditions_attempted_at TIMESTAMPTZ,
+    ADD COLUMN IF NOT EXISTS hash_attempted_at TIMESTAMPTZ;
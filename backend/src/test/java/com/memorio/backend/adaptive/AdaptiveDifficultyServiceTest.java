@@ -0,0 +1,111 @@
+package com.memorio.backend.adaptive;
+
+import com.memorio.backend.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AdaptiveDifficultyService Unit Tests")
+class AdaptiveDifficultyServiceTest {
+
+    @Mock
+    private UserSkillMasteryRepository masteryRepo;
+
+    @Mock
+    private SkillAttemptHistoryRepository historyRepo;
+
+    @Mock
+    private UserRepository userRepo;
+
+    @Mock
+    private MasterySnapshotService snapshots;
+
+    @Mock
+    private BktParameterRegistry bktParameters;
+
+    @Mock
+    private ReviewScheduler reviewScheduler;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
+    private AdaptiveDifficultyService service;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        service = new AdaptiveDifficultyService(masteryRepo, historyRepo, userRepo, snapshots, bktParameters,
+                reviewScheduler, events);
+        userId = UUID.randomUUID();
+    }
+
+    private AdaptiveDifficultyService.Attempt attempt(String skillType, boolean correct, int level) {
+        return new AdaptiveDifficultyService.Attempt(skillType, null, correct, level, UUID.randomUUID(), null, level);
+    }
+
+    @Test
+    @DisplayName("Should read each mastery once and write history in one batch")
+    void shouldCoalesceAttemptsPerMastery() {
+        UserSkillMastery words = new UserSkillMastery(userId, "WORD_LINKING", null);
+        when(masteryRepo.findByUserIdAndSkillTypeAndConceptId(userId, "WORD_LINKING", null))
+                .thenReturn(Optional.of(words));
+
+        List<UserSkillMastery> updated = service.recordAttempts(userId, List.of(
+                attempt("WORD_LINKING", true, 4),
+                attempt("WORD_LINKING", true, 5),
+                attempt("WORD_LINKING", false, 5)));
+
+        assertEquals(List.of(words, words, words), updated);
+        assertEquals(3, words.getTotalAttempts());
+        verify(masteryRepo, times(1)).findByUserIdAndSkillTypeAndConceptId(userId, "WORD_LINKING", null);
+        verify(masteryRepo, never()).save(any());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<SkillAttemptHistory>> histories = ArgumentCaptor.forClass(List.class);
+        verify(historyRepo).saveAll(histories.capture());
+        List<SkillAttemptHistory> saved = histories.getValue();
+        assertEquals(3, saved.size());
+        assertEquals(List.of(4, 5, 5), saved.stream().map(SkillAttemptHistory::getUserSkillLevelAtTime).toList());
+        assertEquals(saved.get(0).getProbabilityKnownAfter(), saved.get(1).getProbabilityKnownBefore());
+        verifyNoInteractions(userRepo);
+        verify(events, times(1)).publishEvent(new SkillMasteryChangedEvent(userId));
+    }
+
+    @Test
+    @DisplayName("Should start a new mastery from fitted parameters when available")
+    void shouldCreateMasteryFromFittedParameters() {
+        when(masteryRepo.findByUserIdAndSkillTypeAndConceptId(userId, "NAMES_FACES", null))
+                .thenReturn(Optional.empty());
+        when(masteryRepo.save(any(UserSkillMastery.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(bktParameters.find("NAMES_FACES")).thenReturn(Optional.of(new BktParameters(0.2, 0.15, 0.1, 0.05)));
+
+        UserSkillMastery mastery = service.recordAttempts(userId, List.of(attempt("NAMES_FACES", true, 3))).get(0);
+
+        assertEquals(0.15, mastery.getProbabilityLearned());
+        assertEquals(0.1, mastery.getProbabilityGuess());
+        assertEquals(0.05, mastery.getProbabilitySlip());
+        assertEquals(1, mastery.getTotalAttempts());
+    }
+
+    @Test
+    @DisplayName("Should do nothing for an empty batch")
+    void shouldIgnoreEmptyBatch() {
+        assertTrue(service.recordAttempts(userId, List.of()).isEmpty());
+
+        verifyNoInteractions(masteryRepo, historyRepo, events);
+    }
+}
@@ -0,0 +1,122 @@
+package com.memorio.backend.adaptive;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BktEm Unit Tests")
+class BktEmTest {
+
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    private BktSequences simulate(BktParameters truth, int masteries, long seed) {
+        Random random = new Random(seed);
+        BktSequences sequences = new BktSequences();
+        for (int m = 0; m < masteries; m++) {
+            UUID id = new UUID(0L, m);
+            boolean known = random.nextDouble() < truth.init();
+            int attempts = 3 + random.nextInt(15);
+            for (int t = 0; t < attempts; t++) {
+                boolean correct = known ? random.nextDouble() >= truth.slip() : random.nextDouble() < truth.guess();
+                sequences.add(id, correct);
+                if (!known && random.nextDouble() < truth.learn()) known = true;
+            }
+        }
+        return sequences;
+    }
+
+    @Test
+    @DisplayName("Should group attempts into one sequence per mastery")
+    void shouldPackSequences() {
+        BktSequences sequences = new BktSequences();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        sequences.add(first, true);
+        sequences.add(first, false);
+        sequences.add(second, true);
+
+        assertEquals(2, sequences.size());
+        assertEquals(3, sequences.observations());
+        assertEquals(first, sequences.masteryId(0));
+        assertEquals(0, sequences.start(0));
+        assertEquals(2, sequences.end(0));
+        assertEquals(0, sequences.correct(1));
+        assertEquals(2, sequences.start(1));
+        assertEquals(3, sequences.end(1));
+    }
+
+    @Test
+    @DisplayName("Should recover the parameters that generated the attempts")
+    void shouldRecoverParameters() {
+        BktParameters truth = new BktParameters(0.25, 0.15, 0.2, 0.08);
+        BktSequences sequences = simulate(truth, 8000, 7L);
+
+        BktEm.Fit fit = BktEm.fit(sequences, BktParameters.defaults(0.15), 200, 1e-7, pool);
+
+        BktParameters fitted = fit.parameters();
+        assertEquals(truth.init(), fitted.init(), 0.03);
+        assertEquals(truth.learn(), fitted.learn(), 0.02);
+        assertEquals(truth.guess(), fitted.guess(), 0.02);
+        assertEquals(truth.slip(), fitted.slip(), 0.02);
+        assertTrue(fit.logLikelihood() < 0);
+    }
+
+    @Test
+    @DisplayName("Should not decrease the likelihood with more iterations")
+    void shouldImproveLikelihood() {
+        BktSequences sequences = simulate(new BktParameters(0.4, 0.1, 0.1, 0.1), 2000, 11L);
+        BktParameters initial = BktParameters.defaults(0.3);
+
+        double one = BktEm.fit(sequences, initial, 1, 0, pool).logLikelihood();
+        double five = BktEm.fit(sequences, initial, 5, 0, pool).logLikelihood();
+
+        assertTrue(five >= one);
+    }
+
+    @Test
+    @DisplayName("Should keep guess and slip within bounds")
+    void shouldClampParameters() {
+        BktParameters clamped = BktEm.clamp(new BktParameters(1.0, 0.0, 0.9, 0.7));
+
+        assertEquals(1.0 - BktEm.MIN_PROBABILITY, clamped.init());
+        assertEquals(BktEm.MIN_PROBABILITY, clamped.learn());
+        assertEquals(BktEm.MAX_GUESS, clamped.guess());
+        assertEquals(BktEm.MAX_SLIP, clamped.slip());
+    }
+
+    @Test
+    @DisplayName("Should replay the same knowledge state as the live per-attempt update")
+    void shouldReplayLikeLiveUpdate() {
+        BktParameters parameters = new BktParameters(0.3, 0.12, 0.2, 0.1);
+        boolean[] outcomes = {true, false, true, true, false, true, true};
+        UUID id = UUID.randomUUID();
+        BktSequences sequences = new BktSequences();
+        UserSkillMastery mastery = new UserSkillMastery(UUID.randomUUID(), "WORD_LINKING", null);
+        parameters.applyTo(mastery);
+        for (boolean outcome : outcomes) {
+            sequences.add(id, outcome);
+            mastery.updateKnowledgeState(outcome);
+        }
+
+        double[] known = BktEm.replay(sequences, parameters, pool);
+
+        assertEquals(mastery.getProbabilityKnown(), known[0], 1e-12);
+    }
+}
@@ -0,0 +1,94 @@
+package com.memorio.backend.adaptive;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BktRecomputeJob Unit Tests")
+class BktRecomputeJobTest {
+
+    private static final OffsetDateTime T0 = OffsetDateTime.of(2026, 10, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    @Mock
+    private JdbcTemplate jdbc;
+
+    @Mock
+    private BktSkillParametersRepository parametersRepo;
+
+    @Mock
+    private BktParameterRegistry registry;
+
+    private BktRecomputeJob job;
+
+    @BeforeEach
+    void setUp() {
+        job = new BktRecomputeJob(jdbc, parametersRepo, registry, 2, 1000, 50, 1e-6, 1);
+    }
+
+    private record Row(UUID masteryId, OffsetDateTime createdAt, UUID id, String skillType, boolean wasCorrect) {}
+
+    private static ResultSet resultSet(Row row) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getObject("skill_mastery_id", UUID.class)).thenReturn(row.masteryId());
+        when(rs.getObject("created_at", OffsetDateTime.class)).thenReturn(row.createdAt());
+        when(rs.getObject("id", UUID.class)).thenReturn(row.id());
+        when(rs.getString("skill_type")).thenReturn(row.skillType());
+        when(rs.getBoolean("was_correct")).thenReturn(row.wasCorrect());
+        return rs;
+    }
+
+    @Test
+    @DisplayName("Should page history by (mastery, time, id) and stop after a short page")
+    void shouldReadHistoryByKeyset() throws Exception {
+        UUID first = new UUID(0L, 1L);
+        UUID second = new UUID(0L, 2L);
+        Row a = new Row(first, T0, UUID.randomUUID(), "WORD_LINKING", true);
+        Row b = new Row(first, T0.plusMinutes(5), UUID.randomUUID(), "WORD_LINKING", false);
+        Row c = new Row(second, T0, UUID.randomUUID(), "WORD_LINKING", true);
+        List<List<Row>> pages = List.of(List.of(a, b), List.of(c));
+        List<Object[]> cursors = new ArrayList<>();
+        doAnswer(invocation -> {
+            Object[] args = invocation.getArguments();
+            cursors.add(Arrays.copyOfRange(args, 2, args.length));
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (Row row : pages.get(cursors.size() - 1)) {
+                handler.processRow(resultSet(row));
+            }
+            return null;
+        }).when(jdbc).query(anyString(), any(RowCallbackHandler.class), any(), any(), any(), any(), any());
+
+        OffsetDateTime cutoff = T0.plusDays(1);
+        Map<String, BktSequences> bySkill = job.readHistory(cutoff);
+
+        assertEquals(2, cursors.size());
+        assertArrayEquals(new Object[]{cutoff, new UUID(0L, 0L),
+                OffsetDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC), new UUID(0L, 0L), 2}, cursors.get(0));
+        // The second page continues after the last row of the first
+        assertArrayEquals(new Object[]{cutoff, first, b.createdAt(), b.id(), 2}, cursors.get(1));
+
+        BktSequences sequences = bySkill.get("WORD_LINKING");
+        assertEquals(2, sequences.size());
+        assertEquals(3, sequences.observations());
+        assertEquals(first, sequences.masteryId(0));
+        assertEquals(2, sequences.end(0) - sequences.start(0));
+    }
+}
@@ -0,0 +1,91 @@
+package com.memorio.backend.adaptive;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MasterySnapshotService Unit Tests")
+class MasterySnapshotServiceTest {
+
+    @Mock
+    private UserSkillMasteryRepository masteryRepo;
+
+    private MasterySnapshotService service;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        service = new MasterySnapshotService(masteryRepo, 30, 1000);
+        userId = UUID.randomUUID();
+    }
+
+    private UserSkillMastery mastery(String skillType, double known, OffsetDateTime nextReviewAt) {
+        UserSkillMastery mastery = new UserSkillMastery(userId, skillType, null);
+        mastery.setProbabilityKnown(known);
+        mastery.setNextReviewAt(nextReviewAt);
+        return mastery;
+    }
+
+    @Test
+    @DisplayName("Should partition masteries like the per-list queries")
+    void shouldPartitionMasteries() {
+        OffsetDateTime now = OffsetDateTime.now();
+        UserSkillMastery dueLater = mastery("WORD_LINKING", 0.5, now.minusHours(1));
+        UserSkillMastery dueFirst = mastery("NUMBER_PEG", 0.96, now.minusDays(2));
+        UserSkillMastery notDue = mastery("NAMES_FACES", 0.3, now.plusDays(1));
+        UserSkillMastery neverReviewed = mastery("NAMES_FACES", 0.8, null);
+        UserSkillMastery quiz = mastery("QUIZ", 0.2, now.minusDays(3));
+
+        MasterySnapshot snapshot = MasterySnapshot.of(
+                List.of(dueLater, dueFirst, notDue, neverReviewed, quiz), now);
+
+        assertEquals(List.of(dueFirst, dueLater), snapshot.skillsDueForReview());
+        assertEquals(List.of(quiz, notDue, dueLater), snapshot.skillsNeedingPractice());
+        assertEquals(List.of(dueFirst), snapshot.masteredSkills());
+
+        AdaptiveDifficultyService.MasteryStats stats = snapshot.stats();
+        assertEquals(4, stats.totalSkills());
+        assertEquals(1, stats.masteredSkills());
+        assertEquals(3, stats.skillsDueForReview());
+        assertEquals(2, stats.skillsNeedingPractice());
+        assertEquals((0.5 + 0.96 + 0.3 + 0.8) / 4, stats.averageMastery(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should return empty stats when the user has only quiz masteries")
+    void shouldReturnEmptyStats() {
+        MasterySnapshot snapshot = MasterySnapshot.of(
+                List.of(mastery("QUIZ", 0.97, null)), OffsetDateTime.now());
+
+        assertEquals(new AdaptiveDifficultyService.MasteryStats(0, 0, 0, 0.0, 0), snapshot.stats());
+        assertEquals(1, snapshot.masteredSkills().size());
+    }
+
+    @Test
+    @DisplayName("Should load a user's masteries once until the snapshot is evicted")
+    void shouldCacheUntilMasteryChanges() {
+        when(masteryRepo.findByUserId(userId)).thenReturn(List.of(mastery("WORD_LINKING", 0.4, null)));
+
+        MasterySnapshot first = service.get(userId);
+        assertSame(first, service.get(userId));
+        assertTrue(service.getIfPresent(userId).isPresent());
+        verify(masteryRepo, times(1)).findByUserId(userId);
+
+        service.onMasteryChanged(new SkillMasteryChangedEvent(userId));
+
+        assertTrue(service.getIfPresent(userId).isEmpty());
+        assertNotSame(first, service.get(userId));
+        verify(masteryRepo, times(2)).findByUserId(userId);
+    }
+}
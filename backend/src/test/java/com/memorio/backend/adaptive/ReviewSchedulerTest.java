@@ -0,0 +1,100 @@
+package com.memorio.backend.adaptive;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReviewScheduler Unit Tests")
+class ReviewSchedulerTest {
+
+    private static final long MINUTE = 60_000L;
+
+    @Mock
+    private UserSkillMasteryRepository masteryRepo;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
+    private ReviewScheduler scheduler;
+    private UUID userId;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new ReviewScheduler(masteryRepo, events, 10, 1000);
+        userId = UUID.randomUUID();
+        now = System.currentTimeMillis();
+    }
+
+    private OffsetDateTime at(long millis) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+    }
+
+    @Test
+    @DisplayName("Should count passed reviews and queue only those within the horizon")
+    void shouldLoadDueCount() {
+        when(masteryRepo.findReviewTimes(userId)).thenReturn(List.of(
+                at(now - MINUTE), at(now), at(now + MINUTE), at(now + 60 * MINUTE)));
+
+        assertEquals(2, scheduler.dueCount(userId, now));
+        assertEquals(2, scheduler.dueCount(userId, now + 1));
+        assertEquals(1, scheduler.queued());
+        verify(masteryRepo, times(1)).findReviewTimes(userId);
+    }
+
+    @Test
+    @DisplayName("Should bump the counter and publish an event when a queued review comes due")
+    void shouldBumpCounterOnTick() {
+        when(masteryRepo.findReviewTimes(userId)).thenReturn(List.of(at(now + MINUTE), at(now + 2 * MINUTE)));
+        assertEquals(0, scheduler.dueCount(userId, now));
+
+        scheduler.tick(now + MINUTE);
+
+        assertEquals(1, scheduler.dueCount(userId, now + MINUTE));
+        assertEquals(1, scheduler.queued());
+        verify(events).publishEvent(new ReviewsDueEvent(userId, 1));
+    }
+
+    @Test
+    @DisplayName("Should skip queued reviews of state retired by a mastery change")
+    void shouldSkipRetiredState() {
+        when(masteryRepo.findReviewTimes(userId)).thenReturn(List.of(at(now + MINUTE)));
+        scheduler.dueCount(userId, now);
+
+        scheduler.onMasteryChanged(new SkillMasteryChangedEvent(userId));
+        scheduler.tick(now + MINUTE);
+
+        verifyNoInteractions(events);
+        assertEquals(0, scheduler.queued());
+        assertEquals(1, scheduler.dueCount(userId, now + MINUTE));
+        verify(masteryRepo, times(2)).findReviewTimes(userId);
+    }
+
+    @Test
+    @DisplayName("Should reload a user's reviews once the horizon has passed")
+    void shouldReloadAfterHorizon() {
+        when(masteryRepo.findReviewTimes(userId)).thenReturn(List.of(at(now + 30 * MINUTE)));
+
+        assertEquals(0, scheduler.dueCount(userId, now));
+        assertEquals(0, scheduler.queued());
+        assertEquals(0, scheduler.dueCount(userId, now + 10 * MINUTE - 1));
+
+        assertEquals(0, scheduler.dueCount(userId, now + 20 * MINUTE));
+        assertEquals(1, scheduler.queued());
+        verify(masteryRepo, times(2)).findReviewTimes(userId);
+    }
+}
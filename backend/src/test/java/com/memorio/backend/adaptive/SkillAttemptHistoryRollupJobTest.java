@@ -0,0 +1,141 @@
+package com.memorio.backend.adaptive;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SkillAttemptHistoryRollupJob Unit Tests")
+class SkillAttemptHistoryRollupJobTest {
+
+    private static final String CREATE_PARTITION = "SELECT create_skill_attempt_history_partition(?)";
+    private static final YearMonth CURRENT = YearMonth.of(2026, 10);
+    // 12 months retention: October 2025 is the oldest month kept
+    private static final OffsetDateTime CUTOFF = OffsetDateTime.of(2025, 10, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    @Mock
+    private JdbcTemplate jdbc;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TransactionStatus status;
+
+    private SkillAttemptHistoryRollupJob job;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(status);
+        job = new SkillAttemptHistoryRollupJob(jdbc, transactionManager, 12, 2, 5000);
+    }
+
+    private void partitions(String... names) {
+        when(jdbc.queryForList(anyString(), eq(String.class))).thenReturn(List.of(names));
+    }
+
+    @Test
+    @DisplayName("Should create the current month and the configured months ahead")
+    void shouldCreatePartitionsAhead() {
+        partitions();
+
+        job.run(CURRENT);
+
+        verify(jdbc).queryForList(CREATE_PARTITION, LocalDate.of(2026, 10, 1));
+        verify(jdbc).queryForList(CREATE_PARTITION, LocalDate.of(2026, 11, 1));
+        verify(jdbc).queryForList(CREATE_PARTITION, LocalDate.of(2026, 12, 1));
+        verify(jdbc, never()).queryForList(CREATE_PARTITION, LocalDate.of(2027, 1, 1));
+    }
+
+    @Test
+    @DisplayName("Should roll up and drop only monthly partitions before the retention cutoff")
+    void shouldDropExpiredMonthlyPartitions() {
+        partitions("skill_attempt_history_2025_08", "skill_attempt_history_2025_09",
+                "skill_attempt_history_2025_10", "skill_attempt_history_2026_11",
+                "skill_attempt_history_default", "skill_attempt_history_legacy_2025_01");
+
+        int dropped = job.run(CURRENT);
+
+        assertEquals(2, dropped);
+        verify(jdbc).execute("DROP TABLE skill_attempt_history_2025_08");
+        verify(jdbc).execute("DROP TABLE skill_attempt_history_2025_09");
+        verify(jdbc, never()).execute("DROP TABLE skill_attempt_history_2025_10");
+        verify(jdbc, never()).execute("DROP TABLE skill_attempt_history_default");
+        verify(jdbc, never()).execute("DROP TABLE skill_attempt_history_legacy_2025_01");
+        verify(jdbc).update(contains("FROM skill_attempt_history_2025_08"), eq(CUTOFF));
+        verify(jdbc).update(contains("FROM skill_attempt_history_2025_09"), eq(CUTOFF));
+    }
+
+    @Test
+    @DisplayName("Should roll up and drop a partition in one transaction under a lock timeout")
+    void shouldRollUpAndDropTogether() {
+        partitions("skill_attempt_history_2025_08");
+
+        job.run(CURRENT);
+
+        InOrder order = inOrder(transactionManager, jdbc);
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(jdbc).execute("SET LOCAL lock_timeout = 5000");
+        order.verify(jdbc).update(contains("FROM skill_attempt_history_2025_08"), eq(CUTOFF));
+        order.verify(jdbc).execute("DROP TABLE skill_attempt_history_2025_08");
+        order.verify(transactionManager).commit(status);
+    }
+
+    @Test
+    @DisplayName("Should roll back a rollup whose drop fails so the next run counts it once")
+    void shouldRollBackWhenDropFails() {
+        partitions("skill_attempt_history_2025_08", "skill_attempt_history_2025_09");
+        doThrow(new CannotAcquireLockException("lock timeout"))
+                .when(jdbc).execute("DROP TABLE skill_attempt_history_2025_08");
+
+        int dropped = job.run(CURRENT);
+
+        assertEquals(1, dropped);
+        verify(transactionManager).rollback(status);
+        // The failed partition's totals never committed, the other partition still goes
+        verify(jdbc).execute("DROP TABLE skill_attempt_history_2025_09");
+    }
+
+    @Test
+    @DisplayName("Should not roll up a partition again once it is dropped")
+    void shouldBeIdempotentAcrossRuns() {
+        when(jdbc.queryForList(anyString(), eq(String.class)))
+                .thenReturn(List.of("skill_attempt_history_2025_08"))
+                .thenReturn(List.of());
+
+        assertEquals(1, job.run(CURRENT));
+        assertEquals(0, job.run(CURRENT));
+
+        verify(jdbc, times(1)).update(contains("FROM skill_attempt_history_2025_08"), eq(CUTOFF));
+    }
+
+    @Test
+    @DisplayName("Should fold and delete only expired rows of the default partition")
+    void shouldTrimDefaultPartition() {
+        partitions("skill_attempt_history_default");
+
+        job.run(CURRENT);
+
+        verify(jdbc).update(contains("FROM skill_attempt_history_default"), eq(CUTOFF));
+        verify(jdbc).update("DELETE FROM skill_attempt_history_default WHERE created_at < ?", CUTOFF);
+        verify(jdbc, never()).execute(startsWith("DROP TABLE"));
+    }
+}
@@ -0,0 +1,86 @@
+package com.memorio.backend.common.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("FileSystemImageStorage Unit Tests")
+class FileSystemImageStorageTest {
+
+    @TempDir
+    Path root;
+
+    private FileSystemImageStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new FileSystemImageStorage(root.toString());
+    }
+
+    @Test
+    @DisplayName("Should store content under its SHA-256 key in a two-level fan-out")
+    void shouldStoreContentAddressed() throws Exception {
+        byte[] data = "face".getBytes(StandardCharsets.UTF_8);
+
+        String key = storage.store(data);
+
+        assertEquals(FileSystemImageStorage.sha256(data), key);
+        Path file = root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+        assertArrayEquals(data, Files.readAllBytes(file));
+    }
+
+    @Test
+    @DisplayName("Should store identical content once and leave no temp files behind")
+    void shouldDeduplicate() throws Exception {
+        byte[] data = "same".getBytes(StandardCharsets.UTF_8);
+
+        String first = storage.store(data);
+        String second = storage.store(data.clone());
+
+        assertEquals(first, second);
+        try (var files = Files.walk(root)) {
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    @DisplayName("Should load stored content and return empty for unknown keys")
+    void shouldLoad() throws Exception {
+        byte[] data = "article".getBytes(StandardCharsets.UTF_8);
+        String key = storage.store(data);
+
+        Optional<Resource> loaded = storage.load(key);
+
+        assertTrue(loaded.isPresent());
+        assertArrayEquals(data, loaded.get().getContentAsByteArray());
+        assertTrue(storage.load(FileSystemImageStorage.sha256(new byte[]{1})).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject keys that are not SHA-256 hex")
+    void shouldRejectInvalidKeys() {
+        assertThrows(IllegalArgumentException.class, () -> storage.load("../../etc/passwd"));
+        assertThrows(IllegalArgumentException.class, () -> storage.load("ABC"));
+    }
+
+    @Test
+    @DisplayName("Should fall back to inline bytes for rows not yet moved to storage")
+    void shouldOpenInlineData() throws Exception {
+        byte[] inline = "legacy".getBytes(StandardCharsets.UTF_8);
+
+        Optional<Resource> opened = storage.open(null, () -> inline);
+
+        assertTrue(opened.isPresent());
+        assertArrayEquals(inline, opened.get().getContentAsByteArray());
+        assertTrue(storage.open(null, () -> null).isEmpty());
+    }
+}
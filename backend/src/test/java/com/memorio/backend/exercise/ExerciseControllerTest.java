@@ -1,30 +1,35 @@
 package com.memorio.backend.exercise;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.memorio.backend.adaptive.AdaptiveDifficultyService;
+import com.memorio.backend.common.error.NotFoundException;
 import com.memorio.backend.exercise.dto.StartExerciseRequest;
 import com.memorio.backend.exercise.dto.SubmitExerciseRequest;
+import com.memorio.backend.exercise.scoring.ExerciseScorer;
+import com.memorio.backend.faces.FaceBundleWriter;
 import com.memorio.backend.faces.FacePickerService;
-import com.memorio.backend.faces.Person;
+import com.memorio.backend.faces.PickedFace;
 import com.memorio.backend.gamification.BadgeService;
-import com.memorio.backend.gamification.UserStats;
-import com.memorio.backend.gamification.UserStatsRepository;
 import com.memorio.backend.lexicon.WordPicker;
 import com.memorio.backend.user.User;
 import com.memorio.backend.user.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 
+import java.io.ByteArrayOutputStream;
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -42,15 +47,6 @@ class ExerciseControllerTest {
     @Mock
     private ExerciseAttemptRepository attemptRepository;
 
-    @Mock
-    private ObjectMapper objectMapper;
-
-    @Mock
-    private UserStatsRepository userStatsRepository;
-
-    @Mock
-    private BadgeService badgeService;
-
     @Mock
     private StreakService streakService;
 
@@ -67,12 +63,25 @@ class ExerciseControllerTest {
     private NumberPegService numberPegService;
 
     @Mock
-    private AdaptiveDifficultyService adaptiveService;
+    private SubmitSideEffectService submitSideEffects;
+
+    @Mock
+    private ExercisePrefetchService prefetch;
+
+    @Spy
+    private ExerciseScorer scorer = new ExerciseScorer();
+
+    @Spy
+    private ExerciseSessionStore sessionStore = new CaffeineExerciseSessionStore(60, 1000);
+
+    @Mock
+    private FaceBundleWriter faceBundles;
 
     @Mock
     private Authentication authentication;
 
-    @InjectMocks
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     private ExerciseController exerciseController;
 
     private User testUser;
@@ -89,6 +98,10 @@ class ExerciseControllerTest {
         testUser.setPreferredLanguage("en");
 
         when(authentication.getName()).thenReturn(userId.toString());
+        exerciseController = new ExerciseController(sessionRepository, attemptRepository, streakService,
+                userRepository, new ExercisePreparer(wordPicker, facePickerService, numberPegService), prefetch,
+                submitSideEffects, scorer, sessionStore,
+                new ExerciseMetrics(meterRegistry), faceBundles);
     }
 
     @Test
@@ -139,12 +152,9 @@ class ExerciseControllerTest {
         StartExerciseRequest request = new StartExerciseRequest();
         request.setType(ExerciseType.NAMES_FACES);
 
-        Person mockPerson = new Person();
-        mockPerson.setPersonName("john_doe");
-        mockPerson.setDisplayName("John Doe");
-
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
-        when(facePickerService.pickFaces(anyInt(), anyInt())).thenReturn(List.of(mockPerson));
+        when(facePickerService.pickFaces(anyInt(), anyInt()))
+            .thenReturn(List.of(new PickedFace("john_doe", "John Doe")));
         when(sessionRepository.save(any(ExerciseSession.class)))
             .thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -156,6 +166,41 @@ class ExerciseControllerTest {
         verify(facePickerService).pickFaces(eq(5), anyInt());
     }
 
+    @Test
+    @DisplayName("Should stream the faces handed out by start as one bundle")
+    void shouldStreamFaceBundle() throws Exception {
+        StartExerciseRequest request = new StartExerciseRequest();
+        request.setType(ExerciseType.NAMES_FACES);
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        when(facePickerService.pickFaces(anyInt(), anyInt()))
+            .thenReturn(List.of(new PickedFace("john_doe", "John Doe"), new PickedFace("jane_roe", "Jane Roe")));
+        when(sessionRepository.save(any(ExerciseSession.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+        UUID sessionId = exerciseController.start(request, authentication).getBody().getSessionId();
+        when(sessionRepository.findByIdAndUserId(sessionId, userId)).thenReturn(Optional.of(
+                new ExerciseSession(sessionId, userId, ExerciseType.NAMES_FACES, OffsetDateTime.now())));
+
+        var response = exerciseController.faceBundle(sessionId, 160, authentication);
+        response.getBody().writeTo(new ByteArrayOutputStream());
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(FaceBundleWriter.MEDIA_TYPE, response.getHeaders().getContentType());
+        verify(faceBundles).write(eq(List.of("john_doe", "jane_roe")), eq(160), any());
+    }
+
+    @Test
+    @DisplayName("Should not bundle faces for sessions of other types")
+    void shouldRejectFaceBundleForOtherTypes() {
+        UUID sessionId = UUID.randomUUID();
+        when(sessionRepository.findByIdAndUserId(sessionId, userId)).thenReturn(Optional.of(
+                new ExerciseSession(sessionId, userId, ExerciseType.WORD_LINKING, OffsetDateTime.now())));
+        sessionStore.put(sessionId, ExerciseSessionState.ofItems(ExerciseType.WORD_LINKING, 5, List.of("leaf")));
+
+        assertThrows(NotFoundException.class, () -> exerciseController.faceBundle(sessionId, null, authentication));
+        verifyNoInteractions(faceBundles);
+    }
+
     @Test
     @DisplayName("Should start number peg exercise")
     void shouldStartNumberPegExercise() {
@@ -163,10 +208,10 @@ class ExerciseControllerTest {
         request.setType(ExerciseType.NUMBER_PEG);
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
-        when(numberPegService.generateDigitSequence(anyInt()))
-            .thenReturn(List.of(1, 2, 3, 4, 5));
-        when(numberPegService.getHintWord(anyInt(), anyString()))
-            .thenReturn("hint");
+        when(numberPegService.generateDigits(anyInt()))
+            .thenReturn(new int[]{1, 2, 3, 4, 5});
+        when(numberPegService.getHintWords(any(int[].class), anyString()))
+            .thenReturn(List.of("hint", "hint", "hint", "hint", "hint"));
         when(sessionRepository.save(any(ExerciseSession.class)))
             .thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -175,7 +220,7 @@ class ExerciseControllerTest {
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(ExerciseType.NUMBER_PEG, response.getBody().getType());
-        verify(numberPegService).generateDigitSequence(5);
+        verify(numberPegService).generateDigits(5);
     }
 
     @Test
@@ -206,19 +251,15 @@ class ExerciseControllerTest {
         request.setSessionId(sessionId);
         request.setType(ExerciseType.WORD_LINKING);
         request.setShownWords(List.of("word1", "word2", "word3"));
+        sessionStore.put(sessionId, ExerciseSessionState.ofItems(ExerciseType.WORD_LINKING, 5, List.of("word1", "word2", "word3")));
         request.setAnswers(List.of("word1", "word2", "word3"));
 
         when(sessionRepository.findByIdAndUserId(sessionId, userId))
             .thenReturn(Optional.of(session));
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
-        when(objectMapper.writeValueAsString(any())).thenReturn("[]");
         when(attemptRepository.save(any(ExerciseAttempt.class)))
             .thenAnswer(invocation -> invocation.getArgument(0));
-        when(userStatsRepository.findById(userId))
-            .thenReturn(Optional.of(new UserStats(userId)));
-        when(userStatsRepository.save(any(UserStats.class)))
-            .thenAnswer(invocation -> invocation.getArgument(0));
-        when(badgeService.evaluateAndAwardBadges(any(), any(), anyBoolean(), anyLong()))
+        when(submitSideEffects.submit(any(SubmitOutboxEntry.class)))
             .thenReturn(new BadgeService.BadgeResult(List.of(), 0));
 
         var response = exerciseController.submit(request, authentication);
@@ -243,19 +284,15 @@ class ExerciseControllerTest {
         request.setSessionId(sessionId);
         request.setType(ExerciseType.WORD_LINKING);
         request.setShownWords(List.of("word1", "word2", "word3", "word4"));
+        sessionStore.put(sessionId, ExerciseSessionState.ofItems(ExerciseType.WORD_LINKING, 5, List.of("word1", "word2", "word3", "word4")));
         request.setAnswers(List.of("word1", "word3"));
 
         when(sessionRepository.findByIdAndUserId(sessionId, userId))
             .thenReturn(Optional.of(session));
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
-        when(objectMapper.writeValueAsString(any())).thenReturn("[]");
         when(attemptRepository.save(any(ExerciseAttempt.class)))
             .thenAnswer(invocation -> invocation.getArgument(0));
-        when(userStatsRepository.findById(userId))
-            .thenReturn(Optional.of(new UserStats(userId)));
-        when(userStatsRepository.save(any(UserStats.class)))
-            .thenAnswer(invocation -> invocation.getArgument(0));
-        when(badgeService.evaluateAndAwardBadges(any(), any(), anyBoolean(), anyLong()))
+        when(submitSideEffects.submit(any(SubmitOutboxEntry.class)))
             .thenReturn(new BadgeService.BadgeResult(List.of(), 0));
 
         var response = exerciseController.submit(request, authentication);
@@ -279,26 +316,22 @@ class ExerciseControllerTest {
         request.setSessionId(sessionId);
         request.setType(ExerciseType.WORD_LINKING);
         request.setShownWords(List.of("word1"));
+        sessionStore.put(sessionId, ExerciseSessionState.ofItems(ExerciseType.WORD_LINKING, 5, List.of("word1")));
         request.setAnswers(List.of("word1"));
 
         when(sessionRepository.findByIdAndUserId(sessionId, userId))
             .thenReturn(Optional.of(session));
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
-        when(objectMapper.writeValueAsString(any())).thenReturn("[]");
         when(attemptRepository.save(any(ExerciseAttempt.class)))
             .thenAnswer(invocation -> invocation.getArgument(0));
-        when(userStatsRepository.findById(userId))
-            .thenReturn(Optional.of(new UserStats(userId)));
-        when(userStatsRepository.save(any(UserStats.class)))
-            .thenAnswer(invocation -> invocation.getArgument(0));
-        when(badgeService.evaluateAndAwardBadges(any(), any(), anyBoolean(), anyLong()))
+        when(submitSideEffects.submit(any(SubmitOutboxEntry.class)))
             .thenReturn(new BadgeService.BadgeResult(List.of("FIRST_ATTEMPT"), 0));
 
         var response = exerciseController.submit(request, authentication);
 
         assertNotNull(response.getBody());
         assertTrue(response.getBody().getNewBadges().contains("FIRST_ATTEMPT"));
-        verify(badgeService).evaluateAndAwardBadges(any(), any(), anyBoolean(), anyLong());
+        verify(submitSideEffects).submit(any(SubmitOutboxEntry.class));
     }
 
     @Test
@@ -314,19 +347,15 @@ class ExerciseControllerTest {
         request.setSessionId(sessionId);
         request.setType(ExerciseType.WORD_LINKING);
         request.setShownWords(List.of("w1", "w2", "w3", "w4", "w5"));
+        sessionStore.put(sessionId, ExerciseSessionState.ofItems(ExerciseType.WORD_LINKING, 5, List.of("w1", "w2", "w3", "w4", "w5")));
         request.setAnswers(List.of("w1", "w2", "w3", "w4", "w5"));
 
         when(sessionRepository.findByIdAndUserId(sessionId, userId))
             .thenReturn(Optional.of(session));
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
-        when(objectMapper.writeValueAsString(any())).thenReturn("[]");
         when(attemptRepository.save(any(ExerciseAttempt.class)))
             .thenAnswer(invocation -> invocation.getArgument(0));
-        when(userStatsRepository.findById(userId))
-            .thenReturn(Optional.of(new UserStats(userId)));
-        when(userStatsRepository.save(any(UserStats.class)))
-            .thenAnswer(invocation -> invocation.getArgument(0));
-        when(badgeService.evaluateAndAwardBadges(any(), any(), anyBoolean(), anyLong()))
+        when(submitSideEffects.submit(any(SubmitOutboxEntry.class)))
             .thenReturn(new BadgeService.BadgeResult(List.of(), 0));
 
         var response = exerciseController.submit(request, authentication);
@@ -349,19 +378,15 @@ class ExerciseControllerTest {
         request.setSessionId(sessionId);
         request.setType(ExerciseType.WORD_LINKING);
         request.setShownWords(List.of("w1", "w2", "w3", "w4", "w5"));
+        sessionStore.put(sessionId, ExerciseSessionState.ofItems(ExerciseType.WORD_LINKING, 5, List.of("w1", "w2", "w3", "w4", "w5")));
         request.setAnswers(List.of("w1"));
 
         when(sessionRepository.findByIdAndUserId(sessionId, userId))
             .thenReturn(Optional.of(session));
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
-        when(objectMapper.writeValueAsString(any())).thenReturn("[]");
         when(attemptRepository.save(any(ExerciseAttempt.class)))
             .thenAnswer(invocation -> invocation.getArgument(0));
-        when(userStatsRepository.findById(userId))
-            .thenReturn(Optional.of(new UserStats(userId)));
-        when(userStatsRepository.save(any(UserStats.class)))
-            .thenAnswer(invocation -> invocation.getArgument(0));
-        when(badgeService.evaluateAndAwardBadges(any(), any(), anyBoolean(), anyLong()))
+        when(submitSideEffects.submit(any(SubmitOutboxEntry.class)))
             .thenReturn(new BadgeService.BadgeResult(List.of(), 0));
 
         var response = exerciseController.submit(request, authentication);
@@ -384,19 +409,15 @@ class ExerciseControllerTest {
         request.setSessionId(sessionId);
         request.setType(ExerciseType.WORD_LINKING);
         request.setShownWords(List.of("w1", "w2", "w3"));
+        sessionStore.put(sessionId, ExerciseSessionState.ofItems(ExerciseType.WORD_LINKING, 5, List.of("w1", "w2", "w3")));
         request.setAnswers(List.of());
 
         when(sessionRepository.findByIdAndUserId(sessionId, userId))
             .thenReturn(Optional.of(session));
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
-        when(objectMapper.writeValueAsString(any())).thenReturn("[]");
         when(attemptRepository.save(any(ExerciseAttempt.class)))
             .thenAnswer(invocation -> invocation.getArgument(0));
-        when(userStatsRepository.findById(userId))
-            .thenReturn(Optional.of(new UserStats(userId)));
-        when(userStatsRepository.save(any(UserStats.class)))
-            .thenAnswer(invocation -> invocation.getArgument(0));
-        when(badgeService.evaluateAndAwardBadges(any(), any(), anyBoolean(), anyLong()))
+        when(submitSideEffects.submit(any(SubmitOutboxEntry.class)))
             .thenReturn(new BadgeService.BadgeResult(List.of(), 0));
 
         exerciseController.submit(request, authentication);
@@ -405,8 +426,8 @@ class ExerciseControllerTest {
     }
 
     @Test
-    @DisplayName("Should record adaptive difficulty attempt")
-    void shouldRecordAdaptiveDifficultyAttempt() throws Exception {
+    @DisplayName("Should queue side effects with the pre-submit skill level")
+    void shouldQueueSideEffects() throws Exception {
         UUID sessionId = UUID.randomUUID();
         ExerciseSession session = new ExerciseSession(
             sessionId, userId, ExerciseType.WORD_LINKING, OffsetDateTime.now()
@@ -416,31 +437,274 @@ class ExerciseControllerTest {
         request.setSessionId(sessionId);
         request.setType(ExerciseType.WORD_LINKING);
         request.setShownWords(List.of("w1", "w2"));
+        sessionStore.put(sessionId, ExerciseSessionState.ofItems(ExerciseType.WORD_LINKING, 5, List.of("w1", "w2")));
         request.setAnswers(List.of("w1", "w2"));
 
         when(sessionRepository.findByIdAndUserId(sessionId, userId))
             .thenReturn(Optional.of(session));
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
-        when(objectMapper.writeValueAsString(any())).thenReturn("[]");
         when(attemptRepository.save(any(ExerciseAttempt.class)))
             .thenAnswer(invocation -> invocation.getArgument(0));
-        when(userStatsRepository.findById(userId))
-            .thenReturn(Optional.of(new UserStats(userId)));
-        when(userStatsRepository.save(any(UserStats.class)))
+        when(submitSideEffects.submit(any(SubmitOutboxEntry.class)))
+            .thenReturn(new BadgeService.BadgeResult(List.of(), 0));
+
+        exerciseController.submit(request, authentication);
+
+        ArgumentCaptor<SubmitOutboxEntry> captor = ArgumentCaptor.forClass(SubmitOutboxEntry.class);
+        verify(submitSideEffects).submit(captor.capture());
+        SubmitOutboxEntry entry = captor.getValue();
+        assertEquals(userId, entry.getUserId());
+        assertEquals(sessionId, entry.getSessionId());
+        assertEquals(ExerciseType.WORD_LINKING, entry.getExerciseType());
+        assertTrue(entry.isWasCorrect());
+        assertTrue(entry.isWasPerfect());
+        assertTrue(entry.getSessionCompleted());
+        assertEquals(5, entry.getSkillLevel());  // level before the level-up
+        assertEquals(30, entry.getBasePoints()); // 2 correct * 10 + 2 in order * 5
+        assertNull(entry.getResponseTimeMs());
+    }
+
+    @Test
+    @DisplayName("Should keep generated digits server-side on start")
+    void shouldStoreSessionStateOnStart() {
+        StartExerciseRequest request = new StartExerciseRequest();
+        request.setType(ExerciseType.NUMBER_PEG);
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        when(numberPegService.generateDigits(anyInt())).thenReturn(new int[]{4, 0, 4});
+        when(numberPegService.getHintWords(any(int[].class), anyString())).thenReturn(List.of("hint", "hint", "hint"));
+        when(sessionRepository.save(any(ExerciseSession.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+
+        var response = exerciseController.start(request, authentication);
+
+        var state = sessionStore.find(response.getBody().getSessionId()).orElseThrow();
+        assertEquals(ExerciseType.NUMBER_PEG, state.getType());
+        assertEquals(List.of("4", "0", "4"), state.shownItems());
+    }
+
+    @Test
+    @DisplayName("Should score against stored session state instead of client shownWords")
+    void shouldScoreAgainstStoredState() {
+        UUID sessionId = UUID.randomUUID();
+        ExerciseSession session = new ExerciseSession(
+            sessionId, userId, ExerciseType.WORD_LINKING, OffsetDateTime.now()
+        );
+        sessionStore.put(sessionId,
+            ExerciseSessionState.ofItems(ExerciseType.WORD_LINKING, 5, List.of("apple", "river", "stone")));
+
+        SubmitExerciseRequest request = new SubmitExerciseRequest();
+        request.setSessionId(sessionId);
+        request.setType(ExerciseType.WORD_LINKING);
+        request.setShownWords(List.of("apple"));  // tampered client list is ignored
+        request.setAnswers(List.of("apple"));
+
+        when(sessionRepository.findByIdAndUserId(sessionId, userId))
+            .thenReturn(Optional.of(session));
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        when(attemptRepository.save(any(ExerciseAttempt.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+        when(submitSideEffects.submit(any(SubmitOutboxEntry.class)))
+            .thenReturn(new BadgeService.BadgeResult(List.of(), 0));
+
+        var response = exerciseController.submit(request, authentication);
+
+        assertEquals(3, response.getBody().getTotal());
+        assertEquals(1, response.getBody().getCorrect());
+        assertEquals(List.of("river", "stone"), response.getBody().getMissedWords());
+        ArgumentCaptor<ExerciseAttempt> attempt = ArgumentCaptor.forClass(ExerciseAttempt.class);
+        verify(attemptRepository).save(attempt.capture());
+        assertEquals("[\"apple\",\"river\",\"stone\"]", attempt.getValue().getShownWordsJson());
+        assertEquals(1, meterRegistry.get(ExerciseMetrics.STAGE_TIMER)
+            .tags("stage", "scoring", "type", "WORD_LINKING", "level", "5").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should reject a submit whose session state is gone instead of trusting shownWords")
+    void shouldRejectSubmitWithoutStoredState() {
+        UUID sessionId = UUID.randomUUID();
+        ExerciseSession session = new ExerciseSession(
+            sessionId, userId, ExerciseType.WORD_LINKING, OffsetDateTime.now()
+        );
+
+        SubmitExerciseRequest request = new SubmitExerciseRequest();
+        request.setSessionId(sessionId);
+        request.setType(ExerciseType.WORD_LINKING);
+        request.setShownWords(List.of("apple"));
+        request.setAnswers(List.of("apple"));
+
+        when(sessionRepository.findByIdAndUserId(sessionId, userId))
+            .thenReturn(Optional.of(session));
+
+        assertThrows(IllegalStateException.class, () -> exerciseController.submit(request, authentication));
+        verify(attemptRepository, never()).save(any());
+        verify(submitSideEffects, never()).submit(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a submit whose type differs from the started session")
+    void shouldRejectSubmitWithMismatchedType() {
+        UUID sessionId = UUID.randomUUID();
+        ExerciseSession session = new ExerciseSession(
+            sessionId, userId, ExerciseType.NUMBER_PEG, OffsetDateTime.now()
+        );
+        sessionStore.put(sessionId,
+            ExerciseSessionState.ofItems(ExerciseType.NUMBER_PEG, 5, List.of("4", "0", "4")));
+
+        SubmitExerciseRequest request = new SubmitExerciseRequest();
+        request.setSessionId(sessionId);
+        request.setType(ExerciseType.WORD_LINKING);
+        request.setAnswers(List.of("4", "0", "4"));
+
+        when(sessionRepository.findByIdAndUserId(sessionId, userId))
+            .thenReturn(Optional.of(session));
+
+        assertThrows(IllegalArgumentException.class, () -> exerciseController.submit(request, authentication));
+        verify(attemptRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should accept a daily challenge submitted with the word linking type start returned")
+    void shouldAcceptDailyChallengeSubmittedAsWordLinking() {
+        StartExerciseRequest startRequest = new StartExerciseRequest();
+        startRequest.setType(ExerciseType.DAILY_CHALLENGE);
+        ArgumentCaptor<ExerciseSession> saved = ArgumentCaptor.forClass(ExerciseSession.class);
+        when(sessionRepository.save(saved.capture())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        var started = exerciseController.start(startRequest, authentication).getBody();
+
+        SubmitExerciseRequest request = new SubmitExerciseRequest();
+        request.setSessionId(started.getSessionId());
+        request.setType(started.getType());
+        request.setAnswers(List.of("leaf", "mirror"));
+
+        when(sessionRepository.findByIdAndUserId(started.getSessionId(), userId))
+            .thenReturn(Optional.of(saved.getValue()));
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        when(attemptRepository.save(any(ExerciseAttempt.class)))
             .thenAnswer(invocation -> invocation.getArgument(0));
-        when(badgeService.evaluateAndAwardBadges(any(), any(), anyBoolean(), anyLong()))
+        when(submitSideEffects.submit(any(SubmitOutboxEntry.class)))
+            .thenReturn(new BadgeService.BadgeResult(List.of(), 0));
+
+        var response = exerciseController.submit(request, authentication);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(6, response.getBody().getTotal());
+        assertEquals(2, response.getBody().getCorrect());
+    }
+
+    @Test
+    @DisplayName("Should keep attempt summary on the session row")
+    void shouldRecordAttemptSummaryOnSession() {
+        UUID sessionId = UUID.randomUUID();
+        ExerciseSession session = new ExerciseSession(
+            sessionId, userId, ExerciseType.WORD_LINKING, OffsetDateTime.now()
+        );
+
+        SubmitExerciseRequest request = new SubmitExerciseRequest();
+        request.setSessionId(sessionId);
+        request.setType(ExerciseType.WORD_LINKING);
+        request.setShownWords(List.of("apple", "river"));
+        sessionStore.put(sessionId, ExerciseSessionState.ofItems(ExerciseType.WORD_LINKING, 5, List.of("apple", "river")));
+        request.setAnswers(List.of("apple"));
+
+        when(sessionRepository.findByIdAndUserId(sessionId, userId))
+            .thenReturn(Optional.of(session));
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        when(submitSideEffects.submit(any(SubmitOutboxEntry.class)))
             .thenReturn(new BadgeService.BadgeResult(List.of(), 0));
 
         exerciseController.submit(request, authentication);
 
-        verify(adaptiveService).recordAttempt(
-            eq(userId),
-            eq("WORD_LINKING"),
-            isNull(),
-            eq(true),
-            eq(5),
-            eq(sessionId),
-            isNull()  // responseTimeMs
+        assertEquals(1, session.getAttemptCount());
+        assertEquals(1, session.getLastCorrect());
+        assertEquals(2, session.getLastTotal());
+        assertEquals(0.5, session.getLastAccuracy(), 1e-9);
+        verify(sessionRepository).save(session);
+    }
+
+    @Test
+    @DisplayName("Should page history by cursor without counting")
+    void shouldPageHistoryByCursor() {
+        OffsetDateTime now = OffsetDateTime.now();
+        ExerciseSession newer = new ExerciseSession(UUID.randomUUID(), userId, ExerciseType.WORD_LINKING, now);
+        ExerciseSession older = new ExerciseSession(UUID.randomUUID(), userId, ExerciseType.NUMBER_PEG, now.minusHours(1));
+        older.recordAttempt(4, 5, 0.8);
+
+        when(sessionRepository.findByUserIdOrderByStartedAtDescIdDesc(eq(userId), any()))
+            .thenReturn(new SliceImpl<>(List.of(newer, older), PageRequest.of(0, 2), true));
+
+        var first = exerciseController.history(2, 0, "", authentication).getBody();
+
+        assertEquals(2, first.getItems().size());
+        assertNull(first.getTotal());
+        assertEquals(4, first.getItems().get(1).getLastCorrect());
+        assertEquals(1, first.getItems().get(1).getAttemptCount());
+        assertNotNull(first.getNextCursor());
+        verify(sessionRepository, never()).findByUserIdOrderByStartedAtDesc(any(), any());
+
+        when(sessionRepository.findHistoryAfter(eq(userId), any(), eq(older.getId()), any()))
+            .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 2), false));
+
+        var second = exerciseController.history(2, 0, first.getNextCursor(), authentication).getBody();
+
+        assertTrue(second.getItems().isEmpty());
+        assertNull(second.getNextCursor());
+        ArgumentCaptor<OffsetDateTime> startedAt = ArgumentCaptor.forClass(OffsetDateTime.class);
+        verify(sessionRepository).findHistoryAfter(eq(userId), startedAt.capture(), eq(older.getId()), any());
+        assertTrue(startedAt.getValue().isEqual(older.getStartedAt()));
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed history cursor")
+    void shouldRejectMalformedCursor() {
+        assertThrows(IllegalArgumentException.class,
+            () -> exerciseController.history(20, 0, "not-a-cursor", authentication));
+    }
+
+    @Test
+    @DisplayName("Should serve a prefetched payload without looking up the user")
+    void shouldServePrefetchedPayload() {
+        StartExerciseRequest request = new StartExerciseRequest();
+        request.setType(ExerciseType.WORD_LINKING);
+        var words = List.of("apple", "river");
+        var prepared = new PreparedExercise(ExerciseType.WORD_LINKING, 3, "en", Map.of("words", words),
+            null, ExerciseSessionState.ofItems(ExerciseType.WORD_LINKING, 3, words));
+        when(prefetch.take(userId, ExerciseType.WORD_LINKING)).thenReturn(Optional.of(prepared));
+
+        var response = exerciseController.start(request, authentication);
+
+        assertEquals(3, response.getBody().getSkillLevel());
+        assertSame(prepared.payload(), response.getBody().getPayload());
+        assertEquals(words, sessionStore.find(response.getBody().getSessionId()).orElseThrow().shownItems());
+        verify(sessionRepository).save(any(ExerciseSession.class));
+        verifyNoInteractions(userRepository, wordPicker);
+    }
+
+    @Test
+    @DisplayName("Should drop prefetched payloads when the skill level changes")
+    void shouldInvalidatePrefetchOnLevelChange() {
+        UUID sessionId = UUID.randomUUID();
+        ExerciseSession session = new ExerciseSession(
+            sessionId, userId, ExerciseType.WORD_LINKING, OffsetDateTime.now()
         );
+
+        SubmitExerciseRequest request = new SubmitExerciseRequest();
+        request.setSessionId(sessionId);
+        request.setType(ExerciseType.WORD_LINKING);
+        request.setShownWords(List.of("apple", "river"));
+        sessionStore.put(sessionId, ExerciseSessionState.ofItems(ExerciseType.WORD_LINKING, 5, List.of("apple", "river")));
+        request.setAnswers(List.of("apple", "river"));
+
+        when(sessionRepository.findByIdAndUserId(sessionId, userId))
+            .thenReturn(Optional.of(session));
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        when(submitSideEffects.submit(any(SubmitOutboxEntry.class)))
+            .thenReturn(new BadgeService.BadgeResult(List.of(), 0));
+
+        exerciseController.submit(request, authentication);
+
+        assertEquals(6, testUser.getSkillLevel());
+        verify(prefetch).invalidate(userId);
     }
 }
@@ -0,0 +1,62 @@
+package com.memorio.backend.exercise;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ExerciseMetrics Unit Tests")
+class ExerciseMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private ExerciseMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new ExerciseMetrics(registry);
+    }
+
+    @Test
+    @DisplayName("Should time a stage under its type and level tags and return the result")
+    void shouldTimeStage() {
+        String result = metrics.time(ExerciseMetrics.Stage.PICKER, ExerciseType.NAMES_FACES, 7, () -> "faces");
+        metrics.time(ExerciseMetrics.Stage.PICKER, ExerciseType.NAMES_FACES, 7, () -> { });
+
+        assertEquals("faces", result);
+        assertEquals(2, registry.get(ExerciseMetrics.STAGE_TIMER)
+                .tags("stage", "picker", "type", "NAMES_FACES", "level", "7").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should reuse one timer per stage, type and level")
+    void shouldCacheTimers() {
+        var first = metrics.timer(ExerciseMetrics.Stage.SCORING, ExerciseType.WORD_LINKING, 3);
+        var second = metrics.timer(ExerciseMetrics.Stage.SCORING, ExerciseType.WORD_LINKING, 3);
+
+        assertSame(first, second);
+        assertNotSame(first, metrics.timer(ExerciseMetrics.Stage.SCORING, ExerciseType.WORD_LINKING, 4));
+    }
+
+    @Test
+    @DisplayName("Should tag out-of-range levels as unknown")
+    void shouldTagUnknownLevel() {
+        metrics.time(ExerciseMetrics.Stage.SCORING, ExerciseType.DAILY_CHALLENGE, 0, () -> { });
+
+        assertEquals(1, registry.get(ExerciseMetrics.STAGE_TIMER)
+                .tags("stage", "scoring", "level", "unknown").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should report the last published outbox backlog and parked entries")
+    void shouldReportOutboxBacklog() {
+        assertEquals(0.0, registry.get(ExerciseMetrics.OUTBOX_PENDING).gauge().value());
+
+        metrics.recordOutbox(42, 3);
+
+        assertEquals(42.0, registry.get(ExerciseMetrics.OUTBOX_PENDING).gauge().value());
+        assertEquals(3.0, registry.get(ExerciseMetrics.OUTBOX_FAILED).gauge().value());
+    }
+}
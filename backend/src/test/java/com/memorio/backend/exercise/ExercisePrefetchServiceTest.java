@@ -0,0 +1,146 @@
+package com.memorio.backend.exercise;
+
+import com.memorio.backend.faces.FaceCatalogChangedEvent;
+import com.memorio.backend.user.User;
+import com.memorio.backend.user.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ExercisePrefetchService Unit Tests")
+class ExercisePrefetchServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ExercisePreparer preparer;
+
+    private ExercisePrefetchService prefetch;
+    private UUID userId;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        prefetch = new ExercisePrefetchService(userRepository, preparer, true, 3, 1, 30, 1000);
+        userId = UUID.randomUUID();
+        user = new User();
+        user.setId(userId);
+        user.setSkillLevel(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        prefetch.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should never generate anything when disabled")
+    void shouldDoNothingWhenDisabled() {
+        var disabled = new ExercisePrefetchService(userRepository, preparer, false, 3, 1, 30, 1000);
+
+        assertTrue(disabled.take(userId, ExerciseType.WORD_LINKING).isEmpty());
+        disabled.invalidate(userId);
+
+        verifyNoInteractions(userRepository, preparer);
+    }
+
+    @Test
+    @DisplayName("Should fill the buffer in the background and serve the next start from it")
+    void shouldServeFromBufferAfterMiss() {
+        when(preparer.supports(ExerciseType.NUMBER_PEG)).thenReturn(true);
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(preparer.prepare(ExerciseType.NUMBER_PEG, user)).thenAnswer(invocation -> prepared(4));
+
+        assertTrue(prefetch.take(userId, ExerciseType.NUMBER_PEG).isEmpty());
+        verify(preparer, timeout(2000).times(3)).prepare(ExerciseType.NUMBER_PEG, user);
+
+        Optional<PreparedExercise> hit = prefetch.take(userId, ExerciseType.NUMBER_PEG);
+
+        assertTrue(hit.isPresent());
+        assertEquals(4, hit.get().skillLevel());
+    }
+
+    @Test
+    @DisplayName("Should only fill the free slots of a buffer with one user lookup")
+    void shouldRefillMissingSlots() {
+        PrefetchBuffer buffer = new PrefetchBuffer(3);
+        buffer.offer(0, prepared(4));
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(preparer.prepare(ExerciseType.WORD_LINKING, user)).thenAnswer(invocation -> prepared(4));
+
+        prefetch.refill(userId, ExerciseType.WORD_LINKING, buffer, buffer.beginRefill());
+
+        assertEquals(3, buffer.size());
+        verify(userRepository, times(1)).findById(userId);
+        verify(preparer, times(2)).prepare(ExerciseType.WORD_LINKING, user);
+        assertTrue(buffer.beginRefill() < 0, "a full buffer needs no refill");
+    }
+
+    @Test
+    @DisplayName("Should drop payloads built before an invalidation")
+    void shouldDropStaleRefill() {
+        PrefetchBuffer buffer = new PrefetchBuffer(3);
+        long generation = buffer.beginRefill();
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(preparer.prepare(ExerciseType.NAMES_FACES, user)).thenAnswer(invocation -> {
+            buffer.invalidate(); // skill level changed while generating
+            return prepared(4);
+        });
+
+        prefetch.refill(userId, ExerciseType.NAMES_FACES, buffer, generation);
+
+        assertEquals(0, buffer.size());
+        assertNull(buffer.poll());
+        verify(preparer, times(1)).prepare(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should drop buffered names and faces payloads when the face catalog changes")
+    void shouldDropFacesOnCatalogChange() {
+        when(preparer.supports(ExerciseType.NAMES_FACES)).thenReturn(true);
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(preparer.prepare(ExerciseType.NAMES_FACES, user)).thenAnswer(invocation -> prepared(4));
+
+        assertTrue(prefetch.take(userId, ExerciseType.NAMES_FACES).isEmpty());
+        verify(preparer, timeout(2000).times(3)).prepare(ExerciseType.NAMES_FACES, user);
+
+        prefetch.onFaceCatalogChanged(new FaceCatalogChangedEvent("removed_person"));
+
+        assertTrue(prefetch.take(userId, ExerciseType.NAMES_FACES).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should release the buffer when generation fails")
+    void shouldReleaseBufferOnFailure() {
+        PrefetchBuffer buffer = new PrefetchBuffer(2);
+        long generation = buffer.beginRefill();
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(preparer.prepare(ExerciseType.NAMES_FACES, user))
+                .thenThrow(new IllegalStateException("No faces available for exercise"));
+
+        prefetch.refill(userId, ExerciseType.NAMES_FACES, buffer, generation);
+
+        assertEquals(0, buffer.size());
+        assertTrue(buffer.beginRefill() >= 0);
+    }
+
+    private PreparedExercise prepared(int level) {
+        var digits = new int[]{1, 2, 3};
+        return new PreparedExercise(ExerciseType.NUMBER_PEG, level, "en", List.of(), null,
+                ExerciseSessionState.ofDigits(level, digits));
+    }
+}
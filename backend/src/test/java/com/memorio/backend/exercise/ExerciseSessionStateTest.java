@@ -0,0 +1,71 @@
+package com.memorio.backend.exercise;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ExerciseSessionState Unit Tests")
+class ExerciseSessionStateTest {
+
+    @Test
+    @DisplayName("Should round-trip digits through the compact encoding")
+    void shouldRoundTripDigits() {
+        ExerciseSessionState state = ExerciseSessionState.ofDigits(4, List.of(0, 9, 9, 3));
+
+        String encoded = state.encode();
+        ExerciseSessionState decoded = ExerciseSessionState.decode(encoded);
+
+        assertEquals("NUMBER_PEG|4|0993", encoded);
+        assertEquals(ExerciseType.NUMBER_PEG, decoded.getType());
+        assertEquals(4, decoded.getSkillLevel());
+        assertEquals(List.of("0", "9", "9", "3"), decoded.shownItems());
+    }
+
+    @Test
+    @DisplayName("Should round-trip items containing spaces and separators used elsewhere")
+    void shouldRoundTripItems() {
+        ExerciseSessionState state = ExerciseSessionState.ofItems(
+                ExerciseType.NAMES_FACES, 7, List.of("Anna Maria", "O'Neil|Jr", "Zoë"));
+
+        ExerciseSessionState decoded = ExerciseSessionState.decode(state.encode());
+
+        assertEquals(ExerciseType.NAMES_FACES, decoded.getType());
+        assertEquals(7, decoded.getSkillLevel());
+        assertEquals(List.of("Anna Maria", "O'Neil|Jr", "Zoë"), decoded.shownItems());
+    }
+
+    @Test
+    @DisplayName("Should round-trip item references and decode states written without them")
+    void shouldRoundTripRefs() {
+        ExerciseSessionState state = ExerciseSessionState.ofItems(
+                ExerciseType.NAMES_FACES, 6, List.of("John Doe", "Jane Roe"), List.of("John_Doe", "Jane_Roe"));
+
+        ExerciseSessionState decoded = ExerciseSessionState.decode(state.encode());
+
+        assertEquals(List.of("John Doe", "Jane Roe"), decoded.shownItems());
+        assertEquals(List.of("John_Doe", "Jane_Roe"), decoded.itemRefs());
+        assertEquals(List.of(), ExerciseSessionState.decode("NAMES_FACES|6|John Doe").itemRefs());
+        assertThrows(IllegalArgumentException.class, () -> ExerciseSessionState.ofItems(
+                ExerciseType.NAMES_FACES, 6, List.of("John Doe"), List.of()));
+    }
+
+    @Test
+    @DisplayName("Should reject malformed encodings and non-digit values")
+    void shouldRejectMalformed() {
+        assertThrows(IllegalArgumentException.class, () -> ExerciseSessionState.decode("garbage"));
+        assertThrows(IllegalArgumentException.class, () -> ExerciseSessionState.decode("NUMBER_PEG|3|12a"));
+        assertThrows(IllegalArgumentException.class, () -> ExerciseSessionState.ofDigits(1, List.of(10)));
+    }
+
+    @Test
+    @DisplayName("Should write attempt JSON identical to Jackson's string array output")
+    void shouldWriteAttemptJson() {
+        assertEquals("[]", AttemptJson.stringArray(null));
+        assertEquals("[\"a\",\"b c\"]", AttemptJson.stringArray(List.of("a", "b c")));
+        assertEquals("[\"q\\\"uote\",\"back\\\\slash\",\"line\\nbreak\",\"\\u0001\"]",
+                AttemptJson.stringArray(List.of("q\"uote", "back\\slash", "line\nbreak", "\u0001")));
+    }
+}
@@ -7,8 +7,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -30,47 +32,44 @@ class NumberPegServiceTest {
     @Test
     @DisplayName("Should return hint word for existing digit and language")
     void shouldReturnHintForExistingDigitAndLanguage() {
-        NumberPegHint hint = createHint(5, "en", "hive");
-        when(repository.findByIdDigitAndIdLanguage(5, "en")).thenReturn(Optional.of(hint));
+        when(repository.findAll()).thenReturn(List.of(createHint(5, "en", "hive")));
 
         String result = numberPegService.getHintWord(5, "en");
 
         assertEquals("hive", result);
-        verify(repository).findByIdDigitAndIdLanguage(5, "en");
     }
 
     @Test
     @DisplayName("Should fallback to English when language not found")
     void shouldFallbackToEnglish() {
-        when(repository.findByIdDigitAndIdLanguage(5, "pl")).thenReturn(Optional.empty());
-        NumberPegHint englishHint = createHint(5, "en", "hive");
-        when(repository.findByIdDigitAndIdLanguage(5, "en")).thenReturn(Optional.of(englishHint));
-
-        String result = numberPegService.getHintWord(5, "pl");
+        when(repository.findAll()).thenReturn(List.of(
+                createHint(5, "en", "hive"),
+                createHint(4, "pl", "drzwi")));
 
-        assertEquals("hive", result);
-        verify(repository).findByIdDigitAndIdLanguage(5, "pl");
-        verify(repository).findByIdDigitAndIdLanguage(5, "en");
+        assertEquals("hive", numberPegService.getHintWord(5, "pl"));
+        assertEquals("drzwi", numberPegService.getHintWord(4, "pl"));
+        assertEquals("hive", numberPegService.getHintWord(5, "de"));
     }
 
     @Test
     @DisplayName("Should return unknown when neither language nor English found")
     void shouldReturnUnknownWhenNotFound() {
-        when(repository.findByIdDigitAndIdLanguage(5, "pl")).thenReturn(Optional.empty());
-        when(repository.findByIdDigitAndIdLanguage(5, "en")).thenReturn(Optional.empty());
+        when(repository.findAll()).thenReturn(List.of(createHint(1, "pl", "dzień")));
 
         String result = numberPegService.getHintWord(5, "pl");
 
         assertEquals("unknown", result);
+        assertEquals("unknown", numberPegService.getHintWord(12, "pl"));
     }
 
     @Test
     @DisplayName("Should return hint for all digits 0-9")
     void shouldReturnHintForAllDigits() {
+        List<NumberPegHint> hints = new ArrayList<>();
         for (int digit = 0; digit <= 9; digit++) {
-            NumberPegHint hint = createHint(digit, "en", "hint" + digit);
-            when(repository.findByIdDigitAndIdLanguage(digit, "en")).thenReturn(Optional.of(hint));
+            hints.add(createHint(digit, "en", "hint" + digit));
         }
+        when(repository.findAll()).thenReturn(hints);
 
         for (int digit = 0; digit <= 9; digit++) {
             String result = numberPegService.getHintWord(digit, "en");
@@ -79,87 +78,60 @@ class NumberPegServiceTest {
     }
 
     @Test
-    @DisplayName("Should generate digit sequence with correct length for skill level 1")
-    void shouldGenerateSequenceForLevel1() {
-        List<Integer> sequence = numberPegService.generateDigitSequence(1);
-
-        assertEquals(6, sequence.size()); // 4 + (1 * 2) = 6
-        for (Integer digit : sequence) {
-            assertTrue(digit >= 0 && digit <= 9);
-        }
-    }
+    @DisplayName("Should load the hint table once and serve later lookups from memory")
+    void shouldLoadHintsOnce() {
+        when(repository.findAll()).thenReturn(List.of(createHint(3, "en", "tree"), createHint(3, "pl", "drzwi")));
 
-    @Test
-    @DisplayName("Should generate digit sequence with correct length for skill level 5")
-    void shouldGenerateSequenceForLevel5() {
-        List<Integer> sequence = numberPegService.generateDigitSequence(5);
+        List<String> hints = numberPegService.getHintWords(new int[]{3, 3, 7}, "pl");
+        numberPegService.getHintWord(3, "en");
 
-        assertEquals(14, sequence.size()); // 4 + (5 * 2) = 14
+        assertEquals(List.of("drzwi", "drzwi", "unknown"), hints);
+        verify(repository, times(1)).findAll();
     }
 
     @Test
-    @DisplayName("Should generate digit sequence with correct length for skill level 10")
-    void shouldGenerateSequenceForLevel10() {
-        List<Integer> sequence = numberPegService.generateDigitSequence(10);
+    @DisplayName("Should pick up changed hints on refresh")
+    void shouldReloadOnRefresh() {
+        when(repository.findAll())
+                .thenReturn(List.of(createHint(2, "en", "shoe")))
+                .thenReturn(List.of(createHint(2, "en", "swan")));
 
-        assertEquals(24, sequence.size()); // 4 + (10 * 2) = 24
-    }
+        assertEquals("shoe", numberPegService.getHintWord(2, "en"));
+        numberPegService.refresh();
 
-    @Test
-    @DisplayName("Should clamp skill level below 1 to minimum")
-    void shouldClampLevelBelowMinimum() {
-        List<Integer> sequence = numberPegService.generateDigitSequence(0);
-
-        assertEquals(6, sequence.size()); // Clamped to level 1: 4 + (1 * 2) = 6
+        assertEquals("swan", numberPegService.getHintWord(2, "en"));
     }
 
     @Test
-    @DisplayName("Should clamp skill level above 10 to maximum")
-    void shouldClampLevelAboveMaximum() {
-        List<Integer> sequence = numberPegService.generateDigitSequence(15);
+    @DisplayName("Should keep the current table when a refresh fails")
+    void shouldKeepTableWhenRefreshFails() {
+        when(repository.findAll())
+                .thenReturn(List.of(createHint(2, "en", "shoe")))
+                .thenThrow(new DataAccessResourceFailureException("down"));
 
-        assertEquals(24, sequence.size()); // Clamped to level 10: 4 + (10 * 2) = 24
-    }
-
-    @Test
-    @DisplayName("Should handle negative skill level")
-    void shouldHandleNegativeLevel() {
-        List<Integer> sequence = numberPegService.generateDigitSequence(-5);
+        numberPegService.refresh();
+        numberPegService.refresh();
 
-        assertEquals(6, sequence.size()); // Clamped to level 1
+        assertEquals("shoe", numberPegService.getHintWord(2, "en"));
     }
 
     @Test
-    @DisplayName("Should generate random digits in valid range")
-    void shouldGenerateDigitsInValidRange() {
-        for (int i = 0; i < 10; i++) {
-            List<Integer> sequence = numberPegService.generateDigitSequence(5);
-            for (Integer digit : sequence) {
-                assertTrue(digit >= 0 && digit <= 9,
-                        "Digit " + digit + " is out of range 0-9");
-            }
-        }
+    @DisplayName("Should clamp skill levels outside 1-10 when sizing digits")
+    void shouldClampDigitLength() {
+        assertEquals(6, numberPegService.generateDigits(-5).length); // Clamped to level 1
+        assertEquals(6, numberPegService.generateDigits(0).length);
+        assertEquals(24, numberPegService.generateDigits(10).length); // 4 + (10 * 2) = 24
+        assertEquals(24, numberPegService.generateDigits(15).length); // Clamped to level 10
     }
 
     @Test
-    @DisplayName("Should generate different sequences on multiple calls")
-    void shouldGenerateDifferentSequences() {
-        List<Integer> sequence1 = numberPegService.generateDigitSequence(5);
-        List<Integer> sequence2 = numberPegService.generateDigitSequence(5);
-
-        // With 14 random digits, the probability of identical sequences is extremely low
-        // This test might very rarely fail by chance, but that's acceptable
-        assertFalse(sequence1.equals(sequence2) && sequence1.equals(numberPegService.generateDigitSequence(5)),
-                "Generated sequences should be random");
-    }
+    @DisplayName("Should generate primitive digits matching the sequence length")
+    void shouldGenerateDigitArray() {
+        int[] digits = numberPegService.generateDigits(3);
 
-    @Test
-    @DisplayName("Should not return null sequence")
-    void shouldNotReturnNullSequence() {
-        for (int level = 1; level <= 10; level++) {
-            List<Integer> sequence = numberPegService.generateDigitSequence(level);
-            assertNotNull(sequence);
-            assertFalse(sequence.isEmpty());
+        assertEquals(10, digits.length); // 4 + (3 * 2) = 10
+        for (int digit : digits) {
+            assertTrue(digit >= 0 && digit <= 9);
         }
     }
 
@@ -4,23 +4,22 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
 
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("StreakService Unit Tests")
@@ -29,6 +28,9 @@ class StreakServiceTest {
     @Mock
     private ExerciseSessionRepository sessionRepository;
 
+    @Mock
+    private UserStreakRepository streakRepository;
+
     private StreakService streakService;
 
     private static final UUID TEST_USER_ID = UUID.randomUUID();
@@ -36,7 +38,7 @@ class StreakServiceTest {
 
     @BeforeEach
     void setUp() {
-        streakService = new StreakService(sessionRepository);
+        streakService = new StreakService(sessionRepository, streakRepository, 3);
     }
 
     @Test
@@ -58,8 +60,8 @@ class StreakServiceTest {
     @Test
     @DisplayName("Should return 0 for user with no sessions")
     void shouldReturnZeroForNoSessions() {
-        when(sessionRepository.findByUserIdOrderByStartedAtDesc(eq(TEST_USER_ID), any(PageRequest.class)))
-                .thenReturn(Page.empty());
+        givenNoStoredStreak();
+        givenActivity(List.of());
 
         int streak = streakService.computeCurrentStreak(TEST_USER_ID, TEST_ZONE);
 
@@ -70,9 +72,8 @@ class StreakServiceTest {
     @DisplayName("Should return 1 for single session today")
     void shouldReturnOneForSingleSession() {
         OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
-        List<ExerciseSession> sessions = List.of(createSession(now));
-        when(sessionRepository.findByUserIdOrderByStartedAtDesc(eq(TEST_USER_ID), any(PageRequest.class)))
-                .thenReturn(new PageImpl<>(sessions));
+        givenNoStoredStreak();
+        givenActivity(List.of(now));
 
         int streak = streakService.computeCurrentStreak(TEST_USER_ID, TEST_ZONE);
 
@@ -83,13 +84,8 @@ class StreakServiceTest {
     @DisplayName("Should return 3 for three consecutive days")
     void shouldReturnThreeForConsecutiveDays() {
         OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
-        List<ExerciseSession> sessions = List.of(
-                createSession(now),
-                createSession(now.minusDays(1)),
-                createSession(now.minusDays(2))
-        );
-        when(sessionRepository.findByUserIdOrderByStartedAtDesc(eq(TEST_USER_ID), any(PageRequest.class)))
-                .thenReturn(new PageImpl<>(sessions));
+        givenNoStoredStreak();
+        givenActivity(List.of(now, now.minusDays(1), now.minusDays(2)));
 
         int streak = streakService.computeCurrentStreak(TEST_USER_ID, TEST_ZONE);
 
@@ -100,32 +96,27 @@ class StreakServiceTest {
     @DisplayName("Should stop counting streak when gap found")
     void shouldStopAtGap() {
         OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
-        List<ExerciseSession> sessions = List.of(
-                createSession(now),
-                createSession(now.minusDays(1)),
-                createSession(now.minusDays(3)) // Gap - skipped day 2
-        );
-        when(sessionRepository.findByUserIdOrderByStartedAtDesc(eq(TEST_USER_ID), any(PageRequest.class)))
-                .thenReturn(new PageImpl<>(sessions));
+        givenNoStoredStreak();
+        givenActivity(List.of(now, now.minusDays(1), now.minusDays(3))); // Gap - skipped day 2
 
-        int streak = streakService.computeCurrentStreak(TEST_USER_ID, TEST_ZONE);
+        UserStreak streak = streakService.getStreak(TEST_USER_ID, TEST_ZONE);
 
-        assertEquals(2, streak);
+        assertEquals(2, streak.getCurrentStreak());
+        assertEquals(2, streak.getLongestStreak());
     }
 
     @Test
     @DisplayName("Should count multiple sessions on same day as one")
     void shouldCountSameDayAsOne() {
-        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
-        List<ExerciseSession> sessions = List.of(
-                createSession(now),
-                createSession(now.minusHours(2)),
-                createSession(now.minusHours(4)),
-                createSession(now.minusDays(1)),
-                createSession(now.minusDays(1).minusHours(3))
-        );
-        when(sessionRepository.findByUserIdOrderByStartedAtDesc(eq(TEST_USER_ID), any(PageRequest.class)))
-                .thenReturn(new PageImpl<>(sessions));
+        OffsetDateTime now = OffsetDateTime.of(2025, 3, 10, 22, 0, 0, 0, ZoneOffset.UTC);
+        givenNoStoredStreak();
+        givenActivity(List.of(
+                now,
+                now.minusHours(2),
+                now.minusHours(4),
+                now.minusDays(1),
+                now.minusDays(1).minusHours(3)
+        ));
 
         int streak = streakService.computeCurrentStreak(TEST_USER_ID, TEST_ZONE);
 
@@ -133,61 +124,58 @@ class StreakServiceTest {
     }
 
     @Test
-    @DisplayName("Should use finishedAt when available")
-    void shouldUseFinishedAtWhenAvailable() {
+    @DisplayName("Should handle different timezone correctly")
+    void shouldHandleDifferentTimezone() {
+        ZoneId tokyoZone = ZoneId.of("Asia/Tokyo");
         OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
-        ExerciseSession session = createSessionWithFinish(now.minusDays(1), now); // Started yesterday, finished today
+        when(streakRepository.findById(new UserStreakId(TEST_USER_ID, "Asia/Tokyo"))).thenReturn(Optional.empty());
+        when(streakRepository.countByUserId(TEST_USER_ID)).thenReturn(1L);
+        givenActivity(List.of(now, now.minusDays(1)));
 
-        List<ExerciseSession> sessions = List.of(session);
-        when(sessionRepository.findByUserIdOrderByStartedAtDesc(eq(TEST_USER_ID), any(PageRequest.class)))
-                .thenReturn(new PageImpl<>(sessions));
+        UserStreak streak = streakService.getStreak(TEST_USER_ID, tokyoZone);
 
-        int streak = streakService.computeCurrentStreak(TEST_USER_ID, TEST_ZONE);
-
-        assertEquals(1, streak);
+        assertEquals("Asia/Tokyo", streak.getZoneId());
+        assertTrue(streak.getCurrentStreak() >= 1 && streak.getCurrentStreak() <= 2);
+        verify(streakRepository).insertIfAbsent(streak);
     }
 
     @Test
-    @DisplayName("Should handle different timezone correctly")
-    void shouldHandleDifferentTimezone() {
-        ZoneId tokyoZone = ZoneId.of("Asia/Tokyo");
-        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+    @DisplayName("Should compute offset zones without storing them")
+    void shouldNotStoreOffsetZone() {
+        ZoneId offset = ZoneId.of("+01:23");
+        when(streakRepository.findById(new UserStreakId(TEST_USER_ID, "+01:23"))).thenReturn(Optional.empty());
+        givenActivity(List.of(OffsetDateTime.now(ZoneOffset.UTC)));
 
-        List<ExerciseSession> sessions = List.of(
-                createSession(now),
-                createSession(now.minusDays(1))
-        );
-        when(sessionRepository.findByUserIdOrderByStartedAtDesc(eq(TEST_USER_ID), any(PageRequest.class)))
-                .thenReturn(new PageImpl<>(sessions));
+        UserStreak streak = streakService.getStreak(TEST_USER_ID, offset);
 
-        int streak = streakService.computeCurrentStreak(TEST_USER_ID, tokyoZone);
-
-        assertTrue(streak >= 1 && streak <= 2);
+        assertEquals(1, streak.getCurrentStreak());
+        verify(streakRepository, never()).insertIfAbsent(any(UserStreak.class));
+        verify(streakRepository, never()).countByUserId(any());
     }
 
     @Test
-    @DisplayName("Should return 0 when session list becomes empty after filtering")
-    void shouldReturnZeroWhenNoValidSessions() {
-        // Using empty page to simulate no valid sessions
-        when(sessionRepository.findByUserIdOrderByStartedAtDesc(eq(TEST_USER_ID), any(PageRequest.class)))
-                .thenReturn(Page.empty());
+    @DisplayName("Should compute zones without storing them once the user has the maximum")
+    void shouldNotStoreBeyondZoneCap() {
+        when(streakRepository.findById(new UserStreakId(TEST_USER_ID, "Europe/Warsaw"))).thenReturn(Optional.empty());
+        when(streakRepository.countByUserId(TEST_USER_ID)).thenReturn(3L);
+        givenActivity(List.of());
 
-        int streak = streakService.computeCurrentStreak(TEST_USER_ID, TEST_ZONE);
+        UserStreak streak = streakService.getStreak(TEST_USER_ID, ZoneId.of("Europe/Warsaw"));
 
-        assertEquals(0, streak);
+        assertEquals(0, streak.getCurrentStreak());
+        verify(streakRepository, never()).insertIfAbsent(any(UserStreak.class));
     }
 
     @Test
     @DisplayName("Should handle long streak correctly")
     void shouldHandleLongStreak() {
         OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
-        List<ExerciseSession> sessions = new ArrayList<>();
+        List<OffsetDateTime> activity = new ArrayList<>();
         for (int i = 0; i < 30; i++) {
-            sessions.add(createSession(now.minusDays(i)));
+            activity.add(now.minusDays(i));
         }
-
-        when(sessionRepository.findByUserIdOrderByStartedAtDesc(eq(TEST_USER_ID), any(PageRequest.class)))
-                .thenReturn(new PageImpl<>(sessions));
+        givenNoStoredStreak();
+        givenActivity(activity);
 
         int streak = streakService.computeCurrentStreak(TEST_USER_ID, TEST_ZONE);
 
@@ -195,45 +183,76 @@ class StreakServiceTest {
     }
 
     @Test
-    @DisplayName("Should fallback to startedAt when finishedAt is null")
-    void shouldFallbackToStartedAt() {
-        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
-        // Session without finishedAt uses startedAt for streak calculation
-        ExerciseSession session = new ExerciseSession(
-                UUID.randomUUID(),
-                TEST_USER_ID,
-                ExerciseType.WORD_LINKING,
-                now
-        );
-
-        List<ExerciseSession> sessions = List.of(session);
-        when(sessionRepository.findByUserIdOrderByStartedAtDesc(eq(TEST_USER_ID), any(PageRequest.class)))
-                .thenReturn(new PageImpl<>(sessions));
+    @DisplayName("Should read stored state without touching session history")
+    void shouldReadStoredState() {
+        UserStreak stored = new UserStreak(TEST_USER_ID, TEST_ZONE);
+        stored.recordActiveDay(LocalDate.of(2025, 1, 1));
+        stored.recordActiveDay(LocalDate.of(2025, 1, 2));
+        when(streakRepository.findById(new UserStreakId(TEST_USER_ID, "UTC"))).thenReturn(Optional.of(stored));
 
         int streak = streakService.computeCurrentStreak(TEST_USER_ID, TEST_ZONE);
 
-        assertEquals(1, streak);
+        assertEquals(2, streak);
+        verifyNoInteractions(sessionRepository);
+        verify(streakRepository, never()).insertIfAbsent(any(UserStreak.class));
+    }
+
+    @Test
+    @DisplayName("Should advance every stored zone on activity")
+    void shouldAdvanceStoredZones() {
+        UserStreak utc = new UserStreak(TEST_USER_ID, TEST_ZONE);
+        utc.recordActiveDay(LocalDate.of(2025, 5, 1));
+        UserStreak tokyo = new UserStreak(TEST_USER_ID, ZoneId.of("Asia/Tokyo"));
+        tokyo.recordActiveDay(LocalDate.of(2025, 5, 1));
+        when(streakRepository.findByUserId(TEST_USER_ID)).thenReturn(List.of(utc, tokyo));
+
+        // 2025-05-02 20:00 UTC is already 2025-05-03 in Tokyo
+        streakService.recordActivity(TEST_USER_ID, OffsetDateTime.of(2025, 5, 2, 20, 0, 0, 0, ZoneOffset.UTC));
+
+        assertEquals(2, utc.getCurrentStreak());
+        assertEquals(LocalDate.of(2025, 5, 2), utc.getLastActiveDate());
+        assertEquals(1, tokyo.getCurrentStreak());
+        assertEquals(LocalDate.of(2025, 5, 3), tokyo.getLastActiveDate());
+        verifyNoInteractions(sessionRepository);
+    }
+
+    @Test
+    @DisplayName("Should keep longest streak when the current one breaks")
+    void shouldKeepLongestAfterGap() {
+        UserStreak streak = new UserStreak(TEST_USER_ID, TEST_ZONE);
+        streak.recordActiveDay(LocalDate.of(2025, 5, 1));
+        streak.recordActiveDay(LocalDate.of(2025, 5, 2));
+        streak.recordActiveDay(LocalDate.of(2025, 5, 3));
+        streak.recordActiveDay(LocalDate.of(2025, 5, 3));
+        streak.recordActiveDay(LocalDate.of(2025, 5, 6));
+        streak.recordActiveDay(LocalDate.of(2025, 5, 2)); // late, already counted
+
+        assertEquals(1, streak.getCurrentStreak());
+        assertEquals(3, streak.getLongestStreak());
+        assertEquals(LocalDate.of(2025, 5, 6), streak.getLastActiveDate());
+    }
+
+    @Test
+    @DisplayName("Should build default zone state from history on first activity")
+    void shouldBuildDefaultZoneOnFirstActivity() {
+        OffsetDateTime now = OffsetDateTime.of(2025, 5, 2, 12, 0, 0, 0, ZoneOffset.UTC);
+        when(streakRepository.findByUserId(TEST_USER_ID)).thenReturn(List.of());
+        givenActivity(List.of(now.minusDays(1), now));
+
+        streakService.recordActivity(TEST_USER_ID, now);
+
+        ArgumentCaptor<UserStreak> saved = ArgumentCaptor.forClass(UserStreak.class);
+        verify(streakRepository).insertIfAbsent(saved.capture());
+        assertEquals("UTC", saved.getValue().getZoneId());
+        assertEquals(2, saved.getValue().getCurrentStreak());
+        assertEquals(LocalDate.of(2025, 5, 2), saved.getValue().getLastActiveDate());
+    }
+
+    private void givenNoStoredStreak() {
+        when(streakRepository.findById(new UserStreakId(TEST_USER_ID, "UTC"))).thenReturn(Optional.empty());
     }
 
-    private ExerciseSession createSession(OffsetDateTime finishedAt) {
-        ExerciseSession session = new ExerciseSession(
-                UUID.randomUUID(),
-                TEST_USER_ID,
-                ExerciseType.WORD_LINKING,
-                finishedAt.minusMinutes(10)
-        );
-        session.markFinished(finishedAt);
-        return session;
-    }
-
-    private ExerciseSession createSessionWithFinish(OffsetDateTime startedAt, OffsetDateTime finishedAt) {
-        ExerciseSession session = new ExerciseSession(
-                UUID.randomUUID(),
-                TEST_USER_ID,
-                ExerciseType.WORD_LINKING,
-                startedAt
-        );
-        session.markFinished(finishedAt);
-        return session;
+    private void givenActivity(List<OffsetDateTime> activity) {
+        when(sessionRepository.findActivityTimesByUserId(TEST_USER_ID)).thenReturn(activity);
     }
 }
@@ -0,0 +1,181 @@
+package com.memorio.backend.exercise;
+
+import com.memorio.backend.adaptive.AdaptiveDifficultyService;
+import com.memorio.backend.gamification.BadgeService;
+import com.memorio.backend.gamification.UserStats;
+import com.memorio.backend.gamification.UserStatsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SubmitSideEffectProcessor Unit Tests")
+class SubmitSideEffectProcessorTest {
+
+    @Mock
+    private AdaptiveDifficultyService adaptiveService;
+
+    @Mock
+    private BadgeService badgeService;
+
+    @Mock
+    private UserStatsRepository userStatsRepository;
+
+    @Mock
+    private SubmitOutboxRepository outbox;
+
+    @Mock
+    private StreakService streakService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private SubmitSideEffectProcessor processor;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        processor = new SubmitSideEffectProcessor(adaptiveService, badgeService, userStatsRepository, outbox,
+                streakService, new ExerciseMetrics(meterRegistry));
+        userId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should record BKT attempt with the level the exercise was played at")
+    void shouldRecordAdaptiveAttempt() {
+        SubmitOutboxEntry entry = entry(ExerciseType.WORD_LINKING, 5, 3, 45, true, true);
+        when(userStatsRepository.findById(userId)).thenReturn(Optional.of(new UserStats(userId)));
+        when(badgeService.evaluateAndAwardBadges(any(), any(), anyBoolean(), anyLong()))
+                .thenReturn(new BadgeService.BadgeResult(List.of(), 0));
+
+        processor.applyNow(entry);
+
+        verify(adaptiveService).recordAttempts(userId, List.of(new AdaptiveDifficultyService.Attempt(
+                "WORD_LINKING",
+                null,
+                true,
+                5,
+                entry.getSessionId(),
+                null,
+                5
+        )));
+        verifyNoMoreInteractions(adaptiveService);
+    }
+
+    @Test
+    @DisplayName("Should evaluate badges with points after base award and add bonus to stats")
+    void shouldAwardBadgesAndUpdateStats() {
+        SubmitOutboxEntry entry = entry(ExerciseType.NUMBER_PEG, 3, 4, 60, true, true);
+        UserStats stats = new UserStats(userId);
+        stats.addAttempt(10, 950);
+        when(userStatsRepository.findById(userId)).thenReturn(Optional.of(stats));
+        when(badgeService.evaluateAndAwardBadges(stats, ExerciseType.NUMBER_PEG, true, 1010L))
+                .thenReturn(new BadgeService.BadgeResult(List.of("POINTS_1000"), 100));
+
+        BadgeService.BadgeResult result = processor.applyNow(entry);
+
+        assertEquals(List.of("POINTS_1000"), result.newBadges());
+        assertEquals(950 + 60 + 100, stats.getTotalPoints());
+        assertEquals(2, stats.getTotalAttempts());
+        assertEquals(14, stats.getTotalCorrect());
+        verify(userStatsRepository).save(stats);
+        verifyNoInteractions(outbox);
+        for (String stage : List.of("streak_update", "badge_evaluation", "stats_save")) {
+            assertEquals(1, meterRegistry.get(ExerciseMetrics.STAGE_TIMER)
+                    .tags("stage", stage, "type", "NUMBER_PEG", "level", "3").timer().count(), stage);
+        }
+    }
+
+    @Test
+    @DisplayName("Should apply a user's batch with one stats save and one BKT update and mark entries processed")
+    void shouldApplyBatch() {
+        SubmitOutboxEntry first = entry(ExerciseType.WORD_LINKING, 2, 2, 30, true, false);
+        SubmitOutboxEntry second = entry(ExerciseType.NAMES_FACES, 2, 1, 10, false, false);
+        when(userStatsRepository.findById(userId)).thenReturn(Optional.empty());
+        when(badgeService.evaluateAndAwardBadges(any(), any(), anyBoolean(), anyLong()))
+                .thenReturn(new BadgeService.BadgeResult(List.of(), 0));
+
+        processor.applyBatch(userId, List.of(first, second));
+
+        ArgumentCaptor<UserStats> saved = ArgumentCaptor.forClass(UserStats.class);
+        verify(userStatsRepository, times(1)).save(saved.capture());
+        assertEquals(40, saved.getValue().getTotalPoints());
+        assertEquals(2, saved.getValue().getTotalAttempts());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<AdaptiveDifficultyService.Attempt>> attempts = ArgumentCaptor.forClass(List.class);
+        verify(adaptiveService, times(1)).recordAttempts(eq(userId), attempts.capture());
+        assertEquals(List.of("WORD_LINKING", "NAMES_FACES"),
+                attempts.getValue().stream().map(AdaptiveDifficultyService.Attempt::skillType).toList());
+        verify(streakService, times(2)).recordActivity(eq(userId), any(OffsetDateTime.class));
+        verify(outbox).markProcessed(eq(List.of(first.getId(), second.getId())), any(OffsetDateTime.class));
+        // A mixed batch is timed once, without borrowing one entry's type and level
+        assertEquals(1, meterRegistry.get(ExerciseMetrics.BKT_BATCH_TIMER).timer().count());
+        assertEquals(2.0, meterRegistry.get(ExerciseMetrics.BKT_BATCH_SIZE).summary().totalAmount());
+    }
+
+    @Test
+    @DisplayName("Should bump badge counters before evaluating badges")
+    void shouldUpdateCountersBeforeBadges() {
+        SubmitOutboxEntry entry = entry(ExerciseType.NAMES_FACES, 4, 5, 75, true, true);
+        UserStats stats = new UserStats(userId);
+        when(userStatsRepository.findById(userId)).thenReturn(Optional.of(stats));
+        when(badgeService.evaluateAndAwardBadges(any(), any(), anyBoolean(), anyLong()))
+                .thenAnswer(invocation -> {
+                    UserStats seen = invocation.getArgument(0);
+                    assertEquals(1, seen.getCompletedSessions());
+                    assertEquals(1, seen.getCompletedSessions(ExerciseType.NAMES_FACES));
+                    assertEquals(1, seen.getPerfectAttempts());
+                    return new BadgeService.BadgeResult(List.of(), 0);
+                });
+
+        processor.applyNow(entry);
+
+        verify(badgeService).evaluateAndAwardBadges(stats, ExerciseType.NAMES_FACES, true, 75L);
+    }
+
+    @Test
+    @DisplayName("Should leave counters alone for entries queued before counters existed")
+    void shouldSkipCountersForLegacyEntries() {
+        SubmitOutboxEntry legacy = new SubmitOutboxEntry(UUID.randomUUID(), userId, UUID.randomUUID(),
+                ExerciseType.WORD_LINKING, 2, 3, 30, true, true, false, null, OffsetDateTime.now());
+        ReflectionTestUtils.setField(legacy, "sessionCompleted", null);
+        UserStats stats = new UserStats(userId);
+        when(userStatsRepository.findById(userId)).thenReturn(Optional.of(stats));
+        when(badgeService.evaluateAndAwardBadges(any(), any(), anyBoolean(), anyLong()))
+                .thenReturn(new BadgeService.BadgeResult(List.of(), 0));
+
+        processor.applyNow(legacy);
+
+        assertEquals(0, stats.getCompletedSessions());
+        assertEquals(0, stats.getPerfectAttempts());
+        assertEquals(1, stats.getTotalAttempts());
+    }
+
+    @Test
+    @DisplayName("Should do nothing for an empty batch")
+    void shouldIgnoreEmptyBatch() {
+        processor.applyBatch(userId, List.of());
+
+        verifyNoInteractions(userStatsRepository, adaptiveService, badgeService, outbox, streakService);
+    }
+
+    private SubmitOutboxEntry entry(ExerciseType type, int level, int correct, int basePoints,
+                                    boolean wasCorrect, boolean wasPerfect) {
+        return new SubmitOutboxEntry(UUID.randomUUID(), userId, UUID.randomUUID(), type, level,
+                correct, basePoints, wasCorrect, wasPerfect, true, null, OffsetDateTime.now());
+    }
+}
@@ -0,0 +1,102 @@
+package com.memorio.backend.exercise.scoring;
+
+import com.memorio.backend.exercise.ExerciseType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ExerciseScorer Unit Tests")
+class ExerciseScorerTest {
+
+    private final ExerciseScorer scorer = new ExerciseScorer();
+
+    @Test
+    @DisplayName("Should count each distinct word once and report missed and extra answers")
+    void shouldScoreUniqueWords() {
+        ScoreResult result = scorer.score(ExerciseType.WORD_LINKING,
+                List.of("Apple", "banana", "apple", "cherry", " "),
+                List.of("apple ", "cherry", "APPLE", "grape", ""));
+
+        assertEquals(3, result.total());
+        assertEquals(2, result.correct());
+        assertEquals(List.of("apple", "cherry"), result.correctItems());
+        assertEquals(List.of("banana"), result.missedItems());
+        assertEquals(List.of("apple", "grape"), result.extraItems());
+        assertEquals(2, result.orderCorrect());
+        assertEquals(2.0 / 3.0, result.accuracy(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should count duplicate digits separately for number peg")
+    void shouldScoreDigitsWithDuplicates() {
+        ScoreResult result = scorer.score(ExerciseType.NUMBER_PEG,
+                List.of("3", "1", "3", "7"),
+                List.of("3", "3", "3", "7", "x"));
+
+        assertEquals(4, result.total());
+        assertEquals(3, result.correct());
+        assertEquals(List.of("3", "7"), result.correctItems());
+        assertEquals(List.of("1"), result.missedItems());
+        assertEquals(List.of("3", "x"), result.extraItems());
+        assertEquals(3, result.orderCorrect());
+        assertEquals(0.75, result.orderAccuracy(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should fall back to item counting when number peg targets are not single digits")
+    void shouldScoreNonDigitNumberPegTargets() {
+        ScoreResult result = scorer.score(ExerciseType.NUMBER_PEG,
+                List.of("12", "12", "5"),
+                List.of("12", "5", "12", "12"));
+
+        assertEquals(3, result.total());
+        assertEquals(3, result.correct());
+        assertEquals(List.of("12", "5"), result.correctItems());
+        assertTrue(result.missedItems().isEmpty());
+        assertEquals(List.of("12"), result.extraItems());
+        assertEquals(1, result.orderCorrect());
+    }
+
+    @Test
+    @DisplayName("Should handle missing answers and null entries")
+    void shouldHandleNullAnswers() {
+        ScoreResult none = scorer.score(ExerciseType.NAMES_FACES, List.of("Anna", "Bob"), null);
+        assertEquals(0, none.correct());
+        assertEquals(List.of("anna", "bob"), none.missedItems());
+
+        ScoreResult withNull = scorer.score(ExerciseType.DAILY_CHALLENGE,
+                Arrays.asList("one", null, "two"), Arrays.asList(null, "two", "two"));
+        assertEquals(2, withNull.total());
+        assertEquals(1, withNull.correct());
+        assertEquals(1, withNull.orderCorrect());
+        assertEquals(List.of("two"), withNull.extraItems());
+    }
+
+    @Test
+    @DisplayName("Should not leak state between calls on reused buffers")
+    void shouldReuseBuffersAcrossCalls() {
+        List<String> large = new ArrayList<>();
+        for (int i = 0; i < 500; i++) large.add("word" + i);
+        ScoreResult first = scorer.score(ExerciseType.WORD_LINKING, large, large);
+        assertEquals(500, first.correct());
+        assertEquals(500, first.orderCorrect());
+
+        ScoreResult second = scorer.score(ExerciseType.WORD_LINKING, List.of("alpha"), List.of("word1"));
+        assertEquals(0, second.correct());
+        assertEquals(List.of("alpha"), second.missedItems());
+        assertEquals(List.of("word1"), second.extraItems());
+    }
+
+    @Test
+    @DisplayName("Should reject unsupported exercise types")
+    void shouldRejectNullType() {
+        assertFalse(scorer.supports(null));
+        assertThrows(IllegalArgumentException.class,
+                () -> scorer.score(null, List.of("a"), List.of("a")));
+    }
+}
@@ -0,0 +1,59 @@
+package com.memorio.backend.faces;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FaceBundleWriter Unit Tests")
+class FaceBundleWriterTest {
+
+    @Mock
+    private FacePrimaryImageResolver resolver;
+
+    private FaceBundleWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new FaceBundleWriter(resolver);
+    }
+
+    @Test
+    @DisplayName("Should write each face length-prefixed in the requested order")
+    void shouldWriteBundle() throws Exception {
+        byte[] image = {1, 2, 3, 4};
+        when(resolver.resolve("John_Doe", 160)).thenReturn(Optional.of(new FacePrimaryImageResolver.ResolvedFaceImage(
+                "a".repeat(64), "image/jpeg", () -> Optional.of(new ByteArrayResource(image)))));
+        when(resolver.resolve("Jane_Roe", 160)).thenReturn(Optional.empty());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.write(List.of("John_Doe", "Jane_Roe"), 160, out);
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals("MFB1", new String(in.readNBytes(4), StandardCharsets.US_ASCII));
+        assertEquals(2, in.readUnsignedShort());
+
+        assertEquals("John_Doe", new String(in.readNBytes(in.readUnsignedShort()), StandardCharsets.UTF_8));
+        assertEquals("image/jpeg", new String(in.readNBytes(in.readUnsignedByte()), StandardCharsets.US_ASCII));
+        assertArrayEquals(image, in.readNBytes(in.readInt()));
+
+        assertEquals("Jane_Roe", new String(in.readNBytes(in.readUnsignedShort()), StandardCharsets.UTF_8));
+        assertEquals(0, in.readUnsignedByte());
+        assertEquals(0, in.readInt());
+        assertEquals(-1, in.read());
+    }
+}
@@ -0,0 +1,213 @@
+package com.memorio.backend.faces;
+
+import com.memorio.backend.common.storage.FileSystemImageStorage;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FaceDataImportService Unit Tests")
+class FaceDataImportServiceTest {
+
+    @Mock
+    private FaceImageRepository faceImageRepository;
+
+    @Mock
+    private PersonRepository personRepository;
+
+    @Mock
+    private FaceImageRenditionRepository renditionRepository;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path dataset;
+
+    @TempDir
+    Path storageRoot;
+
+    private FaceDataImportService service;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        lenient().when(personRepository.findAllPersonNames()).thenReturn(List.of("Already_Here"));
+        FileSystemImageStorage storage = new FileSystemImageStorage(storageRoot.toString());
+        service = new FaceDataImportService(faceImageRepository, personRepository, renditionRepository,
+                storage, new FaceRenditionService(storage, new int[]{8, 96}, 0.8f),
+                new FaceDuplicateIndex(faceImageRepository, 5), events, entityManager, transactionManager, 2, 3);
+        ReflectionTestUtils.setField(service, "datasetPath", dataset.toString());
+    }
+
+    @Test
+    @DisplayName("Should import new people in batched transactions and report progress")
+    void shouldImportInBatches() throws Exception {
+        writePerson("Ann_Lee", 2);
+        writePerson("Bob_Stone", 2);
+        writePerson("Cid_Moss", 1);
+        writePerson("Already_Here", 1);
+        when(personRepository.save(any(Person.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        FaceDataImportService.ImportResult result = service.importFaceData(10, false);
+
+        assertEquals(3, result.getSuccessfulPeople());
+        assertEquals(0, result.getFailedPeople());
+        assertEquals(5, result.getTotalImages());
+        verify(personRepository, times(3)).save(any(Person.class));
+        // 5 images with a batch size of 3: two transactions
+        verify(transactionManager, times(2)).commit(any());
+        // Each batch leaves the persistence context empty
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+        verify(events, times(3)).publishEvent(any(FaceCatalogChangedEvent.class));
+
+        FaceDataImportService.ImportProgress progress = service.getImportProgress();
+        assertEquals(FaceDataImportService.ImportProgress.COMPLETED, progress.getState());
+        assertEquals(3, progress.getTotalPeople());
+        assertEquals(3, progress.getProcessedPeople());
+        assertEquals(5, progress.getImportedImages());
+    }
+
+    @Test
+    @DisplayName("Should reject a batch size below one without reporting a running import")
+    void shouldRejectEmptyBatch() throws Exception {
+        writePerson("Ann_Lee", 1);
+
+        assertThrows(IllegalArgumentException.class, () -> service.importFaceData(0, false));
+
+        verify(personRepository, never()).save(any(Person.class));
+        assertEquals(FaceDataImportService.ImportProgress.IDLE, service.getImportProgress().getState());
+    }
+
+    @Test
+    @DisplayName("Should store image bytes, header dimensions and renditions with one primary image")
+    void shouldStoreImagesWithDimensions() throws Exception {
+        writePerson("Ann_Lee", 2);
+        when(personRepository.save(any(Person.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<FaceImage>> saved = ArgumentCaptor.forClass(List.class);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<FaceImageRendition>> renditions = ArgumentCaptor.forClass(List.class);
+
+        service.importFaceData(10, false);
+
+        verify(faceImageRepository).saveAll(saved.capture());
+        List<FaceImage> images = new ArrayList<>(saved.getValue());
+        assertEquals(2, images.size());
+        assertTrue(images.get(0).isPrimary());
+        assertFalse(images.get(1).isPrimary());
+        for (FaceImage image : images) {
+            assertNotNull(image.getContentHash());
+            assertNull(image.getImageData());
+            assertEquals(12, image.getWidth());
+            assertEquals(8, image.getHeight());
+            assertTrue(image.getFileSize() > 0);
+            assertNotNull(image.getPerceptualHash());
+        }
+        // Only the 8px rendition is smaller than the 12x8 originals
+        verify(renditionRepository).saveAll(renditions.capture());
+        assertEquals(2, renditions.getValue().size());
+        for (FaceImageRendition rendition : renditions.getValue()) {
+            assertEquals(8, rendition.getMaxDimension());
+            assertEquals(8, rendition.getWidth());
+            assertEquals(5, rendition.getHeight());
+            assertEquals("image/jpeg", rendition.getContentType());
+        }
+    }
+
+    @Test
+    @DisplayName("Should skip images that duplicate one already accepted")
+    void shouldSkipDuplicates() throws Exception {
+        writePerson("Ann_Lee", 2);
+        Path dir = dataset.resolve("Ann_Lee");
+        Files.copy(dir.resolve("Ann_Lee_0001.png"), dir.resolve("Ann_Lee_0003.png"));
+        when(personRepository.save(any(Person.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<FaceImage>> saved = ArgumentCaptor.forClass(List.class);
+
+        FaceDataImportService.ImportResult result = service.importFaceData(10, false);
+
+        verify(faceImageRepository).saveAll(saved.capture());
+        List<String> filenames = new ArrayList<>();
+        saved.getValue().forEach(image -> filenames.add(image.getFilename()));
+        assertEquals(List.of("Ann_Lee_0001.png", "Ann_Lee_0002.png"), filenames);
+        assertEquals(1, result.getDuplicateImages());
+        assertEquals(1, service.getImportProgress().getDuplicateImages());
+    }
+
+    @Test
+    @DisplayName("Should count a person without readable images as failed")
+    void shouldFailPersonWithoutImages() throws Exception {
+        Files.createDirectories(dataset.resolve("Empty_Person"));
+        Files.writeString(dataset.resolve("Empty_Person").resolve("notes.txt"), "no images");
+
+        FaceDataImportService.ImportResult result = service.importFaceData(10, false);
+
+        assertEquals(0, result.getSuccessfulPeople());
+        assertEquals(1, result.getFailedPeople());
+        verify(personRepository, never()).save(any());
+        assertEquals(1, service.getImportProgress().getFailedPeople());
+    }
+
+    @Test
+    @DisplayName("Should read dimensions from the image header")
+    void shouldReadDimensions() throws Exception {
+        assertArrayEquals(new int[]{12, 8}, FaceDataImportService.readDimensions(png(12, 8)));
+        assertNull(FaceDataImportService.readDimensions("not an image".getBytes()));
+    }
+
+    private void writePerson(String personName, int images) throws Exception {
+        Path dir = Files.createDirectories(dataset.resolve(personName));
+        for (int i = 1; i <= images; i++) {
+            // Seeded noise per file keeps both the content and perceptual hashes distinct
+            Files.write(dir.resolve(personName + "_000" + i + ".png"), png(12, 8, personName.hashCode() + i));
+        }
+    }
+
+    private static byte[] png(int width, int height) throws Exception {
+        return png(width, height, 0);
+    }
+
+    private static byte[] png(int width, int height, int seed) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(seed);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, random.nextInt(0x1000000));
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,66 @@
+package com.memorio.backend.faces;
+
+import com.memorio.backend.exercise.ExerciseType;
+import com.memorio.backend.exercise.scoring.ExerciseScorer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("FaceDifficultyCalibrator Unit Tests")
+class FaceDifficultyCalibratorTest {
+
+    private final ExerciseScorer scorer = new ExerciseScorer();
+    private FaceDifficultyCalibrator calibrator;
+
+    @BeforeEach
+    void setUp() {
+        calibrator = new FaceDifficultyCalibrator();
+    }
+
+    @Test
+    @DisplayName("Should split faces into thirds by recall rate, most recalled easiest")
+    void shouldRankByRecall() {
+        List<String> shown = List.of("Anna Smith", "Ben Jones", "Carl Brown", "Dana White", "Eve Black", "Finn Green");
+        for (int i = 0; i < 10; i++){
+            // Anna and Ben always recalled, Carl and Dana half the time, Eve and Finn never
+            List<String> answers = i % 2 == 0
+                    ? List.of("anna smith", "Ben Jones", "Carl Brown", "Dana White")
+                    : List.of(" Anna Smith ", "ben jones");
+            calibrator.record(scorer.score(ExerciseType.NAMES_FACES, shown, answers));
+        }
+
+        Map<String, Integer> levels = calibrator.levels(10, 10);
+
+        assertEquals(Map.of("anna smith", 1, "ben jones", 1, "carl brown", 2, "dana white", 2,
+                "eve black", 3, "finn green", 3), levels);
+    }
+
+    @Test
+    @DisplayName("Should leave faces with too few samples out")
+    void shouldSkipSparseFaces() {
+        calibrator.record(scorer.score(ExerciseType.NAMES_FACES, List.of("Anna Smith", "Ben Jones"), List.of("Anna Smith")));
+        calibrator.record(scorer.score(ExerciseType.NAMES_FACES, List.of("Anna Smith"), List.of()));
+
+        Map<String, Integer> levels = calibrator.levels(2, 10);
+
+        assertEquals(Map.of("anna smith", 1), levels);
+        assertEquals(2, calibrator.faces());
+    }
+
+    @Test
+    @DisplayName("Should return nothing before any attempt is recorded")
+    void shouldReturnNothingWithoutData() {
+        assertTrue(calibrator.levels(1, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should key faces the way the scorer normalises names")
+    void shouldNormaliseKeys() {
+        assertEquals("anna smith", FaceDifficultyCalibrator.key("  Anna Smith "));
+    }
+}
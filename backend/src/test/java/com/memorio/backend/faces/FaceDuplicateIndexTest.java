@@ -0,0 +1,104 @@
+package com.memorio.backend.faces;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FaceDuplicateIndex Unit Tests")
+class FaceDuplicateIndexTest {
+
+    private static final long HASH = 0x0F0F_1234_5678_9ABCL;
+
+    @Mock
+    private FaceImageRepository faceImageRepository;
+
+    private FaceDuplicateIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new FaceDuplicateIndex(faceImageRepository, 5);
+    }
+
+    @Test
+    @DisplayName("Should find stored hashes within the distance, nearest first")
+    void shouldFindNear() {
+        when(faceImageRepository.findPerceptualHashes()).thenReturn(List.of(
+                new FaceImageHash("Ann_Lee", "Ann_Lee_0001.jpg", HASH ^ 0b111),
+                new FaceImageHash("Bob_Stone", "Bob_Stone_0001.jpg", HASH ^ 0b1),
+                new FaceImageHash("Cid_Moss", "Cid_Moss_0001.jpg", ~HASH)));
+
+        List<FaceDuplicateIndex.Match> matches = index.findNear(HASH);
+
+        assertEquals(List.of(
+                new FaceDuplicateIndex.Match("Bob_Stone", "Bob_Stone_0001.jpg", 1),
+                new FaceDuplicateIndex.Match("Ann_Lee", "Ann_Lee_0001.jpg", 3)), matches);
+    }
+
+    @Test
+    @DisplayName("Should match images added after loading and reload after invalidation")
+    void shouldAddAndInvalidate() {
+        index.add("Ann_Lee", "Ann_Lee_0001.jpg", HASH);
+
+        assertEquals(1, index.findNear(HASH ^ 0b11).size());
+
+        index.invalidate();
+        assertTrue(index.findNear(HASH).isEmpty());
+        verify(faceImageRepository, times(2)).findPerceptualHashes();
+    }
+
+    @Test
+    @DisplayName("Should report each close pair once, matching a brute-force scan")
+    void shouldReportPairsLikeBruteForce() {
+        Random random = new Random(42);
+        List<FaceImageHash> hashes = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            long hash = random.nextLong();
+            hashes.add(new FaceImageHash("P" + i, "P" + i + ".jpg", hash));
+            if (i % 10 == 0) {
+                // A near-duplicate a few bits away
+                hashes.add(new FaceImageHash("D" + i, "D" + i + ".jpg", hash ^ (1L << random.nextInt(64)) ^ (1L << 7)));
+            }
+        }
+        when(faceImageRepository.findPerceptualHashes()).thenReturn(hashes);
+
+        List<FaceDuplicateIndex.DuplicatePair> pairs = index.report(4, 10_000);
+
+        int expected = 0;
+        for (int i = 0; i < hashes.size(); i++) {
+            for (int j = i + 1; j < hashes.size(); j++) {
+                if (PerceptualHash.distance(hashes.get(i).perceptualHash(), hashes.get(j).perceptualHash()) <= 4) {
+                    expected++;
+                }
+            }
+        }
+        assertEquals(expected, pairs.size());
+        assertTrue(expected >= 200);
+        for (FaceDuplicateIndex.DuplicatePair pair : pairs) {
+            assertTrue(pair.distance() <= 4);
+            assertNotEquals(pair.filename(), pair.otherFilename());
+        }
+    }
+
+    @Test
+    @DisplayName("Should stop the report at the limit")
+    void shouldLimitReport() {
+        when(faceImageRepository.findPerceptualHashes()).thenReturn(List.of(
+                new FaceImageHash("A", "a.jpg", HASH),
+                new FaceImageHash("B", "b.jpg", HASH),
+                new FaceImageHash("C", "c.jpg", HASH)));
+
+        assertEquals(3, index.report(0, 10).size());
+        assertEquals(2, index.report(0, 2).size());
+    }
+}
@@ -0,0 +1,177 @@
+package com.memorio.backend.faces;
+
+import com.memorio.backend.common.storage.ImageStorage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FaceImageController Unit Tests")
+class FaceImageControllerTest {
+
+    private static final String HASH = "a".repeat(64);
+    private static final byte[] IMAGE = "0123456789".getBytes(StandardCharsets.US_ASCII);
+
+    @Mock
+    private FaceImageRepository faceImageRepository;
+
+    @Mock
+    private ImageStorage imageStorage;
+
+    @Mock
+    private FaceImageRenditionRepository renditionRepository;
+
+    private MockMvc mockMvc;
+    private FaceImageMeta meta;
+
+    @BeforeEach
+    void setUp() {
+        FacePrimaryImageCache primaryImages = new FacePrimaryImageCache(imageStorage, new SimpleMeterRegistry(), 1024);
+        FaceRenditionService renditionService = new FaceRenditionService(imageStorage, new int[]{96, 160}, 0.82f);
+        FacePrimaryImageResolver resolver = new FacePrimaryImageResolver(
+                faceImageRepository, renditionRepository, renditionService, primaryImages, imageStorage);
+        mockMvc = MockMvcBuilders.standaloneSetup(new FaceImageController(
+                faceImageRepository, imageStorage, renditionRepository, renditionService, resolver)).build();
+        meta = new FaceImageMeta(UUID.randomUUID(), HASH, "image/jpeg");
+    }
+
+    @Test
+    @DisplayName("Should serve the primary image with a content-hash ETag")
+    void shouldServeWithETag() throws Exception {
+        when(faceImageRepository.findActivePrimaryMeta("John_Doe")).thenReturn(Optional.of(meta));
+        when(imageStorage.load(HASH)).thenReturn(Optional.of(new ByteArrayResource(IMAGE)));
+
+        mockMvc.perform(get("/api/faces/primary/John_Doe"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + HASH + "\""))
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "image/jpeg"))
+                .andExpect(content().bytes(IMAGE));
+    }
+
+    @Test
+    @DisplayName("Should serve repeat primary requests from the cache without querying")
+    void shouldServePrimaryFromCache() throws Exception {
+        when(faceImageRepository.findActivePrimaryMeta("John_Doe")).thenReturn(Optional.of(meta));
+        when(imageStorage.load(HASH)).thenReturn(Optional.of(new ByteArrayResource(IMAGE)));
+
+        mockMvc.perform(get("/api/faces/primary/John_Doe")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/faces/primary/John_Doe"))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(IMAGE));
+        mockMvc.perform(get("/api/faces/primary/John_Doe")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + HASH + "\""))
+                .andExpect(status().isNotModified());
+
+        verify(faceImageRepository, times(1)).findActivePrimaryMeta("John_Doe");
+        verify(imageStorage, times(1)).load(HASH);
+    }
+
+    @Test
+    @DisplayName("Should answer primary revalidation on a cold cache without loading the image")
+    void shouldRevalidatePrimaryWithoutLoading() throws Exception {
+        when(faceImageRepository.findActivePrimaryMeta("John_Doe")).thenReturn(Optional.of(meta));
+
+        mockMvc.perform(get("/api/faces/primary/John_Doe")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + HASH + "\""))
+                .andExpect(status().isNotModified());
+
+        verifyNoInteractions(imageStorage);
+    }
+
+    @Test
+    @DisplayName("Should serve inline rows that are not in storage without caching them")
+    void shouldServeInlinePrimary() throws Exception {
+        FaceImageMeta inline = new FaceImageMeta(meta.id(), null, "image/jpeg");
+        when(faceImageRepository.findActivePrimaryMeta("John_Doe")).thenReturn(Optional.of(inline));
+        when(imageStorage.open(isNull(), any())).thenReturn(Optional.of(new ByteArrayResource(IMAGE)));
+
+        mockMvc.perform(get("/api/faces/primary/John_Doe"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(content().bytes(IMAGE));
+
+        verify(imageStorage, never()).load(any());
+    }
+
+    @Test
+    @DisplayName("Should answer a matching If-None-Match with 304 without opening the image")
+    void shouldReturnNotModified() throws Exception {
+        when(faceImageRepository.findActiveMeta("John_Doe", "John_Doe_0001.jpg")).thenReturn(Optional.of(meta));
+
+        mockMvc.perform(get("/api/faces/image/John_Doe/John_Doe_0001.jpg")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + HASH + "\""))
+                .andExpect(status().isNotModified());
+
+        verifyNoInteractions(imageStorage);
+        verify(faceImageRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should serve a byte range with 206")
+    void shouldServeRange() throws Exception {
+        when(faceImageRepository.findActiveMeta("John_Doe", "John_Doe_0001.jpg")).thenReturn(Optional.of(meta));
+        when(imageStorage.open(eq(HASH), any())).thenReturn(Optional.of(new ByteArrayResource(IMAGE)));
+
+        mockMvc.perform(get("/api/faces/image/John_Doe/John_Doe_0001.jpg")
+                        .header(HttpHeaders.RANGE, "bytes=2-4"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-4/10"))
+                .andExpect(content().bytes("234".getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test
+    @DisplayName("Should return 404 for inactive or unknown people")
+    void shouldReturnNotFound() throws Exception {
+        when(faceImageRepository.findActivePrimaryMeta(anyString())).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/faces/primary/Nobody"))
+                .andExpect(status().isNotFound());
+
+        verifyNoInteractions(imageStorage);
+    }
+
+    @Test
+    @DisplayName("Should serve the smallest rendition covering the requested size")
+    void shouldServeRendition() throws Exception {
+        String renditionHash = "c".repeat(64);
+        byte[] thumbnail = {7, 7, 7};
+        when(renditionRepository.findActivePrimaryMeta("John_Doe", 160))
+                .thenReturn(Optional.of(new FaceImageMeta(meta.id(), renditionHash, "image/jpeg")));
+        when(imageStorage.load(renditionHash)).thenReturn(Optional.of(new ByteArrayResource(thumbnail)));
+
+        mockMvc.perform(get("/api/faces/primary/John_Doe").param("size", "120"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + renditionHash + "\""))
+                .andExpect(content().bytes(thumbnail));
+
+        verify(faceImageRepository, never()).findActivePrimaryMeta(anyString());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the original when no rendition exists yet")
+    void shouldFallBackToOriginal() throws Exception {
+        when(renditionRepository.findActiveMeta("John_Doe", "John_Doe_0001.jpg", 96)).thenReturn(Optional.empty());
+        when(faceImageRepository.findActiveMeta("John_Doe", "John_Doe_0001.jpg")).thenReturn(Optional.of(meta));
+        when(imageStorage.open(eq(HASH), any())).thenReturn(Optional.of(new ByteArrayResource(IMAGE)));
+
+        mockMvc.perform(get("/api/faces/image/John_Doe/John_Doe_0001.jpg").param("size", "96"))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(IMAGE));
+    }
+}
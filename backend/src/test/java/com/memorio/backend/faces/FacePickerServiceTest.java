@@ -0,0 +1,109 @@
+package com.memorio.backend.faces;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FacePickerService Unit Tests")
+class FacePickerServiceTest {
+
+    @Mock
+    private PersonRepository personRepository;
+
+    @InjectMocks
+    private FacePickerService facePickerService;
+
+    private List<Object[]> rows;
+
+    @BeforeEach
+    void setUp() {
+        rows = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            rows.add(new Object[]{"person_" + i, "Person " + i, (i % 3) + 1});
+        }
+    }
+
+    @Test
+    @DisplayName("Should pick distinct people within the difficulty allowed for the level")
+    void shouldPickDistinctEasyFaces() {
+        when(personRepository.findActiveFaceIndexRows()).thenReturn(rows);
+
+        for (int round = 0; round < 50; round++) {
+            List<PickedFace> faces = facePickerService.pickFaces(2, 6);
+
+            assertEquals(6, faces.size());
+            Set<String> names = new HashSet<>();
+            for (PickedFace face : faces) {
+                assertTrue(names.add(face.personName()));
+                int number = Integer.parseInt(face.personName().substring("person_".length()));
+                assertEquals(0, number % 3, "level 2 should only draw difficulty 1");
+                assertEquals("Person " + number, face.displayName());
+            }
+        }
+        verify(personRepository, times(1)).findActiveFaceIndexRows();
+    }
+
+    @Test
+    @DisplayName("Should return every eligible person when fewer than requested")
+    void shouldReturnWholePoolWhenSmall() {
+        when(personRepository.findActiveFaceIndexRows()).thenReturn(rows);
+
+        List<PickedFace> faces = facePickerService.pickFaces(5, 50);
+
+        assertEquals(20, faces.size());
+        assertEquals(20, new HashSet<>(faces).size());
+    }
+
+    @Test
+    @DisplayName("Should rebuild the index after a catalog change")
+    void shouldRebuildAfterCatalogChange() {
+        when(personRepository.findActiveFaceIndexRows())
+                .thenReturn(rows)
+                .thenReturn(List.<Object[]>of(new Object[]{"new_person", "New Person", 1}));
+
+        facePickerService.pickFaces(1, 3);
+        facePickerService.onCatalogChanged(new FaceCatalogChangedEvent("new_person"));
+        List<PickedFace> faces = facePickerService.pickFaces(1, 3);
+
+        assertEquals(List.of(new PickedFace("new_person", "New Person")), faces);
+        verify(personRepository, times(2)).findActiveFaceIndexRows();
+    }
+
+    @Test
+    @DisplayName("Should not keep an index built while the catalog changed")
+    void shouldDiscardIndexBuiltDuringChange() {
+        when(personRepository.findActiveFaceIndexRows())
+                .thenAnswer(invocation -> {
+                    facePickerService.onCatalogChanged(new FaceCatalogChangedEvent("new_person"));
+                    return rows;
+                })
+                .thenReturn(List.<Object[]>of(new Object[]{"new_person", "New Person", 1}));
+
+        assertEquals(3, facePickerService.pickFaces(1, 3).size());
+        List<PickedFace> faces = facePickerService.pickFaces(1, 3);
+
+        assertEquals(List.of(new PickedFace("new_person", "New Person")), faces);
+        verify(personRepository, times(2)).findActiveFaceIndexRows();
+    }
+
+    @Test
+    @DisplayName("Should return no faces when nobody is active")
+    void shouldReturnEmptyWhenNoPeople() {
+        when(personRepository.findActiveFaceIndexRows()).thenReturn(List.of());
+
+        assertTrue(facePickerService.pickFaces(10, 5).isEmpty());
+    }
+}
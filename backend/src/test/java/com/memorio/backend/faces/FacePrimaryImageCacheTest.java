@@ -0,0 +1,78 @@
+package com.memorio.backend.faces;
+
+import com.memorio.backend.common.storage.ImageStorage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FacePrimaryImageCache Unit Tests")
+class FacePrimaryImageCacheTest {
+
+    private static final String HASH = "b".repeat(64);
+
+    @Mock
+    private ImageStorage imageStorage;
+
+    private SimpleMeterRegistry registry;
+    private FacePrimaryImageCache cache;
+    private FaceImageMeta meta;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        cache = new FacePrimaryImageCache(imageStorage, registry, 1024);
+        meta = new FaceImageMeta(UUID.randomUUID(), HASH, "image/png");
+    }
+
+    @Test
+    @DisplayName("Should read a stored image into a direct buffer once")
+    void shouldLoadIntoDirectBuffer() throws Exception {
+        byte[] image = {1, 2, 3, 4};
+        when(imageStorage.load(HASH)).thenReturn(Optional.of(new ByteArrayResource(image)));
+
+        var loaded = cache.load("Jane_Doe", 0, meta).orElseThrow();
+        cache.load("Jane_Doe", 0, meta);
+
+        assertTrue(loaded.data().isDirect());
+        assertArrayEquals(image, loaded.resource().getContentAsByteArray());
+        assertSame(loaded, cache.getIfPresent("Jane_Doe", 0).orElseThrow());
+        verify(imageStorage, times(1)).load(HASH);
+    }
+
+    @Test
+    @DisplayName("Should drop every size of a person's image when the catalog changes")
+    void shouldEvictOnCatalogChange() {
+        when(imageStorage.load(HASH)).thenReturn(Optional.of(new ByteArrayResource(new byte[]{9})));
+        cache.load("Jane_Doe", 0, meta);
+        cache.load("Jane_Doe", 96, meta);
+        cache.load("John_Roe", 96, meta);
+
+        cache.onCatalogChanged(new FaceCatalogChangedEvent("Jane_Doe"));
+
+        assertTrue(cache.getIfPresent("Jane_Doe", 0).isEmpty());
+        assertTrue(cache.getIfPresent("Jane_Doe", 96).isEmpty());
+        assertTrue(cache.getIfPresent("John_Roe", 96).isPresent());
+    }
+
+    @Test
+    @DisplayName("Should not cache images that are not in storage")
+    void shouldSkipInlineImages() {
+        FaceImageMeta inline = new FaceImageMeta(meta.id(), null, "image/png");
+
+        assertTrue(cache.load("Jane_Doe", 0, inline).isEmpty());
+        assertTrue(cache.getIfPresent("Jane_Doe", 0).isEmpty());
+        verifyNoInteractions(imageStorage);
+    }
+}
@@ -0,0 +1,108 @@
+package com.memorio.backend.faces;
+
+import com.memorio.backend.common.storage.ImageStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FaceRenditionService Unit Tests")
+class FaceRenditionServiceTest {
+
+    @Mock
+    private ImageStorage imageStorage;
+
+    private FaceRenditionService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new FaceRenditionService(imageStorage, new int[]{160, 96}, 0.82f);
+    }
+
+    @Test
+    @DisplayName("Should map requested sizes to the smallest covering rendition")
+    void shouldBucketSizes() {
+        assertEquals(96, service.bucket(40));
+        assertEquals(96, service.bucket(96));
+        assertEquals(160, service.bucket(97));
+        assertEquals(0, service.bucket(250));
+        assertEquals(0, service.bucket(null));
+        assertEquals(0, service.bucket(-5));
+    }
+
+    @Test
+    @DisplayName("Should store a JPEG per size smaller than the original")
+    void shouldRenderSmallerSizes() throws Exception {
+        when(imageStorage.store(any())).thenReturn("hash-96", "hash-160");
+        ArgumentCaptor<byte[]> stored = ArgumentCaptor.forClass(byte[].class);
+
+        List<FaceRenditionService.StoredRendition> renditions = service.renderAndStore(jpeg(250, 200));
+
+        assertEquals(2, renditions.size());
+        assertEquals(new FaceRenditionService.StoredRendition(96, "hash-96",
+                renditions.get(0).fileSize(), 96, 77), renditions.get(0));
+        assertEquals(160, renditions.get(1).width());
+        assertEquals(128, renditions.get(1).height());
+
+        verify(imageStorage, times(2)).store(stored.capture());
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(stored.getAllValues().get(0)));
+        assertEquals(96, decoded.getWidth());
+        assertEquals(renditions.get(0).fileSize(), stored.getAllValues().get(0).length);
+    }
+
+    @Test
+    @DisplayName("Should not upscale images smaller than a rendition")
+    void shouldSkipUpscaling() throws Exception {
+        when(imageStorage.store(any())).thenReturn("hash-96");
+
+        List<FaceRenditionService.StoredRendition> renditions = service.renderAndStore(jpeg(120, 120));
+
+        assertEquals(1, renditions.size());
+        assertEquals(96, renditions.get(0).maxDimension());
+    }
+
+    @Test
+    @DisplayName("Should render transparent areas of a PNG on white")
+    void shouldCompositeTransparencyOnWhite() throws Exception {
+        when(imageStorage.store(any())).thenReturn("hash-96", "hash-160");
+        ArgumentCaptor<byte[]> stored = ArgumentCaptor.forClass(byte[].class);
+        BufferedImage transparent = new BufferedImage(250, 250, BufferedImage.TYPE_INT_ARGB);
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(transparent, "png", png);
+
+        service.renderAndStore(png.toByteArray());
+
+        verify(imageStorage, times(2)).store(stored.capture());
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(stored.getAllValues().get(0)));
+        int rgb = decoded.getRGB(48, 48);
+        assertTrue((rgb >> 16 & 0xFF) > 240 && (rgb >> 8 & 0xFF) > 240 && (rgb & 0xFF) > 240);
+    }
+
+    @Test
+    @DisplayName("Should render nothing for undecodable bytes")
+    void shouldIgnoreUndecodable() throws Exception {
+        assertTrue(service.renderAndStore("not an image".getBytes()).isEmpty());
+        verifyNoInteractions(imageStorage);
+    }
+
+    private static byte[] jpeg(int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,70 @@
+package com.memorio.backend.faces;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FaceStatisticsService Unit Tests")
+class FaceStatisticsServiceTest {
+
+    @Mock
+    private PersonRepository personRepository;
+
+    private FaceStatisticsService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new FaceStatisticsService(personRepository, 60_000);
+    }
+
+    @Test
+    @DisplayName("Should fold the grouped rows into dashboard counts")
+    void shouldAggregateRows() {
+        when(personRepository.findCatalogCounts()).thenReturn(List.of(
+                new Object[]{true, 1, 10L, new BigDecimal("40")},
+                new Object[]{true, 2, 5L, new BigDecimal("12")},
+                new Object[]{true, 3, 2L, new BigDecimal("3")},
+                new Object[]{false, 1, 4L, new BigDecimal("9")}));
+
+        FaceCatalogStats stats = service.getStats();
+
+        assertEquals(new FaceCatalogStats(21, 17, 64, 10, 5, 2), stats);
+        assertTrue(stats.hasData());
+    }
+
+    @Test
+    @DisplayName("Should serve the snapshot until the catalog changes")
+    void shouldCacheUntilCatalogChanges() {
+        when(personRepository.findCatalogCounts()).thenReturn(List.<Object[]>of(new Object[]{true, 1, 1L, 1L}));
+
+        service.getStats();
+        service.getStats();
+        verify(personRepository, times(1)).findCatalogCounts();
+
+        service.onCatalogChanged(new FaceCatalogChangedEvent("Ann_Lee"));
+        service.getStats();
+        verify(personRepository, times(2)).findCatalogCounts();
+    }
+
+    @Test
+    @DisplayName("Should recompute once the snapshot is older than the max age")
+    void shouldExpireSnapshot() {
+        service = new FaceStatisticsService(personRepository, 0);
+        when(personRepository.findCatalogCounts()).thenReturn(List.of());
+
+        assertFalse(service.getStats().hasData());
+        service.getStats();
+
+        verify(personRepository, times(2)).findCatalogCounts();
+    }
+}
@@ -0,0 +1,80 @@
+package com.memorio.backend.faces;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PerceptualHash Unit Tests")
+class PerceptualHashTest {
+
+    @Test
+    @DisplayName("Should hash a resized, re-encoded copy within the duplicate distance of the original")
+    void shouldMatchResizedCopy() throws Exception {
+        BufferedImage original = blobs(250, 250, 1);
+        BufferedImage copy = reencode(resize(original, 160, 160));
+
+        assertTrue(PerceptualHash.distance(PerceptualHash.dHash(original), PerceptualHash.dHash(copy)) <= 8);
+    }
+
+    @Test
+    @DisplayName("Should hash different images far apart")
+    void shouldSeparateDifferentImages() {
+        long a = PerceptualHash.dHash(blobs(250, 250, 1));
+        long b = PerceptualHash.dHash(blobs(250, 250, 2));
+
+        assertTrue(PerceptualHash.distance(a, b) > 16);
+    }
+
+    @Test
+    @DisplayName("Should set a bit where a cell is brighter than its right neighbour")
+    void shouldEncodeGradient() {
+        BufferedImage image = new BufferedImage(9, 8, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < 8; y++) {
+            for (int x = 0; x < 9; x++) {
+                int v = 255 - x * 25;
+                image.setRGB(x, y, (v << 16) | (v << 8) | v);
+            }
+        }
+
+        assertEquals(-1L, PerceptualHash.dHash(image));
+        assertEquals(64, PerceptualHash.distance(0L, -1L));
+    }
+
+    // Smooth random shapes, closer to a photo than pixel noise
+    private static BufferedImage blobs(int width, int height, long seed) {
+        Random random = new Random(seed);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        for (int i = 0; i < 12; i++) {
+            g.setColor(new Color(random.nextInt(0x1000000)));
+            g.fillOval(random.nextInt(width) - width / 4, random.nextInt(height) - height / 4, width / 2, height / 2);
+        }
+        g.dispose();
+        return image;
+    }
+
+    private static BufferedImage resize(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(source, 0, 0, width, height, null);
+        g.dispose();
+        return target;
+    }
+
+    private static BufferedImage reencode(BufferedImage image) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", out);
+        return ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+    }
+}
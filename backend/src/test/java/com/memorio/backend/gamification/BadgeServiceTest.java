@@ -1,7 +1,5 @@
 package com.memorio.backend.gamification;
 
-import com.memorio.backend.exercise.ExerciseAttemptRepository;
-import com.memorio.backend.exercise.ExerciseSessionRepository;
 import com.memorio.backend.exercise.ExerciseType;
 import com.memorio.backend.exercise.StreakService;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,6 +14,7 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
 import java.time.ZoneId;
+import java.util.Arrays;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -30,15 +29,6 @@ class BadgeServiceTest {
     @Mock
     private UserBadgeRepository badgeRepo;
 
-    @Mock
-    private UserStatsRepository statsRepo;
-
-    @Mock
-    private ExerciseSessionRepository sessionRepo;
-
-    @Mock
-    private ExerciseAttemptRepository attemptRepo;
-
     @Mock
     private StreakService streakService;
 
@@ -59,27 +49,31 @@ class BadgeServiceTest {
         @Test
         @DisplayName("Should award FIRST_ATTEMPT badge on first exercise")
         void shouldAwardFirstAttemptBadge() {
-            when(badgeRepo.existsByUserIdAndCode(userId, "FIRST_ATTEMPT")).thenReturn(false);
+            givenOwned("EXERCISES_10");
+            UserStats stats = stats(1, null, 0, 0);
             when(streakService.computeCurrentStreak(eq(userId), any(ZoneId.class))).thenReturn(1);
-            when(sessionRepo.countCompletedByUserId(userId)).thenReturn(1L);
-            when(badgeRepo.existsByUserIdAndCode(userId, "EXERCISES_10")).thenReturn(true);
 
             BadgeService.BadgeResult result = badgeService.evaluateAndAwardBadges(
-                    userId, ExerciseType.WORD_LINKING, false, 50);
+                    stats, ExerciseType.WORD_LINKING, false, 50);
 
             assertTrue(result.newBadges().contains("FIRST_ATTEMPT"));
-            verify(badgeRepo).save(argThat(badge -> badge.getCode().equals("FIRST_ATTEMPT")));
+            verify(badgeRepo).saveAll(argThat(rows -> {
+                for (UserBadge badge : rows) {
+                    if (badge.getCode().equals("FIRST_ATTEMPT") && badge.getUserId().equals(userId)) return true;
+                }
+                return false;
+            }));
         }
 
         @Test
         @DisplayName("Should not award FIRST_ATTEMPT if already exists")
         void shouldNotAwardFirstAttemptIfExists() {
-            when(badgeRepo.existsByUserIdAndCode(userId, "FIRST_ATTEMPT")).thenReturn(true);
+            givenOwned("FIRST_ATTEMPT");
+            UserStats stats = stats(1, null, 0, 0);
             when(streakService.computeCurrentStreak(eq(userId), any(ZoneId.class))).thenReturn(1);
-            when(sessionRepo.countCompletedByUserId(userId)).thenReturn(1L);
 
             BadgeService.BadgeResult result = badgeService.evaluateAndAwardBadges(
-                    userId, ExerciseType.WORD_LINKING, false, 50);
+                    stats, ExerciseType.WORD_LINKING, false, 50);
 
             assertFalse(result.newBadges().contains("FIRST_ATTEMPT"));
         }
@@ -92,13 +86,12 @@ class BadgeServiceTest {
         @Test
         @DisplayName("Should award STREAK_7 badge at 7 day streak")
         void shouldAwardStreak7Badge() {
-            when(badgeRepo.existsByUserIdAndCode(userId, "FIRST_ATTEMPT")).thenReturn(true);
-            when(badgeRepo.existsByUserIdAndCode(userId, "STREAK_7")).thenReturn(false);
+            givenOwned("FIRST_ATTEMPT");
+            UserStats stats = stats(5, null, 0, 0);
             when(streakService.computeCurrentStreak(eq(userId), any(ZoneId.class))).thenReturn(7);
-            when(sessionRepo.countCompletedByUserId(userId)).thenReturn(5L);
 
             BadgeService.BadgeResult result = badgeService.evaluateAndAwardBadges(
-                    userId, ExerciseType.WORD_LINKING, false, 500);
+                    stats, ExerciseType.WORD_LINKING, false, 500);
 
             assertTrue(result.newBadges().contains("STREAK_7"));
             assertEquals(100, result.bonusPoints());
@@ -107,14 +100,12 @@ class BadgeServiceTest {
         @Test
         @DisplayName("Should award STREAK_30 badge at 30 day streak")
         void shouldAwardStreak30Badge() {
-            when(badgeRepo.existsByUserIdAndCode(userId, "FIRST_ATTEMPT")).thenReturn(true);
-            when(badgeRepo.existsByUserIdAndCode(userId, "STREAK_7")).thenReturn(true);
-            when(badgeRepo.existsByUserIdAndCode(userId, "STREAK_30")).thenReturn(false);
+            givenOwned("FIRST_ATTEMPT", "STREAK_7");
+            UserStats stats = stats(30, null, 0, 0);
             when(streakService.computeCurrentStreak(eq(userId), any(ZoneId.class))).thenReturn(30);
-            when(sessionRepo.countCompletedByUserId(userId)).thenReturn(30L);
 
             BadgeService.BadgeResult result = badgeService.evaluateAndAwardBadges(
-                    userId, ExerciseType.WORD_LINKING, false, 500);
+                    stats, ExerciseType.WORD_LINKING, false, 500);
 
             assertTrue(result.newBadges().contains("STREAK_30"));
             assertTrue(result.bonusPoints() >= 250);
@@ -123,15 +114,12 @@ class BadgeServiceTest {
         @Test
         @DisplayName("Should award STREAK_100 badge at 100 day streak")
         void shouldAwardStreak100Badge() {
-            when(badgeRepo.existsByUserIdAndCode(userId, "FIRST_ATTEMPT")).thenReturn(true);
-            when(badgeRepo.existsByUserIdAndCode(userId, "STREAK_7")).thenReturn(true);
-            when(badgeRepo.existsByUserIdAndCode(userId, "STREAK_30")).thenReturn(true);
-            when(badgeRepo.existsByUserIdAndCode(userId, "STREAK_100")).thenReturn(false);
+            givenOwned("FIRST_ATTEMPT", "STREAK_7", "STREAK_30");
+            UserStats stats = stats(100, null, 0, 0);
             when(streakService.computeCurrentStreak(eq(userId), any(ZoneId.class))).thenReturn(100);
-            when(sessionRepo.countCompletedByUserId(userId)).thenReturn(100L);
 
             BadgeService.BadgeResult result = badgeService.evaluateAndAwardBadges(
-                    userId, ExerciseType.WORD_LINKING, false, 500);
+                    stats, ExerciseType.WORD_LINKING, false, 500);
 
             assertTrue(result.newBadges().contains("STREAK_100"));
             assertTrue(result.bonusPoints() >= 500);
@@ -140,15 +128,29 @@ class BadgeServiceTest {
         @Test
         @DisplayName("Should not award streak badge below threshold")
         void shouldNotAwardStreakBadgeBelowThreshold() {
-            when(badgeRepo.existsByUserIdAndCode(userId, "FIRST_ATTEMPT")).thenReturn(true);
+            givenOwned("FIRST_ATTEMPT");
+            UserStats stats = stats(5, null, 0, 0);
             when(streakService.computeCurrentStreak(eq(userId), any(ZoneId.class))).thenReturn(5);
-            when(sessionRepo.countCompletedByUserId(userId)).thenReturn(5L);
 
             BadgeService.BadgeResult result = badgeService.evaluateAndAwardBadges(
-                    userId, ExerciseType.WORD_LINKING, false, 500);
+                    stats, ExerciseType.WORD_LINKING, false, 500);
 
             assertFalse(result.newBadges().contains("STREAK_7"));
         }
+
+        @Test
+        @DisplayName("Should not compute streak once every streak badge is owned")
+        void shouldSkipStreakWhenAllStreakBadgesOwned() {
+            givenOwned("FIRST_ATTEMPT", "STREAK_7", "STREAK_30", "STREAK_100");
+            UserStats stats = stats(5, null, 0, 0);
+
+            BadgeService.BadgeResult result = badgeService.evaluateAndAwardBadges(
+                    stats, ExerciseType.WORD_LINKING, false, 500);
+
+            assertTrue(result.newBadges().isEmpty());
+            verifyNoInteractions(streakService);
+            verify(badgeRepo, never()).saveAll(any());
+        }
     }
 
     @Nested
@@ -158,13 +160,12 @@ class BadgeServiceTest {
         @Test
         @DisplayName("Should award EXERCISES_10 badge at 10 completed exercises")
         void shouldAwardExercises10Badge() {
-            when(badgeRepo.existsByUserIdAndCode(userId, "FIRST_ATTEMPT")).thenReturn(true);
-            when(badgeRepo.existsByUserIdAndCode(userId, "EXERCISES_10")).thenReturn(false);
+            givenOwned("FIRST_ATTEMPT");
+            UserStats stats = stats(10, null, 0, 0);
             when(streakService.computeCurrentStreak(eq(userId), any(ZoneId.class))).thenReturn(1);
-            when(sessionRepo.countCompletedByUserId(userId)).thenReturn(10L);
 
             BadgeService.BadgeResult result = badgeService.evaluateAndAwardBadges(
-                    userId, ExerciseType.WORD_LINKING, false, 500);
+                    stats, ExerciseType.WORD_LINKING, false, 500);
 
             assertTrue(result.newBadges().contains("EXERCISES_10"));
             assertTrue(result.bonusPoints() >= 50);
@@ -173,14 +174,12 @@ class BadgeServiceTest {
         @Test
         @DisplayName("Should award EXERCISES_50 badge at 50 completed exercises")
         void shouldAwardExercises50Badge() {
-            when(badgeRepo.existsByUserIdAndCode(userId, "FIRST_ATTEMPT")).thenReturn(true);
-            when(badgeRepo.existsByUserIdAndCode(userId, "EXERCISES_10")).thenReturn(true);
-            when(badgeRepo.existsByUserIdAndCode(userId, "EXERCISES_50")).thenReturn(false);
+            givenOwned("FIRST_ATTEMPT", "EXERCISES_10");
+            UserStats stats = stats(50, null, 0, 0);
             when(streakService.computeCurrentStreak(eq(userId), any(ZoneId.class))).thenReturn(1);
-            when(sessionRepo.countCompletedByUserId(userId)).thenReturn(50L);
 
             BadgeService.BadgeResult result = badgeService.evaluateAndAwardBadges(
-                    userId, ExerciseType.WORD_LINKING, false, 500);
+                    stats, ExerciseType.WORD_LINKING, false, 500);
 
             assertTrue(result.newBadges().contains("EXERCISES_50"));
             assertTrue(result.bonusPoints() >= 150);
@@ -189,15 +188,12 @@ class BadgeServiceTest {
         @Test
         @DisplayName("Should award EXERCISES_100 badge at 100 completed exercises")
         void shouldAwardExercises100Badge() {
-            when(badgeRepo.existsByUserIdAndCode(userId, "FIRST_ATTEMPT")).thenReturn(true);
-            when(badgeRepo.existsByUserIdAndCode(userId, "EXERCISES_10")).thenReturn(true);
-            when(badgeRepo.existsByUserIdAndCode(userId, "EXERCISES_50")).thenReturn(true);
-            when(badgeRepo.existsByUserIdAndCode(userId, "EXERCISES_100")).thenReturn(false);
+            givenOwned("FIRST_ATTEMPT", "EXERCISES_10", "EXERCISES_50");
+            UserStats stats = stats(100, null, 0, 0);
             when(streakService.computeCurrentStreak(eq(userId), any(ZoneId.class))).thenReturn(1);
-            when(sessionRepo.countCompletedByUserId(userId)).thenReturn(100L);
 
             BadgeService.BadgeResult result = badgeService.evaluateAndAwardBadges(
-                    userId, ExerciseType.WORD_LINKING, false, 500);
+                    stats, ExerciseType.WORD_LINKING, false, 500);
 
             assertTrue(result.newBadges().contains("EXERCISES_100"));
             assertTrue(result.bonusPoints() >= 300);
@@ -206,16 +202,12 @@ class BadgeServiceTest {
         @Test
         @DisplayName("Should award EXERCISES_500 badge at 500 completed exercises")
         void shouldAwardExercises500Badge() {
-            when(badgeRepo.existsByUserIdAndCode(userId, "FIRST_ATTEMPT")).thenReturn(true);
-            when(badgeRepo.existsByUserIdAndCode(userId, "EXERCISES_10")).thenReturn(true);
-            when(badgeRepo.existsByUserIdAndCode(userId, "EXERCISES_50")).thenReturn(true);
-            when(badgeRepo.existsByUserIdAndCode(userId, "EXERCISES_100")).thenReturn(true);
-            when(badgeRepo.existsByUserIdAndCode(userId, "EXERCISES_500")).thenReturn(false);
+            givenOwned("FIRST_ATTEMPT", "EXERCISES_10", "EXERCISES_50", "EXERCISES_100");
+            UserStats stats = stats(500, null, 0, 0);
             when(streakService.computeCurrentStreak(eq(userId), any(ZoneId.class))).thenReturn(1);
-            when(sessionRepo.countCompletedByUserId(userId)).thenReturn(500L);
 
             BadgeService.BadgeResult result = badgeService.evaluateAndAwardBadges(
-                    userId, ExerciseType.WORD_LINKING, false, 500);
+                    stats, ExerciseType.WORD_LINKING, false, 500);
 
             assertTrue(result.newBadges().contains("EXERCISES_500"));
             assertTrue(result.bonusPoints() >= 750);
@@ -229,14 +221,12 @@ class BadgeServiceTest {
         @Test
         @DisplayName("Should award FIRST_PERFECT badge on first perfect score")
         void shouldAwardFirstPerfectBadge() {
-            when(badgeRepo.existsByUserIdAndCode(userId, "FIRST_ATTEMPT")).thenReturn(true);
-            when(badgeRepo.existsByUserIdAndCode(userId, "FIRST_PERFECT")).thenReturn(false);
+            givenOwned("FIRST_ATTEMPT");
+            UserStats stats = stats(1, null, 0, 1);
             when(streakService.computeCurrentStreak(eq(userId), any(ZoneId.class))).thenReturn(1);
-            when(sessionRepo.countCompletedByUserId(userId)).thenReturn(1L);
-            when(attemptRepo.countPerfectScoresByUserId(userId)).thenReturn(1L);
 
             BadgeService.BadgeResult result = badgeService.evaluateAndAwardBadges(
-                    userId, ExerciseType.WORD_LINKING, true, 500);
+                    stats, ExerciseType.WORD_LINKING, true, 500);
 
             assertTrue(result.newBadges().contains("FIRST_PERFECT"));
             assertTrue(result.bonusPoints() >= 50);
@@ -245,15 +235,12 @@ class BadgeServiceTest {
         @Test
         @DisplayName("Should award PERFECT_10 badge at 10 perfect scores")
         void shouldAwardPerfect10Badge() {
-            when(badgeRepo.existsByUserIdAndCode(userId, "FIRST_ATTEMPT")).thenReturn(true);
-            when(badgeRepo.existsByUserIdAndCode(userId, "FIRST_PERFECT")).thenReturn(true);
-            when(badgeRepo.existsByUserIdAndCode(userId, "PERFECT_10")).thenReturn(false);
+            givenOwned("FIRST_ATTEMPT", "FIRST_PERFECT");
+            UserStats stats = stats(10, null, 0, 10);
             when(streakService.computeCurrentStreak(eq(userId), any(ZoneId.class))).thenReturn(1);
-            when(sessionRepo.countCompletedByUserId(userId)).thenReturn(10L);
-            when(attemptRepo.countPerfectScoresByUserId(userId)).thenReturn(10L);
 
             BadgeService.BadgeResult result = badgeService.evaluateAndAwardBadges(
-                    userId, ExerciseType.WORD_LINKING, true, 500);
+                    stats, ExerciseType.WORD_LINKING, true, 500);
 
             assertTrue(result.newBadges().contains("PERFECT_10"));
             assertTrue(result.bonusPoints() >= 200);
@@ -262,15 +249,15 @@ class BadgeServiceTest {
         @Test
         @DisplayName("Should not check perfect badges if not perfect score")
         void shouldNotCheckPerfectBadgesIfNotPerfect() {
-            when(badgeRepo.existsByUserIdAndCode(userId, "FIRST_ATTEMPT")).thenReturn(true);
+            givenOwned("FIRST_ATTEMPT");
+            UserStats stats = stats(10, null, 0, 10);
             when(streakService.computeCurrentStreak(eq(userId), any(ZoneId.class))).thenReturn(1);
-            when(sessionRepo.countCompletedByUserId(userId)).thenReturn(1L);
 
             BadgeService.BadgeResult result = badgeService.evaluateAndAwardBadges(
-                    userId, ExerciseType.WORD_LINKING, false, 500);
+                    stats, ExerciseType.WORD_LINKING, false, 500);
 
             assertFalse(result.newBadges().contains("FIRST_PERFECT"));
-            verify(attemptRepo, never()).countPerfectScoresByUserId(any());
+            assertFalse(result.newBadges().contains("PERFECT_10"));
         }
     }
 
@@ -281,14 +268,12 @@ class BadgeServiceTest {
         @Test
         @DisplayName("Should award WORD_MASTER badge at 25 word linking exercises")
         void shouldAwardWordMasterBadge() {
-            when(badgeRepo.existsByUserIdAndCode(userId, "FIRST_ATTEMPT")).thenReturn(true);
-            when(badgeRepo.existsByUserIdAndCode(userId, "WORD_MASTER")).thenReturn(false);
+            givenOwned("FIRST_ATTEMPT");
+            UserStats stats = stats(25, ExerciseType.WORD_LINKING, 25, 0);
             when(streakService.computeCurrentStreak(eq(userId), any(ZoneId.class))).thenReturn(1);
-            when(sessionRepo.countCompletedByUserId(userId)).thenReturn(25L);
-            when(sessionRepo.countCompletedByUserIdAndType(userId, ExerciseType.WORD_LINKING)).thenReturn(25L);
 
             BadgeService.BadgeResult result = badgeService.evaluateAndAwardBadges(
-                    userId, ExerciseType.WORD_LINKING, false, 500);
+                    stats, ExerciseType.WORD_LINKING, false, 500);
 
             assertTrue(result.newBadges().contains("WORD_MASTER"));
             assertTrue(result.bonusPoints() >= 300);
@@ -297,14 +282,12 @@ class BadgeServiceTest {
         @Test
         @DisplayName("Should award FACE_MASTER badge at 25 names faces exercises")
         void shouldAwardFaceMasterBadge() {
-            when(badgeRepo.existsByUserIdAndCode(userId, "FIRST_ATTEMPT")).thenReturn(true);
-            when(badgeRepo.existsByUserIdAndCode(userId, "FACE_MASTER")).thenReturn(false);
+            givenOwned("FIRST_ATTEMPT");
+            UserStats stats = stats(25, ExerciseType.NAMES_FACES, 25, 0);
             when(streakService.computeCurrentStreak(eq(userId), any(ZoneId.class))).thenReturn(1);
-            when(sessionRepo.countCompletedByUserId(userId)).thenReturn(25L);
-            when(sessionRepo.countCompletedByUserIdAndType(userId, ExerciseType.NAMES_FACES)).thenReturn(25L);
 
             BadgeService.BadgeResult result = badgeService.evaluateAndAwardBadges(
-                    userId, ExerciseType.NAMES_FACES, false, 500);
+                    stats, ExerciseType.NAMES_FACES, false, 500);
 
             assertTrue(result.newBadges().contains("FACE_MASTER"));
             assertTrue(result.bonusPoints() >= 300);
@@ -313,14 +296,12 @@ class BadgeServiceTest {
         @Test
         @DisplayName("Should award NUMBER_MASTER badge at 25 number peg exercises")
         void shouldAwardNumberMasterBadge() {
-            when(badgeRepo.existsByUserIdAndCode(userId, "FIRST_ATTEMPT")).thenReturn(true);
-            when(badgeRepo.existsByUserIdAndCode(userId, "NUMBER_MASTER")).thenReturn(false);
+            givenOwned("FIRST_ATTEMPT");
+            UserStats stats = stats(25, ExerciseType.NUMBER_PEG, 25, 0);
             when(streakService.computeCurrentStreak(eq(userId), any(ZoneId.class))).thenReturn(1);
-            when(sessionRepo.countCompletedByUserId(userId)).thenReturn(25L);
-            when(sessionRepo.countCompletedByUserIdAndType(userId, ExerciseType.NUMBER_PEG)).thenReturn(25L);
 
             BadgeService.BadgeResult result = badgeService.evaluateAndAwardBadges(
-                    userId, ExerciseType.NUMBER_PEG, false, 500);
+                    stats, ExerciseType.NUMBER_PEG, false, 500);
 
             assertTrue(result.newBadges().contains("NUMBER_MASTER"));
             assertTrue(result.bonusPoints() >= 300);
@@ -329,16 +310,16 @@ class BadgeServiceTest {
         @Test
         @DisplayName("Should not check mastery for wrong exercise type")
         void shouldNotCheckMasteryForWrongType() {
-            when(badgeRepo.existsByUserIdAndCode(userId, "FIRST_ATTEMPT")).thenReturn(true);
+            givenOwned("FIRST_ATTEMPT");
+            UserStats stats = stats(25, ExerciseType.WORD_LINKING, 25, 0);
             when(streakService.computeCurrentStreak(eq(userId), any(ZoneId.class))).thenReturn(1);
-            when(sessionRepo.countCompletedByUserId(userId)).thenReturn(25L);
 
-            badgeService.evaluateAndAwardBadges(
-                    userId, ExerciseType.DAILY_CHALLENGE, false, 500);
+            BadgeService.BadgeResult result = badgeService.evaluateAndAwardBadges(
+                    stats, ExerciseType.DAILY_CHALLENGE, false, 500);
 
-            verify(sessionRepo, never()).countCompletedByUserIdAndType(any(), eq(ExerciseType.WORD_LINKING));
-            verify(sessionRepo, never()).countCompletedByUserIdAndType(any(), eq(ExerciseType.NAMES_FACES));
-            verify(sessionRepo, never()).countCompletedByUserIdAndType(any(), eq(ExerciseType.NUMBER_PEG));
+            assertFalse(result.newBadges().contains("WORD_MASTER"));
+            assertFalse(result.newBadges().contains("FACE_MASTER"));
+            assertFalse(result.newBadges().contains("NUMBER_MASTER"));
         }
     }
 
@@ -349,13 +330,12 @@ class BadgeServiceTest {
         @Test
         @DisplayName("Should award POINTS_1000 badge at 1000 points")
         void shouldAwardPoints1000Badge() {
-            when(badgeRepo.existsByUserIdAndCode(userId, "FIRST_ATTEMPT")).thenReturn(true);
-            when(badgeRepo.existsByUserIdAndCode(userId, "POINTS_1000")).thenReturn(false);
+            givenOwned("FIRST_ATTEMPT");
+            UserStats stats = stats(1, null, 0, 0);
             when(streakService.computeCurrentStreak(eq(userId), any(ZoneId.class))).thenReturn(1);
-            when(sessionRepo.countCompletedByUserId(userId)).thenReturn(1L);
 
             BadgeService.BadgeResult result = badgeService.evaluateAndAwardBadges(
-                    userId, ExerciseType.WORD_LINKING, false, 1000);
+                    stats, ExerciseType.WORD_LINKING, false, 1000);
 
             assertTrue(result.newBadges().contains("POINTS_1000"));
             assertTrue(result.bonusPoints() >= 100);
@@ -364,14 +344,12 @@ class BadgeServiceTest {
         @Test
         @DisplayName("Should award POINTS_10000 badge at 10000 points")
         void shouldAwardPoints10000Badge() {
-            when(badgeRepo.existsByUserIdAndCode(userId, "FIRST_ATTEMPT")).thenReturn(true);
-            when(badgeRepo.existsByUserIdAndCode(userId, "POINTS_1000")).thenReturn(true);
-            when(badgeRepo.existsByUserIdAndCode(userId, "POINTS_10000")).thenReturn(false);
+            givenOwned("FIRST_ATTEMPT", "POINTS_1000");
+            UserStats stats = stats(100, null, 0, 0);
             when(streakService.computeCurrentStreak(eq(userId), any(ZoneId.class))).thenReturn(1);
-            when(sessionRepo.countCompletedByUserId(userId)).thenReturn(100L);
 
             BadgeService.BadgeResult result = badgeService.evaluateAndAwardBadges(
-                    userId, ExerciseType.WORD_LINKING, false, 10000);
+                    stats, ExerciseType.WORD_LINKING, false, 10000);
 
             assertTrue(result.newBadges().contains("POINTS_10000"));
             assertTrue(result.bonusPoints() >= 250);
@@ -380,15 +358,12 @@ class BadgeServiceTest {
         @Test
         @DisplayName("Should award POINTS_50000 badge at 50000 points")
         void shouldAwardPoints50000Badge() {
-            when(badgeRepo.existsByUserIdAndCode(userId, "FIRST_ATTEMPT")).thenReturn(true);
-            when(badgeRepo.existsByUserIdAndCode(userId, "POINTS_1000")).thenReturn(true);
-            when(badgeRepo.existsByUserIdAndCode(userId, "POINTS_10000")).thenReturn(true);
-            when(badgeRepo.existsByUserIdAndCode(userId, "POINTS_50000")).thenReturn(false);
+            givenOwned("FIRST_ATTEMPT", "POINTS_1000", "POINTS_10000");
+            UserStats stats = stats(500, null, 0, 0);
             when(streakService.computeCurrentStreak(eq(userId), any(ZoneId.class))).thenReturn(1);
-            when(sessionRepo.countCompletedByUserId(userId)).thenReturn(500L);
 
             BadgeService.BadgeResult result = badgeService.evaluateAndAwardBadges(
-                    userId, ExerciseType.WORD_LINKING, false, 50000);
+                    stats, ExerciseType.WORD_LINKING, false, 50000);
 
             assertTrue(result.newBadges().contains("POINTS_50000"));
             assertTrue(result.bonusPoints() >= 500);
@@ -398,14 +373,12 @@ class BadgeServiceTest {
         @DisplayName("Should consider bonus points when awarding points badges")
         void shouldConsiderBonusPointsWhenAwardingPointsBadges() {
             // User has 950 points but will get 100 bonus from STREAK_7
-            when(badgeRepo.existsByUserIdAndCode(userId, "FIRST_ATTEMPT")).thenReturn(true);
-            when(badgeRepo.existsByUserIdAndCode(userId, "STREAK_7")).thenReturn(false);
-            when(badgeRepo.existsByUserIdAndCode(userId, "POINTS_1000")).thenReturn(false);
+            givenOwned("FIRST_ATTEMPT");
+            UserStats stats = stats(5, null, 0, 0);
             when(streakService.computeCurrentStreak(eq(userId), any(ZoneId.class))).thenReturn(7);
-            when(sessionRepo.countCompletedByUserId(userId)).thenReturn(5L);
 
             BadgeService.BadgeResult result = badgeService.evaluateAndAwardBadges(
-                    userId, ExerciseType.WORD_LINKING, false, 950);
+                    stats, ExerciseType.WORD_LINKING, false, 950);
 
             assertTrue(result.newBadges().contains("STREAK_7"));
             assertTrue(result.newBadges().contains("POINTS_1000"));
@@ -419,15 +392,12 @@ class BadgeServiceTest {
         @Test
         @DisplayName("Should award multiple badges in single evaluation")
         void shouldAwardMultipleBadges() {
-            when(badgeRepo.existsByUserIdAndCode(userId, "FIRST_ATTEMPT")).thenReturn(false);
-            when(badgeRepo.existsByUserIdAndCode(userId, "FIRST_PERFECT")).thenReturn(false);
-            when(badgeRepo.existsByUserIdAndCode(userId, "POINTS_1000")).thenReturn(false);
+            givenOwned();
+            UserStats stats = stats(1, null, 0, 1);
             when(streakService.computeCurrentStreak(eq(userId), any(ZoneId.class))).thenReturn(1);
-            when(sessionRepo.countCompletedByUserId(userId)).thenReturn(1L);
-            when(attemptRepo.countPerfectScoresByUserId(userId)).thenReturn(1L);
 
             BadgeService.BadgeResult result = badgeService.evaluateAndAwardBadges(
-                    userId, ExerciseType.WORD_LINKING, true, 1000);
+                    stats, ExerciseType.WORD_LINKING, true, 1000);
 
             assertTrue(result.newBadges().contains("FIRST_ATTEMPT"));
             assertTrue(result.newBadges().contains("FIRST_PERFECT"));
@@ -437,19 +407,31 @@ class BadgeServiceTest {
         @Test
         @DisplayName("Should accumulate bonus points from multiple badges")
         void shouldAccumulateBonusPoints() {
-            when(badgeRepo.existsByUserIdAndCode(userId, "FIRST_ATTEMPT")).thenReturn(true);
-            when(badgeRepo.existsByUserIdAndCode(userId, "STREAK_7")).thenReturn(false);
-            when(badgeRepo.existsByUserIdAndCode(userId, "EXERCISES_10")).thenReturn(false);
-            when(badgeRepo.existsByUserIdAndCode(userId, "FIRST_PERFECT")).thenReturn(false);
+            givenOwned("FIRST_ATTEMPT");
+            UserStats stats = stats(10, null, 0, 1);
             when(streakService.computeCurrentStreak(eq(userId), any(ZoneId.class))).thenReturn(7);
-            when(sessionRepo.countCompletedByUserId(userId)).thenReturn(10L);
-            when(attemptRepo.countPerfectScoresByUserId(userId)).thenReturn(1L);
 
             BadgeService.BadgeResult result = badgeService.evaluateAndAwardBadges(
-                    userId, ExerciseType.WORD_LINKING, true, 500);
+                    stats, ExerciseType.WORD_LINKING, true, 500);
 
             // STREAK_7 (100) + EXERCISES_10 (50) + FIRST_PERFECT (50) = 200
             assertEquals(200, result.bonusPoints());
         }
     }
+
+    private void givenOwned(String... codes) {
+        when(badgeRepo.findCodesByUserId(userId)).thenReturn(Arrays.asList(codes));
+    }
+
+    /** Stats whose counters say {@code completed} sessions, {@code typed} of them of {@code type}. */
+    private UserStats stats(int completed, ExerciseType type, int typed, int perfect) {
+        UserStats stats = new UserStats(userId);
+        for (int i = 0; i < completed; i++) {
+            stats.recordCompletedSession(i < typed ? type : ExerciseType.DAILY_CHALLENGE);
+        }
+        for (int i = 0; i < perfect; i++) {
+            stats.recordPerfectAttempt();
+        }
+        return stats;
+    }
 }
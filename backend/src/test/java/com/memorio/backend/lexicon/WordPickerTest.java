@@ -6,16 +6,14 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageRequest;
 
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,7 +33,7 @@ class WordPickerTest {
     @Test
     @DisplayName("Should return empty list when no words exist for language")
     void shouldReturnEmptyListWhenNoWords() {
-        when(wordRepository.countByLanguage("en")).thenReturn(0);
+        when(wordRepository.findTextsByLanguageOrderByRank("en")).thenReturn(List.of());
 
         List<String> result = wordPicker.pickWords("en", 1, 5);
 
@@ -45,10 +43,7 @@ class WordPickerTest {
     @Test
     @DisplayName("Should return words for valid language and level")
     void shouldReturnWordsForValidInput() {
-        when(wordRepository.countByLanguage("en")).thenReturn(100);
-        List<Word> words = createWords(10);
-        when(wordRepository.findByLanguageWithPagination(eq("en"), any(PageRequest.class)))
-                .thenReturn(words);
+        when(wordRepository.findTextsByLanguageOrderByRank("en")).thenReturn(createTexts(100));
 
         List<String> result = wordPicker.pickWords("en", 1, 5);
 
@@ -59,10 +54,7 @@ class WordPickerTest {
     @Test
     @DisplayName("Should return fewer words when not enough available")
     void shouldReturnFewerWordsWhenNotEnoughAvailable() {
-        when(wordRepository.countByLanguage("en")).thenReturn(100);
-        List<Word> words = createWords(3);
-        when(wordRepository.findByLanguageWithPagination(eq("en"), any(PageRequest.class)))
-                .thenReturn(words);
+        when(wordRepository.findTextsByLanguageOrderByRank("en")).thenReturn(createTexts(3));
 
         List<String> result = wordPicker.pickWords("en", 1, 10);
 
@@ -70,24 +62,20 @@ class WordPickerTest {
     }
 
     @Test
-    @DisplayName("Should return empty list when repository returns empty")
-    void shouldReturnEmptyListWhenRepositoryEmpty() {
-        when(wordRepository.countByLanguage("en")).thenReturn(100);
-        when(wordRepository.findByLanguageWithPagination(eq("en"), any(PageRequest.class)))
-                .thenReturn(List.of());
+    @DisplayName("Should return distinct words")
+    void shouldReturnDistinctWords() {
+        when(wordRepository.findTextsByLanguageOrderByRank("en")).thenReturn(createTexts(100));
 
-        List<String> result = wordPicker.pickWords("en", 1, 5);
+        List<String> result = wordPicker.pickWords("en", 3, 30);
 
-        assertTrue(result.isEmpty());
+        assertEquals(30, result.size());
+        assertEquals(30, new HashSet<>(result).size());
     }
 
     @Test
     @DisplayName("Should handle different skill levels")
     void shouldHandleDifferentSkillLevels() {
-        when(wordRepository.countByLanguage("en")).thenReturn(1000);
-        List<Word> words = createWords(20);
-        when(wordRepository.findByLanguageWithPagination(eq("en"), any(PageRequest.class)))
-                .thenReturn(words);
+        when(wordRepository.findTextsByLanguageOrderByRank("en")).thenReturn(createTexts(1000));
 
         List<String> level1 = wordPicker.pickWords("en", 1, 5);
         List<String> level5 = wordPicker.pickWords("en", 5, 5);
@@ -101,21 +89,74 @@ class WordPickerTest {
         assertEquals(5, level10.size());
     }
 
+    @Test
+    @DisplayName("Should draw level 1 from frequent words and level 10 from rare words")
+    void shouldDrawFromLevelWindow() {
+        when(wordRepository.findTextsByLanguageOrderByRank("en")).thenReturn(createTexts(1000));
+
+        // 20% window of 1000 words = 200 words per level
+        for (String word : wordPicker.pickWords("en", 1, 6)) {
+            assertTrue(indexOf(word) < 200, "level 1 word out of window: " + word);
+        }
+        for (String word : wordPicker.pickWords("en", 10, 60)) {
+            assertTrue(indexOf(word) >= 800, "level 10 word out of window: " + word);
+        }
+    }
+
     @Test
     @DisplayName("Should clamp skill level to valid range 1-10")
     void shouldClampSkillLevel() {
-        when(wordRepository.countByLanguage("en")).thenReturn(100);
-        List<Word> words = createWords(10);
-        when(wordRepository.findByLanguageWithPagination(eq("en"), any(PageRequest.class)))
-                .thenReturn(words);
+        when(wordRepository.findTextsByLanguageOrderByRank("en")).thenReturn(createTexts(100));
 
         // Level below 1 should be treated as 1
         List<String> belowMin = wordPicker.pickWords("en", 0, 5);
-        assertNotNull(belowMin);
+        assertEquals(5, belowMin.size());
 
         // Level above 10 should be treated as 10
         List<String> aboveMax = wordPicker.pickWords("en", 15, 5);
-        assertNotNull(aboveMax);
+        assertEquals(5, aboveMax.size());
+    }
+
+    @Test
+    @DisplayName("Should load the snapshot once per language")
+    void shouldReuseSnapshot() {
+        when(wordRepository.findTextsByLanguageOrderByRank("en")).thenReturn(createTexts(100));
+
+        wordPicker.pickWords("en", 1, 5);
+        wordPicker.pickWords("en", 7, 5);
+
+        verify(wordRepository, times(1)).findTextsByLanguageOrderByRank("en");
+    }
+
+    @Test
+    @DisplayName("Should reload snapshot after a lexicon import")
+    void shouldReloadSnapshotAfterImport() {
+        when(wordRepository.findTextsByLanguageOrderByRank("en"))
+                .thenReturn(List.of())
+                .thenReturn(createTexts(50));
+
+        assertTrue(wordPicker.pickWords("en", 1, 5).isEmpty());
+
+        wordPicker.onLexiconImported(new LexiconImportedEvent("en", 50));
+
+        assertEquals(5, wordPicker.pickWords("en", 1, 5).size());
+        verify(wordRepository, times(2)).findTextsByLanguageOrderByRank("en");
+    }
+
+    @Test
+    @DisplayName("Should not keep a snapshot loaded while an import committed")
+    void shouldDiscardSnapshotLoadedDuringImport() {
+        when(wordRepository.findTextsByLanguageOrderByRank("en"))
+                .thenAnswer(invocation -> {
+                    wordPicker.onLexiconImported(new LexiconImportedEvent("en", 50));
+                    return List.of();
+                })
+                .thenReturn(createTexts(50));
+
+        assertTrue(wordPicker.pickWords("en", 1, 5).isEmpty());
+
+        assertEquals(5, wordPicker.pickWords("en", 1, 5).size());
+        verify(wordRepository, times(2)).findTextsByLanguageOrderByRank("en");
     }
 
     @Test
@@ -160,10 +201,7 @@ class WordPickerTest {
     @Test
     @DisplayName("Should handle large word count")
     void shouldHandleLargeWordCount() {
-        when(wordRepository.countByLanguage("en")).thenReturn(5000);
-        List<Word> words = createWords(100);
-        when(wordRepository.findByLanguageWithPagination(eq("en"), any(PageRequest.class)))
-                .thenReturn(words);
+        when(wordRepository.findTextsByLanguageOrderByRank("en")).thenReturn(createTexts(5000));
 
         List<String> result = wordPicker.pickWords("en", 5, 50);
 
@@ -173,10 +211,7 @@ class WordPickerTest {
     @Test
     @DisplayName("Should shuffle words for randomness")
     void shouldShuffleWordsForRandomness() {
-        when(wordRepository.countByLanguage("en")).thenReturn(100);
-        List<Word> words = createWords(20);
-        when(wordRepository.findByLanguageWithPagination(eq("en"), any(PageRequest.class)))
-                .thenReturn(words);
+        when(wordRepository.findTextsByLanguageOrderByRank("en")).thenReturn(createTexts(100));
 
         // Get multiple results and check they're not always in the same order
         List<String> result1 = wordPicker.pickWords("en", 1, 10);
@@ -192,15 +227,24 @@ class WordPickerTest {
     @Test
     @DisplayName("Should handle different languages")
     void shouldHandleDifferentLanguages() {
-        when(wordRepository.countByLanguage("pl")).thenReturn(50);
-        List<Word> polishWords = createWords(10);
-        when(wordRepository.findByLanguageWithPagination(eq("pl"), any(PageRequest.class)))
-                .thenReturn(polishWords);
+        when(wordRepository.findTextsByLanguageOrderByRank("pl")).thenReturn(createTexts(50));
 
         List<String> result = wordPicker.pickWords("pl", 3, 5);
 
         assertEquals(5, result.size());
-        verify(wordRepository).countByLanguage("pl");
+        verify(wordRepository).findTextsByLanguageOrderByRank("pl");
+    }
+
+    private List<String> createTexts(int count) {
+        List<String> texts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            texts.add("word" + i);
+        }
+        return texts;
+    }
+
+    private int indexOf(String text) {
+        return Integer.parseInt(text.substring("word".length()));
     }
 
     private List<Word> createWords(int count) {